@@ -0,0 +1,140 @@
+package de.drake.nonogramm.batch;
+
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Das Ergebnis der Lsung eines Rtsels inklusive der Kennzahlen des Solvers.
+ */
+class Ergebnis {
+	
+	/**
+	 * Die mglichen Ausgnge einer Lsung
+	 */
+	enum Status {
+		/**
+		 * Das Rtsel wurde vollstndig gelst.
+		 */
+		geloest,
+		
+		/**
+		 * Das Rtsel besitzt keine Lsung.
+		 */
+		widerspruch,
+		
+		/**
+		 * Die Lsung wurde bei Erreichen der Zeitgrenze abgebrochen.
+		 */
+		zeitueberschreitung,
+		
+		/**
+		 * Das Rtsel konnte nicht eingelesen oder gelst werden.
+		 */
+		fehler;
+	}
+	
+	/**
+	 * Das zugehrige Rtsel
+	 */
+	final Raetsel raetsel;
+	
+	/**
+	 * Der Ausgang der Lsung
+	 */
+	final Status status;
+	
+	/**
+	 * Das Nonogramm im Endzustand der Lsung, bzw. null bei einem Fehler
+	 */
+	final Nonogramm nonogramm;
+	
+	/**
+	 * Die Dauer der Lsung in Millisekunden
+	 */
+	final long millisekunden;
+	
+	/**
+	 * Die Anzahl der Zeilen- bzw. Spaltenbearbeitungen
+	 */
+	final long reihenbearbeitungen;
+	
+	/**
+	 * Die Anzahl der Versuche des Trial-And-Error-Verfahrens
+	 */
+	final long versuche;
+	
+	/**
+	 * Die Anzahl der Entscheidungen der Suche
+	 */
+	final long entscheidungen;
+	
+	/**
+	 * Die Fehlermeldung, bzw. ein leerer String
+	 */
+	final String meldung;
+	
+	/**
+	 * Erzeugt ein Ergebnis.
+	 * 
+	 * @param raetsel
+	 * 		Das zugehrige Rtsel
+	 * @param status
+	 * 		Der Ausgang der Lsung
+	 * @param nonogramm
+	 * 		Das Nonogramm im Endzustand der Lsung, bzw. null bei einem Fehler
+	 * @param millisekunden
+	 * 		Die Dauer der Lsung in Millisekunden
+	 * @param reihenbearbeitungen
+	 * 		Die Anzahl der Zeilen- bzw. Spaltenbearbeitungen
+	 * @param versuche
+	 * 		Die Anzahl der Versuche des Trial-And-Error-Verfahrens
+	 * @param entscheidungen
+	 * 		Die Anzahl der Entscheidungen der Suche
+	 * @param meldung
+	 * 		Die Fehlermeldung, bzw. ein leerer String
+	 */
+	Ergebnis(final Raetsel raetsel, final Status status, final Nonogramm nonogramm,
+			final long millisekunden, final long reihenbearbeitungen, final long versuche,
+			final long entscheidungen, final String meldung) {
+		this.raetsel = raetsel;
+		this.status = status;
+		this.nonogramm = nonogramm;
+		this.millisekunden = millisekunden;
+		this.reihenbearbeitungen = reihenbearbeitungen;
+		this.versuche = versuche;
+		this.entscheidungen = entscheidungen;
+		this.meldung = meldung;
+	}
+	
+	/**
+	 * Gibt die berschrift der Statistik im CSV-Format zurck.
+	 */
+	static String getStatistikkopf() {
+		return "name;status;millisekunden;reihenbearbeitungen;versuche;entscheidungen;meldung";
+	}
+	
+	/**
+	 * Gibt die Kennzahlen als Zeile der Statistik im CSV-Format zurck.
+	 */
+	String getStatistikzeile() {
+		return this.raetsel.name + ";" + this.status + ";" + this.millisekunden + ";"
+				+ this.reihenbearbeitungen + ";" + this.versuche + ";" + this.entscheidungen + ";"
+				+ this.meldung.replace(';', ',').replace('\n', ' ');
+	}
+	
+	/**
+	 * Gibt das Nonogramm zeilenweise mit # fr schwarze, . fr weie und ? fr unbekannte Felder
+	 * zurck.
+	 */
+	String getRaster() {
+		StringBuilder raster = new StringBuilder();
+		for (int zeile = 0; zeile < this.nonogramm.getHoehe(); zeile++) {
+			for (int spalte = 0; spalte < this.nonogramm.getBreite(); spalte++) {
+				Feldstatus status = this.nonogramm.getStatus(zeile, spalte);
+				raster.append(status == Feldstatus.black ? '#' : status == Feldstatus.white ? '.' : '?');
+			}
+			raster.append('\n');
+		}
+		return raster.toString();
+	}
+}
\ No newline at end of file
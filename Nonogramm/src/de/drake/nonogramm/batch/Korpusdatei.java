@@ -0,0 +1,351 @@
+package de.drake.nonogramm.batch;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Lesezugriff auf einen binren Rtselkorpus (Endung .nkb), wie ihn der Korpusschreiber erzeugt.
+ * Die Datei wird per FileChannel.map in den Speicher eingeblendet; jedes Rtsel kann daher ohne
+ * Einlesen der brigen Rtsel ber seinen Index geladen werden, und mehrere Prozesse teilen sich
+ * den Seitencache des Betriebssystems. Da ein MappedByteBuffer hchstens 2 GB umfasst, ist auch
+ * die Datei auf diese Gre beschrnkt.
+ * 
+ * Aufbau der Datei (alle Zahlen big-endian):
+ * 	int		KENNUNG
+ * 	int		VERSION
+ * 	...		die Rtsel
+ * 	long[]	die Position jedes Rtsels in der Datei
+ * 	long	die Position des Index
+ * 	int		die Anzahl der Rtsel
+ * 	int		KENNUNG
+ * Aufbau eines Rtsels:
+ * 	int		Hhe
+ * 	int		Breite
+ * 	byte	Flags, MIT_LOESUNG, wenn die Lsung enthalten ist, und KOMPAKT, wenn alle
+ * 			Blockanzahlen und Blcke kleiner als 256 sind
+ * 	char	Lnge des Namens in Bytes
+ * 	byte[]	der Name in UTF-8
+ * 	char[]	je Zeile die Anzahl der Blcke, danach die Blcke aller Zeilen hintereinander;
+ * 			bei KOMPAKT byte[] statt char[]
+ * 	char[]	je Spalte die Anzahl der Blcke, danach die Blcke aller Spalten hintereinander;
+ * 			bei KOMPAKT byte[] statt char[]
+ * 	long[]	falls enthalten, die Lsung: je Zeile (Breite + 63) / 64 Wrter, in denen Bit i
+ * 			fr das schwarze Feld in Spalte 64 * Wort + i steht
+ * 
+ * Alle Methoden verwenden nur absolute Zugriffe auf den Puffer und drfen daher von mehreren
+ * Threads gleichzeitig aufgerufen werden. Positionen und Lngen eines Rtsels werden vor dem Zugriff
+ * gegen den Bereich der Rtsel geprft; ein beschdigtes Rtsel fhrt zu einer
+ * IllegalArgumentException mit dem Index des Rtsels.
+ */
+public class Korpusdatei implements Closeable {
+	
+	/**
+	 * Die Kennung am Anfang und am Ende der Datei ("NKB1")
+	 */
+	static final int KENNUNG = 0x4E4B4231;
+	
+	/**
+	 * Die Version des Dateiformats
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * Das Flag eines Rtsels, dessen Lsung enthalten ist
+	 */
+	static final byte MIT_LOESUNG = 1;
+	
+	/**
+	 * Das Flag eines Rtsels, dessen Blockanzahlen und Blcke als einzelne Bytes gespeichert sind
+	 */
+	static final byte KOMPAKT = 2;
+	
+	/**
+	 * Die Lnge des Dateiendes aus Indexposition, Anzahl und Kennung
+	 */
+	static final int LAENGE_ENDE = 16;
+	
+	/**
+	 * Die Datei
+	 */
+	private final RandomAccessFile datei;
+	
+	/**
+	 * Der eingeblendete Inhalt der Datei
+	 */
+	private final ByteBuffer puffer;
+	
+	/**
+	 * Die Position des Index in der Datei
+	 */
+	private final int index;
+	
+	/**
+	 * Die Anzahl der Rtsel
+	 */
+	private final int anzahl;
+	
+	/**
+	 * ffnet einen binren Korpus.
+	 * 
+	 * @param datei
+	 * 		Die Datei
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht gelesen werden kann oder kein gltiger Korpus ist
+	 */
+	public Korpusdatei(final File datei) throws IOException {
+		this.datei = new RandomAccessFile(datei, "r");
+		try {
+			FileChannel kanal = this.datei.getChannel();
+			long groesse = kanal.size();
+			if (groesse > Integer.MAX_VALUE)
+				throw new IOException(datei + ": Korpusdateien ber 2 GB werden nicht untersttzt");
+			if (groesse < 8 + LAENGE_ENDE)
+				throw new IOException(datei + ": Die Datei ist kein binrer Korpus");
+			this.puffer = kanal.map(FileChannel.MapMode.READ_ONLY, 0, groesse);
+			int ende = (int) groesse - LAENGE_ENDE;
+			if (this.puffer.getInt(0) != KENNUNG || this.puffer.getInt(ende + 12) != KENNUNG)
+				throw new IOException(datei + ": Die Datei ist kein binrer Korpus");
+			if (this.puffer.getInt(4) != VERSION)
+				throw new IOException(datei + ": Version " + this.puffer.getInt(4) + " wird nicht untersttzt");
+			long index = this.puffer.getLong(ende);
+			this.anzahl = this.puffer.getInt(ende + 8);
+			if (this.anzahl < 0 || index < 8 || index + 8L * this.anzahl != ende)
+				throw new IOException(datei + ": Der Index der Datei ist beschdigt");
+			this.index = (int) index;
+		} catch (IOException | RuntimeException e) {
+			this.datei.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der Rtsel zurck.
+	 */
+	public int getAnzahl() {
+		return this.anzahl;
+	}
+	
+	/**
+	 * Gibt den Namen eines Rtsels zurck.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn das Rtsel beschdigt ist
+	 */
+	public String getName(final int raetsel) throws IllegalArgumentException {
+		int position = this.getPosition(raetsel);
+		int laenge = this.puffer.getChar(position + 9);
+		this.pruefe(raetsel, position + 11, laenge);
+		byte[] name = new byte[laenge];
+		for (int zeichen = 0; zeichen < name.length; zeichen++) {
+			name[zeichen] = this.puffer.get(position + 11 + zeichen);
+		}
+		return new String(name, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Gibt die Hhe eines Rtsels zurck.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 */
+	public int getHoehe(final int raetsel) {
+		return this.puffer.getInt(this.getPosition(raetsel));
+	}
+	
+	/**
+	 * Gibt die Breite eines Rtsels zurck.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 */
+	public int getBreite(final int raetsel) {
+		return this.puffer.getInt(this.getPosition(raetsel) + 4);
+	}
+	
+	/**
+	 * Prft, ob die Lsung eines Rtsels enthalten ist.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 */
+	public boolean hatLoesung(final int raetsel) {
+		return (this.puffer.get(this.getPosition(raetsel) + 8) & MIT_LOESUNG) != 0;
+	}
+	
+	/**
+	 * Ldt ein Rtsel.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 * 
+	 * @return das ungelste Nonogramm
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn das Rtsel beschdigt ist oder die Bedingungen nicht zueinander passen
+	 */
+	public Nonogramm lies(final int raetsel) throws IllegalArgumentException {
+		return this.lies(raetsel, false);
+	}
+	
+	/**
+	 * Ldt ein Rtsel mitsamt seiner Lsung.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 * 
+	 * @return das gelste Nonogramm, bzw. null, wenn die Lsung nicht enthalten ist
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn das Rtsel beschdigt ist oder die Bedingungen nicht zueinander passen
+	 */
+	public Nonogramm liesLoesung(final int raetsel) throws IllegalArgumentException {
+		return this.hatLoesung(raetsel) ? this.lies(raetsel, true) : null;
+	}
+	
+	/**
+	 * Ldt ein Rtsel.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 * @param mitLoesung
+	 * 		true, wenn die enthaltene Lsung eingetragen werden soll
+	 */
+	private Nonogramm lies(final int raetsel, final boolean mitLoesung) {
+		int position = this.getPosition(raetsel);
+		int hoehe = this.puffer.getInt(position);
+		int breite = this.puffer.getInt(position + 4);
+		int breiteEintrag = (this.puffer.get(position + 8) & KOMPAKT) != 0 ? 1 : 2;
+		position += 11 + this.puffer.getChar(position + 9);
+		if (hoehe < 0 || breite < 0)
+			throw new IllegalArgumentException("Rtsel " + raetsel + ": Ungltige Gre " + hoehe + "x" + breite);
+		// Die Blockanzahlen aller Reihen mssen in der Datei liegen, bevor Speicher fr sie angelegt wird.
+		this.pruefe(raetsel, position, (long) breiteEintrag * ((long) hoehe + breite));
+		int[] anfang = new int[Math.max(hoehe, breite) + 1];
+		Bedingungen linkeBedingungen = this.liesBedingungen(raetsel, position, hoehe, breiteEintrag, anfang);
+		position += breiteEintrag * (hoehe + anfang[hoehe]);
+		Bedingungen obereBedingungen = this.liesBedingungen(raetsel, position, breite, breiteEintrag, anfang);
+		position += breiteEintrag * (breite + anfang[breite]);
+		Nonogramm nonogramm = new Nonogramm(linkeBedingungen, obereBedingungen);
+		if (mitLoesung) {
+			int woerterProZeile = (breite + 63) >>> 6;
+			this.pruefe(raetsel, position, 8L * woerterProZeile * hoehe);
+			for (int zeile = 0; zeile < hoehe; zeile++) {
+				for (int spalte = 0; spalte < breite; spalte++) {
+					long wort = this.puffer.getLong(position + 8 * (woerterProZeile * zeile + (spalte >>> 6)));
+					nonogramm.setStatus(zeile, spalte,
+							(wort & (1L << spalte)) != 0 ? Feldstatus.black : Feldstatus.white);
+				}
+			}
+		}
+		return nonogramm;
+	}
+	
+	/**
+	 * Liest die Bedingungen aller Zeilen bzw. Spalten.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels, fr Fehlermeldungen
+	 * @param position
+	 * 		Die Position der Blockanzahlen in der Datei
+	 * @param anzahlReihen
+	 * 		Die Anzahl der Reihen
+	 * @param breiteEintrag
+	 * 		Die Anzahl der Bytes je Blockanzahl bzw. Block, 1 oder 2
+	 * @param anfang
+	 * 		Ein Array mit mindestens anzahlReihen + 1 Eintrgen, in dem anschlieend der Index des
+	 * 		ersten Blocks jeder Reihe und die Gesamtzahl der Blcke stehen
+	 */
+	private Bedingungen liesBedingungen(final int raetsel, final int position, final int anzahlReihen,
+			final int breiteEintrag, final int[] anfang) {
+		this.pruefe(raetsel, position, (long) breiteEintrag * anzahlReihen);
+		int blockposition = position + breiteEintrag * anzahlReihen;
+		long anzahlBloecke = 0;
+		anfang[0] = 0;
+		for (int reihe = 0; reihe < anzahlReihen; reihe++) {
+			anzahlBloecke += this.liesEintrag(position + breiteEintrag * reihe, breiteEintrag);
+			if (anzahlBloecke > this.index)
+				throw new IllegalArgumentException("Rtsel " + raetsel + ": Der Datensatz ist beschdigt");
+			anfang[reihe + 1] = (int) anzahlBloecke;
+		}
+		this.pruefe(raetsel, blockposition, breiteEintrag * anzahlBloecke);
+		int[] bloecke = new int[anfang[anzahlReihen]];
+		for (int block = 0; block < bloecke.length; block++) {
+			bloecke[block] = this.liesEintrag(blockposition + breiteEintrag * block, breiteEintrag);
+		}
+		return new Bedingungen(bloecke, anfang, anzahlReihen);
+	}
+	
+	/**
+	 * Liest eine Blockanzahl bzw. einen Block.
+	 * 
+	 * @param position
+	 * 		Die Position in der Datei
+	 * @param breiteEintrag
+	 * 		Die Anzahl der Bytes des Eintrags, 1 oder 2
+	 */
+	private int liesEintrag(final int position, final int breiteEintrag) {
+		return breiteEintrag == 1 ? this.puffer.get(position) & 0xFF : this.puffer.getChar(position);
+	}
+	
+	/**
+	 * Prft, ob ein Abschnitt eines Rtsels vollstndig im Bereich der Rtsel liegt, d.h. hinter
+	 * dem Dateikopf und vor dem Index.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels, fr die Fehlermeldung
+	 * @param position
+	 * 		Die Position des Abschnitts
+	 * @param laenge
+	 * 		Die Lnge des Abschnitts in Bytes
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn der Abschnitt ber den Bereich der Rtsel hinausreicht
+	 */
+	private void pruefe(final int raetsel, final long position, final long laenge)
+			throws IllegalArgumentException {
+		if (position < 8 || laenge < 0 || position + laenge > this.index)
+			throw new IllegalArgumentException("Rtsel " + raetsel + ": Der Datensatz ist beschdigt");
+	}
+	
+	/**
+	 * Gibt die Position eines Rtsels in der Datei zurck.
+	 * 
+	 * @param raetsel
+	 * 		Der Index des Rtsels
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 * 		wird geworfen, wenn es kein Rtsel mit diesem Index gibt
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Position oder der Kopf des Rtsels auerhalb des Bereichs der
+	 * 		Rtsel liegt
+	 */
+	private int getPosition(final int raetsel) throws IndexOutOfBoundsException, IllegalArgumentException {
+		if (raetsel < 0 || raetsel >= this.anzahl)
+			throw new IndexOutOfBoundsException("Rtsel " + raetsel + " von " + this.anzahl);
+		long position = this.puffer.getLong(this.index + 8 * raetsel);
+		// Hhe, Breite, Flags und Lnge des Namens
+		this.pruefe(raetsel, position, 11);
+		return (int) position;
+	}
+	
+	/**
+	 * Schliet die Datei. Die Einblendung wird erst von der Garbage Collection aufgehoben.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.datei.close();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package de.drake.nonogramm.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wandelt Rtsel aus Text-, .non- und Archivdateien (siehe Raetselquelle) in einen binren Korpus
+ * (siehe Korpusdatei) um. Rtsel und Dateien, die nicht gelesen werden knnen, werden mit einer
+ * Meldung auf System.err bersprungen. Lsungen werden nicht berechnet; dazu kann die
+ * Stapelverarbeitung mit der Option -b verwendet werden.
+ * 
+ * Aufruf: java de.drake.nonogramm.batch.Korpuskonverter ziel.nkb [Datei|Verzeichnis ...]
+ * Ohne Datei (oder mit -) wird von der Standardeingabe gelesen.
+ * 
+ * Rckgabewert: 0, wenn alle Rtsel umgewandelt wurden, 2, wenn mindestens ein Rtsel
+ * bersprungen wurde, und 1 bei fehlerhaftem Aufruf oder nicht schreibbarem Ziel.
+ */
+public class Korpuskonverter {
+	
+	/**
+	 * Startet die Umwandlung.
+	 * 
+	 * @param argumente
+	 * 		Die Zieldatei und die Quellen (siehe Klassenbeschreibung)
+	 */
+	public static void main(final String[] argumente) {
+		if (argumente.length < 1 || argumente[0].startsWith("-")) {
+			System.err.println("Aufruf: Korpuskonverter ziel.nkb [datei|verzeichnis ...]");
+			System.exit(1);
+		}
+		List<String> quellen = new ArrayList<String>(Arrays.asList(argumente).subList(1, argumente.length));
+		if (quellen.isEmpty())
+			quellen.add("-");
+		int rueckgabewert;
+		try {
+			rueckgabewert = wandleUm(quellen, new File(argumente[0]));
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			rueckgabewert = 1;
+		}
+		System.exit(rueckgabewert);
+	}
+	
+	/**
+	 * Wandelt alle Rtsel der Quellen um.
+	 * 
+	 * @param quellen
+	 * 		Die Datei- und Verzeichnisnamen; - steht fr die Standardeingabe
+	 * @param ziel
+	 * 		Der binre Korpus, wird ggf. berschrieben
+	 * 
+	 * @return der Rckgabewert des Programms (siehe Klassenbeschreibung)
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn das Ziel nicht geschrieben werden kann
+	 */
+	static int wandleUm(final List<String> quellen, final File ziel) throws IOException {
+		int uebersprungen = 0;
+		Raetselquelle quelle = new Raetselquelle(quellen);
+		try {
+			Korpusschreiber schreiber = new Korpusschreiber(ziel);
+			try {
+				Raetsel raetsel;
+				while ((raetsel = quelle.naechstes()) != null) {
+					try {
+						schreiber.schreibe(raetsel.getName(), raetsel.erzeugeNonogramm(), false);
+					} catch (IllegalArgumentException e) {
+						System.err.println(raetsel.getName() + ": " + e.getMessage());
+						uebersprungen++;
+					}
+				}
+			} finally {
+				schreiber.close();
+			}
+			System.err.println(schreiber.getAnzahl() + " Rtsel umgewandelt, " + uebersprungen
+					+ " bersprungen");
+		} finally {
+			quelle.close();
+		}
+		return uebersprungen == 0 ? 0 : 2;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package de.drake.nonogramm.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Schreibt einen binren Rtselkorpus im Format von Korpusdatei. Die Rtsel werden nacheinander
+ * geschrieben, im Speicher wird nur der Index gehalten; dieser wird beim Schlieen angehngt.
+ */
+public class Korpusschreiber implements Closeable {
+	
+	/**
+	 * Die Datei
+	 */
+	private final DataOutputStream ausgabe;
+	
+	/**
+	 * Die Anzahl der bisher geschriebenen Bytes
+	 */
+	private long position;
+	
+	/**
+	 * Die Positionen der bisher geschriebenen Rtsel
+	 */
+	private long[] index = new long[1024];
+	
+	/**
+	 * Die Anzahl der bisher geschriebenen Rtsel
+	 */
+	private int anzahl = 0;
+	
+	/**
+	 * Erzeugt die Datei.
+	 * 
+	 * @param datei
+	 * 		Die Datei, wird ggf. berschrieben
+	 */
+	public Korpusschreiber(final File datei) throws IOException {
+		this.ausgabe = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(datei), 1 << 16));
+		this.ausgabe.writeInt(Korpusdatei.KENNUNG);
+		this.ausgabe.writeInt(Korpusdatei.VERSION);
+		this.position = 8;
+	}
+	
+	/**
+	 * Schreibt ein Rtsel.
+	 * 
+	 * @param name
+	 * 		Der Name des Rtsels; bei mehr als 65535 Bytes wird er gekrzt
+	 * @param nonogramm
+	 * 		Das Nonogramm
+	 * @param mitLoesung
+	 * 		true, wenn der aktuelle Zustand des Nonogramms als Lsung gespeichert werden soll; das
+	 * 		Nonogramm muss dazu vollstndig sein
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Lsung gespeichert werden soll, das Nonogramm aber nicht
+	 * 		vollstndig ist, oder wenn eine Reihe mehr als 65535 Blcke bzw. Felder enthlt
+	 */
+	public void schreibe(final String name, final Nonogramm nonogramm, final boolean mitLoesung)
+			throws IOException, IllegalArgumentException {
+		if (mitLoesung && !nonogramm.istVollstaendig())
+			throw new IllegalArgumentException("Das Nonogramm " + name + " ist nicht gelst");
+		if (nonogramm.getHoehe() > Character.MAX_VALUE || nonogramm.getBreite() > Character.MAX_VALUE)
+			throw new IllegalArgumentException("Das Nonogramm " + name + " ist zu gro");
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		if (nameBytes.length > Character.MAX_VALUE)
+			nameBytes = Arrays.copyOf(nameBytes, Character.MAX_VALUE);
+		if (this.anzahl == this.index.length)
+			this.index = Arrays.copyOf(this.index, 2 * this.index.length);
+		this.index[this.anzahl++] = this.position;
+		
+		boolean kompakt = istKompakt(nonogramm.getLinkeBedingungen())
+				&& istKompakt(nonogramm.getObereBedingungen());
+		this.ausgabe.writeInt(nonogramm.getHoehe());
+		this.ausgabe.writeInt(nonogramm.getBreite());
+		this.ausgabe.writeByte((mitLoesung ? Korpusdatei.MIT_LOESUNG : 0) | (kompakt ? Korpusdatei.KOMPAKT : 0));
+		this.ausgabe.writeChar(nameBytes.length);
+		this.ausgabe.write(nameBytes);
+		this.position += 11 + nameBytes.length;
+		this.schreibe(nonogramm.getLinkeBedingungen(), kompakt);
+		this.schreibe(nonogramm.getObereBedingungen(), kompakt);
+		if (mitLoesung) {
+			for (int zeile = 0; zeile < nonogramm.getHoehe(); zeile++) {
+				long wort = 0;
+				for (int spalte = 0; spalte < nonogramm.getBreite(); spalte++) {
+					if (nonogramm.hasStatus(zeile, spalte, Feldstatus.black))
+						wort |= 1L << spalte;
+					if ((spalte & 63) == 63 || spalte == nonogramm.getBreite() - 1) {
+						this.ausgabe.writeLong(wort);
+						this.position += 8;
+						wort = 0;
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Schreibt die Bedingungen aller Zeilen bzw. Spalten.
+	 * 
+	 * @param bedingungen
+	 * 		Die Bedingungen
+	 * @param kompakt
+	 * 		true, wenn Blockanzahlen und Blcke als einzelne Bytes geschrieben werden
+	 */
+	private void schreibe(final Bedingungen bedingungen, final boolean kompakt) throws IOException {
+		for (int reihe = 0; reihe < bedingungen.getAnzahlReihen(); reihe++) {
+			this.schreibeEintrag(bedingungen.getAnzahlBloecke(reihe), kompakt);
+		}
+		for (int reihe = 0; reihe < bedingungen.getAnzahlReihen(); reihe++) {
+			for (int block = 0; block < bedingungen.getAnzahlBloecke(reihe); block++) {
+				this.schreibeEintrag(bedingungen.getBlock(reihe, block), kompakt);
+			}
+		}
+	}
+	
+	/**
+	 * Schreibt eine Blockanzahl bzw. einen Block.
+	 * 
+	 * @param wert
+	 * 		Der Wert
+	 * @param kompakt
+	 * 		true, wenn der Wert als einzelnes Byte geschrieben wird
+	 */
+	private void schreibeEintrag(final int wert, final boolean kompakt) throws IOException {
+		if (kompakt) {
+			this.ausgabe.writeByte(wert);
+			this.position++;
+		} else {
+			this.ausgabe.writeChar(wert);
+			this.position += 2;
+		}
+	}
+	
+	/**
+	 * Prft, ob alle Blockanzahlen und Blcke als einzelne Bytes geschrieben werden knnen.
+	 * 
+	 * @param bedingungen
+	 * 		Die Bedingungen
+	 */
+	private static boolean istKompakt(final Bedingungen bedingungen) {
+		for (int reihe = 0; reihe < bedingungen.getAnzahlReihen(); reihe++) {
+			if (bedingungen.getAnzahlBloecke(reihe) > 255 || bedingungen.getMaximum(reihe) > 255)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher geschriebenen Rtsel zurck.
+	 */
+	public int getAnzahl() {
+		return this.anzahl;
+	}
+	
+	/**
+	 * Hngt den Index an und schliet die Datei.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			for (int raetsel = 0; raetsel < this.anzahl; raetsel++) {
+				this.ausgabe.writeLong(this.index[raetsel]);
+			}
+			this.ausgabe.writeLong(this.position);
+			this.ausgabe.writeInt(this.anzahl);
+			this.ausgabe.writeInt(Korpusdatei.KENNUNG);
+		} finally {
+			this.ausgabe.close();
+		}
+	}
+}
\ No newline at end of file
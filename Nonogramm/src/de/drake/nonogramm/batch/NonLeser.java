@@ -0,0 +1,120 @@
+package de.drake.nonogramm.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Liest ein Rtsel im verbreiteten .non-Format, z.B.
+ * 
+ * 	title "Ein 2x3-Rtsel"
+ * 	width 3
+ * 	height 2
+ * 	rows
+ * 	1,1
+ * 	3
+ * 	columns
+ * 	2
+ * 	1
+ * 	2
+ * 
+ * Auf die Schlsselwrter rows und columns folgt je Zeile bzw. Spalte eine Zeile mit den durch
+ * Kommas oder Leerzeichen getrennten Bedingungen; leere Reihen werden als 0 oder als leere Zeile
+ * angegeben. Sind width und height nicht angegeben, endet ein Abschnitt an der nchsten leeren
+ * Zeile oder dem nchsten Schlsselwort. Alle anderen Schlsselwrter (z.B. catalogue, goal) werden
+ * ignoriert.
+ */
+class NonLeser {
+	
+	/**
+	 * Liest ein Rtsel.
+	 * 
+	 * @param reader
+	 * 		Die Quelle, aus der gelesen wird
+	 * @param name
+	 * 		Die Bezeichnung der Quelle, z.B. der Dateiname
+	 * 
+	 * @return das Rtsel mit den Bedingungen in der Syntax von Matrix.toIntMatrix
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Quelle nicht gelesen werden kann oder die Bedingungen fehlen
+	 */
+	static Raetsel lies(final BufferedReader reader, final String name) throws IOException {
+		int breite = -1;
+		int hoehe = -1;
+		String linkeBedingungen = null;
+		String obereBedingungen = null;
+		String zeile = reader.readLine();
+		while (zeile != null) {
+			String[] teile = zeile.trim().split("\\s+", 2);
+			String schluessel = teile[0].toLowerCase();
+			if (schluessel.equals("rows")) {
+				zeile = reader.readLine();
+				StringBuilder bedingungen = new StringBuilder("{");
+				zeile = liesAbschnitt(reader, zeile, hoehe, bedingungen);
+				linkeBedingungen = bedingungen.append('}').toString();
+				continue;
+			} else if (schluessel.equals("columns")) {
+				zeile = reader.readLine();
+				StringBuilder bedingungen = new StringBuilder("{");
+				zeile = liesAbschnitt(reader, zeile, breite, bedingungen);
+				obereBedingungen = bedingungen.append('}').toString();
+				continue;
+			} else if (schluessel.equals("width") && teile.length > 1) {
+				breite = liesZahl(teile[1], name);
+			} else if (schluessel.equals("height") && teile.length > 1) {
+				hoehe = liesZahl(teile[1], name);
+			}
+			zeile = reader.readLine();
+		}
+		if (linkeBedingungen == null || obereBedingungen == null)
+			throw new IOException(name + ": Die Abschnitte rows und columns fehlen");
+		return new Raetsel(name, linkeBedingungen, obereBedingungen);
+	}
+	
+	/**
+	 * Liest die Bedingungen eines Abschnitts und hngt sie in der Form {1,1},{3} an.
+	 * 
+	 * @param reader
+	 * 		Die Quelle, aus der gelesen wird
+	 * @param zeile
+	 * 		Die erste Zeile des Abschnitts
+	 * @param anzahl
+	 * 		Die Anzahl der Reihen, bzw. -1, wenn sie nicht bekannt ist
+	 * @param bedingungen
+	 * 		Das Ziel der Bedingungen
+	 * 
+	 * @return die erste Zeile nach dem Abschnitt
+	 */
+	private static String liesAbschnitt(final BufferedReader reader, String zeile, final int anzahl,
+			final StringBuilder bedingungen) throws IOException {
+		for (int reihe = 0; zeile != null && (anzahl < 0 || reihe < anzahl); reihe++) {
+			String inhalt = zeile.trim();
+			if (anzahl < 0 && (inhalt.isEmpty() || Character.isLetter(inhalt.charAt(0))))
+				break;
+			if (reihe > 0)
+				bedingungen.append(',');
+			bedingungen.append('{');
+			if (!inhalt.equals("0"))
+				bedingungen.append(inhalt.replaceAll("[\\s,]+", ","));
+			bedingungen.append('}');
+			zeile = reader.readLine();
+		}
+		return zeile;
+	}
+	
+	/**
+	 * Liest die Zahl hinter einem Schlsselwort.
+	 * 
+	 * @param text
+	 * 		Der Text hinter dem Schlsselwort
+	 * @param name
+	 * 		Die Bezeichnung der Quelle fr die Fehlermeldung
+	 */
+	private static int liesZahl(final String text, final String name) throws IOException {
+		try {
+			return Integer.parseInt(text.trim());
+		} catch (NumberFormatException e) {
+			throw new IOException(name + ": " + text.trim() + " ist keine gltige Gre");
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package de.drake.nonogramm.batch;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Ein eingelesenes, aber noch nicht interpretiertes Rtsel. Die Bedingungen werden erst beim Lsen
+ * per Bedingungen.lies eingelesen, damit fehlerhafte Rtsel als Ergebnis gemeldet werden knnen.
+ */
+public class Raetsel {
+	
+	/**
+	 * Die Bezeichnung des Rtsels, z.B. Datei und Zeilennummer
+	 */
+	final String name;
+	
+	/**
+	 * Die linken Bedingungen in der Syntax von Bedingungen.lies
+	 */
+	final String linkeBedingungen;
+	
+	/**
+	 * Die oberen Bedingungen in der Syntax von Bedingungen.lies
+	 */
+	final String obereBedingungen;
+	
+	/**
+	 * Erzeugt ein Rtsel.
+	 * 
+	 * @param name
+	 * 		Die Bezeichnung des Rtsels
+	 * @param linkeBedingungen
+	 * 		Die linken Bedingungen in der Syntax von Bedingungen.lies
+	 * @param obereBedingungen
+	 * 		Die oberen Bedingungen in der Syntax von Bedingungen.lies
+	 */
+	Raetsel(final String name, final String linkeBedingungen, final String obereBedingungen) {
+		this.name = name;
+		this.linkeBedingungen = linkeBedingungen;
+		this.obereBedingungen = obereBedingungen;
+	}
+	
+	/**
+	 * get-Methode fr die Bezeichnung des Rtsels
+	 * 
+	 * @return die Bezeichnung, z.B. Datei und Zeilennummer
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Liest die Bedingungen per Bedingungsleser ein und erzeugt das Nonogramm.
+	 * 
+	 * @return das ungelste Nonogramm
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Bedingungen nicht gelesen werden knnen
+	 */
+	public Nonogramm erzeugeNonogramm() throws IllegalArgumentException {
+		return new Nonogramm(Bedingungen.lies(this.linkeBedingungen),
+				Bedingungen.lies(this.obereBedingungen));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,447 @@
+package de.drake.nonogramm.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Loesungszaehlung;
+import de.drake.nonogramm.solver.Solver;
+
+/**
+ * Erzeugt eindeutig lsbare Rtsel aus zuflligen Bildern. Jedes Bild (Kandidat) wird aus dem
+ * Startwert und seiner laufenden Nummer erzeugt, so dass derselbe Aufruf unabhngig von der Anzahl
+ * der Threads dieselben Rtsel in derselben Reihenfolge liefert, sofern kein Kandidat knapp an der
+ * Zeitgrenze scheitert. Die Bedingungen werden aus dem Bild abgeleitet; behalten werden nur Rtsel,
+ * deren Lsung der Solver als eindeutig nachweist. Da die meisten Kandidaten bereits durch
+ * Bearbeitung der Reihen vollstndig gelst werden und diese nur sichere Folgerungen zieht, ist die
+ * Lsung dann ohne Suche als eindeutig bewiesen; nur die brigen Kandidaten werden per
+ * Solver.zaehleLoesungen(2) geprft. Erzeugung und Prfung laufen auf einem Thread-Pool.
+ * 
+ * Aufruf: java de.drake.nonogramm.batch.Raetselgenerator [Optionen]
+ * 	-a anzahl	Anzahl der zu erzeugenden Rtsel (Standard: 100)
+ * 	-h hoehe	Anzahl der Zeilen (Standard: 20)
+ * 	-b breite	Anzahl der Spalten (Standard: 20)
+ * 	-d dichte	Anteil schwarzer Felder zwischen 0 und 1 (Standard: 0.6)
+ * 	-r startwert	Startwert des Zufallsgenerators (Standard: 1)
+ * 	-t anzahl	Anzahl der Threads (Standard: Anzahl der Prozessoren)
+ * 	-z ms		Zeitgrenze je Kandidat, 0 fr unbegrenzt (Standard: 1000)
+ * 	-k datei	Rtsel und Lsungen in einen binren Korpus schreiben (siehe Korpusdatei)
+ * 	-l			nur Rtsel behalten, die sich ohne Suche allein durch Bearbeitung der Reihen lsen lassen
+ * Ohne -k werden die Rtsel im Format von Raetselleser auf die Konsole geschrieben. Kandidaten, deren
+ * Prfung die Zeitgrenze berschreitet, werden verworfen.
+ * 
+ * Rckgabewert: 0, wenn alle Rtsel erzeugt wurden, und 1 bei fehlerhaftem Aufruf oder nicht
+ * schreibbarer Ausgabe.
+ */
+public class Raetselgenerator {
+	
+	/**
+	 * Die Anzahl der Kandidaten je Thread, die hchstens gleichzeitig in Bearbeitung sind. Begrenzt
+	 * den Speicherbedarf, da die Rtsel in der Reihenfolge der Kandidaten ausgegeben werden.
+	 */
+	private static final int KANDIDATEN_JE_THREAD = 16;
+	
+	/**
+	 * Die Anzahl der Zeilen der Rtsel
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Anzahl der Spalten der Rtsel
+	 */
+	private final int breite;
+	
+	/**
+	 * Der Anteil schwarzer Felder in den zuflligen Bildern
+	 */
+	private final double dichte;
+	
+	/**
+	 * Der Startwert des Zufallsgenerators
+	 */
+	private final long startwert;
+	
+	/**
+	 * Gibt an, ob nur Rtsel behalten werden, die sich ohne Suche lsen lassen.
+	 */
+	private boolean nurOhneSuche = false;
+	
+	/**
+	 * Die Anzahl der Threads
+	 */
+	private int anzahlThreads = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * Die Zeitgrenze je Kandidat in Millisekunden, 0 fr unbegrenzt
+	 */
+	private long zeitgrenze = 1000;
+	
+	/**
+	 * Der Thread, der die Solver bei Erreichen der Zeitgrenze abbricht
+	 */
+	private ScheduledExecutorService zeitgeber;
+	
+	/**
+	 * Erzeugt einen Generator.
+	 * 
+	 * @param hoehe
+	 * 		Die Anzahl der Zeilen der Rtsel
+	 * @param breite
+	 * 		Die Anzahl der Spalten der Rtsel
+	 * @param dichte
+	 * 		Der Anteil schwarzer Felder in den zuflligen Bildern
+	 * @param startwert
+	 * 		Der Startwert des Zufallsgenerators
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn Hhe oder Breite kleiner als 1 sind oder die Dichte nicht zwischen 0
+	 * 		und 1 liegt
+	 */
+	public Raetselgenerator(final int hoehe, final int breite, final double dichte, final long startwert)
+			throws IllegalArgumentException {
+		if (hoehe < 1 || breite < 1)
+			throw new IllegalArgumentException("Ungltige Gre " + hoehe + "x" + breite);
+		if (!(dichte >= 0 && dichte <= 1))
+			throw new IllegalArgumentException("Die Dichte muss zwischen 0 und 1 liegen");
+		this.hoehe = hoehe;
+		this.breite = breite;
+		this.dichte = dichte;
+		this.startwert = startwert;
+	}
+	
+	/**
+	 * Startet den Generator.
+	 * 
+	 * @param argumente
+	 * 		Die Optionen (siehe Klassenbeschreibung)
+	 */
+	public static void main(final String[] argumente) {
+		int anzahl = 100;
+		int hoehe = 20;
+		int breite = 20;
+		double dichte = 0.6;
+		long startwert = 1;
+		int anzahlThreads = Runtime.getRuntime().availableProcessors();
+		long zeitgrenze = 1000;
+		boolean nurOhneSuche = false;
+		String korpusdatei = null;
+		Raetselgenerator generator = null;
+		try {
+			for (int index = 0; index < argumente.length; index++) {
+				String option = argumente[index];
+				if (option.equals("-l")) {
+					nurOhneSuche = true;
+				} else {
+					if (index + 1 >= argumente.length)
+						throw new IllegalArgumentException("Zur Option " + option + " fehlt der Wert");
+					String wert = argumente[++index];
+					if (option.equals("-a")) {
+						anzahl = Integer.parseInt(wert);
+					} else if (option.equals("-h")) {
+						hoehe = Integer.parseInt(wert);
+					} else if (option.equals("-b")) {
+						breite = Integer.parseInt(wert);
+					} else if (option.equals("-d")) {
+						dichte = Double.parseDouble(wert);
+					} else if (option.equals("-r")) {
+						startwert = Long.parseLong(wert);
+					} else if (option.equals("-t")) {
+						anzahlThreads = Integer.parseInt(wert);
+					} else if (option.equals("-z")) {
+						zeitgrenze = Long.parseLong(wert);
+					} else if (option.equals("-k")) {
+						korpusdatei = wert;
+					} else {
+						throw new IllegalArgumentException("Unbekannte Option " + option);
+					}
+				}
+			}
+			if (anzahl < 0)
+				throw new IllegalArgumentException("Ungltige Anzahl von Rtseln");
+			generator = new Raetselgenerator(hoehe, breite, dichte, startwert);
+			generator.setAnzahlThreads(anzahlThreads);
+			generator.setZeitgrenze(zeitgrenze);
+			generator.setNurOhneSuche(nurOhneSuche);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Aufruf: Raetselgenerator [-a anzahl] [-h hoehe] [-b breite] [-d dichte]"
+					+ " [-r startwert] [-t anzahl] [-z ms] [-k datei] [-l]");
+			System.exit(1);
+		}
+		
+		int rueckgabewert = 0;
+		try {
+			PrintWriter text = korpusdatei != null ? null
+					: new PrintWriter(new OutputStreamWriter(System.out, "UTF-8"));
+			Korpusschreiber korpus = korpusdatei == null ? null : new Korpusschreiber(new File(korpusdatei));
+			try {
+				generator.erzeuge(anzahl, text, korpus);
+			} finally {
+				if (text != null)
+					text.flush();
+				if (korpus != null)
+					korpus.close();
+			}
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			rueckgabewert = 1;
+		}
+		System.exit(rueckgabewert);
+	}
+	
+	/**
+	 * Legt fest, ob nur Rtsel behalten werden, die sich ohne Suche allein durch Bearbeitung der
+	 * Reihen lsen lassen (Standard: false).
+	 * 
+	 * @param nurOhneSuche
+	 * 		true, wenn Rtsel, die eine Suche erfordern, verworfen werden sollen
+	 */
+	public void setNurOhneSuche(final boolean nurOhneSuche) {
+		this.nurOhneSuche = nurOhneSuche;
+	}
+	
+	/**
+	 * Legt die Anzahl der Threads fest, auf denen die Kandidaten erzeugt und geprft werden
+	 * (Standard: Anzahl der Prozessoren).
+	 * 
+	 * @param anzahlThreads
+	 * 		Die Anzahl der Threads
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Anzahl kleiner als 1 ist
+	 */
+	public void setAnzahlThreads(final int anzahlThreads) throws IllegalArgumentException {
+		if (anzahlThreads < 1)
+			throw new IllegalArgumentException("Ungltige Anzahl von Threads");
+		this.anzahlThreads = anzahlThreads;
+	}
+	
+	/**
+	 * Legt die Zeitgrenze je Kandidat fest (Standard: 1000 ms). Kandidaten, deren Prfung lnger
+	 * dauert, werden verworfen.
+	 * 
+	 * @param zeitgrenze
+	 * 		Die Zeitgrenze in Millisekunden, 0 fr unbegrenzt
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Zeitgrenze negativ ist
+	 */
+	public void setZeitgrenze(final long zeitgrenze) throws IllegalArgumentException {
+		if (zeitgrenze < 0)
+			throw new IllegalArgumentException("Ungltige Zeitgrenze");
+		this.zeitgrenze = zeitgrenze;
+	}
+	
+	/**
+	 * Erzeugt die angegebene Anzahl eindeutig lsbarer Rtsel und gibt sie in der Reihenfolge der
+	 * Kandidaten aus.
+	 * 
+	 * @param anzahl
+	 * 		Die Anzahl der zu erzeugenden Rtsel
+	 * @param text
+	 * 		Das Ziel der Rtsel im Format von Raetselleser, bzw. null
+	 * @param korpus
+	 * 		Der binre Korpus, in den die Rtsel mit ihren Lsungen geschrieben werden, bzw. null
+	 * 
+	 * @return die Anzahl der dafr geprften Kandidaten
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn der binre Korpus nicht geschrieben werden kann
+	 */
+	long erzeuge(final int anzahl, final PrintWriter text, final Korpusschreiber korpus)
+			throws IOException {
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(this.anzahlThreads);
+		this.zeitgeber = Executors.newSingleThreadScheduledExecutor();
+		ArrayDeque<Future<Nonogramm>> inBearbeitung = new ArrayDeque<Future<Nonogramm>>();
+		long naechsterKandidat = 0;
+		long geprueft = 0;
+		int erzeugt = 0;
+		try {
+			while (erzeugt < anzahl) {
+				while (inBearbeitung.size() < this.anzahlThreads * KANDIDATEN_JE_THREAD) {
+					inBearbeitung.add(pool.submit(this.erzeugeAufgabe(naechsterKandidat++)));
+				}
+				Nonogramm nonogramm = Raetselgenerator.warteAuf(inBearbeitung.poll());
+				if (nonogramm != null) {
+					String name = this.getName(geprueft);
+					if (text != null) {
+						text.println("# " + name);
+						text.println(nonogramm.getLinkeBedingungen().toMatrix());
+						text.println(nonogramm.getObereBedingungen().toMatrix());
+					}
+					if (korpus != null)
+						korpus.schreibe(name, nonogramm, true);
+					erzeugt++;
+				}
+				geprueft++;
+			}
+		} finally {
+			pool.shutdownNow();
+			this.zeitgeber.shutdownNow();
+		}
+		long dauer = (System.nanoTime() - start) / 1000000;
+		System.err.println(erzeugt + " Rtsel aus " + geprueft + " Kandidaten in " + dauer + " ms ("
+				+ (dauer == 0 ? "-" : String.valueOf(erzeugt * 1000L / dauer)) + " Rtsel/s)");
+		return geprueft;
+	}
+	
+	/**
+	 * Erzeugt die Aufgabe, einen Kandidaten zu erzeugen und zu prfen.
+	 * 
+	 * @param nummer
+	 * 		Die laufende Nummer des Kandidaten
+	 */
+	private Callable<Nonogramm> erzeugeAufgabe(final long nummer) {
+		return new Callable<Nonogramm>() {
+			@Override
+			public Nonogramm call() {
+				return Raetselgenerator.this.pruefe(Raetselgenerator.this.erzeugeBild(nummer));
+			}
+		};
+	}
+	
+	/**
+	 * Wartet auf das Ergebnis eines Kandidaten.
+	 * 
+	 * @param aufgabe
+	 * 		Die Aufgabe, die den Kandidaten prft
+	 * 
+	 * @return das gelste Nonogramm, bzw. null, wenn der Kandidat verworfen wurde
+	 */
+	private static Nonogramm warteAuf(final Future<Nonogramm> aufgabe) {
+		try {
+			return aufgabe.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Gibt den Namen eines Rtsels zurck, z.B. zufall-20x20-1-17.
+	 * 
+	 * @param nummer
+	 * 		Die laufende Nummer des Kandidaten
+	 */
+	private String getName(final long nummer) {
+		return "zufall-" + this.hoehe + "x" + this.breite + "-" + this.startwert + "-" + nummer;
+	}
+	
+	/**
+	 * Erzeugt das zufllige Bild eines Kandidaten. Der Zufallsgenerator wird aus dem Startwert und
+	 * der Nummer des Kandidaten initialisiert, so dass jeder Kandidat unabhngig von den anderen
+	 * erzeugt werden kann.
+	 * 
+	 * @param nummer
+	 * 		Die laufende Nummer des Kandidaten
+	 * 
+	 * @return das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	public boolean[][] erzeugeBild(final long nummer) {
+		Random zufall = new Random(this.startwert * 0x9E3779B97F4A7C15L + nummer);
+		boolean[][] bild = new boolean[this.hoehe][this.breite];
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				bild[zeile][spalte] = zufall.nextDouble() < this.dichte;
+			}
+		}
+		return bild;
+	}
+	
+	/**
+	 * Leitet die Bedingungen aus einem Bild ab und prft, ob das Rtsel eindeutig lsbar ist.
+	 * Zunchst werden nur die Reihen bearbeitet; bleiben danach Felder offen, wird die Zahl der
+	 * Lsungen per Solver.zaehleLoesungen(2) ermittelt, sofern Rtsel mit Suche zulssig sind.
+	 * 
+	 * @param bild
+	 * 		Das Bild; true kennzeichnet ein schwarzes Feld
+	 * 
+	 * @return das gelste Nonogramm, bzw. null, wenn das Rtsel nicht eindeutig lsbar ist oder die
+	 * 		Prfung die Zeitgrenze berschritten hat. Die Zeitgrenze gilt nur whrend this.erzeuge().
+	 */
+	public Nonogramm pruefe(final boolean[][] bild) {
+		Nonogramm nonogramm = Raetselgenerator.erzeugeNonogramm(bild);
+		final Solver solver = new Solver(nonogramm, true);
+		ScheduledFuture<?> abbruch = null;
+		if (this.zeitgrenze > 0 && this.zeitgeber != null) {
+			abbruch = this.zeitgeber.schedule(new Runnable() {
+				@Override
+				public void run() {
+					solver.abbrechen();
+				}
+			}, this.zeitgrenze, TimeUnit.MILLISECONDS);
+		}
+		try {
+			solver.loeseEinfach();
+			if (nonogramm.istVollstaendig())
+				return nonogramm;
+			if (this.nurOhneSuche || solver.wurdeAbgebrochen())
+				return null;
+			Loesungszaehlung zaehlung = solver.zaehleLoesungen(2);
+			if (zaehlung.getAnzahl() != 1 || solver.wurdeAbgebrochen())
+				return null;
+			nonogramm.uebernehme(zaehlung.getLoesungen().get(0));
+			return nonogramm;
+		} finally {
+			if (abbruch != null)
+				abbruch.cancel(false);
+		}
+	}
+	
+	/**
+	 * Erzeugt ein leeres Nonogramm, dessen Lsung das bergebene Bild ist.
+	 * 
+	 * @param bild
+	 * 		Das Bild; true kennzeichnet ein schwarzes Feld. Alle Zeilen mssen gleich lang sein.
+	 */
+	public static Nonogramm erzeugeNonogramm(final boolean[][] bild) {
+		int breite = bild.length == 0 ? 0 : bild[0].length;
+		int[][] zeilen = new int[bild.length][];
+		int[][] spalten = new int[breite][];
+		int[] bloecke = new int[Math.max(bild.length, breite) / 2 + 1];
+		for (int zeile = 0; zeile < bild.length; zeile++) {
+			int anzahl = 0;
+			int laenge = 0;
+			for (int spalte = 0; spalte <= breite; spalte++) {
+				if (spalte < breite && bild[zeile][spalte]) {
+					laenge++;
+				} else if (laenge > 0) {
+					bloecke[anzahl++] = laenge;
+					laenge = 0;
+				}
+			}
+			zeilen[zeile] = Arrays.copyOf(bloecke, anzahl);
+		}
+		for (int spalte = 0; spalte < breite; spalte++) {
+			int anzahl = 0;
+			int laenge = 0;
+			for (int zeile = 0; zeile <= bild.length; zeile++) {
+				if (zeile < bild.length && bild[zeile][spalte]) {
+					laenge++;
+				} else if (laenge > 0) {
+					bloecke[anzahl++] = laenge;
+					laenge = 0;
+				}
+			}
+			spalten[spalte] = Arrays.copyOf(bloecke, anzahl);
+		}
+		return new Nonogramm(new Bedingungen(zeilen), new Bedingungen(spalten));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package de.drake.nonogramm.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Liest Rtsel zeilenweise aus einer Textdatei. Jedes Rtsel besteht aus zwei aufeinanderfolgenden
+ * Zeilen mit den linken und den oberen Bedingungen in der Syntax von Matrix.toIntMatrix, z.B.
+ * 
+ * 	# Ein 2x3-Rtsel
+ * 	[[1,1],[3]]
+ * 	{{2},{1},{2}}
+ * 
+ * Leere Zeilen und Zeilen, die mit # beginnen, werden bersprungen. Als Name des Rtsels dient
+ * die Quelle zusammen mit der Zeilennummer der linken Bedingungen.
+ */
+class Raetselleser {
+	
+	/**
+	 * Die Quelle, aus der gelesen wird
+	 */
+	private final BufferedReader reader;
+	
+	/**
+	 * Die Bezeichnung der Quelle, z.B. der Dateiname
+	 */
+	private final String quelle;
+	
+	/**
+	 * Die Nummer der zuletzt gelesenen Zeile
+	 */
+	private int zeilennummer = 0;
+	
+	/**
+	 * Erzeugt einen Leser.
+	 * 
+	 * @param reader
+	 * 		Die Quelle, aus der gelesen wird
+	 * @param quelle
+	 * 		Die Bezeichnung der Quelle, z.B. der Dateiname
+	 */
+	Raetselleser(final BufferedReader reader, final String quelle) {
+		this.reader = reader;
+		this.quelle = quelle;
+	}
+	
+	/**
+	 * Liest das nchste Rtsel.
+	 * 
+	 * @return das Rtsel, bzw. null, wenn die Quelle keine weiteren Rtsel enthlt
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Quelle nicht gelesen werden kann oder das letzte Rtsel
+	 * 		unvollstndig ist
+	 */
+	Raetsel lies() throws IOException {
+		String linkeBedingungen = this.liesInhaltszeile();
+		if (linkeBedingungen == null)
+			return null;
+		String name = this.quelle + ":" + this.zeilennummer;
+		String obereBedingungen = this.liesInhaltszeile();
+		if (obereBedingungen == null)
+			throw new IOException(name + ": Die oberen Bedingungen fehlen");
+		return new Raetsel(name, linkeBedingungen, obereBedingungen);
+	}
+	
+	/**
+	 * Liest die nchste Zeile, die weder leer noch ein Kommentar ist.
+	 * 
+	 * @return die Zeile, bzw. null am Ende der Quelle
+	 */
+	private String liesInhaltszeile() throws IOException {
+		String zeile;
+		while ((zeile = this.reader.readLine()) != null) {
+			this.zeilennummer++;
+			zeile = zeile.trim();
+			if (!zeile.isEmpty() && !zeile.startsWith("#"))
+				return zeile;
+		}
+		return null;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,564 @@
+package de.drake.nonogramm.batch;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Liefert die Rtsel aus Dateien, Verzeichnisbumen und Archiven nacheinander, ohne den Korpus
+ * vollstndig in den Speicher zu laden. Es ist jeweils nur die gerade gelesene Datei geffnet;
+ * der Speicherbedarf hngt daher nicht von der Gre des Korpus ab.
+ * 
+ * Die Formate werden anhand der Dateiendung erkannt:
+ * 	.zip		Zip-Archiv, dessen Eintrge wiederum nach ihrer Endung gelesen werden
+ * 	.gz			gzip-komprimierte Datei, z.B. raetsel.txt.gz oder raetsel.non.gz
+ * 	.non		ein Rtsel im .non-Format (siehe NonLeser)
+ * 	.nkb		binrer Korpus (siehe Korpusdatei), nur als Datei, nicht in Archiven
+ * 	sonst		Textdatei mit beliebig vielen Rtseln (siehe Raetselleser)
+ * Verzeichnisse werden rekursiv in alphabetischer Reihenfolge durchlaufen. In Verzeichnissen und
+ * Archiven werden nur Dateien mit den Endungen .txt, .non, .nkb, .zip und .gz gelesen, andere Dateien
+ * (z.B. Beschreibungen oder Bilder) werden bersprungen.
+ * 
+ * Dateien, Verzeichnisse, Archiveintrge oder Rtsel, die nicht gelesen werden knnen, brechen das
+ * Lesen nicht ab: naechstes() liefert an ihrer Stelle ein Rtsel, dessen erzeugeNonogramm() den
+ * Lesefehler als IllegalArgumentException meldet, und fhrt danach mit der nchsten Datei fort.
+ * 
+ * Die Methode naechstes() ist synchronisiert, so dass mehrere Threads gleichzeitig Rtsel aus
+ * derselben Quelle entnehmen knnen.
+ */
+public class Raetselquelle implements Closeable {
+	
+	/**
+	 * Die Endungen der Dateien, die in Verzeichnissen und Archiven gelesen werden
+	 */
+	private static final List<String> BEKANNTE_ENDUNGEN = Arrays.asList(".txt", ".non", ".nkb", ".zip",
+			".gz");
+	
+	/**
+	 * Die geffneten Teilquellen. Die oberste Teilquelle wird gerade gelesen, die darunter liegenden
+	 * enthalten sie, z.B. das Archiv, in dem die gerade gelesene Datei liegt.
+	 */
+	private final ArrayDeque<Teilquelle> stapel = new ArrayDeque<Teilquelle>();
+	
+	/**
+	 * Erzeugt eine Quelle fr die bergebenen Dateien und Verzeichnisse. Die Dateien werden erst
+	 * beim Lesen geffnet.
+	 * 
+	 * @param pfade
+	 * 		Die Datei- und Verzeichnisnamen; - steht fr die Standardeingabe
+	 */
+	public Raetselquelle(final List<String> pfade) {
+		final Iterator<String> iterator = new ArrayList<String>(pfade).iterator();
+		this.stapel.push(new Teilquelle() {
+			@Override
+			Teilquelle oeffneNaechste() throws IOException {
+				if (!iterator.hasNext())
+					return null;
+				String pfad = iterator.next();
+				if (pfad.equals("-"))
+					return new Textquelle(System.in, pfad);
+				return Raetselquelle.oeffne(new File(pfad));
+			}
+		});
+	}
+	
+	/**
+	 * Liefert das nchste Rtsel. Kann eine Datei oder ein Rtsel nicht gelesen werden, wird ein
+	 * fehlerhaftes Rtsel geliefert (siehe Klassenbeschreibung); der Rest der betroffenen Datei wird
+	 * bersprungen.
+	 * 
+	 * @return das Rtsel, bzw. null, wenn alle Dateien gelesen wurden
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn eine Datei nach einem Lesefehler nicht geschlossen werden kann
+	 */
+	public synchronized Raetsel naechstes() throws IOException {
+		while (!this.stapel.isEmpty()) {
+			Teilquelle teilquelle = this.stapel.peek();
+			Raetsel raetsel;
+			try {
+				raetsel = teilquelle.lies();
+			} catch (Lesefehler e) {
+				this.stapel.pop().close();
+				return e.erzeugeRaetsel();
+			}
+			if (raetsel != null)
+				return raetsel;
+			Teilquelle enthaltene;
+			try {
+				enthaltene = teilquelle.oeffneNaechste();
+			} catch (Lesefehler e) {
+				// Die enthaltende Teilquelle ist bereits zum nchsten Eintrag weitergerckt.
+				return e.erzeugeRaetsel();
+			}
+			if (enthaltene != null) {
+				this.stapel.push(enthaltene);
+			} else {
+				this.stapel.pop().close();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Schliet alle noch geffneten Dateien.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		IOException fehler = null;
+		while (!this.stapel.isEmpty()) {
+			try {
+				this.stapel.pop().close();
+			} catch (IOException e) {
+				fehler = e;
+			}
+		}
+		if (fehler != null)
+			throw fehler;
+	}
+	
+	/**
+	 * ffnet eine Datei oder ein Verzeichnis.
+	 * 
+	 * @param datei
+	 * 		Die Datei bzw. das Verzeichnis
+	 */
+	private static Teilquelle oeffne(final File datei) throws Lesefehler {
+		try {
+			if (datei.isDirectory())
+				return new Verzeichnisquelle(datei);
+			if (datei.getName().toLowerCase().endsWith(".nkb"))
+				return new Korpusquelle(new Korpusdatei(datei), datei.getPath());
+			return oeffne(new FileInputStream(datei), datei.getPath(), datei.getName());
+		} catch (Lesefehler e) {
+			throw e;
+		} catch (IOException | RuntimeException e) {
+			throw new Lesefehler(datei.getPath(), e);
+		}
+	}
+	
+	/**
+	 * ffnet einen Datenstrom gem der Endung des Dateinamens.
+	 * 
+	 * @param eingabe
+	 * 		Der Datenstrom, wird von der Teilquelle geschlossen
+	 * @param name
+	 * 		Die Bezeichnung des Datenstroms fr die Namen der Rtsel
+	 * @param dateiname
+	 * 		Der Dateiname, dessen Endung das Format bestimmt
+	 */
+	private static Teilquelle oeffne(final InputStream eingabe, final String name, final String dateiname)
+			throws Lesefehler {
+		String endung = dateiname.toLowerCase();
+		try {
+			if (endung.endsWith(".gz")) {
+				return oeffne(new GZIPInputStream(eingabe), name,
+						dateiname.substring(0, dateiname.length() - ".gz".length()));
+			} else if (endung.endsWith(".zip")) {
+				return new Zipquelle(eingabe, name);
+			} else if (endung.endsWith(".non")) {
+				return new Nonquelle(eingabe, name);
+			} else if (endung.endsWith(".nkb")) {
+				throw new IOException(name + ": Binre Korpusse knnen nur als Datei gelesen werden");
+			}
+			return new Textquelle(eingabe, name);
+		} catch (Lesefehler e) {
+			throw e;
+		} catch (IOException e) {
+			try {
+				eingabe.close();
+			} catch (IOException schliessfehler) {
+				e.addSuppressed(schliessfehler);
+			}
+			throw new Lesefehler(name, e);
+		}
+	}
+	
+	/**
+	 * Prft, ob eine Datei in einem Verzeichnis oder Archiv gelesen werden soll.
+	 * 
+	 * @param dateiname
+	 * 		Der Name der Datei
+	 */
+	private static boolean istBekannt(final String dateiname) {
+		String endung = dateiname.toLowerCase();
+		if (dateiname.startsWith("."))
+			return false;
+		for (String bekannteEndung : BEKANNTE_ENDUNGEN) {
+			if (endung.endsWith(bekannteEndung))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Ein Fehler beim ffnen oder Lesen einer Teilquelle. Er wird nicht an den Aufrufer von
+	 * naechstes() weitergegeben, sondern als fehlerhaftes Rtsel geliefert.
+	 */
+	private static class Lesefehler extends IOException {
+		
+		/**
+		 * Die serialVersionUID fr Lesefehler
+		 */
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Die Bezeichnung der Datei bzw. des Archiveintrags, der nicht gelesen werden konnte
+		 */
+		private final String name;
+		
+		/**
+		 * Erzeugt einen Lesefehler.
+		 * 
+		 * @param name
+		 * 		Die Bezeichnung der Datei bzw. des Archiveintrags
+		 * @param ursache
+		 * 		Der ursprngliche Fehler
+		 */
+		Lesefehler(final String name, final Exception ursache) {
+			super(ursache.getMessage() != null ? ursache.getMessage() : ursache.toString(), ursache);
+			this.name = name;
+		}
+		
+		/**
+		 * Erzeugt das fehlerhafte Rtsel, das an Stelle der nicht lesbaren Datei geliefert wird.
+		 */
+		Raetsel erzeugeRaetsel() {
+			final String meldung = this.getMessage();
+			return new Raetsel(this.name, null, null) {
+				@Override
+				public Nonogramm erzeugeNonogramm() {
+					throw new IllegalArgumentException(meldung);
+				}
+			};
+		}
+	}
+	
+	/**
+	 * Eine Teilquelle liefert entweder selbst Rtsel (z.B. eine Textdatei) oder weitere Teilquellen
+	 * (z.B. ein Verzeichnis oder ein Archiv).
+	 */
+	private abstract static class Teilquelle implements Closeable {
+		
+		/**
+		 * Liest das nchste Rtsel.
+		 * 
+		 * @return das Rtsel, bzw. null, wenn die Teilquelle keine weiteren Rtsel enthlt
+		 */
+		Raetsel lies() throws IOException {
+			return null;
+		}
+		
+		/**
+		 * ffnet die nchste enthaltene Teilquelle.
+		 * 
+		 * @return die Teilquelle, bzw. null, wenn keine weiteren Teilquellen enthalten sind
+		 */
+		Teilquelle oeffneNaechste() throws IOException {
+			return null;
+		}
+		
+		@Override
+		public void close() throws IOException {
+		}
+	}
+	
+	/**
+	 * Ein Verzeichnis. Es wird jeweils nur der Inhalt eines Verzeichnisses im Speicher gehalten.
+	 */
+	private static class Verzeichnisquelle extends Teilquelle {
+		
+		/**
+		 * Die noch nicht gelesenen Eintrge des Verzeichnisses
+		 */
+		private final Iterator<File> eintraege;
+		
+		/**
+		 * Erzeugt die Teilquelle fr ein Verzeichnis.
+		 * 
+		 * @param verzeichnis
+		 * 		Das Verzeichnis
+		 */
+		Verzeichnisquelle(final File verzeichnis) throws IOException {
+			File[] dateien = verzeichnis.listFiles();
+			if (dateien == null)
+				throw new IOException(verzeichnis + ": Das Verzeichnis kann nicht gelesen werden");
+			List<File> liste = Arrays.asList(dateien);
+			Collections.sort(liste);
+			this.eintraege = liste.iterator();
+		}
+		
+		@Override
+		Teilquelle oeffneNaechste() throws IOException {
+			while (this.eintraege.hasNext()) {
+				File datei = this.eintraege.next();
+				if (datei.isDirectory() ? !datei.getName().startsWith(".") : istBekannt(datei.getName()))
+					return oeffne(datei);
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Ein Zip-Archiv. Die Eintrge werden in der Reihenfolge des Archivs gelesen, ohne sie zu
+	 * entpacken.
+	 */
+	private static class Zipquelle extends Teilquelle {
+		
+		/**
+		 * Das Archiv
+		 */
+		private final ZipInputStream zip;
+		
+		/**
+		 * Die Bezeichnung des Archivs
+		 */
+		private final String name;
+		
+		/**
+		 * Gibt an, ob das Archiv beschdigt ist; dann werden keine weiteren Eintrge gelesen.
+		 */
+		private boolean beschaedigt = false;
+		
+		/**
+		 * Erzeugt die Teilquelle fr ein Archiv.
+		 * 
+		 * @param eingabe
+		 * 		Der Datenstrom des Archivs
+		 * @param name
+		 * 		Die Bezeichnung des Archivs
+		 */
+		Zipquelle(final InputStream eingabe, final String name) {
+			this.zip = new ZipInputStream(eingabe);
+			this.name = name;
+		}
+		
+		@Override
+		Teilquelle oeffneNaechste() throws IOException {
+			if (this.beschaedigt)
+				return null;
+			ZipEntry eintrag;
+			while ((eintrag = this.liesEintrag()) != null) {
+				String pfad = eintrag.getName();
+				String dateiname = pfad.substring(pfad.lastIndexOf('/') + 1);
+				if (!eintrag.isDirectory() && istBekannt(dateiname)) {
+					// Der Eintrag darf beim Schlieen seiner Teilquelle nicht das Archiv schlieen.
+					InputStream eintragsstrom = new FilterInputStream(this.zip) {
+						@Override
+						public void close() {
+						}
+					};
+					return oeffne(eintragsstrom, this.name + "!/" + pfad, dateiname);
+				}
+			}
+			return null;
+		}
+		
+		/**
+		 * Liest den nchsten Eintrag des Archivs.
+		 * 
+		 * @return der Eintrag, bzw. null am Ende des Archivs
+		 * 
+		 * @throws Lesefehler
+		 * 		wird geworfen, wenn das Archiv beschdigt ist
+		 */
+		private ZipEntry liesEintrag() throws Lesefehler {
+			try {
+				return this.zip.getNextEntry();
+			} catch (IOException | RuntimeException e) {
+				this.beschaedigt = true;
+				throw new Lesefehler(this.name, e);
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.zip.close();
+		}
+	}
+	
+	/**
+	 * Eine Textdatei mit beliebig vielen Rtseln im Format von Raetselleser.
+	 */
+	private static class Textquelle extends Teilquelle {
+		
+		/**
+		 * Die Datei
+		 */
+		private final BufferedReader reader;
+		
+		/**
+		 * Der Leser fr die Rtsel
+		 */
+		private final Raetselleser leser;
+		
+		/**
+		 * Die Bezeichnung der Datei
+		 */
+		private final String name;
+		
+		/**
+		 * Erzeugt die Teilquelle fr eine Textdatei.
+		 * 
+		 * @param eingabe
+		 * 		Der Datenstrom der Datei
+		 * @param name
+		 * 		Die Bezeichnung der Datei
+		 */
+		Textquelle(final InputStream eingabe, final String name) throws IOException {
+			this.reader = new BufferedReader(new InputStreamReader(eingabe, "UTF-8"));
+			this.leser = new Raetselleser(this.reader, name);
+			this.name = name;
+		}
+		
+		@Override
+		Raetsel lies() throws IOException {
+			try {
+				return this.leser.lies();
+			} catch (IOException | RuntimeException e) {
+				throw new Lesefehler(this.name, e);
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+	}
+	
+	/**
+	 * Eine Datei mit einem Rtsel im .non-Format.
+	 */
+	private static class Nonquelle extends Teilquelle {
+		
+		/**
+		 * Die Datei
+		 */
+		private final BufferedReader reader;
+		
+		/**
+		 * Die Bezeichnung der Datei
+		 */
+		private final String name;
+		
+		/**
+		 * Gibt an, ob das Rtsel bereits gelesen wurde
+		 */
+		private boolean gelesen = false;
+		
+		/**
+		 * Erzeugt die Teilquelle fr eine .non-Datei.
+		 * 
+		 * @param eingabe
+		 * 		Der Datenstrom der Datei
+		 * @param name
+		 * 		Die Bezeichnung der Datei
+		 */
+		Nonquelle(final InputStream eingabe, final String name) throws IOException {
+			this.reader = new BufferedReader(new InputStreamReader(eingabe, "UTF-8"));
+			this.name = name;
+		}
+		
+		@Override
+		Raetsel lies() throws IOException {
+			if (this.gelesen)
+				return null;
+			this.gelesen = true;
+			try {
+				return NonLeser.lies(this.reader, this.name);
+			} catch (IOException | RuntimeException e) {
+				throw new Lesefehler(this.name, e);
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+	}
+	
+	/**
+	 * Ein binrer Korpus. Die Nonogramme werden erst beim Aufruf von Raetsel.erzeugeNonogramm()
+	 * aus der eingeblendeten Datei geladen; die Einblendung bleibt dafr auch nach dem Schlieen
+	 * der Datei gltig. Da die Datenstze unabhngig voneinander gelesen werden, wird ein
+	 * beschdigter Datensatz als fehlerhaftes Rtsel geliefert und der Rest des Korpus weiter gelesen.
+	 */
+	private static class Korpusquelle extends Teilquelle {
+		
+		/**
+		 * Der Korpus
+		 */
+		private final Korpusdatei korpus;
+		
+		/**
+		 * Die Bezeichnung der Datei
+		 */
+		private final String name;
+		
+		/**
+		 * Der Index des nchsten Rtsels
+		 */
+		private int naechstes = 0;
+		
+		/**
+		 * Erzeugt die Teilquelle fr einen binren Korpus.
+		 * 
+		 * @param korpus
+		 * 		Der Korpus
+		 * @param name
+		 * 		Die Bezeichnung der Datei
+		 */
+		Korpusquelle(final Korpusdatei korpus, final String name) {
+			this.korpus = korpus;
+			this.name = name;
+		}
+		
+		@Override
+		Raetsel lies() {
+			if (this.naechstes == this.korpus.getAnzahl())
+				return null;
+			final int index = this.naechstes++;
+			String raetselname;
+			try {
+				raetselname = this.korpus.getName(index);
+			} catch (RuntimeException e) {
+				return new Lesefehler(this.name + "#" + index, e).erzeugeRaetsel();
+			}
+			if (raetselname.isEmpty())
+				raetselname = this.name + "#" + index;
+			return new Raetsel(raetselname, null, null) {
+				@Override
+				public Nonogramm erzeugeNonogramm() {
+					try {
+						return Korpusquelle.this.korpus.lies(index);
+					} catch (IllegalArgumentException e) {
+						throw e;
+					} catch (RuntimeException e) {
+						throw new IllegalArgumentException(Korpusquelle.this.name + "#" + index + ": " + e, e);
+					}
+				}
+			};
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.korpus.close();
+		}
+	}
+}
\ No newline at end of file
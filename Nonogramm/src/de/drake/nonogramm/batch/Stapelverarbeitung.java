@@ -0,0 +1,357 @@
+package de.drake.nonogramm.batch;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Metrikstand;
+import de.drake.nonogramm.solver.Solver;
+import de.drake.nonogramm.solver.Solvermetriken;
+import de.drake.nonogramm.solver.Suchverfahren;
+
+/**
+ * Lst die Rtsel einer oder mehrerer Dateien ohne grafische Oberflche, z.B. fr nchtliche
+ * Regressionslufe auf Servern. Die Rtsel werden auf einem Thread-Pool gelst; jedes Rtsel wird
+ * nach Ablauf der Zeitgrenze per Solver.abbrechen() abgebrochen. Die Statistik wird im CSV-Format
+ * in der Reihenfolge der Eingabe ausgegeben, eine Zusammenfassung auf System.err.
+ * Als Eingabe sind Textdateien, .non-Dateien, binre Korpusse, Verzeichnisse sowie Zip- und
+ * gzip-Archive zulssig, siehe Raetselquelle.
+ * 
+ * Aufruf: java de.drake.nonogramm.batch.Stapelverarbeitung [Optionen] [Datei|Verzeichnis ...]
+ * 	-t anzahl	Anzahl der Threads (Standard: Anzahl der Prozessoren)
+ * 	-z sekunden	Zeitgrenze je Rtsel, 0 fr unbegrenzt (Standard: 60)
+ * 	-s datei	Statistik in eine Datei statt auf die Konsole schreiben
+ * 	-l datei	Lsungen in eine Datei schreiben
+ * 	-b datei	Rtsel und Lsungen in einen binren Korpus schreiben (siehe Korpusdatei)
+ * 	-k			Suche per Klausellernen statt per Tiefensuche
+ * 	-n			ohne Rekursionsverfahren lsen
+ * 	-m			Solvermetriken nach der Zusammenfassung auf System.err ausgeben
+ * Ohne Datei (oder mit -) wird von der Standardeingabe gelesen.
+ * Die Solvermetriken werden whrend des Laufs unter de.drake.nonogramm:type=Solvermetriken,
+ * name=standard ber JMX verffentlicht.
+ * 
+ * Rckgabewert: 0, wenn alle Rtsel gelst wurden, 2, wenn mindestens ein Rtsel nicht gelst
+ * wurde, und 1 bei fehlerhaftem Aufruf oder nicht schreibbarer Ausgabe. Nicht lesbare Dateien und
+ * Rtsel brechen den Lauf nicht ab, sondern erscheinen mit dem Status fehler in der Statistik.
+ */
+public class Stapelverarbeitung {
+	
+	/**
+	 * Die Anzahl der Rtsel je Thread, die hchstens gleichzeitig in Bearbeitung sind. Begrenzt den
+	 * Speicherbedarf, da die Ergebnisse in der Reihenfolge der Eingabe ausgegeben werden.
+	 */
+	private static final int RAETSEL_JE_THREAD = 4;
+	
+	/**
+	 * Die Anzahl der Threads
+	 */
+	private int anzahlThreads = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * Die Zeitgrenze je Rtsel in Sekunden, bzw. 0 fr unbegrenzt
+	 */
+	private long zeitgrenze = 60;
+	
+	/**
+	 * Option "Rekursionsverfahren zulssig" der Solver
+	 */
+	private boolean optionRekursion = true;
+	
+	/**
+	 * Das Suchverfahren der Solver
+	 */
+	private Suchverfahren suchverfahren = Suchverfahren.tiefensuche;
+	
+	/**
+	 * Der Thread-Pool, auf dem die Rtsel gelst werden
+	 */
+	private ExecutorService pool;
+	
+	/**
+	 * Der Thread, der die Solver bei Erreichen der Zeitgrenze abbricht
+	 */
+	private ScheduledExecutorService zeitgeber;
+	
+	/**
+	 * Die Anzahl der Ergebnisse je Status
+	 */
+	private final Map<Ergebnis.Status, Integer> anzahlJeStatus =
+			new EnumMap<Ergebnis.Status, Integer>(Ergebnis.Status.class);
+	
+	/**
+	 * Der binre Korpus, in den die Rtsel und ihre Lsungen geschrieben werden, bzw. null
+	 */
+	private Korpusschreiber binaerkorpus;
+	
+	/**
+	 * Gibt an, ob die Solvermetriken nach der Zusammenfassung ausgegeben werden.
+	 */
+	private boolean metrikenAusgeben = false;
+	
+	/**
+	 * Startet die Stapelverarbeitung.
+	 * 
+	 * @param argumente
+	 * 		Die Optionen und Dateien (siehe Klassenbeschreibung)
+	 */
+	public static void main(final String[] argumente) {
+		Stapelverarbeitung stapelverarbeitung = new Stapelverarbeitung();
+		String statistikdatei = null;
+		String loesungsdatei = null;
+		String binaerdatei = null;
+		List<String> dateien = new ArrayList<String>();
+		try {
+			for (int index = 0; index < argumente.length; index++) {
+				String option = argumente[index];
+				if (option.equals("-k")) {
+					stapelverarbeitung.suchverfahren = Suchverfahren.klausellernen;
+				} else if (option.equals("-n")) {
+					stapelverarbeitung.optionRekursion = false;
+				} else if (option.equals("-m")) {
+					stapelverarbeitung.metrikenAusgeben = true;
+				} else if (option.equals("-") || !option.startsWith("-")) {
+					dateien.add(option);
+				} else {
+					if (index + 1 >= argumente.length)
+						throw new IllegalArgumentException("Zur Option " + option + " fehlt der Wert");
+					String wert = argumente[++index];
+					if (option.equals("-t")) {
+						stapelverarbeitung.anzahlThreads = Integer.parseInt(wert);
+					} else if (option.equals("-z")) {
+						stapelverarbeitung.zeitgrenze = Long.parseLong(wert);
+					} else if (option.equals("-s")) {
+						statistikdatei = wert;
+					} else if (option.equals("-l")) {
+						loesungsdatei = wert;
+					} else if (option.equals("-b")) {
+						binaerdatei = wert;
+					} else {
+						throw new IllegalArgumentException("Unbekannte Option " + option);
+					}
+				}
+			}
+			if (stapelverarbeitung.anzahlThreads < 1 || stapelverarbeitung.zeitgrenze < 0)
+				throw new IllegalArgumentException("Ungltige Anzahl von Threads oder Zeitgrenze");
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Aufruf: Stapelverarbeitung [-t anzahl] [-z sekunden] [-s datei]"
+					+ " [-l datei] [-b datei] [-k] [-n] [-m] [datei|verzeichnis ...]");
+			System.exit(1);
+		}
+		if (dateien.isEmpty())
+			dateien.add("-");
+		
+		Solvermetriken.STANDARD.registriere("standard");
+		int rueckgabewert;
+		try {
+			PrintWriter statistik = statistikdatei == null ? new PrintWriter(System.out)
+					: new PrintWriter(new OutputStreamWriter(new FileOutputStream(statistikdatei), "UTF-8"));
+			PrintWriter loesungen = loesungsdatei == null ? null
+					: new PrintWriter(new OutputStreamWriter(new FileOutputStream(loesungsdatei), "UTF-8"));
+			stapelverarbeitung.binaerkorpus = binaerdatei == null ? null
+					: new Korpusschreiber(new File(binaerdatei));
+			try {
+				rueckgabewert = stapelverarbeitung.verarbeite(dateien, statistik, loesungen);
+			} finally {
+				statistik.flush();
+				if (statistikdatei != null)
+					statistik.close();
+				if (loesungen != null)
+					loesungen.close();
+				if (stapelverarbeitung.binaerkorpus != null)
+					stapelverarbeitung.binaerkorpus.close();
+			}
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			rueckgabewert = 1;
+		}
+		System.exit(rueckgabewert);
+	}
+	
+	/**
+	 * Lst alle Rtsel der bergebenen Dateien.
+	 * 
+	 * @param dateien
+	 * 		Die Datei- und Verzeichnisnamen; - steht fr die Standardeingabe
+	 * @param statistik
+	 * 		Das Ziel der Statistik
+	 * @param loesungen
+	 * 		Das Ziel der Lsungen, bzw. null
+	 * 
+	 * @return der Rckgabewert des Programms (siehe Klassenbeschreibung)
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn eine Datei nach einem Lesefehler nicht geschlossen werden kann
+	 */
+	int verarbeite(final List<String> dateien, final PrintWriter statistik, final PrintWriter loesungen)
+			throws IOException {
+		long start = System.nanoTime();
+		Metrikstand metrikenVorher = Solvermetriken.STANDARD.getStand();
+		this.pool = Executors.newFixedThreadPool(this.anzahlThreads);
+		this.zeitgeber = Executors.newSingleThreadScheduledExecutor();
+		ArrayDeque<Future<Ergebnis>> inBearbeitung = new ArrayDeque<Future<Ergebnis>>();
+		statistik.println(Ergebnis.getStatistikkopf());
+		try {
+			Raetselquelle quelle = new Raetselquelle(dateien);
+			try {
+				Raetsel raetsel;
+				while ((raetsel = quelle.naechstes()) != null) {
+					inBearbeitung.add(this.pool.submit(this.erzeugeAufgabe(raetsel)));
+					if (inBearbeitung.size() >= this.anzahlThreads * RAETSEL_JE_THREAD)
+						this.gibAus(inBearbeitung.poll(), statistik, loesungen);
+				}
+			} finally {
+				quelle.close();
+			}
+			while (!inBearbeitung.isEmpty()) {
+				this.gibAus(inBearbeitung.poll(), statistik, loesungen);
+			}
+		} finally {
+			this.pool.shutdownNow();
+			this.zeitgeber.shutdownNow();
+		}
+		
+		int anzahl = 0;
+		StringBuilder zusammenfassung = new StringBuilder();
+		for (Ergebnis.Status status : Ergebnis.Status.values()) {
+			Integer anzahlStatus = this.anzahlJeStatus.get(status);
+			anzahl += anzahlStatus == null ? 0 : anzahlStatus;
+			zusammenfassung.append(", ").append(status).append(": ")
+					.append(anzahlStatus == null ? 0 : anzahlStatus);
+		}
+		System.err.println(anzahl + " Rtsel in " + (System.nanoTime() - start) / 1000000 + " ms"
+				+ zusammenfassung);
+		if (this.metrikenAusgeben)
+			System.err.print(Solvermetriken.STANDARD.getStand().minus(metrikenVorher));
+		Integer geloest = this.anzahlJeStatus.get(Ergebnis.Status.geloest);
+		return anzahl == (geloest == null ? 0 : geloest) ? 0 : 2;
+	}
+	
+	/**
+	 * Erzeugt die Aufgabe, ein Rtsel zu lsen.
+	 * 
+	 * @param raetsel
+	 * 		Das zu lsende Rtsel
+	 */
+	private Callable<Ergebnis> erzeugeAufgabe(final Raetsel raetsel) {
+		return new Callable<Ergebnis>() {
+			@Override
+			public Ergebnis call() {
+				return Stapelverarbeitung.this.loese(raetsel);
+			}
+		};
+	}
+	
+	/**
+	 * Liest ein Rtsel ein und lst es, hchstens bis zur Zeitgrenze.
+	 * 
+	 * @param raetsel
+	 * 		Das zu lsende Rtsel
+	 * 
+	 * @return das Ergebnis
+	 */
+	Ergebnis loese(final Raetsel raetsel) {
+		long start = System.nanoTime();
+		Nonogramm nonogramm;
+		try {
+			nonogramm = raetsel.erzeugeNonogramm();
+		} catch (IllegalArgumentException e) {
+			return new Ergebnis(raetsel, Ergebnis.Status.fehler, null, 0, 0, 0, 0, e.getMessage());
+		} catch (RuntimeException e) {
+			return new Ergebnis(raetsel, Ergebnis.Status.fehler, null, 0, 0, 0, 0, e.toString());
+		}
+		final Solver solver = new Solver(nonogramm, this.optionRekursion);
+		solver.setSuchverfahren(this.suchverfahren);
+		ScheduledFuture<?> abbruch = null;
+		if (this.zeitgrenze > 0) {
+			abbruch = this.zeitgeber.schedule(new Runnable() {
+				@Override
+				public void run() {
+					solver.abbrechen();
+				}
+			}, this.zeitgrenze, TimeUnit.SECONDS);
+		}
+		Ergebnis.Status status;
+		String meldung = "";
+		try {
+			solver.loese();
+			if (solver.wurdeAbgebrochen()) {
+				status = Ergebnis.Status.zeitueberschreitung;
+			} else if (solver.hatWiderspruch()) {
+				status = Ergebnis.Status.widerspruch;
+			} else if (nonogramm.istVollstaendig()) {
+				status = Ergebnis.Status.geloest;
+			} else {
+				status = Ergebnis.Status.fehler;
+				meldung = "Lsung unvollstndig";
+			}
+		} catch (RuntimeException | StackOverflowError e) {
+			status = Ergebnis.Status.fehler;
+			meldung = e.toString();
+		} finally {
+			if (abbruch != null)
+				abbruch.cancel(false);
+		}
+		return new Ergebnis(raetsel, status, nonogramm, (System.nanoTime() - start) / 1000000,
+				solver.getAnzahlReihenbearbeitungen(), solver.getAnzahlVersuche(),
+				solver.getAnzahlEntscheidungen(), meldung);
+	}
+	
+	/**
+	 * Wartet auf das Ergebnis eines Rtsels und gibt es aus.
+	 * 
+	 * @param aufgabe
+	 * 		Die Aufgabe, die das Rtsel lst
+	 * @param statistik
+	 * 		Das Ziel der Statistik
+	 * @param loesungen
+	 * 		Das Ziel der Lsungen, bzw. null
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn der binre Korpus nicht geschrieben werden kann
+	 */
+	private void gibAus(final Future<Ergebnis> aufgabe, final PrintWriter statistik,
+			final PrintWriter loesungen) throws IOException {
+		Ergebnis ergebnis;
+		try {
+			ergebnis = aufgabe.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			// Stapelverarbeitung.loese fngt alle Laufzeitfehler ab; brig bleiben schwere Fehler
+			// wie OutOfMemoryError, die den Lauf abbrechen.
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		Integer anzahl = this.anzahlJeStatus.get(ergebnis.status);
+		this.anzahlJeStatus.put(ergebnis.status, anzahl == null ? 1 : anzahl + 1);
+		statistik.println(ergebnis.getStatistikzeile());
+		if (loesungen != null && ergebnis.status == Ergebnis.Status.geloest) {
+			loesungen.println("# " + ergebnis.raetsel.name);
+			loesungen.print(ergebnis.getRaster());
+			loesungen.println();
+		}
+		if (this.binaerkorpus != null && ergebnis.nonogramm != null) {
+			this.binaerkorpus.schreibe(ergebnis.raetsel.name, ergebnis.nonogramm,
+					ergebnis.status == Ergebnis.Status.geloest);
+		}
+	}
+}
\ No newline at end of file
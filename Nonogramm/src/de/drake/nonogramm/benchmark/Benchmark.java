@@ -0,0 +1,286 @@
+package de.drake.nonogramm.benchmark;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.drake.nonogramm.solver.Reihenverfahren;
+
+/**
+ * Misst Durchsatz und Speicheranforderungen der Lsungsverfahren an einem festen Korpus von
+ * Nonogrammen und gibt die Ergebnisse als JSON aus, so dass sich verschiedene Versionen
+ * vergleichen lassen.
+ * Jede Messung wird zunchst in einigen Iterationen aufgewrmt, damit der JIT-Compiler die
+ * gemessenen Methoden bersetzt hat, und anschlieend in mehreren Iterationen fester Dauer gemessen.
+ * 
+ * Aufruf: java de.drake.nonogramm.benchmark.Benchmark [Optionen]
+ * 	-w anzahl	Anzahl der Aufwrmiterationen (Standard: 3)
+ * 	-i anzahl	Anzahl der Messiterationen (Standard: 5)
+ * 	-d dauer	Dauer einer Iteration in Millisekunden (Standard: 500)
+ * 	-f text		nur Messungen, deren Bezeichnung den Text enthlt
+ * 	-o datei	Ausgabe in eine Datei statt auf die Konsole
+ * 	-l			nur die Bezeichnungen der Messungen auflisten
+ */
+public class Benchmark {
+	
+	/**
+	 * Die Anzahl der Aufrufe, die hchstens in einem Stapel vorbereitet werden
+	 */
+	private static final int MAX_STAPELGROESSE = 1024;
+	
+	/**
+	 * Die Dauer in Nanosekunden, ab der ein Stapel nicht weiter vergrert wird
+	 */
+	private static final long STAPELDAUER = 10000000L;
+	
+	/**
+	 * Die Anzahl der Aufwrmiterationen
+	 */
+	private int aufwaermiterationen = 3;
+	
+	/**
+	 * Die Anzahl der Messiterationen
+	 */
+	private int messiterationen = 5;
+	
+	/**
+	 * Die Dauer einer Iteration in Millisekunden
+	 */
+	private long iterationsdauer = 500;
+	
+	/**
+	 * Schnittstelle zur Messung der von einem Thread angeforderten Bytes, bzw. null, wenn die JVM
+	 * dies nicht untersttzt
+	 */
+	private final com.sun.management.ThreadMXBean speichermessung;
+	
+	/**
+	 * Startet den Benchmark.
+	 * 
+	 * @param argumente
+	 * 		Die Optionen (siehe Klassenbeschreibung)
+	 */
+	public static void main(final String[] argumente) throws IOException {
+		Benchmark benchmark = new Benchmark();
+		String filter = "";
+		String datei = null;
+		boolean auflisten = false;
+		try {
+			for (int index = 0; index < argumente.length; index++) {
+				String option = argumente[index];
+				if (option.equals("-l")) {
+					auflisten = true;
+					continue;
+				}
+				if (index + 1 >= argumente.length)
+					throw new IllegalArgumentException("Zur Option " + option + " fehlt der Wert");
+				String wert = argumente[++index];
+				if (option.equals("-w")) {
+					benchmark.aufwaermiterationen = Integer.parseInt(wert);
+				} else if (option.equals("-i")) {
+					benchmark.messiterationen = Integer.parseInt(wert);
+				} else if (option.equals("-d")) {
+					benchmark.iterationsdauer = Long.parseLong(wert);
+				} else if (option.equals("-f")) {
+					filter = wert;
+				} else if (option.equals("-o")) {
+					datei = wert;
+				} else {
+					throw new IllegalArgumentException("Unbekannte Option " + option);
+				}
+			}
+			if (benchmark.aufwaermiterationen < 0 || benchmark.messiterationen < 1
+					|| benchmark.iterationsdauer < 1)
+				throw new IllegalArgumentException("Ungltige Anzahl oder Dauer der Iterationen");
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Aufruf: Benchmark [-w anzahl] [-i anzahl] [-d dauer] [-f text]"
+					+ " [-o datei] [-l]");
+			System.exit(1);
+		}
+		
+		StringBuilder json = new StringBuilder();
+		List<Messung> messungen = new ArrayList<Messung>();
+		for (Messung messung : Benchmark.erzeugeMessungen()) {
+			if (messung.getBezeichnung().contains(filter))
+				messungen.add(messung);
+		}
+		if (auflisten) {
+			for (Messung messung : messungen) {
+				System.out.println(messung.getBezeichnung());
+			}
+			return;
+		}
+		
+		json.append("{\"java\": ");
+		Messergebnis.schreibeText(json, System.getProperty("java.version"));
+		json.append(", \"prozessoren\": ").append(Runtime.getRuntime().availableProcessors());
+		json.append(", \"iterationsdauerMs\": ").append(benchmark.iterationsdauer);
+		json.append(", \"ergebnisse\": [");
+		for (int index = 0; index < messungen.size(); index++) {
+			Messung messung = messungen.get(index);
+			System.err.println("(" + (index + 1) + "/" + messungen.size() + ") "
+					+ messung.getBezeichnung());
+			Messergebnis ergebnis = benchmark.miss(messung);
+			json.append(index > 0 ? ",\n  " : "\n  ");
+			ergebnis.schreibeJson(json);
+		}
+		json.append("\n]}\n");
+		
+		if (datei == null) {
+			System.out.print(json);
+		} else {
+			Writer writer = new OutputStreamWriter(new FileOutputStream(datei), "UTF-8");
+			try {
+				writer.write(json.toString());
+			} finally {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Erzeugt einen Benchmark mit den Standardeinstellungen.
+	 */
+	Benchmark() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+			this.speichermessung = (com.sun.management.ThreadMXBean) threadMXBean;
+			this.speichermessung.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			this.speichermessung = null;
+		}
+	}
+	
+	/**
+	 * Erzeugt alle Messungen des Benchmarks.
+	 */
+	static List<Messung> erzeugeMessungen() {
+		List<Messung> messungen = new ArrayList<Messung>();
+		for (Korpus.Reihenform form : Korpus.Reihenform.values()) {
+			for (int laenge : new int[] {25, 100}) {
+				messungen.add(new ReihenMessung(form, laenge, false, Reihenverfahren.dynamischeProgrammierung));
+				messungen.add(new ReihenMessung(form, laenge, true, Reihenverfahren.rekursion));
+				messungen.add(new ReihenMessung(form, laenge, true, Reihenverfahren.dynamischeProgrammierung));
+			}
+		}
+		for (int groesse : Korpus.GROESSEN) {
+			for (Korpus.Schwierigkeit schwierigkeit : Korpus.Schwierigkeit.values()) {
+				messungen.add(new SolverMessung(SolverMessung.Verfahren.loeseEinfach, groesse,
+						schwierigkeit, true));
+			}
+		}
+		for (int groesse : Korpus.GROESSEN) {
+			for (Korpus.Schwierigkeit schwierigkeit : Korpus.Schwierigkeit.values()) {
+				messungen.add(new SolverMessung(SolverMessung.Verfahren.trialAndError, groesse,
+						schwierigkeit, true));
+			}
+		}
+		// Vollstndige Lsungen schwerer Nonogramme dauern je Aufruf Minuten und werden daher
+		// nur fr die kleineren Grenklassen gemessen.
+		for (int groesse : Korpus.GROESSEN) {
+			for (Korpus.Schwierigkeit schwierigkeit : Korpus.Schwierigkeit.values()) {
+				if (groesse > Benchmark.getMaxGroesseLoese(schwierigkeit))
+					continue;
+				messungen.add(new SolverMessung(SolverMessung.Verfahren.loese, groesse,
+						schwierigkeit, true));
+			}
+		}
+		for (int groesse : Korpus.GROESSEN) {
+			for (Korpus.Format format : Korpus.Format.values()) {
+				messungen.add(new ParserMessung(groesse, format, false));
+				messungen.add(new ParserMessung(groesse, format, true));
+			}
+		}
+		for (int groesse : Korpus.GROESSEN) {
+			messungen.add(new KopierMessung(groesse));
+		}
+		return messungen;
+	}
+	
+	/**
+	 * Gibt die grte Grenklasse zurck, fr die Solver.loese() in einer Schwierigkeitsklasse
+	 * gemessen wird.
+	 * 
+	 * @param schwierigkeit
+	 * 		Die Schwierigkeitsklasse
+	 */
+	private static int getMaxGroesseLoese(final Korpus.Schwierigkeit schwierigkeit) {
+		switch (schwierigkeit) {
+		case leicht:
+			return Integer.MAX_VALUE;
+		case mittel:
+			return 100;
+		default:
+			return 25;
+		}
+	}
+	
+	/**
+	 * Fhrt eine Messung durch.
+	 * 
+	 * @param messung
+	 * 		Die durchzufhrende Messung
+	 * 
+	 * @return das Ergebnis der Messiterationen
+	 */
+	Messergebnis miss(final Messung messung) {
+		for (int iteration = 0; iteration < this.aufwaermiterationen; iteration++) {
+			this.fuehreIterationDurch(messung, null);
+		}
+		Messergebnis ergebnis = new Messergebnis(messung, this.messiterationen);
+		for (int iteration = 0; iteration < this.messiterationen; iteration++) {
+			this.fuehreIterationDurch(messung, ergebnis);
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Fhrt die Messung wiederholt in Stapeln aus, bis die Iterationsdauer erreicht ist. Die Stapel
+	 * werden verdoppelt, solange ihre Ausfhrung krzer als STAPELDAUER ist, damit die Zeitmessung
+	 * auch bei sehr kurzen Aufrufen nicht ins Gewicht fllt.
+	 * 
+	 * @param messung
+	 * 		Die durchzufhrende Messung
+	 * @param ergebnis
+	 * 		Das Ergebnis, in dem die Iteration erfasst wird, bzw. null bei einer Aufwrmiteration
+	 */
+	private void fuehreIterationDurch(final Messung messung, final Messergebnis ergebnis) {
+		long ende = System.nanoTime() + this.iterationsdauer * 1000000L;
+		long operationen = 0;
+		long nanosekunden = 0;
+		long bytes = 0;
+		int stapelgroesse = 1;
+		do {
+			messung.bereiteVor(stapelgroesse);
+			long bytesVorher = this.getAngeforderteBytes();
+			long start = System.nanoTime();
+			for (int aufruf = 0; aufruf < stapelgroesse; aufruf++) {
+				operationen += messung.fuehreAus(aufruf);
+			}
+			long dauer = System.nanoTime() - start;
+			bytes += this.getAngeforderteBytes() - bytesVorher;
+			nanosekunden += dauer;
+			if (dauer < STAPELDAUER && stapelgroesse < MAX_STAPELGROESSE)
+				stapelgroesse *= 2;
+		} while (System.nanoTime() < ende);
+		if (ergebnis != null)
+			ergebnis.erfasse(operationen, nanosekunden, this.speichermessung == null ? -1 : bytes);
+	}
+	
+	/**
+	 * Gibt die bisher vom aktuellen Thread angeforderten Bytes zurck, bzw. 0, wenn die JVM dies
+	 * nicht misst.
+	 */
+	private long getAngeforderteBytes() {
+		if (this.speichermessung == null)
+			return 0;
+		return this.speichermessung.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
\ No newline at end of file
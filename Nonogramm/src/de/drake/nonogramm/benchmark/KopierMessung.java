@@ -0,0 +1,45 @@
+package de.drake.nonogramm.benchmark;
+
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Solver;
+
+/**
+ * Misst das Kopieren eines teilweise gelsten Nonogramms, wie es z.B. fr jeden Arbeiter eines
+ * parallelen Trial-And-Error-Durchlaufs erfolgt.
+ */
+class KopierMessung extends Messung {
+	
+	/**
+	 * Das zu kopierende Nonogramm
+	 */
+	private final Nonogramm vorlage;
+	
+	/**
+	 * Die Kopie des letzten Aufrufs, damit das Kopieren nicht wegoptimiert wird
+	 */
+	Nonogramm kopie;
+	
+	/**
+	 * Erzeugt eine Messung fr ein Korpus-Nonogramm, das per Solver.loeseEinfach() so weit wie
+	 * mglich gelst wurde.
+	 * 
+	 * @param groesse
+	 * 		Die Grenklasse des Nonogramms
+	 */
+	KopierMessung(final int groesse) {
+		super("Nonogramm.<init>(Nonogramm)");
+		this.mitParameter("groesse", groesse + "x" + groesse);
+		this.vorlage = Korpus.erzeugeNonogramm(groesse, Korpus.Schwierigkeit.mittel);
+		new Solver(this.vorlage, true).loeseEinfach();
+	}
+	
+	@Override
+	void bereiteVor(final int anzahl) {
+	}
+	
+	@Override
+	int fuehreAus(final int aufruf) {
+		this.kopie = new Nonogramm(this.vorlage);
+		return 1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,283 @@
+package de.drake.nonogramm.benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Der Korpus der Benchmark-Nonogramme. Die Nonogramme werden aus zuflligen Bildern mit festem
+ * Startwert erzeugt, so dass jede Version des Solvers mit exakt denselben Nonogrammen gemessen wird.
+ * Die Schwierigkeit wird ber den Anteil schwarzer Felder gesteuert: Je nher dieser an der Hlfte
+ * liegt, desto seltener lassen sich Felder allein aus einzelnen Reihen folgern.
+ */
+final class Korpus {
+	
+	/**
+	 * Die Grenklassen (Hhe und Breite) der Nonogramme
+	 */
+	static final int[] GROESSEN = {10, 25, 50, 100, 150};
+	
+	/**
+	 * Die Schwierigkeitsklassen der Nonogramme
+	 */
+	enum Schwierigkeit {
+		/**
+		 * Dichte Bilder, die sich meist allein durch Bearbeitung der Reihen lsen lassen
+		 */
+		leicht(0.7),
+		
+		/**
+		 * Bilder, bei denen regelmig das Trial-And-Error-Verfahren bentigt wird
+		 */
+		mittel(0.6),
+		
+		/**
+		 * Bilder mit etwa gleich vielen schwarzen und weien Feldern, die meist eine Suche erfordern
+		 */
+		schwer(0.5);
+		
+		/**
+		 * Der Anteil schwarzer Felder im Bild
+		 */
+		final double dichte;
+		
+		Schwierigkeit(final double dichte) {
+			this.dichte = dichte;
+		}
+	}
+	
+	/**
+	 * Die Formen von Reihenbedingungen fr die Messung einzelner Reihen
+	 */
+	enum Reihenform {
+		/**
+		 * Viele Blcke der Lnge 1 oder 2 mit kurzen Abstnden
+		 */
+		kleineBloecke,
+		
+		/**
+		 * Wenige Blcke, die zusammen etwa drei Viertel der Reihe belegen
+		 */
+		grosseBloecke,
+		
+		/**
+		 * Blcke unterschiedlicher Lnge mit unterschiedlichen Abstnden
+		 */
+		gemischt;
+	}
+	
+	/**
+	 * Die Eingabeformate von Matrix.toIntMatrix
+	 */
+	enum Format {
+		/**
+		 * {{1,2},{3},{}}
+		 */
+		geschweift,
+		
+		/**
+		 * [[1,2],[3],[]]
+		 */
+		eckig,
+		
+		/**
+		 * 1,2/3/
+		 */
+		schraegstrich;
+	}
+	
+	/**
+	 * Keine Instanzen
+	 */
+	private Korpus() {
+	}
+	
+	/**
+	 * Erzeugt das Korpus-Nonogramm einer Gren- und Schwierigkeitsklasse.
+	 * 
+	 * @param groesse
+	 * 		Die Hhe und Breite des Nonogramms
+	 * @param schwierigkeit
+	 * 		Die Schwierigkeitsklasse
+	 */
+	static Nonogramm erzeugeNonogramm(final int groesse, final Schwierigkeit schwierigkeit) {
+		return Korpus.erzeugeNonogramm(Korpus.erzeugeBild(groesse, schwierigkeit));
+	}
+	
+	/**
+	 * Erzeugt das Bild zum Korpus-Nonogramm einer Gren- und Schwierigkeitsklasse.
+	 * 
+	 * @param groesse
+	 * 		Die Hhe und Breite des Bildes
+	 * @param schwierigkeit
+	 * 		Die Schwierigkeitsklasse
+	 * 
+	 * @return das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	static boolean[][] erzeugeBild(final int groesse, final Schwierigkeit schwierigkeit) {
+		Random zufall = new Random(groesse * 31L + schwierigkeit.ordinal());
+		boolean[][] bild = new boolean[groesse][groesse];
+		for (int zeile = 0; zeile < groesse; zeile++) {
+			for (int spalte = 0; spalte < groesse; spalte++) {
+				bild[zeile][spalte] = zufall.nextDouble() < schwierigkeit.dichte;
+			}
+		}
+		return bild;
+	}
+	
+	/**
+	 * Erzeugt ein Bild, dessen Zeilen alle die gleiche Form von Bedingungen besitzen.
+	 * 
+	 * @param hoehe
+	 * 		Die Anzahl der Zeilen
+	 * @param breite
+	 * 		Die Lnge der Zeilen
+	 * @param form
+	 * 		Die Form der Zeilenbedingungen
+	 * 
+	 * @return das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	static boolean[][] erzeugeBild(final int hoehe, final int breite, final Reihenform form) {
+		Random zufall = new Random(breite * 31L + form.ordinal());
+		boolean[][] bild = new boolean[hoehe][breite];
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			int position = zufall.nextInt(2);
+			while (position < breite) {
+				int block;
+				int abstand;
+				switch (form) {
+				case kleineBloecke:
+					block = 1 + zufall.nextInt(2);
+					abstand = 1 + zufall.nextInt(2);
+					break;
+				case grosseBloecke:
+					block = breite / 4 + zufall.nextInt(breite / 8 + 1);
+					abstand = 1 + zufall.nextInt(2);
+					break;
+				default:
+					block = 1 + zufall.nextInt(breite / 5 + 1);
+					abstand = 1 + zufall.nextInt(breite / 10 + 1);
+				}
+				for (int ende = Math.min(breite, position + block); position < ende; position++) {
+					bild[zeile][position] = true;
+				}
+				position += abstand;
+			}
+		}
+		return bild;
+	}
+	
+	/**
+	 * Erzeugt ein leeres Nonogramm, dessen Lsung das bergebene Bild ist.
+	 * 
+	 * @param bild
+	 * 		Das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	static Nonogramm erzeugeNonogramm(final boolean[][] bild) {
+		return new Nonogramm(new Bedingungen(Korpus.zeilenbedingungen(bild)),
+				new Bedingungen(Korpus.spaltenbedingungen(bild)));
+	}
+	
+	/**
+	 * Ermittelt die Blocklngen aller Zeilen eines Bildes.
+	 * 
+	 * @param bild
+	 * 		Das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	static int[][] zeilenbedingungen(final boolean[][] bild) {
+		int[][] bedingungen = new int[bild.length][];
+		for (int zeile = 0; zeile < bild.length; zeile++) {
+			bedingungen[zeile] = Korpus.bloecke(bild[zeile]);
+		}
+		return bedingungen;
+	}
+	
+	/**
+	 * Ermittelt die Blocklngen aller Spalten eines Bildes.
+	 * 
+	 * @param bild
+	 * 		Das Bild; true kennzeichnet ein schwarzes Feld
+	 */
+	static int[][] spaltenbedingungen(final boolean[][] bild) {
+		int breite = bild.length == 0 ? 0 : bild[0].length;
+		int[][] bedingungen = new int[breite][];
+		boolean[] reihe = new boolean[bild.length];
+		for (int spalte = 0; spalte < breite; spalte++) {
+			for (int zeile = 0; zeile < bild.length; zeile++) {
+				reihe[zeile] = bild[zeile][spalte];
+			}
+			bedingungen[spalte] = Korpus.bloecke(reihe);
+		}
+		return bedingungen;
+	}
+	
+	/**
+	 * Ermittelt die Blocklngen einer Reihe.
+	 * 
+	 * @param reihe
+	 * 		Die Felder der Reihe; true kennzeichnet ein schwarzes Feld
+	 */
+	private static int[] bloecke(final boolean[] reihe) {
+		ArrayList<Integer> bloecke = new ArrayList<Integer>();
+		int laenge = 0;
+		for (boolean schwarz : reihe) {
+			if (schwarz) {
+				laenge++;
+			} else if (laenge > 0) {
+				bloecke.add(laenge);
+				laenge = 0;
+			}
+		}
+		if (laenge > 0)
+			bloecke.add(laenge);
+		int[] ergebnis = new int[bloecke.size()];
+		for (int block = 0; block < ergebnis.length; block++) {
+			ergebnis[block] = bloecke.get(block);
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Stellt Bedingungen in einem der Eingabeformate von Matrix.toIntMatrix dar.
+	 * 
+	 * @param bedingungen
+	 * 		Die Blocklngen je Reihe
+	 * @param format
+	 * 		Das Eingabeformat
+	 */
+	static String formatiere(final int[][] bedingungen, final Format format) {
+		StringBuilder text = new StringBuilder();
+		if (format == Format.geschweift) {
+			text.append('{');
+		} else if (format == Format.eckig) {
+			text.append('[');
+		}
+		for (int reihe = 0; reihe < bedingungen.length; reihe++) {
+			if (format == Format.geschweift) {
+				text.append(reihe > 0 ? ",{" : "{");
+			} else if (format == Format.eckig) {
+				text.append(reihe > 0 ? ",[" : "[");
+			} else if (reihe > 0) {
+				text.append('/');
+			}
+			for (int block = 0; block < bedingungen[reihe].length; block++) {
+				if (block > 0)
+					text.append(',');
+				text.append(bedingungen[reihe][block]);
+			}
+			if (format == Format.geschweift) {
+				text.append('}');
+			} else if (format == Format.eckig) {
+				text.append(']');
+			}
+		}
+		if (format == Format.geschweift) {
+			text.append('}');
+		} else if (format == Format.eckig) {
+			text.append(']');
+		}
+		return text.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package de.drake.nonogramm.benchmark;
+
+import java.util.Map;
+
+/**
+ * Das Ergebnis einer Messung: Durchsatz und Speicheranforderungen je Messiteration sowie deren
+ * Mittelwerte.
+ */
+class Messergebnis {
+	
+	/**
+	 * Die zugehrige Messung
+	 */
+	private final Messung messung;
+	
+	/**
+	 * Die Operationen pro Sekunde je Iteration
+	 */
+	private final double[] durchsatz;
+	
+	/**
+	 * Die angeforderten Bytes pro Operation je Iteration, bzw. -1, wenn die JVM dies nicht misst
+	 */
+	private final double[] bytesProOperation;
+	
+	/**
+	 * Die Anzahl der bisher erfassten Iterationen
+	 */
+	private int anzahlIterationen = 0;
+	
+	/**
+	 * Erzeugt ein leeres Ergebnis.
+	 * 
+	 * @param messung
+	 * 		Die zugehrige Messung
+	 * @param anzahlIterationen
+	 * 		Die Anzahl der Messiterationen
+	 */
+	Messergebnis(final Messung messung, final int anzahlIterationen) {
+		this.messung = messung;
+		this.durchsatz = new double[anzahlIterationen];
+		this.bytesProOperation = new double[anzahlIterationen];
+	}
+	
+	/**
+	 * Erfasst eine Messiteration.
+	 * 
+	 * @param operationen
+	 * 		Die Anzahl der ausgefhrten Operationen
+	 * @param nanosekunden
+	 * 		Die gemessene Ausfhrungsdauer
+	 * @param bytes
+	 * 		Die dabei angeforderten Bytes, bzw. -1, wenn die JVM dies nicht misst
+	 */
+	void erfasse(final long operationen, final long nanosekunden, final long bytes) {
+		this.durchsatz[this.anzahlIterationen] = operationen * 1e9 / Math.max(1, nanosekunden);
+		this.bytesProOperation[this.anzahlIterationen] = bytes < 0 ? -1 : (double) bytes / operationen;
+		this.anzahlIterationen++;
+	}
+	
+	/**
+	 * Gibt die mittleren Operationen pro Sekunde zurck.
+	 */
+	double getDurchsatz() {
+		return Messergebnis.mittelwert(this.durchsatz);
+	}
+	
+	/**
+	 * Gibt die Standardabweichung der Operationen pro Sekunde ber die Iterationen zurck.
+	 */
+	double getStandardabweichung() {
+		double mittelwert = this.getDurchsatz();
+		double summe = 0;
+		for (double wert : this.durchsatz) {
+			summe += (wert - mittelwert) * (wert - mittelwert);
+		}
+		return this.durchsatz.length < 2 ? 0 : Math.sqrt(summe / (this.durchsatz.length - 1));
+	}
+	
+	/**
+	 * Gibt die mittleren angeforderten Bytes pro Operation zurck, bzw. -1, wenn die JVM dies
+	 * nicht misst.
+	 */
+	double getBytesProOperation() {
+		return Messergebnis.mittelwert(this.bytesProOperation);
+	}
+	
+	/**
+	 * Hngt das Ergebnis als JSON-Objekt an.
+	 * 
+	 * @param json
+	 * 		Der StringBuilder, an den das Objekt angehngt wird
+	 */
+	void schreibeJson(final StringBuilder json) {
+		json.append("{\"messung\": ");
+		Messergebnis.schreibeText(json, this.messung.getName());
+		json.append(", \"parameter\": {");
+		boolean erster = true;
+		for (Map.Entry<String, String> parameter : this.messung.getParameter().entrySet()) {
+			if (!erster)
+				json.append(", ");
+			erster = false;
+			Messergebnis.schreibeText(json, parameter.getKey());
+			json.append(": ");
+			Messergebnis.schreibeText(json, parameter.getValue());
+		}
+		json.append("}, \"iterationen\": ").append(this.durchsatz.length);
+		json.append(", \"operationenProSekunde\": ").append(Messergebnis.runde(this.getDurchsatz()));
+		json.append(", \"standardabweichung\": ").append(Messergebnis.runde(this.getStandardabweichung()));
+		json.append(", \"nanosekundenProOperation\": ")
+				.append(Messergebnis.runde(1e9 / this.getDurchsatz()));
+		json.append(", \"bytesProOperation\": ").append(Messergebnis.runde(this.getBytesProOperation()));
+		json.append(", \"durchsatzJeIteration\": [");
+		for (int iteration = 0; iteration < this.durchsatz.length; iteration++) {
+			if (iteration > 0)
+				json.append(", ");
+			json.append(Messergebnis.runde(this.durchsatz[iteration]));
+		}
+		json.append("]}");
+	}
+	
+	/**
+	 * Hngt einen String als JSON-Text an.
+	 * 
+	 * @param json
+	 * 		Der StringBuilder, an den der Text angehngt wird
+	 * @param text
+	 * 		Der anzuhngende Text
+	 */
+	static void schreibeText(final StringBuilder json, final String text) {
+		json.append('"');
+		for (int index = 0; index < text.length(); index++) {
+			char zeichen = text.charAt(index);
+			if (zeichen == '"' || zeichen == '\\') {
+				json.append('\\').append(zeichen);
+			} else if (zeichen < ' ') {
+				json.append(String.format("\\u%04x", (int) zeichen));
+			} else {
+				json.append(zeichen);
+			}
+		}
+		json.append('"');
+	}
+	
+	/**
+	 * Rundet einen Wert auf drei Nachkommastellen.
+	 */
+	private static double runde(final double wert) {
+		return Math.round(wert * 1000) / 1000.0;
+	}
+	
+	/**
+	 * Berechnet den Mittelwert der bergebenen Werte.
+	 */
+	private static double mittelwert(final double[] werte) {
+		double summe = 0;
+		for (double wert : werte) {
+			summe += wert;
+		}
+		return werte.length == 0 ? 0 : summe / werte.length;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package de.drake.nonogramm.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eine einzelne Messung des Benchmarks, z.B. Solver.loese() fr eine bestimmte Gren- und
+ * Schwierigkeitsklasse. Die Aufrufe werden stapelweise vorbereitet und ausgefhrt; gemessen wird
+ * nur die Ausfhrung, so dass z.B. das Kopieren des Nonogramms nicht in die Messung eingeht.
+ */
+abstract class Messung {
+	
+	/**
+	 * Der Name der Messung, i.d.R. die gemessene Methode
+	 */
+	private final String name;
+	
+	/**
+	 * Die Parameter der Messung in der Reihenfolge ihrer Angabe
+	 */
+	private final Map<String, String> parameter = new LinkedHashMap<String, String>();
+	
+	/**
+	 * Erzeugt eine Messung ohne Parameter.
+	 * 
+	 * @param name
+	 * 		Der Name der Messung, i.d.R. die gemessene Methode
+	 */
+	Messung(final String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Ergnzt einen Parameter der Messung.
+	 * 
+	 * @param schluessel
+	 * 		Der Name des Parameters
+	 * @param wert
+	 * 		Der Wert des Parameters
+	 * 
+	 * @return diese Messung
+	 */
+	Messung mitParameter(final String schluessel, final Object wert) {
+		this.parameter.put(schluessel, String.valueOf(wert));
+		return this;
+	}
+	
+	/**
+	 * Gibt den Namen der Messung zurck.
+	 */
+	String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Gibt die Parameter der Messung zurck.
+	 */
+	Map<String, String> getParameter() {
+		return this.parameter;
+	}
+	
+	/**
+	 * Gibt eine Bezeichnung aus Name und Parametern zurck, z.B. fr Fortschrittsmeldungen
+	 * und fr die Auswahl von Messungen per Filter.
+	 */
+	String getBezeichnung() {
+		return this.name + this.parameter;
+	}
+	
+	/**
+	 * Bereitet einen Stapel von Aufrufen vor. Wird nicht gemessen.
+	 * 
+	 * @param anzahl
+	 * 		Die Anzahl der vorzubereitenden Aufrufe
+	 */
+	abstract void bereiteVor(int anzahl);
+	
+	/**
+	 * Fhrt einen vorbereiteten Aufruf aus.
+	 * 
+	 * @param aufruf
+	 * 		Der Index des Aufrufs innerhalb des Stapels
+	 * 
+	 * @return die Anzahl der dabei ausgefhrten Operationen, auf die sich das Ergebnis bezieht
+	 */
+	abstract int fuehreAus(int aufruf);
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package de.drake.nonogramm.benchmark;
+
+import de.drake.nonogramm.tools.Bedingungsleser;
+import de.drake.nonogramm.tools.Matrix;
+
+/**
+ * Misst das Einlesen von Bedingungen fr ein Eingabeformat, entweder per Matrix.toIntMatrix oder
+ * per wiederverwendetem Bedingungsleser.
+ */
+class ParserMessung extends Messung {
+	
+	/**
+	 * Die einzulesenden Bedingungen
+	 */
+	private final String eingabe;
+	
+	/**
+	 * Das Ergebnis des letzten Aufrufs, damit das Einlesen nicht wegoptimiert wird
+	 */
+	Matrix<Integer> ergebnis;
+	
+	/**
+	 * Die Anzahl der Reihen des letzten Aufrufs per Bedingungsleser, aus demselben Grund
+	 */
+	int anzahlReihen;
+	
+	/**
+	 * Der wiederverwendete Leser, bzw. null, wenn per Matrix.toIntMatrix eingelesen wird
+	 */
+	private final Bedingungsleser leser;
+	
+	/**
+	 * Erzeugt eine Messung fr die Zeilenbedingungen eines Korpus-Nonogramms.
+	 * 
+	 * @param groesse
+	 * 		Die Grenklasse des Nonogramms
+	 * @param format
+	 * 		Das Eingabeformat
+	 * @param mitLeser
+	 * 		true, wenn per Bedingungsleser statt per Matrix.toIntMatrix eingelesen wird
+	 */
+	ParserMessung(final int groesse, final Korpus.Format format, final boolean mitLeser) {
+		super(mitLeser ? "Bedingungsleser.lies" : "Matrix.toIntMatrix");
+		this.leser = mitLeser ? new Bedingungsleser() : null;
+		this.mitParameter("groesse", groesse + "x" + groesse);
+		this.mitParameter("format", format);
+		this.eingabe = Korpus.formatiere(
+				Korpus.zeilenbedingungen(Korpus.erzeugeBild(groesse, Korpus.Schwierigkeit.mittel)), format);
+	}
+	
+	@Override
+	void bereiteVor(final int anzahl) {
+	}
+	
+	@Override
+	int fuehreAus(final int aufruf) {
+		if (this.leser != null) {
+			this.anzahlReihen = this.leser.lies(this.eingabe);
+			return 1;
+		}
+		this.ergebnis = Matrix.toIntMatrix(this.eingabe);
+		return 1;
+	}
+}
\ No newline at end of file
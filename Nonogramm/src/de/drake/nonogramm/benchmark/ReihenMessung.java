@@ -0,0 +1,83 @@
+package de.drake.nonogramm.benchmark;
+
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Reihenverfahren;
+import de.drake.nonogramm.solver.Solver;
+
+/**
+ * Misst die Bearbeitung einzelner Reihen fr eine Form von Reihenbedingungen. Gemessen wird
+ * Solver.bearbeiteZeilen() an einem leeren Nonogramm, dessen Zeilen alle dieselbe Form besitzen;
+ * jede Zeile wird dabei genau einmal vom ReihenSolver bearbeitet. Der Zwischenspeicher fr
+ * Reihenergebnisse wird abgeschaltet, damit tatschlich jede Zeile gelst wird.
+ */
+class ReihenMessung extends Messung {
+	
+	/**
+	 * Die Anzahl der Zeilen, die pro Aufruf bearbeitet werden
+	 */
+	private static final int ANZAHL_ZEILEN = 32;
+	
+	/**
+	 * Das Nonogramm, von dem jeder Aufruf eine Kopie bearbeitet
+	 */
+	private final Nonogramm vorlage;
+	
+	/**
+	 * Option "Rekursionsverfahren zulssig" der Solver
+	 */
+	private final boolean optionRekursion;
+	
+	/**
+	 * Das Verfahren, mit dem bei gesetzter Option "Rekursionsverfahren zulssig" die Reihen
+	 * gelst werden
+	 */
+	private final Reihenverfahren reihenverfahren;
+	
+	/**
+	 * Die Solver des aktuellen Stapels
+	 */
+	private Solver[] solver = new Solver[0];
+	
+	/**
+	 * Erzeugt eine Messung fr eine Form von Reihenbedingungen.
+	 * 
+	 * @param form
+	 * 		Die Form der Reihenbedingungen
+	 * @param laenge
+	 * 		Die Lnge der Reihen
+	 * @param optionRekursion
+	 * 		Option "Rekursionsverfahren zulssig" der Solver
+	 * @param reihenverfahren
+	 * 		Das Verfahren, mit dem bei gesetzter Option "Rekursionsverfahren zulssig" die Reihen
+	 * 		gelst werden
+	 */
+	ReihenMessung(final Korpus.Reihenform form, final int laenge, final boolean optionRekursion,
+			final Reihenverfahren reihenverfahren) {
+		super("ReihenSolver.bearbeiteReihe");
+		this.mitParameter("form", form);
+		this.mitParameter("laenge", laenge);
+		this.mitParameter("verfahren", optionRekursion ? reihenverfahren.toString() : "ohneRekursion");
+		this.vorlage = Korpus.erzeugeNonogramm(Korpus.erzeugeBild(ANZAHL_ZEILEN, laenge, form));
+		this.optionRekursion = optionRekursion;
+		this.reihenverfahren = reihenverfahren;
+	}
+	
+	@Override
+	void bereiteVor(final int anzahl) {
+		if (this.solver.length != anzahl)
+			this.solver = new Solver[anzahl];
+		for (int aufruf = 0; aufruf < anzahl; aufruf++) {
+			Solver solver = new Solver(new Nonogramm(this.vorlage), this.optionRekursion);
+			solver.setReihenverfahren(this.reihenverfahren);
+			solver.setReihencache(null);
+			this.solver[aufruf] = solver;
+		}
+	}
+	
+	@Override
+	int fuehreAus(final int aufruf) {
+		this.solver[aufruf].bearbeiteZeilen();
+		this.solver[aufruf] = null;
+		return ANZAHL_ZEILEN;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package de.drake.nonogramm.benchmark;
+
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Solver;
+
+/**
+ * Misst ein Lsungsverfahren des Solvers an einem Korpus-Nonogramm. Jeder Aufruf arbeitet auf
+ * einer frisch kopierten Vorlage mit einem neuen Solver.
+ */
+class SolverMessung extends Messung {
+	
+	/**
+	 * Die gemessenen Lsungsverfahren
+	 */
+	enum Verfahren {
+		/**
+		 * Solver.loeseEinfach()
+		 */
+		loeseEinfach,
+		
+		/**
+		 * Solver.loese()
+		 */
+		loese,
+		
+		/**
+		 * Ein Aufruf von Solver.trialAndError(), nachdem das Nonogramm per Solver.loeseEinfach()
+		 * so weit wie mglich gelst wurde
+		 */
+		trialAndError;
+	}
+	
+	/**
+	 * Das gemessene Verfahren
+	 */
+	private final Verfahren verfahren;
+	
+	/**
+	 * Das Nonogramm, von dem jeder Aufruf eine Kopie lst
+	 */
+	private final Nonogramm vorlage;
+	
+	/**
+	 * Option "Rekursionsverfahren zulssig" der Solver
+	 */
+	private final boolean optionRekursion;
+	
+	/**
+	 * Die Solver des aktuellen Stapels
+	 */
+	private Solver[] solver = new Solver[0];
+	
+	/**
+	 * Erzeugt eine Messung fr ein Korpus-Nonogramm.
+	 * 
+	 * @param verfahren
+	 * 		Das zu messende Lsungsverfahren
+	 * @param groesse
+	 * 		Die Grenklasse des Nonogramms
+	 * @param schwierigkeit
+	 * 		Die Schwierigkeitsklasse des Nonogramms
+	 * @param optionRekursion
+	 * 		Option "Rekursionsverfahren zulssig" der Solver
+	 */
+	SolverMessung(final Verfahren verfahren, final int groesse,
+			final Korpus.Schwierigkeit schwierigkeit, final boolean optionRekursion) {
+		super("Solver." + verfahren);
+		this.mitParameter("groesse", groesse + "x" + groesse);
+		this.mitParameter("schwierigkeit", schwierigkeit);
+		this.mitParameter("rekursion", optionRekursion);
+		this.verfahren = verfahren;
+		this.vorlage = Korpus.erzeugeNonogramm(groesse, schwierigkeit);
+		this.optionRekursion = optionRekursion;
+	}
+	
+	@Override
+	void bereiteVor(final int anzahl) {
+		if (this.solver.length != anzahl)
+			this.solver = new Solver[anzahl];
+		for (int aufruf = 0; aufruf < anzahl; aufruf++) {
+			this.solver[aufruf] = new Solver(new Nonogramm(this.vorlage), this.optionRekursion);
+			if (this.verfahren == Verfahren.trialAndError)
+				this.solver[aufruf].loeseEinfach();
+		}
+	}
+	
+	@Override
+	int fuehreAus(final int aufruf) {
+		Solver solver = this.solver[aufruf];
+		switch (this.verfahren) {
+		case loeseEinfach:
+			solver.loeseEinfach();
+			break;
+		case loese:
+			solver.loese();
+			break;
+		default:
+			solver.trialAndError();
+		}
+		this.solver[aufruf] = null;
+		return 1;
+	}
+}
\ No newline at end of file
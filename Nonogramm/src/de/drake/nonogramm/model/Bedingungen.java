@@ -0,0 +1,286 @@
+package de.drake.nonogramm.model;
+
+import java.util.ArrayList;
+
+import de.drake.nonogramm.tools.Bedingungsleser;
+import de.drake.nonogramm.tools.Matrix;
+import de.drake.nonogramm.tools.Syntaxfehler;
+
+/**
+ * Unvernderliche Reprsentation der Randbedingungen eines Nonogramms, d.h. der Blocklngen aller
+ * Zeilen bzw. aller Spalten. Die Blocklngen werden in einem einzigen int-Array abgelegt,
+ * Summe und Maximum der Blocklngen werden je Reihe vorab berechnet.
+ * Blcke der Lnge 0 werden ignoriert, da sie lediglich eine leere Reihe kennzeichnen.
+ */
+public class Bedingungen {
+	
+	/**
+	 * Die Blocklngen aller Reihen hintereinander.
+	 */
+	private final int[] bloecke;
+	
+	/**
+	 * Der Index in this.bloecke, an dem die Blcke einer Reihe beginnen. Der letzte Eintrag
+	 * enthlt die Gesamtzahl der Blcke.
+	 */
+	private final int[] anfang;
+	
+	/**
+	 * Die Summe der Blocklngen je Reihe.
+	 */
+	private final int[] summe;
+	
+	/**
+	 * Die Lnge des lngsten Blocks je Reihe.
+	 */
+	private final int[] maximum;
+	
+	/**
+	 * Erzeugt die Bedingungen aus einem zweidimensionalen Array.
+	 * 
+	 * @param reihen
+	 * 		Die Blocklngen; reihen[i] enthlt die Blcke der i-ten Reihe
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Blocklnge negativ ist
+	 */
+	public Bedingungen(final int[][] reihen) throws IllegalArgumentException {
+		int anzahlBloecke = 0;
+		for (int[] reihe : reihen) {
+			anzahlBloecke += reihe.length;
+		}
+		this.bloecke = new int[anzahlBloecke];
+		this.anfang = new int[reihen.length + 1];
+		this.summe = new int[reihen.length];
+		this.maximum = new int[reihen.length];
+		int index = 0;
+		for (int reihe = 0; reihe < reihen.length; reihe++) {
+			this.anfang[reihe] = index;
+			for (int block : reihen[reihe]) {
+				index = this.fuegeBlockHinzu(reihe, index, block);
+			}
+		}
+		this.anfang[reihen.length] = index;
+	}
+	
+	/**
+	 * Erzeugt die Bedingungen aus einer Integer-Matrix, wie sie z.B. von Matrix.toIntMatrix
+	 * geliefert wird.
+	 * 
+	 * @param matrix
+	 * 		Die Matrix; jede Zeile der Matrix enthlt die Blcke einer Reihe
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Blocklnge negativ ist
+	 */
+	public Bedingungen(final Matrix<Integer> matrix) throws IllegalArgumentException {
+		int anzahlBloecke = 0;
+		for (int reihe = 0; reihe < matrix.getHoehe(); reihe++) {
+			anzahlBloecke += matrix.getZeilenbreite(reihe);
+		}
+		this.bloecke = new int[anzahlBloecke];
+		this.anfang = new int[matrix.getHoehe() + 1];
+		this.summe = new int[matrix.getHoehe()];
+		this.maximum = new int[matrix.getHoehe()];
+		int index = 0;
+		for (int reihe = 0; reihe < matrix.getHoehe(); reihe++) {
+			this.anfang[reihe] = index;
+			for (int position = 0; position < matrix.getZeilenbreite(reihe); position++) {
+				index = this.fuegeBlockHinzu(reihe, index, matrix.get(reihe, position));
+			}
+		}
+		this.anfang[matrix.getHoehe()] = index;
+	}
+	
+	/**
+	 * Erzeugt die Bedingungen aus den zuletzt von einem Bedingungsleser gelesenen Reihen.
+	 * 
+	 * @param leser
+	 * 		Der Leser; jede gelesene Reihe enthlt die Blcke einer Reihe
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Blocklnge negativ ist
+	 */
+	public Bedingungen(final Bedingungsleser leser) throws IllegalArgumentException {
+		this(leser.getBloecke(), leser.getAnfang(), leser.getAnzahlReihen());
+	}
+	
+	/**
+	 * Erzeugt die Bedingungen aus flachen Arrays. Die Arrays werden kopiert.
+	 * 
+	 * @param bloecke
+	 * 		Die Blocklngen aller Reihen hintereinander
+	 * @param anfang
+	 * 		Der Index in bloecke, an dem die Blcke einer Reihe beginnen, gefolgt von der
+	 * 		Gesamtzahl der Blcke; es werden die ersten anzahlReihen + 1 Eintrge verwendet
+	 * @param anzahlReihen
+	 * 		Die Anzahl der Reihen
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Blocklnge negativ ist
+	 */
+	public Bedingungen(final int[] bloecke, final int[] anfang, final int anzahlReihen)
+			throws IllegalArgumentException {
+		this.bloecke = new int[anfang[anzahlReihen] - anfang[0]];
+		this.anfang = new int[anzahlReihen + 1];
+		this.summe = new int[anzahlReihen];
+		this.maximum = new int[anzahlReihen];
+		int index = 0;
+		for (int reihe = 0; reihe < anzahlReihen; reihe++) {
+			this.anfang[reihe] = index;
+			for (int position = anfang[reihe]; position < anfang[reihe + 1]; position++) {
+				index = this.fuegeBlockHinzu(reihe, index, bloecke[position]);
+			}
+		}
+		this.anfang[anzahlReihen] = index;
+	}
+	
+	/**
+	 * Liest Bedingungen aus einer Zeichenkette in einem der Formate [[1,2],[3],[]], {{1,2},{3},{}}
+	 * oder 1,2/3/ ein. Fr viele Bedingungen hintereinander ist es gnstiger, einen
+	 * Bedingungsleser wiederzuverwenden.
+	 * 
+	 * @param text
+	 * 		Die Zeichenkette
+	 * 
+	 * @return die eingelesenen Bedingungen
+	 * 
+	 * @throws Syntaxfehler
+	 * 		wird geworfen, wenn die Zeichenkette nicht als Bedingungen interpretiert werden kann
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn eine Blocklnge negativ ist
+	 */
+	public static Bedingungen lies(final CharSequence text) throws Syntaxfehler, IllegalArgumentException {
+		Bedingungsleser leser = new Bedingungsleser();
+		leser.lies(text);
+		return new Bedingungen(leser);
+	}
+	
+	/**
+	 * Trgt whrend der Konstruktion einen Block in die Arrays ein.
+	 * 
+	 * @param reihe
+	 * 		Die Reihe, zu der der Block gehrt
+	 * @param index
+	 * 		Der nchste freie Index in this.bloecke
+	 * @param block
+	 * 		Die Lnge des Blocks
+	 * 
+	 * @return der nchste freie Index in this.bloecke
+	 */
+	private int fuegeBlockHinzu(final int reihe, final int index, final int block) {
+		if (block < 0)
+			throw new IllegalArgumentException("Negative Blocklnge in Reihe " + reihe);
+		if (block == 0)
+			return index;
+		this.bloecke[index] = block;
+		this.summe[reihe] += block;
+		if (block > this.maximum[reihe])
+			this.maximum[reihe] = block;
+		return index + 1;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Reihen zurck, fr die Bedingungen vorliegen.
+	 */
+	public int getAnzahlReihen() {
+		return this.summe.length;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Blcke einer Reihe zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int getAnzahlBloecke(final int reihe) {
+		return this.anfang[reihe + 1] - this.anfang[reihe];
+	}
+	
+	/**
+	 * Gibt die Lnge eines Blocks zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 * @param block
+	 * 		Der Index des Blocks innerhalb der Reihe, beginnend bei 0
+	 */
+	public int getBlock(final int reihe, final int block) {
+		return this.bloecke[this.anfang[reihe] + block];
+	}
+	
+	/**
+	 * Gibt die Summe der Blocklngen einer Reihe zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int getSumme(final int reihe) {
+		return this.summe[reihe];
+	}
+	
+	/**
+	 * Gibt die Lnge des lngsten Blocks einer Reihe zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int getMaximum(final int reihe) {
+		return this.maximum[reihe];
+	}
+	
+	/**
+	 * Gibt den Platz zurck, den die Blcke einer Reihe mindestens bentigen, d.h. die Summe der
+	 * Blocklngen plus je ein trennendes weies Feld zwischen zwei Blcken.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int getMindestlaenge(final int reihe) {
+		int anzahlBloecke = this.getAnzahlBloecke(reihe);
+		return anzahlBloecke == 0 ? 0 : this.summe[reihe] + anzahlBloecke - 1;
+	}
+	
+	/**
+	 * Gibt die Blcke einer Reihe als Kopie zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int[] getBloecke(final int reihe) {
+		int[] result = new int[this.getAnzahlBloecke(reihe)];
+		System.arraycopy(this.bloecke, this.anfang[reihe], result, 0, result.length);
+		return result;
+	}
+	
+	/**
+	 * Gibt die Bedingungen als Integer-Matrix zurck.
+	 */
+	public Matrix<Integer> toMatrix() {
+		ArrayList<ArrayList<Integer>> array = new ArrayList<ArrayList<Integer>>(this.getAnzahlReihen());
+		for (int reihe = 0; reihe < this.getAnzahlReihen(); reihe++) {
+			ArrayList<Integer> zeile = new ArrayList<Integer>(this.getAnzahlBloecke(reihe));
+			for (int block = 0; block < this.getAnzahlBloecke(reihe); block++) {
+				zeile.add(this.getBlock(reihe, block));
+			}
+			array.add(zeile);
+		}
+		return new Matrix<Integer>(array);
+	}
+	
+	/**
+	 * Stellt die Bedingungen im Format 1,2/3/ dar.
+	 */
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int reihe = 0; reihe < this.getAnzahlReihen(); reihe++) {
+			for (int block = 0; block < this.getAnzahlBloecke(reihe); block++) {
+				if (block > 0)
+					result.append(',');
+				result.append(this.getBlock(reihe, block));
+			}
+			result.append('/');
+		}
+		return result.toString();
+	}
+}
\ No newline at end of file
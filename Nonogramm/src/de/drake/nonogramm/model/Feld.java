@@ -1,51 +1,40 @@
 package de.drake.nonogramm.model;
 
 /**
- * Feld eines Nonogramms.
+ * Feld eines Nonogramms. Das Feld speichert selbst keinen Status, sondern ist lediglich eine Sicht
+ * auf die entsprechende Stelle des Nonogramms.
  */
 public class Feld {
 	
 	/**
-	 * Der Zeilenindex des Feldes.
+	 * Das Nonogramm, zu dem das Feld gehrt.
 	 */
-	private int zeile;
+	private final Nonogramm nonogramm;
 	
 	/**
-	 * Der Spaltenindex des Feldes.
+	 * Der Zeilenindex des Feldes.
 	 */
-	private int spalte;
+	private final int zeile;
 	
 	/**
-	 * Der aktuelle Status des Feldes.
+	 * Der Spaltenindex des Feldes.
 	 */
-	private Feldstatus feldstatus;
+	private final int spalte;
 	
 	/**
 	 * Erzeugt ein neues Nonogrammfeld.
 	 * 
+	 * @param nonogramm
+	 * 		Das Nonogramm, zu dem das Feld gehrt.
 	 * @param zeile
 	 * 		Der Zeilenindex des Feldes.
 	 * @param spalte
 	 * 		Der Spaltenindex des Feldes.
-	 * @param feldstatus
-	 * 		Der initiale Status des Nonogrammfelds.
 	 */
-	Feld(final int zeile, final int spalte, final Feldstatus feldstatus) {
+	Feld(final Nonogramm nonogramm, final int zeile, final int spalte) {
+		this.nonogramm = nonogramm;
 		this.zeile = zeile;
 		this.spalte = spalte;
-		this.feldstatus = feldstatus;
-	}
-	
-	/**
-	 * Erzeugt ein neues Nonogrammfeld auf Basis eines anderen Feldes.
-	 * 
-	 * @param feld
-	 * 		Das Feld, was als Basis fr das neue Feld dient.
-	 */
-	Feld(final Feld feld) {
-		this.zeile = feld.zeile;
-		this.spalte = feld.spalte;
-		this.feldstatus = feld.feldstatus;
 	}
 	
 	/**
@@ -69,14 +58,14 @@ public class Feld {
 	 * 		der Status, gegen den verglichen wird.
 	 */
 	public boolean hasStatus(final Feldstatus feldstatus) {
-		return (this.feldstatus.equals(feldstatus));
+		return this.nonogramm.hasStatus(this.zeile, this.spalte, feldstatus);
 	}
 	
 	/**
 	 * Gibt den Status des Feldes zurck.
 	 */
 	public Feldstatus getStatus() {
-		return this.feldstatus;
+		return this.nonogramm.getStatus(this.zeile, this.spalte);
 	}
 	
 	/**
@@ -86,14 +75,35 @@ public class Feld {
 	 * 		Der neue Status des Feldes.
 	 */
 	public void setStatus(final Feldstatus feldstatus) {
-		this.feldstatus = feldstatus;
+		this.nonogramm.setStatus(this.zeile, this.spalte, feldstatus);
+	}
+	
+	/**
+	 * Prft, ob das bergebene Objekt dieselbe Stelle desselben Nonogramms bezeichnet.
+	 * 
+	 * @param feldObject
+	 * 		das Objekt, mit dem das Feld verglichen werden soll
+	 */
+	public boolean equals(final Object feldObject) {
+		if (!(feldObject instanceof Feld))
+			return false;
+		Feld feld = (Feld) feldObject;
+		return this.nonogramm == feld.nonogramm && this.zeile == feld.zeile
+				&& this.spalte == feld.spalte;
+	}
+	
+	/**
+	 * Erzeugt einen zu equals passenden Hashcode.
+	 */
+	public int hashCode() {
+		return 31 * this.zeile + this.spalte;
 	}
 	
 	/**
 	 * Stellt den Status des Feldes als String dar.
 	 */
 	public String toString() {
-//		return "(" + this.zeile + "," + this.spalte + "," + this.feldstatus.toString() + ")";//TODO
-		return this.feldstatus.toString();
+//		return "(" + this.zeile + "," + this.spalte + "," + this.getStatus().toString() + ")";//TODO
+		return this.getStatus().toString();
 	}
 }
\ No newline at end of file
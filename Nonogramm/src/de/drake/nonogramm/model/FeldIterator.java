@@ -0,0 +1,60 @@
+package de.drake.nonogramm.model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator, der zeilenweise ber die Felder eines Nonogramms luft.
+ */
+class FeldIterator implements Iterator<Feld> {
+	
+	/**
+	 * Das Nonogramm, ber das iteriert wird.
+	 */
+	private Nonogramm nonogramm;
+	
+	/**
+	 * Der Index der Zeile des nchsten Feldes.
+	 */
+	private int naechsteZeile = 0;
+	
+	/**
+	 * Der Index der Spalte des nchsten Feldes.
+	 */
+	private int naechsteSpalte = 0;
+	
+	/**
+	 * Erzeugt einen neuen FeldIterator.
+	 * 
+	 * @param nonogramm
+	 * 		Das Nonogramm, ber das iteriert werden soll.
+	 */
+	FeldIterator(final Nonogramm nonogramm) {
+		this.nonogramm = nonogramm;
+	}
+	
+	/**
+	 * Gibt zurck, ob noch weitere Felder vorhanden sind.
+	 */
+	public boolean hasNext() {
+		return this.nonogramm.getBreite() > 0 && this.naechsteZeile < this.nonogramm.getHoehe();
+	}
+	
+	/**
+	 * Gibt das nchste Feld der Iteration zurck.
+	 * 
+	 * @throws NoSuchElementException
+	 * 		wird geworfen, wenn die Iteration am Ende des Nonogramms angelangt ist.
+	 */
+	public Feld next() throws NoSuchElementException {
+		if (!this.hasNext())
+			throw new NoSuchElementException();
+		Feld feld = new Feld(this.nonogramm, this.naechsteZeile, this.naechsteSpalte);
+		this.naechsteSpalte++;
+		if (this.naechsteSpalte == this.nonogramm.getBreite()) {
+			this.naechsteSpalte = 0;
+			this.naechsteZeile++;
+		}
+		return feld;
+	}
+}
\ No newline at end of file
@@ -1,30 +1,47 @@
 package de.drake.nonogramm.model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 
 import de.drake.nonogramm.tools.Matrix;
-import de.drake.nonogramm.tools.MatrixIterator;
-import de.drake.nonogramm.tools.Tools;
 
 /**
- * Reprsentation von Nonogrammen
+ * Reprsentation von Nonogrammen. Der Inhalt wird zeilenweise in zwei Bitsets abgelegt: Ein Bit
+ * in this.schwarz kennzeichnet ein schwarzes Feld, ein Bit in this.weiss ein weies Feld. Ist fr
+ * ein Feld keines der beiden Bits gesetzt, so ist sein Status "unknown".
  */
 public class Nonogramm implements Iterable<Feld> {
 
 	/**
 	 * Die Randbedingungen links vom Nonogramm
 	 */
-	private Matrix<Integer> linkeBedingungen;
+	private Bedingungen linkeBedingungen;
 	
 	/**
 	 * Die Randbedingungen ber dem Nonogramm
 	 */
-	private Matrix<Integer> obereBedingungen;
+	private Bedingungen obereBedingungen;
 	
 	/**
-	 * Die Hauptmatrix, die den Inhalt des Nonogramms beinhaltet
+	 * Die Hhe des Nonogramms
 	 */
-	private Matrix<Feld> feldmatrix;
+	private int hoehe;
+	
+	/**
+	 * Die Breite des Nonogramms
+	 */
+	private int breite;
+	
+	/**
+	 * Die schwarzen Felder des Nonogramms: Bit (spalte % 64) von schwarz[zeile][spalte / 64]
+	 * ist genau dann gesetzt, wenn das Feld (zeile, spalte) schwarz ist.
+	 */
+	private long[][] schwarz;
+	
+	/**
+	 * Die weien Felder des Nonogramms, analog zu this.schwarz.
+	 */
+	private long[][] weiss;
 	
 	// Konstruktoren
 	
@@ -38,6 +55,19 @@ public class Nonogramm implements Iterable<Feld> {
 	 */
 	public Nonogramm(final Matrix<Integer> linkeBedingungen, final Matrix<Integer> obereBedingungen)
 			throws IllegalArgumentException {
+		this(new Bedingungen(linkeBedingungen), new Bedingungen(obereBedingungen));
+	}
+	
+	/**
+	 * Konstruktor zum Erzeugen und Initialisieren eines leeren Nonogrammes
+	 * 
+	 * @param linkeBedingungen
+	 * 		die Nebenbedingungen auf der linken Seite des Nonogramms
+	 * @param obereBedingungen
+	 * 		die Nebenbedingungen ber dem Nonogramm
+	 */
+	public Nonogramm(final Bedingungen linkeBedingungen, final Bedingungen obereBedingungen)
+			throws IllegalArgumentException {
 		this.linkeBedingungen = linkeBedingungen;
 		this.obereBedingungen = obereBedingungen;
 		
@@ -45,38 +75,34 @@ public class Nonogramm implements Iterable<Feld> {
 		{
 			int linkeBedingungenSumme = 0;
 			int obereBedingungenSumme = 0;
-			for (int zeilenindex = 0; zeilenindex < this.linkeBedingungen.getHoehe(); zeilenindex++) {
-				ArrayList<Integer> linkeBedingung = this.linkeBedingungen.getZeile(zeilenindex);
-				int linkeBedingungenZeilenSumme = Tools.summe(linkeBedingung);
+			for (int zeilenindex = 0; zeilenindex < this.linkeBedingungen.getAnzahlReihen(); zeilenindex++) {
 				// Wenn in der Zeile nicht genug Platz fr alle Blcke ist...
-				if (linkeBedingungenZeilenSumme + linkeBedingung.size() - 1 > obereBedingungen.getHoehe()) {
+				if (this.linkeBedingungen.getMindestlaenge(zeilenindex)
+						> this.obereBedingungen.getAnzahlReihen()) {
 					throw (new IllegalArgumentException("Nonogramm nicht breit genug "
 							+ "fr linke Bedingungen"));
 				}
-				linkeBedingungenSumme += linkeBedingungenZeilenSumme;
+				linkeBedingungenSumme += this.linkeBedingungen.getSumme(zeilenindex);
 			}
-			for (int zeilenindex = 0; zeilenindex < this.obereBedingungen.getHoehe(); zeilenindex++) {
-				ArrayList<Integer> obereBedingung = this.obereBedingungen.getZeile(zeilenindex);
-				int obereBedingungenZeilenSumme = Tools.summe(obereBedingung);
+			for (int spaltenindex = 0; spaltenindex < this.obereBedingungen.getAnzahlReihen(); spaltenindex++) {
 				// Wenn in der Spalte nicht genug Platz fr alle Blcke ist...
-				if (obereBedingungenZeilenSumme + obereBedingung.size() - 1 > linkeBedingungen.getHoehe()) {
+				if (this.obereBedingungen.getMindestlaenge(spaltenindex)
+						> this.linkeBedingungen.getAnzahlReihen()) {
 					throw (new IllegalArgumentException("Nonogramm nicht hoch genug "
 							+ "fr obere Bedingungen"));
 				}
-				obereBedingungenSumme += obereBedingungenZeilenSumme;
+				obereBedingungenSumme += this.obereBedingungen.getSumme(spaltenindex);
 			}
 			if (linkeBedingungenSumme != obereBedingungenSumme)
 				throw (new IllegalArgumentException("Summe linker Bedingungen ("
 						+ linkeBedingungenSumme + ") ist ungleich der Summe oberer Bedingungen ("
 								+ obereBedingungenSumme + ")"));
 		}
-		this.feldmatrix = new Matrix<Feld>(linkeBedingungen.getHoehe(),
-				obereBedingungen.getHoehe());
-		for (int zeile = 0; zeile < this.getHoehe(); zeile++) {
-			for (int spalte = 0; spalte < this.getBreite(); spalte++) {
-				this.feldmatrix.set(zeile, spalte, new Feld(zeile, spalte, Feldstatus.unknown));
-			}
-		}
+		this.hoehe = linkeBedingungen.getAnzahlReihen();
+		this.breite = obereBedingungen.getAnzahlReihen();
+		int woerterProZeile = (this.breite + 63) >>> 6;
+		this.schwarz = new long[this.hoehe][woerterProZeile];
+		this.weiss = new long[this.hoehe][woerterProZeile];
 	}
 
 	/**
@@ -89,11 +115,13 @@ public class Nonogramm implements Iterable<Feld> {
 	public Nonogramm(final Nonogramm nonogramm) {
 		this.linkeBedingungen = nonogramm.linkeBedingungen;
 		this.obereBedingungen = nonogramm.obereBedingungen;
-		this.feldmatrix = new Matrix<Feld>(nonogramm.getHoehe(), nonogramm.getBreite());
-		for (int zeile = 0; zeile < this.getHoehe(); zeile++) {
-			for (int spalte = 0; spalte < this.getBreite(); spalte++) {
-				this.feldmatrix.set(zeile, spalte, new Feld(nonogramm.get(zeile, spalte)));
-			}
+		this.hoehe = nonogramm.hoehe;
+		this.breite = nonogramm.breite;
+		this.schwarz = new long[this.hoehe][];
+		this.weiss = new long[this.hoehe][];
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			this.schwarz[zeile] = nonogramm.schwarz[zeile].clone();
+			this.weiss[zeile] = nonogramm.weiss[zeile].clone();
 		}
 	}
 		
@@ -115,33 +143,27 @@ public class Nonogramm implements Iterable<Feld> {
 	 */
 	public String toString() {
 		// Kopfsatz schreiben
-		String result = "   ";
-		for (int i=0; i<Math.min(10, this.feldmatrix.getBreite()); i++)
-			result += i + " ";
-		result += " ";
-		for (int i=11; i<this.feldmatrix.getBreite(); i++,i++)
-			result += i + "  ";
-		result += "\n  ";
-		for (int i=0; i<this.feldmatrix.getBreite(); i++)
-			result += "__";
-		result += "\n";
+		StringBuilder result = new StringBuilder((this.hoehe + 2) * (2 * this.breite + 5));
+		result.append("   ");
+		for (int i=0; i<Math.min(10, this.breite); i++)
+			result.append(i).append(' ');
+		result.append(' ');
+		for (int i=11; i<this.breite; i++,i++)
+			result.append(i).append("  ");
+		result.append("\n  ");
+		for (int i=0; i<this.breite; i++)
+			result.append("__");
+		result.append('\n');
 		
 		//Inhalt ausgeben
-		for (int zeile = 0; zeile < Math.min(10, this.feldmatrix.getHoehe()); zeile++) {
-			result += zeile + " |";
-			for (int spalte = 0; spalte < this.feldmatrix.getBreite(); spalte++) {
-				result += this.feldmatrix.get(zeile, spalte) + " ";
-			}
-			result += "\n";
-		}
-		for (int zeile = 10; zeile < this.feldmatrix.getHoehe(); zeile++) {
-			result += zeile + "|";
-			for (int spalte = 0; spalte < this.feldmatrix.getBreite(); spalte++) {
-				result += this.feldmatrix.get(zeile, spalte) + " ";
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			result.append(zeile).append(zeile < 10 ? " |" : "|");
+			for (int spalte = 0; spalte < this.breite; spalte++) {
+				result.append(this.getStatus(zeile, spalte)).append(' ');
 			}
-			result += "\n";
+			result.append('\n');
 		}
-		return result;
+		return result.toString();
 	}
 	
 	/**
@@ -151,7 +173,8 @@ public class Nonogramm implements Iterable<Feld> {
 	 */
 	public boolean equals(Object nonogrammObject) {
 		Nonogramm nonogramm = (Nonogramm) nonogrammObject;
-		return this.feldmatrix.equals(nonogramm.feldmatrix);
+		return Arrays.deepEquals(this.schwarz, nonogramm.schwarz)
+				&& Arrays.deepEquals(this.weiss, nonogramm.weiss);
 	}
 
 	// Instanzmethoden
@@ -160,68 +183,99 @@ public class Nonogramm implements Iterable<Feld> {
 	 * Gibt die Hhe des Nonogramms zurck.
 	 */
 	public int getHoehe() {
-		return this.feldmatrix.getHoehe();
+		return this.hoehe;
 	}
 	
 	/**
 	 * Gibt die Breite des Nonogramms zurck.
 	 */
 	public int getBreite() {
-		return this.feldmatrix.getBreite();
+		return this.breite;
 	}
 	
 	/**
-	 * Gibt die linken Bedingungen zu einer Zeile zurck
-	 * 
-	 * @param zeilenindex
-	 * 		Der Index der Zeile, deren linke Bedingungen gefragt sind. Fr die erste Zeile
-	 * 		ist der Index "0" zu verwenden.
+	 * Gibt die linken Bedingungen des Nonogramms zurck. Die Reihe mit dem Index "0" der
+	 * Bedingungen gehrt zur ersten Zeile.
 	 */
-	public ArrayList<Integer> getLinkeBedingungen(final int zeilenindex) {
-		return this.linkeBedingungen.getZeile(zeilenindex);
+	public Bedingungen getLinkeBedingungen() {
+		return this.linkeBedingungen;
 	}
 	
 	/**
-	 * Gibt die oberen Bedingungen zu einer Spalte zurck
-	 * 
-	 * @param spaltenindex
-	 * 		Der Index der Spalte, deren obere Bedingungen gefragt sind. Fr die erste Spalte
-	 * 		ist der Index "0" zu verwenden.
+	 * Gibt die oberen Bedingungen des Nonogramms zurck. Die Reihe mit dem Index "0" der
+	 * Bedingungen gehrt zur ersten Spalte.
 	 */
-	public ArrayList<Integer> getObereBedingungen(final int spaltenindex) {
-		return this.obereBedingungen.getZeile(spaltenindex);
+	public Bedingungen getObereBedingungen() {
+		return this.obereBedingungen;
 	}
 	
 	/**
-	 * Gibt ein ausgewhltes Feld des Nonogramms zurck.
+	 * Gibt den Status eines Feldes des Nonogramms zurck.
 	 * 
 	 * @param zeile
 	 * 		Der Zeilenindex der angefragten Stelle
 	 * @param spalte
 	 * 		Der Spaltenindex der angefragten Stelle
 	 */
-	private Feld get(final int zeile, final int spalte) {
-		return this.feldmatrix.get(zeile, spalte);
+	public Feldstatus getStatus(final int zeile, final int spalte) {
+		long bit = 1L << spalte;
+		if ((this.schwarz[zeile][spalte >>> 6] & bit) != 0)
+			return Feldstatus.black;
+		if ((this.weiss[zeile][spalte >>> 6] & bit) != 0)
+			return Feldstatus.white;
+		return Feldstatus.unknown;
 	}
 	
 	/**
-	 * Gibt eine Zeile des Nonogramms als ArrayList zurck. Beim Bearbeiten Seiteneffekte beachten!
+	 * Schreibt die Stati einer Zeile des Nonogramms in das bergebene Array.
 	 * 
 	 * @param zeile
 	 * 		Der Zeilenindex der angefragten Zeile
+	 * @param reihe
+	 * 		Das Array, in das die Stati geschrieben werden. Es muss mindestens so lang sein
+	 * 		wie das Nonogramm breit ist.
 	 */
-	public ArrayList<Feld> getZeile(final int zeile) {
-		return this.feldmatrix.getZeile(zeile);
+	public void getZeile(final int zeile, final Feldstatus[] reihe) {
+		long[] schwarzeWoerter = this.schwarz[zeile];
+		long[] weisseWoerter = this.weiss[zeile];
+		for (int wort = 0; wort < schwarzeWoerter.length; wort++) {
+			long schwarzesWort = schwarzeWoerter[wort];
+			long weissesWort = weisseWoerter[wort];
+			int ende = Math.min(this.breite, (wort + 1) << 6);
+			for (int spalte = wort << 6; spalte < ende; spalte++) {
+				long bit = 1L << spalte;
+				if ((schwarzesWort & bit) != 0) {
+					reihe[spalte] = Feldstatus.black;
+				} else if ((weissesWort & bit) != 0) {
+					reihe[spalte] = Feldstatus.white;
+				} else {
+					reihe[spalte] = Feldstatus.unknown;
+				}
+			}
+		}
 	}
 	
 	/**
-	 * Gibt eine Spalte des Nonogramms als ArrayList zurck. Beim Bearbeiten Seiteneffekte beachten!
+	 * Schreibt die Stati einer Spalte des Nonogramms in das bergebene Array.
 	 * 
 	 * @param spalte
-	 * 		Der Spaltenindex der angefragten Zeile
+	 * 		Der Spaltenindex der angefragten Spalte
+	 * @param reihe
+	 * 		Das Array, in das die Stati geschrieben werden. Es muss mindestens so lang sein
+	 * 		wie das Nonogramm hoch ist.
 	 */
-	public ArrayList<Feld> getSpalte(final int spalte) {
-		return this.feldmatrix.getSpalte(spalte);
+	public void getSpalte(final int spalte, final Feldstatus[] reihe) {
+		int wort = spalte >>> 6;
+		long bit = 1L << spalte;
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			if ((this.schwarz[zeile][wort] & bit) != 0) {
+				reihe[zeile] = Feldstatus.black;
+			} else if ((this.weiss[zeile][wort] & bit) != 0) {
+				reihe[zeile] = Feldstatus.white;
+			} else {
+				reihe[zeile] = Feldstatus.unknown;
+			}
+		}
 	}
 	
 	/**
@@ -235,7 +289,15 @@ public class Nonogramm implements Iterable<Feld> {
 	 * 		Der Wert, der einzutragen ist
 	 */
 	public void setStatus(final int zeile, final int spalte, final Feldstatus wert) {
-		this.feldmatrix.get(zeile, spalte).setStatus(wert);
+		int wort = spalte >>> 6;
+		long bit = 1L << spalte;
+		this.schwarz[zeile][wort] &= ~bit;
+		this.weiss[zeile][wort] &= ~bit;
+		if (wert == Feldstatus.black) {
+			this.schwarz[zeile][wort] |= bit;
+		} else if (wert == Feldstatus.white) {
+			this.weiss[zeile][wort] |= bit;
+		}
 	}
 	
 	/**
@@ -249,7 +311,7 @@ public class Nonogramm implements Iterable<Feld> {
 	 * 		Der Status, gegen den verglichen wird.
 	 */
 	public boolean hasStatus(final int zeile, final int spalte, final Feldstatus status) {
-		return this.get(zeile, spalte).hasStatus(status);
+		return this.getStatus(zeile, spalte) == status;
 	}
 	
 	/**
@@ -257,14 +319,34 @@ public class Nonogramm implements Iterable<Feld> {
 	 * mehr enthlt.
 	 */
 	public boolean istVollstaendig() {
-		for (Feld feld : this) {
-			if (feld.hasStatus(Feldstatus.unknown)) {
-				return false;
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			long[] schwarzeWoerter = this.schwarz[zeile];
+			long[] weisseWoerter = this.weiss[zeile];
+			for (int wort = 0; wort < schwarzeWoerter.length; wort++) {
+				int bitsImWort = Math.min(64, this.breite - (wort << 6));
+				long maske = bitsImWort == 64 ? -1L : (1L << bitsImWort) - 1;
+				if ((schwarzeWoerter[wort] | weisseWoerter[wort]) != maske)
+					return false;
 			}
 		}
 		return true;
 	}
 	
+	/**
+	 * Gibt die Anzahl der Felder zurck, deren Status bekannt ist, d.h. die schwarz oder wei sind.
+	 */
+	public int getAnzahlBekannterFelder() {
+		int anzahl = 0;
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			long[] schwarzeWoerter = this.schwarz[zeile];
+			long[] weisseWoerter = this.weiss[zeile];
+			for (int wort = 0; wort < schwarzeWoerter.length; wort++) {
+				anzahl += Long.bitCount(schwarzeWoerter[wort] | weisseWoerter[wort]);
+			}
+		}
+		return anzahl;
+	}
+	
 	/**
 	 * bernimmt die Eintrge eines anderen Nonogramms in dieses Nonogramm.
 	 * 
@@ -272,13 +354,19 @@ public class Nonogramm implements Iterable<Feld> {
 	 * 		das andere Nonogramm
 	 */
 	public void uebernehme(final Nonogramm nonogramm) {
-		this.feldmatrix = new Matrix<Feld>(nonogramm.feldmatrix);
+		for (int zeile = 0; zeile < this.hoehe; zeile++) {
+			System.arraycopy(nonogramm.schwarz[zeile], 0, this.schwarz[zeile], 0,
+					this.schwarz[zeile].length);
+			System.arraycopy(nonogramm.weiss[zeile], 0, this.weiss[zeile], 0,
+					this.weiss[zeile].length);
+		}
 	}
 
 	/**
-	 * Erzeugt einen Iterator, mit dem ber das Nonogramm iteriert werden kann.
+	 * Erzeugt einen Iterator, mit dem zeilenweise ber die Felder des Nonogramms iteriert
+	 * werden kann.
 	 */
-	public MatrixIterator<Feld> iterator() {
-		return new MatrixIterator<Feld>(this.feldmatrix);
+	public Iterator<Feld> iterator() {
+		return new FeldIterator(this);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package de.drake.nonogramm.rozov;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Speichert die Bedingungen geladener Nonogramme dauerhaft in einem Verzeichnis, so dass jedes
+ * Nonogramm nur einmal aus der eigentlichen Quelle geladen werden muss. Jedes Nonogramm liegt in
+ * einer Datei <Nummer>.txt mit einer Kommentarzeile sowie den linken und den oberen Bedingungen in
+ * je einer Zeile.
+ * Die Dateien werden zunchst unter einem temporren Namen geschrieben und dann umbenannt, so dass
+ * auch gleichzeitig laufende Programme keine halb geschriebenen Dateien lesen.
+ */
+public class Plattencache implements Rozovquelle {
+	
+	/**
+	 * Das Verzeichnis mit den gespeicherten Nonogrammen
+	 */
+	private final File verzeichnis;
+	
+	/**
+	 * Die Quelle, aus der nicht gespeicherte Nonogramme geladen werden
+	 */
+	private final Rozovquelle quelle;
+	
+	/**
+	 * Erzeugt einen Zwischenspeicher. Das Verzeichnis wird bei Bedarf angelegt.
+	 * 
+	 * @param verzeichnis
+	 * 		Das Verzeichnis mit den gespeicherten Nonogrammen
+	 * @param quelle
+	 * 		Die Quelle, aus der nicht gespeicherte Nonogramme geladen werden
+	 */
+	public Plattencache(final File verzeichnis, final Rozovquelle quelle) {
+		this.verzeichnis = verzeichnis;
+		this.quelle = quelle;
+	}
+	
+	/**
+	 * Ldt ein Nonogramm aus dem Zwischenspeicher, bzw. aus der Quelle, wenn es noch nicht
+	 * gespeichert ist. Kann ein geladenes Nonogramm nicht gespeichert werden, wird es trotzdem
+	 * zurckgegeben.
+	 */
+	@Override
+	public Rozovraetsel lade(final int nummer) throws IOException {
+		File datei = this.getDatei(nummer);
+		if (datei.isFile()) {
+			try {
+				return liesDatei(datei, nummer);
+			} catch (IOException exception) {
+				// Beschdigte Datei: Das Nonogramm wird neu geladen und die Datei ersetzt.
+			}
+		}
+		Rozovraetsel raetsel = this.quelle.lade(nummer);
+		try {
+			this.speichere(raetsel);
+		} catch (IOException exception) {
+			// Ohne Zwischenspeicher wird das Nonogramm beim nchsten Mal erneut geladen.
+		}
+		return raetsel;
+	}
+	
+	/**
+	 * Gibt an, ob ein Nonogramm im Zwischenspeicher vorliegt.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 */
+	public boolean enthaelt(final int nummer) {
+		return this.getDatei(nummer).isFile();
+	}
+	
+	/**
+	 * Gibt die Datei zurck, in der ein Nonogramm gespeichert wird.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 */
+	private File getDatei(final int nummer) {
+		return new File(this.verzeichnis, nummer + ".txt");
+	}
+	
+	/**
+	 * Liest ein gespeichertes Nonogramm.
+	 * 
+	 * @param datei
+	 * 		Die Datei
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht gelesen werden kann oder unvollstndig ist
+	 */
+	private static Rozovraetsel liesDatei(final File datei, final int nummer) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(datei), "UTF-8"));
+		try {
+			reader.readLine();
+			String linkeBedingungen = reader.readLine();
+			String obereBedingungen = reader.readLine();
+			if (obereBedingungen == null)
+				throw new IOException("Unvollstndige Datei " + datei);
+			return new Rozovraetsel(nummer, linkeBedingungen, obereBedingungen);
+		} finally {
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Speichert ein Nonogramm im Zwischenspeicher.
+	 * 
+	 * @param raetsel
+	 * 		Das Nonogramm
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Datei nicht geschrieben werden kann
+	 */
+	private void speichere(final Rozovraetsel raetsel) throws IOException {
+		if (!this.verzeichnis.isDirectory() && !this.verzeichnis.mkdirs())
+			throw new IOException("Verzeichnis kann nicht angelegt werden: " + this.verzeichnis);
+		File temporaer = File.createTempFile("rozov-" + raetsel.getNummer() + "-", ".tmp", this.verzeichnis);
+		try {
+			Writer writer = new OutputStreamWriter(new FileOutputStream(temporaer), "UTF-8");
+			try {
+				writer.write("# www.rozov.de Nr. " + raetsel.getNummer() + "\n");
+				writer.write(raetsel.getLinkeBedingungen() + "\n");
+				writer.write(raetsel.getObereBedingungen() + "\n");
+			} finally {
+				writer.close();
+			}
+			File datei = this.getDatei(raetsel.getNummer());
+			if (!temporaer.renameTo(datei) && !(datei.delete() && temporaer.renameTo(datei)))
+				throw new IOException("Datei kann nicht angelegt werden: " + datei);
+		} finally {
+			temporaer.delete();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package de.drake.nonogramm.rozov;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Ldt Nonogramme asynchron aus einer Rozovquelle. Zu jedem angeforderten Nonogramm werden die
+ * benachbarten Nummern im Hintergrund mitgeladen, so dass das Blttern mit "+" und "-" ohne
+ * Wartezeit mglich ist. Gleichzeitige Anforderungen derselben Nummer teilen sich einen
+ * Ladevorgang; fehlgeschlagene Ladevorgnge werden bei der nchsten Anforderung wiederholt.
+ */
+public class Rozovlader implements Closeable {
+	
+	/**
+	 * Die Anzahl der Nummern, die standardmig auf jeder Seite der angeforderten Nummer
+	 * mitgeladen werden
+	 */
+	public static final int STANDARDREICHWEITE = 2;
+	
+	/**
+	 * Die Anzahl der Threads, auf denen gleichzeitig geladen wird
+	 */
+	private static final int ANZAHL_THREADS = 2;
+	
+	/**
+	 * Der Abstand zur zuletzt angeforderten Nummer, ab dem abgeschlossene Ladevorgnge vergessen
+	 * werden
+	 */
+	private static final int ERINNERUNG = 20;
+	
+	/**
+	 * Die Quelle, aus der geladen wird
+	 */
+	private final Rozovquelle quelle;
+	
+	/**
+	 * Die Anzahl der Nummern, die auf jeder Seite der angeforderten Nummer mitgeladen werden
+	 */
+	private final int reichweite;
+	
+	/**
+	 * Die laufenden und abgeschlossenen Ladevorgnge je Nummer
+	 */
+	private final ConcurrentMap<Integer, CompletableFuture<Rozovraetsel>> ladevorgaenge =
+			new ConcurrentHashMap<Integer, CompletableFuture<Rozovraetsel>>();
+	
+	/**
+	 * Die Threads, auf denen geladen wird
+	 */
+	private final ExecutorService threads = Executors.newFixedThreadPool(ANZAHL_THREADS, new ThreadFactory() {
+		public Thread newThread(final Runnable aufgabe) {
+			Thread thread = new Thread(aufgabe, "Rozov-Lader");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**
+	 * Erzeugt einen Lader.
+	 * 
+	 * @param quelle
+	 * 		Die Quelle, aus der geladen wird
+	 * @param reichweite
+	 * 		Die Anzahl der Nummern, die auf jeder Seite der angeforderten Nummer mitgeladen werden;
+	 * 		bei 0 wird nichts mitgeladen.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Reichweite negativ ist
+	 */
+	public Rozovlader(final Rozovquelle quelle, final int reichweite) throws IllegalArgumentException {
+		if (reichweite < 0)
+			throw new IllegalArgumentException("Negative Reichweite: " + reichweite);
+		this.quelle = quelle;
+		this.reichweite = reichweite;
+	}
+	
+	/**
+	 * Erzeugt einen Lader mit den Standardeinstellungen: geladen wird von www.rozov.de ber einen
+	 * Zwischenspeicher im Verzeichnis .nonogramm/rozov des Benutzers. Fr den Betrieb ohne
+	 * www.rozov.de lassen sich beide ber Systemeigenschaften ndern:
+	 * nonogramm.rozov.adresse legt die Adresse der Seiten fest (siehe Webquelle),
+	 * nonogramm.rozov.cache das Verzeichnis des Zwischenspeichers.
+	 */
+	public static Rozovlader erzeugeStandard() {
+		Rozovquelle webquelle = new Webquelle(System.getProperty("nonogramm.rozov.adresse",
+				Webquelle.STANDARDADRESSE));
+		File verzeichnis = new File(System.getProperty("nonogramm.rozov.cache",
+				new File(new File(System.getProperty("user.home"), ".nonogramm"), "rozov").getPath()));
+		return new Rozovlader(new Plattencache(verzeichnis, webquelle), STANDARDREICHWEITE);
+	}
+	
+	/**
+	 * Fordert ein Nonogramm an und ldt die benachbarten Nummern im Hintergrund mit. Die Methode
+	 * kehrt sofort zurck.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms auf www.rozov.de
+	 * 
+	 * @return der Ladevorgang, der mit dem Rtsel bzw. der IOException der Quelle abgeschlossen
+	 * wird. Liegt das Nonogramm bereits vor, ist er schon abgeschlossen.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Nummer kleiner als 1 ist
+	 */
+	public CompletableFuture<Rozovraetsel> lade(final int nummer) throws IllegalArgumentException {
+		if (nummer < 1)
+			throw new IllegalArgumentException("Ungltige Nummer: " + nummer);
+		CompletableFuture<Rozovraetsel> ladevorgang = this.starte(nummer);
+		for (int abstand = 1; abstand <= this.reichweite; abstand++) {
+			this.starte(nummer + abstand);
+			if (nummer - abstand >= 1)
+				this.starte(nummer - abstand);
+		}
+		this.vergiss(nummer);
+		return ladevorgang;
+	}
+	
+	/**
+	 * Beendet die Threads des Laders. Laufende Ladevorgnge werden abgebrochen.
+	 */
+	@Override
+	public void close() {
+		this.threads.shutdownNow();
+	}
+	
+	/**
+	 * Gibt den Ladevorgang einer Nummer zurck und startet ihn, falls er noch nicht existiert.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 */
+	private CompletableFuture<Rozovraetsel> starte(final int nummer) {
+		CompletableFuture<Rozovraetsel> ladevorgang = this.ladevorgaenge.get(nummer);
+		if (ladevorgang != null)
+			return ladevorgang;
+		final CompletableFuture<Rozovraetsel> neuerLadevorgang = new CompletableFuture<Rozovraetsel>();
+		ladevorgang = this.ladevorgaenge.putIfAbsent(nummer, neuerLadevorgang);
+		if (ladevorgang != null)
+			return ladevorgang;
+		this.threads.execute(new Runnable() {
+			public void run() {
+				try {
+					neuerLadevorgang.complete(Rozovlader.this.quelle.lade(nummer));
+				} catch (Exception exception) {
+					// Fehlgeschlagene Ladevorgnge nicht aufbewahren, damit sie wiederholt werden knnen
+					Rozovlader.this.ladevorgaenge.remove(nummer, neuerLadevorgang);
+					neuerLadevorgang.completeExceptionally(exception);
+				}
+			}
+		});
+		return neuerLadevorgang;
+	}
+	
+	/**
+	 * Vergisst die abgeschlossenen Ladevorgnge, die weit von der angeforderten Nummer entfernt
+	 * sind. Sie liegen ggf. weiterhin im Zwischenspeicher der Quelle.
+	 * 
+	 * @param nummer
+	 * 		Die zuletzt angeforderte Nummer
+	 */
+	private void vergiss(final int nummer) {
+		Iterator<Map.Entry<Integer, CompletableFuture<Rozovraetsel>>> iterator =
+				this.ladevorgaenge.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Integer, CompletableFuture<Rozovraetsel>> eintrag = iterator.next();
+			if (Math.abs(eintrag.getKey() - nummer) > ERINNERUNG && eintrag.getValue().isDone())
+				iterator.remove();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package de.drake.nonogramm.rozov;
+
+import java.io.IOException;
+
+/**
+ * Liefert die Bedingungen von Nonogrammen anhand ihrer Nummer auf www.rozov.de, z.B. direkt von
+ * der Seite (Webquelle) oder aus einem Zwischenspeicher auf der Festplatte (Plattencache).
+ * Implementierungen mssen threadsicher sein, da der Rozovlader mehrere Nonogramme gleichzeitig
+ * ldt.
+ */
+public interface Rozovquelle {
+	
+	/**
+	 * Ldt die Bedingungen eines Nonogramms. Die Methode blockiert, bis das Nonogramm geladen ist.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms auf www.rozov.de
+	 * 
+	 * @return das Rtsel
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn das Nonogramm nicht geladen werden kann oder nicht existiert
+	 */
+	Rozovraetsel lade(int nummer) throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package de.drake.nonogramm.rozov;
+
+/**
+ * Die Bedingungen eines Nonogramms von www.rozov.de in der Schreibweise der Seite, wie sie
+ * Bedingungen.lies versteht.
+ */
+public class Rozovraetsel {
+	
+	/**
+	 * Die Nummer des Nonogramms auf www.rozov.de
+	 */
+	private final int nummer;
+	
+	/**
+	 * Die linken Bedingungen
+	 */
+	private final String linkeBedingungen;
+	
+	/**
+	 * Die oberen Bedingungen
+	 */
+	private final String obereBedingungen;
+	
+	/**
+	 * Erzeugt ein Rtsel.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms auf www.rozov.de
+	 * @param linkeBedingungen
+	 * 		Die linken Bedingungen
+	 * @param obereBedingungen
+	 * 		Die oberen Bedingungen
+	 */
+	public Rozovraetsel(final int nummer, final String linkeBedingungen, final String obereBedingungen) {
+		this.nummer = nummer;
+		this.linkeBedingungen = linkeBedingungen;
+		this.obereBedingungen = obereBedingungen;
+	}
+	
+	/**
+	 * Gibt die Nummer des Nonogramms auf www.rozov.de zurck.
+	 */
+	public int getNummer() {
+		return this.nummer;
+	}
+	
+	/**
+	 * Gibt die linken Bedingungen zurck.
+	 */
+	public String getLinkeBedingungen() {
+		return this.linkeBedingungen;
+	}
+	
+	/**
+	 * Gibt die oberen Bedingungen zurck.
+	 */
+	public String getObereBedingungen() {
+		return this.obereBedingungen;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package de.drake.nonogramm.rozov;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * Ldt Nonogramme von den Spielseiten auf www.rozov.de und liest die Bedingungen aus dem
+ * HTML-Quelltext. Die Adresse der Seiten ist einstellbar, so dass statt www.rozov.de auch ein
+ * lokaler Ersatzserver oder ein Verzeichnis mit gespeicherten Seiten verwendet werden kann.
+ */
+public class Webquelle implements Rozovquelle {
+	
+	/**
+	 * Die Adresse der Spielseiten auf www.rozov.de; %d steht fr die Nummer des Nonogramms.
+	 */
+	public static final String STANDARDADRESSE = "http://rozov.de/nonogram/spiel.php?num=%d";
+	
+	/**
+	 * Die Zeit in Millisekunden, nach der der Verbindungsaufbau bzw. das Lesen abgebrochen wird
+	 */
+	private static final int ZEITLIMIT = 10000;
+	
+	/**
+	 * Die Anzahl der Zeichen, innerhalb derer die Bedingungen auf der Seite gesucht werden
+	 */
+	private static final int SUCHHORIZONT = 1000000;
+	
+	/**
+	 * Die Adresse der Seiten; %d steht fr die Nummer des Nonogramms.
+	 */
+	private final String adresse;
+	
+	/**
+	 * Erzeugt eine Webquelle.
+	 * 
+	 * @param adresse
+	 * 		Die Adresse der Seiten, z.B. Webquelle.STANDARDADRESSE oder
+	 * 		http://localhost:8080/nonogramm?num=%d; %d steht fr die Nummer des Nonogramms.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Adresse kein %d enthlt
+	 */
+	public Webquelle(final String adresse) throws IllegalArgumentException {
+		if (!adresse.contains("%d"))
+			throw new IllegalArgumentException("Die Adresse muss %d fr die Nummer enthalten: " + adresse);
+		this.adresse = adresse;
+	}
+	
+	/**
+	 * Erzeugt eine Webquelle fr ein Verzeichnis mit gespeicherten Spielseiten, die jeweils unter
+	 * dem Namen <Nummer>.html abgelegt sind.
+	 * 
+	 * @param verzeichnis
+	 * 		Das Verzeichnis mit den gespeicherten Seiten
+	 */
+	public static Webquelle ausVerzeichnis(final File verzeichnis) {
+		String basis = verzeichnis.getAbsoluteFile().toURI().toString();
+		if (!basis.endsWith("/"))
+			basis += "/";
+		return new Webquelle(basis + "%d.html");
+	}
+	
+	/**
+	 * Gibt die Adresse der Seite eines Nonogramms zurck.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 */
+	public String getAdresse(final int nummer) {
+		return String.format(Locale.ROOT, this.adresse, nummer);
+	}
+	
+	@Override
+	public Rozovraetsel lade(final int nummer) throws IOException {
+		URLConnection verbindung = new URL(this.getAdresse(nummer)).openConnection();
+		verbindung.setConnectTimeout(ZEITLIMIT);
+		verbindung.setReadTimeout(ZEITLIMIT);
+		Scanner scanner = new Scanner(verbindung.getInputStream(), "UTF-8");
+		try {
+			return lies(scanner, nummer, this.getAdresse(nummer));
+		} finally {
+			scanner.close();
+		}
+	}
+	
+	/**
+	 * Liest die Bedingungen aus dem Quelltext einer Spielseite. Sie stehen als Zeichenketten in
+	 * dem Aufruf "n = new MainNonoPanel(...)", zuerst die oberen, dann die linken Bedingungen.
+	 * 
+	 * @param scanner
+	 * 		Der Quelltext der Seite
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms
+	 * @param adresse
+	 * 		Die Adresse der Seite (fr Fehlermeldungen)
+	 * 
+	 * @return das Rtsel
+	 * 
+	 * @throws IOException
+	 * 		wird geworfen, wenn die Seite nicht gelesen werden kann oder keine Bedingungen enthlt
+	 */
+	static Rozovraetsel lies(final Scanner scanner, final int nummer, final String adresse) throws IOException {
+		scanner.useDelimiter("\"");
+		String obereBedingungen;
+		String linkeBedingungen;
+		try {
+			if (scanner.findWithinHorizon("n = new MainNonoPanel", SUCHHORIZONT) == null)
+				throw new NoSuchElementException();
+			scanner.next();
+			obereBedingungen = scanner.next();
+			scanner.next();
+			linkeBedingungen = scanner.next();
+		} catch (NoSuchElementException exception) {
+			if (scanner.ioException() != null)
+				throw scanner.ioException();
+			throw new IOException("Keine Bedingungen gefunden auf " + adresse);
+		}
+		return new Rozovraetsel(nummer, linkeBedingungen, obereBedingungen);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package de.drake.nonogramm.solver;
+
+import de.drake.nonogramm.model.Feldstatus;
+
+/**
+ * Empfngt die Arbeitsschritte eines Solvers, z.B. zur Fehlersuche oder zur Darstellung des
+ * Lsungswegs. Ohne Ablaufverfolgung prft der Solver lediglich ein Feld und erzeugt keinerlei
+ * Meldungen. Der Solver ruft nur die Methoden auf, deren Stufe hchstens this.getStufe() ist.
+ * Bei einer Parallelitt grer als 1 werden die Versuche des Trial-And-Error-Verfahrens aus
+ * mehreren Threads gemeldet; Implementierungen mssen dann threadsicher sein.
+ */
+public interface Ablaufverfolgung {
+	
+	/**
+	 * Gibt die Detailstufe der gewnschten Ereignisse zurck. Wird beim Setzen der
+	 * Ablaufverfolgung einmalig abgefragt.
+	 */
+	Verfolgungsstufe getStufe();
+	
+	/**
+	 * Meldet den Beginn einer Lsungsphase (Stufe phase).
+	 * 
+	 * @param beschreibung
+	 * 		Die Beschreibung der Phase
+	 */
+	void meldePhase(String beschreibung);
+	
+	/**
+	 * Meldet die Bearbeitung einer Zeile oder Spalte (Stufe reihe). Bei paralleler Bearbeitung
+	 * wird statt jeder einzelnen Reihe die Anzahl der gleichzeitig bearbeiteten Reihen gemeldet.
+	 * 
+	 * @param zeile
+	 * 		true fr eine Zeile, false fr eine Spalte
+	 * @param index
+	 * 		Der Index der Reihe, bzw. bei paralleler Bearbeitung die Anzahl der Reihen
+	 * @param parallel
+	 * 		true, wenn mehrere Reihen gleichzeitig bearbeitet werden
+	 */
+	void meldeReihe(boolean zeile, int index, boolean parallel);
+	
+	/**
+	 * Meldet einen Versuch des Trial-And-Error-Verfahrens (Stufe versuch).
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des versuchten Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des versuchten Feldes
+	 */
+	void meldeVersuch(int zeile, int spalte);
+	
+	/**
+	 * Meldet eine Entscheidung der Tiefensuche (Stufe versuch).
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des entschiedenen Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des entschiedenen Feldes
+	 * @param status
+	 * 		Der versuchte Status
+	 */
+	void meldeEntscheidung(int zeile, int spalte, Feldstatus status);
+	
+	/**
+	 * Meldet die nderung eines Feldes (Stufe feld). Die Rcknahme eines Versuchs oder einer
+	 * Entscheidung wird mit dem Status unknown gemeldet.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des Feldes
+	 * @param status
+	 * 		Der neue Status des Feldes
+	 */
+	void meldeFeld(int zeile, int spalte, Feldstatus status);
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der angibt, aus welchem Grund der Solver ein Feld gendert hat (siehe Feldaenderung).
+ */
+public enum Aenderungsursache {
+	/**
+	 * Ergebnis der Bearbeitung einer Zeile oder Spalte; die angewendete Reihenstrategie ist in der
+	 * nderung angegeben.
+	 */
+	reihe,
+	
+	/**
+	 * Ein Versuch des Trial-And-Error-Verfahrens, der zu einer vollstndigen Lsung gefhrt hat
+	 */
+	versuch,
+	
+	/**
+	 * Ein Feld, dessen Schwarzfrben im Trial-And-Error-Verfahren zu einem Widerspruch gefhrt hat,
+	 * wird wei.
+	 */
+	trialAndError,
+	
+	/**
+	 * Eine Entscheidung der Tiefensuche
+	 */
+	entscheidung,
+	
+	/**
+	 * Die Rcknahme einer bereits gemeldeten nderung nach einem Widerspruch der Tiefensuche bzw.
+	 * nach einem Abbruch. Das Feld ist danach wieder unknown.
+	 */
+	ruecknahme,
+	
+	/**
+	 * Die bernahme einer Lsung, die die Suche auf einer Kopie des Nonogramms gefunden hat
+	 */
+	loesung ;
+}
\ No newline at end of file
@@ -0,0 +1,315 @@
+package de.drake.nonogramm.solver;
+
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Warteschlange der Reihen eines Nonogramms, die seit ihrer letzten Bearbeitung gendert wurden.
+ * Jede Reihe ist hchstens einmal enthalten. Die Zeilen tragen die Nummern 0 bis Hhe-1,
+ * die Spalten die Nummern Hhe bis Hhe+Breite-1.
+ * Die Reihenfolge der Entnahme richtet sich nach der eingestellten Prioritaet; bei gleicher
+ * Prioritt wird die zuerst aufgenommene Reihe zuerst herausgegeben.
+ * Intern wird ein binrer Heap verwendet, der sich die Position jeder Reihe merkt, so dass
+ * Prioritten nachtrglich angehoben und beliebige Reihen entfernt werden knnen.
+ */
+class Arbeitsliste {
+	
+	/**
+	 * Die Anzahl der Zeilen des Nonogramms
+	 */
+	private final int anzahlZeilen;
+	
+	/**
+	 * Die Prioritt, nach der Reihen entnommen werden
+	 */
+	private Prioritaet prioritaet;
+	
+	/**
+	 * Der Heap; enthlt in den ersten this.groesse Eintrgen die Nummern der enthaltenen Reihen.
+	 */
+	private final int[] heap;
+	
+	/**
+	 * Die Position jeder Reihe im Heap, bzw. -1, wenn die Reihe nicht enthalten ist.
+	 */
+	private final int[] position;
+	
+	/**
+	 * Der Spielraum jeder Reihe, d.h. ihre Lnge abzglich des Mindestplatzbedarfs ihrer Bedingungen.
+	 */
+	private final int[] spielraum;
+	
+	/**
+	 * Die Anzahl der nderungen, die fr jede enthaltene Reihe seit ihrer Aufnahme vermerkt wurden.
+	 */
+	private final int[] aenderungen;
+	
+	/**
+	 * Die laufende Nummer, mit der jede enthaltene Reihe aufgenommen wurde.
+	 */
+	private final long[] eingang;
+	
+	/**
+	 * Die Anzahl der enthaltenen Reihen.
+	 */
+	private int groesse = 0;
+	
+	/**
+	 * Die laufende Nummer fr die nchste aufgenommene Reihe.
+	 */
+	private long naechsterEingang = 0;
+	
+	/**
+	 * Erzeugt eine leere Arbeitsliste fr die Reihen eines Nonogramms.
+	 * 
+	 * @param nonogramm
+	 * 		Das Nonogramm, dessen Reihen verwaltet werden
+	 * @param prioritaet
+	 * 		Die Prioritt, nach der Reihen entnommen werden
+	 */
+	Arbeitsliste(final Nonogramm nonogramm, final Prioritaet prioritaet) {
+		this.anzahlZeilen = nonogramm.getHoehe();
+		int anzahlReihen = nonogramm.getHoehe() + nonogramm.getBreite();
+		this.prioritaet = prioritaet;
+		this.heap = new int[anzahlReihen];
+		this.position = new int[anzahlReihen];
+		this.spielraum = new int[anzahlReihen];
+		this.aenderungen = new int[anzahlReihen];
+		this.eingang = new long[anzahlReihen];
+		for (int reihe = 0; reihe < anzahlReihen; reihe++) {
+			this.position[reihe] = -1;
+			if (reihe < this.anzahlZeilen) {
+				this.spielraum[reihe] = nonogramm.getBreite()
+						- nonogramm.getLinkeBedingungen().getMindestlaenge(reihe);
+			} else {
+				this.spielraum[reihe] = nonogramm.getHoehe()
+						- nonogramm.getObereBedingungen().getMindestlaenge(reihe - this.anzahlZeilen);
+			}
+		}
+	}
+	
+	/**
+	 * ndert die Prioritt, nach der Reihen entnommen werden.
+	 * 
+	 * @param prioritaet
+	 * 		Die neue Prioritt
+	 */
+	void setPrioritaet(final Prioritaet prioritaet) {
+		this.prioritaet = prioritaet;
+		for (int index = this.groesse / 2 - 1; index >= 0; index--) {
+			this.versickere(index);
+		}
+	}
+	
+	/**
+	 * Gibt die Prioritt zurck, nach der Reihen entnommen werden.
+	 */
+	Prioritaet getPrioritaet() {
+		return this.prioritaet;
+	}
+	
+	/**
+	 * Vermerkt eine nderung in einer Zeile. Ist die Zeile noch nicht enthalten, wird sie aufgenommen.
+	 * 
+	 * @param zeile
+	 * 		Der Index der Zeile
+	 */
+	void vermerkeZeile(final int zeile) {
+		this.vermerke(zeile);
+	}
+	
+	/**
+	 * Vermerkt eine nderung in einer Spalte. Ist die Spalte noch nicht enthalten, wird sie aufgenommen.
+	 * 
+	 * @param spalte
+	 * 		Der Index der Spalte
+	 */
+	void vermerkeSpalte(final int spalte) {
+		this.vermerke(this.anzahlZeilen + spalte);
+	}
+	
+	/**
+	 * Nimmt alle Zeilen und Spalten in die Arbeitsliste auf.
+	 */
+	void vermerkeAlle() {
+		for (int reihe = 0; reihe < this.position.length; reihe++) {
+			this.vermerke(reihe);
+		}
+	}
+	
+	/**
+	 * Vermerkt eine nderung in einer Reihe.
+	 * 
+	 * @param reihe
+	 * 		Die Nummer der Reihe
+	 */
+	private void vermerke(final int reihe) {
+		if (this.position[reihe] == -1) {
+			this.aenderungen[reihe] = 1;
+			this.eingang[reihe] = this.naechsterEingang++;
+			this.heap[this.groesse] = reihe;
+			this.position[reihe] = this.groesse;
+			this.groesse++;
+			this.steige(this.groesse - 1);
+		} else {
+			this.aenderungen[reihe]++;
+			if (this.prioritaet == Prioritaet.meisteAenderungen)
+				this.steige(this.position[reihe]);
+		}
+	}
+	
+	/**
+	 * Entnimmt die Reihe mit der hchsten Prioritt.
+	 * 
+	 * @return die Nummer der Reihe, bzw. -1, wenn die Arbeitsliste leer ist
+	 */
+	int entnehme() {
+		if (this.groesse == 0)
+			return -1;
+		int reihe = this.heap[0];
+		this.entferne(reihe);
+		return reihe;
+	}
+	
+	/**
+	 * Entfernt eine Zeile aus der Arbeitsliste.
+	 * 
+	 * @param zeile
+	 * 		Der Index der Zeile
+	 * 
+	 * @return true, wenn die Zeile enthalten war
+	 */
+	boolean entferneZeile(final int zeile) {
+		return this.entferne(zeile);
+	}
+	
+	/**
+	 * Entfernt eine Spalte aus der Arbeitsliste.
+	 * 
+	 * @param spalte
+	 * 		Der Index der Spalte
+	 * 
+	 * @return true, wenn die Spalte enthalten war
+	 */
+	boolean entferneSpalte(final int spalte) {
+		return this.entferne(this.anzahlZeilen + spalte);
+	}
+	
+	/**
+	 * Entfernt eine Reihe aus der Arbeitsliste.
+	 * 
+	 * @param reihe
+	 * 		Die Nummer der Reihe
+	 * 
+	 * @return true, wenn die Reihe enthalten war
+	 */
+	private boolean entferne(final int reihe) {
+		int index = this.position[reihe];
+		if (index == -1)
+			return false;
+		this.position[reihe] = -1;
+		this.groesse--;
+		if (index < this.groesse) {
+			int letzte = this.heap[this.groesse];
+			this.heap[index] = letzte;
+			this.position[letzte] = index;
+			this.versickere(index);
+			this.steige(this.position[letzte]);
+		}
+		return true;
+	}
+	
+	/**
+	 * Entfernt alle Reihen aus der Arbeitsliste.
+	 */
+	void leere() {
+		for (int index = 0; index < this.groesse; index++) {
+			this.position[this.heap[index]] = -1;
+		}
+		this.groesse = 0;
+	}
+	
+	/**
+	 * Gibt an, ob die Arbeitsliste leer ist.
+	 */
+	boolean istLeer() {
+		return this.groesse == 0;
+	}
+	
+	/**
+	 * Gibt die Anzahl der enthaltenen Reihen zurck.
+	 */
+	int getGroesse() {
+		return this.groesse;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Zeilen zurck, d.h. die Nummer der ersten Spalte.
+	 */
+	int getAnzahlZeilen() {
+		return this.anzahlZeilen;
+	}
+	
+	/**
+	 * Prft, ob die Reihe a vor der Reihe b entnommen werden muss.
+	 */
+	private boolean vor(final int a, final int b) {
+		long prioritaetA = this.getPrioritaetswert(a);
+		long prioritaetB = this.getPrioritaetswert(b);
+		if (prioritaetA != prioritaetB)
+			return prioritaetA > prioritaetB;
+		return this.eingang[a] < this.eingang[b];
+	}
+	
+	/**
+	 * Gibt den Priorittswert einer Reihe zurck; hhere Werte werden zuerst entnommen.
+	 */
+	private long getPrioritaetswert(final int reihe) {
+		switch (this.prioritaet) {
+		case geringsterSpielraum: return -this.spielraum[reihe];
+		case meisteAenderungen: return this.aenderungen[reihe];
+		default: return 0;
+		}
+	}
+	
+	/**
+	 * Lsst den Eintrag an der angegebenen Heapposition aufsteigen, bis die Heapeigenschaft
+	 * wiederhergestellt ist.
+	 */
+	private void steige(int index) {
+		int reihe = this.heap[index];
+		while (index > 0) {
+			int elternindex = (index - 1) / 2;
+			int eltern = this.heap[elternindex];
+			if (!this.vor(reihe, eltern))
+				break;
+			this.heap[index] = eltern;
+			this.position[eltern] = index;
+			index = elternindex;
+		}
+		this.heap[index] = reihe;
+		this.position[reihe] = index;
+	}
+	
+	/**
+	 * Lsst den Eintrag an der angegebenen Heapposition versickern, bis die Heapeigenschaft
+	 * wiederhergestellt ist.
+	 */
+	private void versickere(int index) {
+		int reihe = this.heap[index];
+		while (true) {
+			int kindindex = 2 * index + 1;
+			if (kindindex >= this.groesse)
+				break;
+			if (kindindex + 1 < this.groesse && this.vor(this.heap[kindindex + 1], this.heap[kindindex]))
+				kindindex++;
+			int kind = this.heap[kindindex];
+			if (!this.vor(kind, reihe))
+				break;
+			this.heap[index] = kind;
+			this.position[kind] = index;
+			index = kindindex;
+		}
+		this.heap[index] = reihe;
+		this.position[reihe] = index;
+	}
+}
\ No newline at end of file
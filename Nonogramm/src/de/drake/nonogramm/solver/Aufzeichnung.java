@@ -0,0 +1,84 @@
+package de.drake.nonogramm.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zeichnet die Arbeitsschritte des Solvers als Textzeilen im Speicher auf, z.B. um den Lsungsweg
+ * nachtrglich anzuzeigen oder in Tests zu prfen. Um den Speicherbedarf zu begrenzen, kann eine
+ * Hchstzahl von Eintrgen festgelegt werden; darber hinaus werden die ltesten Eintrge
+ * verworfen. Die Aufzeichnung ist threadsicher.
+ */
+public class Aufzeichnung extends Textverfolgung {
+	
+	/**
+	 * Die aufgezeichneten Eintrge
+	 */
+	private final ArrayDeque<String> eintraege = new ArrayDeque<String>();
+	
+	/**
+	 * Die Hchstzahl der aufbewahrten Eintrge
+	 */
+	private final int maxEintraege;
+	
+	/**
+	 * Die Anzahl der insgesamt aufgezeichneten Eintrge, inklusive der verworfenen
+	 */
+	private long anzahl = 0;
+	
+	/**
+	 * Erzeugt eine unbegrenzte Aufzeichnung.
+	 * 
+	 * @param stufe
+	 * 		Die Detailstufe der gewnschten Ereignisse
+	 */
+	public Aufzeichnung(final Verfolgungsstufe stufe) {
+		this(stufe, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Erzeugt eine Aufzeichnung, die hchstens die letzten maxEintraege Eintrge aufbewahrt.
+	 * 
+	 * @param stufe
+	 * 		Die Detailstufe der gewnschten Ereignisse
+	 * @param maxEintraege
+	 * 		Die Hchstzahl der aufbewahrten Eintrge
+	 */
+	public Aufzeichnung(final Verfolgungsstufe stufe, final int maxEintraege) {
+		super(stufe);
+		if (maxEintraege < 1)
+			throw new IllegalArgumentException("Es muss mindestens ein Eintrag aufbewahrt werden!");
+		this.maxEintraege = maxEintraege;
+	}
+	
+	@Override
+	protected synchronized void schreibe(final Verfolgungsstufe stufe, final String text) {
+		if (this.eintraege.size() == this.maxEintraege)
+			this.eintraege.removeFirst();
+		this.eintraege.addLast(text);
+		this.anzahl++;
+	}
+	
+	/**
+	 * Gibt eine Kopie der aufbewahrten Eintrge zurck, den ltesten zuerst.
+	 */
+	public synchronized List<String> getEintraege() {
+		return new ArrayList<String>(this.eintraege);
+	}
+	
+	/**
+	 * Gibt die Anzahl der insgesamt aufgezeichneten Eintrge zurck, inklusive der verworfenen.
+	 */
+	public synchronized long getAnzahl() {
+		return this.anzahl;
+	}
+	
+	/**
+	 * Verwirft alle Eintrge.
+	 */
+	public synchronized void leere() {
+		this.eintraege.clear();
+		this.anzahl = 0;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package de.drake.nonogramm.solver;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+
+/**
+ * Lst Nonogrammreihen per dynamischer Programmierung.
+ * Hierzu werden zwei Erreichbarkeitstabellen aufgebaut:
+ * Die Prfixtabelle gibt an, ob die ersten i Felder der Reihe mit den ersten j Blcken der
+ * Bedingungen zulssig gefllt werden knnen, die Suffixtabelle gibt an, ob die Felder ab
+ * Position i mit den Blcken ab Index j zulssig gefllt werden knnen.
+ * Aus beiden Tabellen lsst sich fr jedes Feld ablesen, ob es in irgendeiner Lsung der Reihe
+ * schwarz bzw. wei sein kann. Die Laufzeit betrgt O(Reihenlnge * Anzahl der Bedingungen),
+ * gefunden werden hierbei dieselben "sicheren" Felder wie mit dem Rekursionsverfahren.
+ */
+class DynamischerReihenSolver {
+	
+	/**
+	 * Die Reihe, die aktuell bearbeitet wird
+	 */
+	private Feldstatus[] reihe;
+	
+	/**
+	 * Die Nebenbedingungen, zu denen die aktuelle Reihe gehrt
+	 */
+	private Bedingungen bedingungen;
+	
+	/**
+	 * Der Index der aktuellen Reihe innerhalb von this.bedingungen
+	 */
+	private int bedingungsreihe;
+	
+	/**
+	 * Die Anzahl der Blcke in den Nebenbedingungen der aktuellen Reihe
+	 */
+	private int anzahlBloecke;
+	
+	/**
+	 * Die Blocklngen der aktuellen Reihe (in den ersten this.anzahlBloecke Eintrgen)
+	 */
+	private int[] bloecke = new int[0];
+	
+	/**
+	 * Prfixtabelle: praefix[i][j] gibt an, ob die Felder 0..i-1 mit den Blcken 0..j-1 zulssig
+	 * gefllt werden knnen, wobei das Feld i-1 entweder wei ist oder den Block j-1 abschliet.
+	 */
+	private boolean[][] praefix;
+	
+	/**
+	 * Suffixtabelle: suffix[i][j] gibt an, ob die Felder i..n-1 mit den Blcken j..k-1 zulssig
+	 * gefllt werden knnen, wobei das Feld i entweder wei ist oder den Block j beginnt.
+	 */
+	private boolean[][] suffix;
+	
+	/**
+	 * weisseFelderBis[i] gibt die Anzahl der weien Felder unter den Feldern 0..i-1 an.
+	 * Damit kann in konstanter Zeit geprft werden, ob ein Block an eine Stelle passt.
+	 */
+	private int[] weisseFelderBis;
+	
+	/**
+	 * Gibt an, ob die aktuelle Reihe berhaupt lsbar ist.
+	 */
+	private boolean loesbar;
+	
+	/**
+	 * Initialisiert den Solver mit einer Reihe und berechnet die Erreichbarkeitstabellen.
+	 *
+	 * @param reihe
+	 * 		Die Feldstati der zu bearbeitenden Reihe
+	 * @param bedingungen
+	 * 		Die Nebenbedingungen, zu denen die zu bearbeitende Reihe gehrt
+	 * @param bedingungsreihe
+	 * 		Der Index der zu bearbeitenden Reihe innerhalb der Nebenbedingungen
+	 *
+	 * @return true, wenn die Reihe lsbar ist.
+	 */
+	boolean set(final Feldstatus[] reihe, final Bedingungen bedingungen, final int bedingungsreihe) {
+		this.reihe = reihe;
+		this.bedingungen = bedingungen;
+		this.bedingungsreihe = bedingungsreihe;
+		this.anzahlBloecke = bedingungen.getAnzahlBloecke(bedingungsreihe);
+		int laenge = reihe.length;
+		int anzahlBloecke = this.anzahlBloecke;
+		// Die Tabellen werden wiederverwendet und nur bei Bedarf vergrert.
+		if (this.bloecke.length < anzahlBloecke)
+			this.bloecke = new int[anzahlBloecke];
+		for (int block = 0; block < anzahlBloecke; block++) {
+			this.bloecke[block] = bedingungen.getBlock(bedingungsreihe, block);
+		}
+		if (this.weisseFelderBis == null || this.weisseFelderBis.length < laenge + 1)
+			this.weisseFelderBis = new int[laenge + 1];
+		if (this.praefix == null || this.praefix.length < laenge + 1
+				|| this.praefix[0].length < anzahlBloecke + 1) {
+			int zeilen = Math.max(laenge + 1, this.praefix == null ? 0 : this.praefix.length);
+			int spalten = Math.max(anzahlBloecke + 1, this.praefix == null ? 0 : this.praefix[0].length);
+			this.praefix = new boolean[zeilen][spalten];
+			this.suffix = new boolean[zeilen][spalten];
+		}
+		this.weisseFelderBis[0] = 0;
+		for (int position = 0; position < laenge; position++) {
+			this.weisseFelderBis[position + 1] = this.weisseFelderBis[position]
+					+ (reihe[position] == Feldstatus.white ? 1 : 0);
+		}
+		
+		this.praefix[0][0] = true;
+		for (int block = 1; block <= anzahlBloecke; block++) {
+			this.praefix[0][block] = false;
+		}
+		for (int ende = 1; ende <= laenge; ende++) {
+			for (int block = 0; block <= anzahlBloecke; block++) {
+				boolean erreichbar = this.kannWeissSein(ende - 1) && this.praefix[ende - 1][block];
+				if (!erreichbar && block > 0) {
+					int anfang = ende - this.block(block - 1);
+					erreichbar = this.blockPasst(anfang, ende) && this.davorFrei(anfang, block - 1);
+				}
+				this.praefix[ende][block] = erreichbar;
+			}
+		}
+		
+		for (int block = 0; block < anzahlBloecke; block++) {
+			this.suffix[laenge][block] = false;
+		}
+		this.suffix[laenge][anzahlBloecke] = true;
+		for (int anfang = laenge - 1; anfang >= 0; anfang--) {
+			for (int block = anzahlBloecke; block >= 0; block--) {
+				boolean erreichbar = this.kannWeissSein(anfang) && this.suffix[anfang + 1][block];
+				if (!erreichbar && block < anzahlBloecke) {
+					int ende = anfang + this.block(block);
+					erreichbar = this.blockPasst(anfang, ende) && this.dahinterFrei(ende, block + 1);
+				}
+				this.suffix[anfang][block] = erreichbar;
+			}
+		}
+		
+		this.loesbar = this.praefix[laenge][anzahlBloecke];
+		return this.loesbar;
+	}
+	
+	/**
+	 * Ermittelt fr jedes Feld der Reihe, welche Stati in einer Lsung der Reihe mglich sind.
+	 * Felder, fr die nur ein Status mglich ist, werden im bergebenen Array eingetragen;
+	 * alle anderen Eintrge werden auf "unknown" gesetzt.
+	 *
+	 * @param sichereFelder
+	 * 		Ein Array der Lnge der Reihe, in das die sicheren Stati eingetragen werden
+	 *
+	 * @return false, wenn die Reihe unlsbar ist.
+	 */
+	boolean ermittleSichereFelder(final Feldstatus[] sichereFelder) {
+		if (!this.loesbar)
+			return false;
+		int laenge = this.reihe.length;
+		int anzahlBloecke = this.anzahlBloecke;
+		
+		// Differenzenarray: Fr jede zulssige Blockposition wird der berdeckte Bereich vermerkt.
+		int[] schwarzMoeglich = new int[laenge + 1];
+		for (int block = 0; block < anzahlBloecke; block++) {
+			int blocklaenge = this.block(block);
+			for (int anfang = 0; anfang + blocklaenge <= laenge; anfang++) {
+				int ende = anfang + blocklaenge;
+				if (this.blockPasst(anfang, ende) && this.davorFrei(anfang, block)
+						&& this.dahinterFrei(ende, block + 1)) {
+					schwarzMoeglich[anfang]++;
+					schwarzMoeglich[ende]--;
+				}
+			}
+		}
+		
+		int ueberdeckungen = 0;
+		for (int position = 0; position < laenge; position++) {
+			ueberdeckungen += schwarzMoeglich[position];
+			boolean schwarz = ueberdeckungen > 0;
+			boolean weiss = false;
+			if (this.kannWeissSein(position)) {
+				for (int block = 0; block <= anzahlBloecke && !weiss; block++) {
+					weiss = this.praefix[position][block] && this.suffix[position + 1][block];
+				}
+			}
+			if (schwarz && !weiss) {
+				sichereFelder[position] = Feldstatus.black;
+			} else if (weiss && !schwarz) {
+				sichereFelder[position] = Feldstatus.white;
+			} else {
+				sichereFelder[position] = Feldstatus.unknown;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Erzeugt die Linkslsung der Reihe, d.h. die Lsung, in der alle Blcke so weit wie mglich
+	 * links liegen.
+	 *
+	 * @param loesung
+	 * 		Ein Array der Lnge der Reihe, in das die Lsung eingetragen wird
+	 *
+	 * @return false, wenn die Reihe unlsbar ist.
+	 */
+	boolean erzeugeLinksloesung(final Feldstatus[] loesung) {
+		if (!this.loesbar)
+			return false;
+		int laenge = this.reihe.length;
+		int block = 0;
+		int position = 0;
+		while (position < laenge) {
+			// Block so frh wie mglich platzieren...
+			if (block < this.anzahlBloecke) {
+				int ende = position + this.block(block);
+				if (ende <= laenge && this.blockPasst(position, ende)
+						&& this.dahinterFrei(ende, block + 1)) {
+					while (position < ende) {
+						loesung[position++] = Feldstatus.black;
+					}
+					if (position < laenge) {
+						loesung[position++] = Feldstatus.white;
+					}
+					block++;
+					continue;
+				}
+			}
+			// ...ansonsten ein weies Feld einschieben
+			loesung[position++] = Feldstatus.white;
+		}
+		return true;
+	}
+	
+	/**
+	 * Erzeugt die Rechtslsung der Reihe, d.h. die Lsung, in der alle Blcke so weit wie mglich
+	 * rechts liegen.
+	 *
+	 * @param loesung
+	 * 		Ein Array der Lnge der Reihe, in das die Lsung eingetragen wird
+	 *
+	 * @return false, wenn die Reihe unlsbar ist.
+	 */
+	boolean erzeugeRechtsloesung(final Feldstatus[] loesung) {
+		if (!this.loesbar)
+			return false;
+		int block = this.anzahlBloecke;
+		int position = this.reihe.length;
+		while (position > 0) {
+			// Block so spt wie mglich platzieren...
+			if (block > 0) {
+				int anfang = position - this.block(block - 1);
+				if (anfang >= 0 && this.blockPasst(anfang, position)
+						&& this.davorFrei(anfang, block - 1)) {
+					while (position > anfang) {
+						loesung[--position] = Feldstatus.black;
+					}
+					if (position > 0) {
+						loesung[--position] = Feldstatus.white;
+					}
+					block--;
+					continue;
+				}
+			}
+			// ...ansonsten ein weies Feld einschieben
+			loesung[--position] = Feldstatus.white;
+		}
+		return true;
+	}
+	
+	/**
+	 * Gibt die Lnge eines Blocks aus den Nebenbedingungen der aktuellen Reihe zurck.
+	 */
+	private int block(final int index) {
+		return this.bloecke[index];
+	}
+	
+	/**
+	 * Prft, ob das Feld an der angegebenen Position wei sein darf.
+	 */
+	private boolean kannWeissSein(final int position) {
+		return this.reihe[position] != Feldstatus.black;
+	}
+	
+	/**
+	 * Prft, ob ein Block die Felder anfang..ende-1 belegen darf, d.h. ob die Felder innerhalb
+	 * der Reihe liegen und keines von ihnen wei ist.
+	 */
+	private boolean blockPasst(final int anfang, final int ende) {
+		return anfang >= 0 && ende <= this.reihe.length
+				&& this.weisseFelderBis[ende] == this.weisseFelderBis[anfang];
+	}
+	
+	/**
+	 * Prft, ob die Felder vor einem Block, der an der Position anfang beginnt, mit den Blcken
+	 * 0..anzahlBloeckeDavor-1 zulssig gefllt werden knnen (inklusive trennendem weien Feld).
+	 */
+	private boolean davorFrei(final int anfang, final int anzahlBloeckeDavor) {
+		if (anfang == 0)
+			return anzahlBloeckeDavor == 0;
+		return this.kannWeissSein(anfang - 1) && this.praefix[anfang - 1][anzahlBloeckeDavor];
+	}
+	
+	/**
+	 * Prft, ob die Felder nach einem Block, der vor der Position ende endet, mit den Blcken
+	 * ab Index ersterBlockDahinter zulssig gefllt werden knnen (inklusive trennendem weien Feld).
+	 */
+	private boolean dahinterFrei(final int ende, final int ersterBlockDahinter) {
+		if (ende == this.reihe.length)
+			return ersterBlockDahinter == this.anzahlBloecke;
+		return this.kannWeissSein(ende) && this.suffix[ende + 1][ersterBlockDahinter];
+	}
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package de.drake.nonogramm.solver;
+
+import de.drake.nonogramm.model.Feldstatus;
+
+/**
+ * Die nderung eines Feldes durch den Solver, wie sie an einen Feldbeobachter gemeldet wird.
+ */
+public final class Feldaenderung {
+	
+	/**
+	 * Der Zeilenindex des genderten Feldes
+	 */
+	private final int zeile;
+	
+	/**
+	 * Der Spaltenindex des genderten Feldes
+	 */
+	private final int spalte;
+	
+	/**
+	 * Der neue Status des Feldes
+	 */
+	private final Feldstatus status;
+	
+	/**
+	 * Der Grund der nderung
+	 */
+	private final Aenderungsursache ursache;
+	
+	/**
+	 * Die Reihenstrategie, die das Feld gesetzt hat, bzw. null
+	 */
+	private final Reihenstrategie strategie;
+	
+	/**
+	 * Erzeugt eine Feldnderung.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des genderten Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des genderten Feldes
+	 * @param status
+	 * 		Der neue Status des Feldes
+	 * @param ursache
+	 * 		Der Grund der nderung
+	 * @param strategie
+	 * 		Die Reihenstrategie, die das Feld gesetzt hat, bzw. null, wenn die nderung nicht aus der
+	 * 		Bearbeitung einer Reihe stammt
+	 */
+	Feldaenderung(final int zeile, final int spalte, final Feldstatus status, final Aenderungsursache ursache,
+			final Reihenstrategie strategie) {
+		this.zeile = zeile;
+		this.spalte = spalte;
+		this.status = status;
+		this.ursache = ursache;
+		this.strategie = strategie;
+	}
+	
+	/**
+	 * Gibt den Zeilenindex des genderten Feldes zurck.
+	 */
+	public int getZeile() {
+		return this.zeile;
+	}
+	
+	/**
+	 * Gibt den Spaltenindex des genderten Feldes zurck.
+	 */
+	public int getSpalte() {
+		return this.spalte;
+	}
+	
+	/**
+	 * Gibt den neuen Status des Feldes zurck. Bei einer Rcknahme ist dies unknown.
+	 */
+	public Feldstatus getStatus() {
+		return this.status;
+	}
+	
+	/**
+	 * Gibt den Grund der nderung zurck.
+	 */
+	public Aenderungsursache getUrsache() {
+		return this.ursache;
+	}
+	
+	/**
+	 * Gibt die Reihenstrategie zurck, die das Feld gesetzt hat. Bei der Ursache reihe ist dies
+	 * zwischenspeicher, wenn das Ergebnis der Reihe aus dem Zwischenspeicher des Solvers stammt;
+	 * bei allen anderen Ursachen null.
+	 */
+	public Reihenstrategie getStrategie() {
+		return this.strategie;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + this.zeile + "," + this.spalte + ") " + this.status + " " + this.ursache
+				+ (this.strategie == null ? "" : "/" + this.strategie);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package de.drake.nonogramm.solver;
+
+import java.util.List;
+
+/**
+ * Empfngt die nderungen, die ein Solver in sein Nonogramm eintrgt (siehe
+ * Solver.setFeldbeobachter), z.B. um eine Anzeige schrittweise nachzufhren, ohne das gesamte
+ * Nonogramm neu zu lesen.
+ * Die nderungen werden gesammelt und jeweils am Ende einer Propagation sowie am Ende jedes
+ * ffentlichen Lsungsschritts gemeldet. Werden die gemeldeten nderungen der Reihe nach auf den
+ * Ausgangszustand des Nonogramms angewendet, ergibt sich stets dessen aktueller Zustand. Versuche
+ * des Trial-And-Error-Verfahrens, die wieder zurckgenommen werden, erscheinen daher nicht; von
+ * Entscheidungen der Tiefensuche, die sich als falsch erweisen, wird die Rcknahme gemeldet.
+ * Die Meldungen erfolgen in dem Thread, in dem der Solver luft. Solange die Methode nicht
+ * zurckkehrt, wartet der Solver; aufwndige Verarbeitung sollte daher an einen anderen Thread
+ * bergeben werden.
+ */
+public interface Feldbeobachter {
+	
+	/**
+	 * Meldet die seit der letzten Meldung eingetragenen nderungen.
+	 * 
+	 * @param aenderungen
+	 * 		Die nderungen in der Reihenfolge ihres Eintragens, nicht leer. Die Liste ist
+	 * 		unvernderlich und darf aufbewahrt werden.
+	 */
+	void meldeAenderungen(List<Feldaenderung> aenderungen);
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Schnittstelle der Solver zum Java Flight Recorder (JFR). Die Solver melden Propagationsrunden,
+ * Reihenbearbeitungen und Versuche des Trial-And-Error-Verfahrens als JFR-Ereignisse, so dass sich
+ * in einer Aufzeichnung z.B. besonders teure Reihen erkennen lassen, ohne einen Debugger anzuhngen.
+ * Die Ereignisse selbst sind in JfrFlugschreiber definiert, der das Paket jdk.jfr nur zur Laufzeit
+ * anspricht; so lsst sich das Projekt gegen Java 8 bersetzen und luft auch ohne JFR.
+ * Jedes beginne...() liefert ein Ereignisobjekt, das an das zugehrige beende...() bergeben werden
+ * muss, bzw. null, wenn das Ereignis nicht aufgezeichnet wird; dann entfllt auch das beende...().
+ */
+interface Flugschreiber {
+	
+	/**
+	 * Der Flugschreiber, bzw. null, wenn die Laufzeitumgebung keinen JFR besitzt
+	 */
+	Flugschreiber INSTANZ = Flugschreiber.lade();
+	
+	/**
+	 * Beginnt eine Propagationsrunde, d.h. einen Aufruf von Solver.loeseEinfach().
+	 * 
+	 * @return das Ereignis, bzw. null
+	 */
+	Object beginnePropagation();
+	
+	/**
+	 * Beendet eine Propagationsrunde.
+	 * 
+	 * @param ereignis
+	 * 		Das Ereignis aus beginnePropagation()
+	 * @param anzahlReihen
+	 * 		Die Anzahl der bearbeiteten Zeilen und Spalten
+	 * @param anzahlFelder
+	 * 		Die Anzahl der gesetzten Felder
+	 * @param widerspruch
+	 * 		true, wenn die Runde mit einem Widerspruch endete
+	 */
+	void beendePropagation(Object ereignis, long anzahlReihen, int anzahlFelder, boolean widerspruch);
+	
+	/**
+	 * Beginnt eine Reihenbearbeitung, d.h. einen Aufruf von ReihenSolver.bearbeiteReihe().
+	 * 
+	 * @return das Ereignis, bzw. null
+	 */
+	Object beginneReihe();
+	
+	/**
+	 * Beendet eine Reihenbearbeitung.
+	 * 
+	 * @param ereignis
+	 * 		Das Ereignis aus beginneReihe()
+	 * @param zeile
+	 * 		true fr eine Zeile, false fr eine Spalte
+	 * @param index
+	 * 		Der Index der Reihe
+	 * @param laenge
+	 * 		Die Anzahl der Felder der Reihe
+	 * @param anzahlBloecke
+	 * 		Die Anzahl der Blcke in den Bedingungen der Reihe
+	 * @param anzahlFelder
+	 * 		Die Anzahl der gesetzten Felder
+	 * @param loesbar
+	 * 		false, wenn die Reihe unlsbar war
+	 * @param verfahren
+	 * 		Die Beschreibung des angewendeten Verfahrens
+	 */
+	void beendeReihe(Object ereignis, boolean zeile, int index, int laenge, int anzahlBloecke,
+			int anzahlFelder, boolean loesbar, String verfahren);
+	
+	/**
+	 * Beginnt einen Versuch des Trial-And-Error-Verfahrens.
+	 * 
+	 * @return das Ereignis, bzw. null
+	 */
+	Object beginneVersuch();
+	
+	/**
+	 * Beendet einen Versuch des Trial-And-Error-Verfahrens.
+	 * 
+	 * @param ereignis
+	 * 		Das Ereignis aus beginneVersuch()
+	 * @param zeile
+	 * 		Der Zeilenindex des versuchten Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des versuchten Feldes
+	 * @param ergebnis
+	 * 		Das Ergebnis des Versuchs: "widerspruch", "loesung", "offen" oder "abgebrochen"
+	 * @param anzahlFelder
+	 * 		Die Anzahl der Felder, die der Versuch gesetzt hat (vor der Rcknahme)
+	 */
+	void beendeVersuch(Object ereignis, int zeile, int spalte, String ergebnis, int anzahlFelder);
+	
+	/**
+	 * Ldt JfrFlugschreiber, sofern die Laufzeitumgebung jdk.jfr.EventFactory besitzt (Java 11 und
+	 * neuer).
+	 * 
+	 * @return der Flugschreiber, bzw. null
+	 */
+	static Flugschreiber lade() {
+		try {
+			Class.forName("jdk.jfr.EventFactory");
+			return (Flugschreiber) Class.forName(Flugschreiber.class.getPackage().getName()
+					+ ".JfrFlugschreiber").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError | IllegalStateException e) {
+			return null;
+		}
+	}
+}
\ No newline at end of file
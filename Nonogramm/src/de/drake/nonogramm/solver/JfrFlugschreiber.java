@@ -0,0 +1,401 @@
+package de.drake.nonogramm.solver;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Meldet die Arbeitsschritte der Solver als Ereignisse des Java Flight Recorder. Die Ereignisse
+ * erscheinen in der Kategorie Nonogramm/Solver und werden nur aufgezeichnet, wenn sie die Schwelle
+ * ihrer Ereignisklasse berschreiten, so dass eine Aufzeichnung mit den Standardeinstellungen nur
+ * auffllig langsame Schritte enthlt. Schwellen und Aktivierung lassen sich wie fr die Ereignisse
+ * des JDK in einer .jfc-Datei einstellen, z.B.
+ * 	&lt;event name="de.drake.nonogramm.Reihenbearbeitung"&gt;
+ * 		&lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ * 		&lt;setting name="threshold"&gt;0 ms&lt;/setting&gt;
+ * 	&lt;/event&gt;
+ * Da das Projekt gegen Java 8 bersetzt wird, werden die Ereignisklassen nicht von jdk.jfr.Event
+ * abgeleitet, sondern zur Laufzeit per jdk.jfr.EventFactory erzeugt und ber MethodHandles
+ * angesprochen. Ohne laufende Aufzeichnung kostet jedes Ereignis lediglich die Abfrage von
+ * EventType.isEnabled(). Wird nur ber Flugschreiber.INSTANZ geladen; fehlt das Paket jdk.jfr,
+ * schlgt bereits die Initialisierung der Klasse fehl.
+ */
+class JfrFlugschreiber implements Flugschreiber {
+	
+	/**
+	 * Event.begin(), als (Object)void
+	 */
+	private static final MethodHandle BEGINNE;
+	
+	/**
+	 * Event.end(), als (Object)void
+	 */
+	private static final MethodHandle BEENDE;
+	
+	/**
+	 * Event.shouldCommit(), als (Object)boolean
+	 */
+	private static final MethodHandle IST_AUFZUZEICHNEN;
+	
+	/**
+	 * Event.set(int, Object), als (Object,int,Object)void
+	 */
+	private static final MethodHandle SETZE;
+	
+	/**
+	 * Event.commit(), als (Object)void
+	 */
+	private static final MethodHandle ZEICHNE_AUF;
+	
+	/**
+	 * Erzeugt ein Ereignis fr eine Propagationsrunde, als ()Object. Felder: Bearbeitete Reihen,
+	 * Gesetzte Felder, Widerspruch.
+	 */
+	private static final MethodHandle PROPAGATIONSEREIGNIS;
+	
+	/**
+	 * Gibt an, ob Propagationsrunden aufgezeichnet werden, als ()boolean
+	 */
+	private static final MethodHandle PROPAGATION_AKTIV;
+	
+	/**
+	 * Erzeugt ein Ereignis fr die Bearbeitung einer Zeile oder Spalte, als ()Object. Felder: Zeile,
+	 * Index, Lnge, Anzahl Blcke, Gesetzte Felder, Lsbar, Verfahren.
+	 */
+	private static final MethodHandle REIHENEREIGNIS;
+	
+	/**
+	 * Gibt an, ob Reihenbearbeitungen aufgezeichnet werden, als ()boolean
+	 */
+	private static final MethodHandle REIHEN_AKTIV;
+	
+	/**
+	 * Erzeugt ein Ereignis fr einen Versuch des Trial-And-Error-Verfahrens, als ()Object. Felder:
+	 * Zeile, Spalte, Ergebnis, Gesetzte Felder.
+	 */
+	private static final MethodHandle VERSUCHSEREIGNIS;
+	
+	/**
+	 * Gibt an, ob Versuche aufgezeichnet werden, als ()boolean
+	 */
+	private static final MethodHandle VERSUCHE_AKTIV;
+	
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> ereignis = Class.forName("jdk.jfr.Event");
+			MethodType aktion = MethodType.methodType(void.class, Object.class);
+			BEGINNE = lookup.findVirtual(ereignis, "begin", MethodType.methodType(void.class)).asType(aktion);
+			BEENDE = lookup.findVirtual(ereignis, "end", MethodType.methodType(void.class)).asType(aktion);
+			IST_AUFZUZEICHNEN = lookup.findVirtual(ereignis, "shouldCommit",
+					MethodType.methodType(boolean.class)).asType(MethodType.methodType(boolean.class,
+					Object.class));
+			SETZE = lookup.findVirtual(ereignis, "set", MethodType.methodType(void.class, int.class,
+					Object.class)).asType(MethodType.methodType(void.class, Object.class, int.class,
+					Object.class));
+			ZEICHNE_AUF = lookup.findVirtual(ereignis, "commit", MethodType.methodType(void.class))
+					.asType(aktion);
+			
+			Ereignistyp typ = new Ereignistyp();
+			Object propagation = typ.erzeuge("de.drake.nonogramm.Propagation", "Propagationsrunde",
+					"Bearbeitung genderter Zeilen und Spalten bis zum Fixpunkt oder Widerspruch",
+					"10 ms", true,
+					typ.feld(long.class, "anzahlReihen", "Bearbeitete Reihen", null),
+					typ.feld(int.class, "anzahlFelder", "Gesetzte Felder", null),
+					typ.feld(boolean.class, "widerspruch", "Widerspruch", null));
+			Object reihe = typ.erzeuge("de.drake.nonogramm.Reihenbearbeitung", "Reihenbearbeitung",
+					"Bearbeitung einer Zeile oder Spalte durch den ReihenSolver", "1 ms", false,
+					typ.feld(boolean.class, "zeile", "Zeile", "true fr eine Zeile, false fr eine Spalte"),
+					typ.feld(int.class, "index", "Index", null),
+					typ.feld(int.class, "laenge", "Lnge", null),
+					typ.feld(int.class, "anzahlBloecke", "Anzahl Blcke", null),
+					typ.feld(int.class, "anzahlFelder", "Gesetzte Felder", null),
+					typ.feld(boolean.class, "loesbar", "Lsbar", null),
+					typ.feld(String.class, "verfahren", "Verfahren", null));
+			Object versuch = typ.erzeuge("de.drake.nonogramm.Versuch", "Versuch",
+					"Versuch des Trial-And-Error-Verfahrens, ein unbekanntes Feld schwarz zu frben",
+					"5 ms", false,
+					typ.feld(int.class, "zeile", "Zeile", null),
+					typ.feld(int.class, "spalte", "Spalte", null),
+					typ.feld(String.class, "ergebnis", "Ergebnis", null),
+					typ.feld(int.class, "anzahlFelder", "Gesetzte Felder", null));
+			PROPAGATIONSEREIGNIS = typ.neuesEreignis(propagation);
+			PROPAGATION_AKTIV = typ.istAktiv(propagation);
+			REIHENEREIGNIS = typ.neuesEreignis(reihe);
+			REIHEN_AKTIV = typ.istAktiv(reihe);
+			VERSUCHSEREIGNIS = typ.neuesEreignis(versuch);
+			VERSUCHE_AKTIV = typ.istAktiv(versuch);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Der Java Flight Recorder ist nicht verfgbar", e);
+		}
+	}
+	
+	/**
+	 * Erzeugt Ereignistypen per jdk.jfr.EventFactory. Die Annotationen Name, Label, Description,
+	 * Category, Threshold und StackTrace einer Ereignisklasse werden dabei als AnnotationElement
+	 * bergeben.
+	 */
+	private static class Ereignistyp {
+		
+		/**
+		 * Der Konstruktor AnnotationElement(Class, Object)
+		 */
+		private final MethodHandle annotation;
+		
+		/**
+		 * Der Konstruktor ValueDescriptor(Class, String, List)
+		 */
+		private final MethodHandle feld;
+		
+		/**
+		 * EventFactory.create(List, List)
+		 */
+		private final MethodHandle fabrik;
+		
+		/**
+		 * EventFactory.newEvent()
+		 */
+		private final MethodHandle neuesEreignis;
+		
+		/**
+		 * EventFactory.getEventType()
+		 */
+		private final MethodHandle ereignistyp;
+		
+		/**
+		 * EventType.isEnabled()
+		 */
+		private final MethodHandle istAktiv;
+		
+		/**
+		 * Sucht die bentigten Klassen des Pakets jdk.jfr.
+		 */
+		Ereignistyp() throws ReflectiveOperationException {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+			Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+			Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+			Class<?> eventType = Class.forName("jdk.jfr.EventType");
+			this.annotation = lookup.findConstructor(annotationElement,
+					MethodType.methodType(void.class, Class.class, Object.class));
+			this.feld = lookup.findConstructor(valueDescriptor,
+					MethodType.methodType(void.class, Class.class, String.class, List.class));
+			this.fabrik = lookup.findStatic(eventFactory, "create",
+					MethodType.methodType(eventFactory, List.class, List.class));
+			this.neuesEreignis = lookup.findVirtual(eventFactory, "newEvent",
+					MethodType.methodType(Class.forName("jdk.jfr.Event")));
+			this.ereignistyp = lookup.findVirtual(eventFactory, "getEventType", MethodType.methodType(eventType));
+			this.istAktiv = lookup.findVirtual(eventType, "isEnabled", MethodType.methodType(boolean.class));
+		}
+		
+		/**
+		 * Erzeugt ein AnnotationElement.
+		 * 
+		 * @param typ
+		 * 		Der einfache Name der Annotation im Paket jdk.jfr, z.B. Label
+		 * @param wert
+		 * 		Der Wert der Annotation
+		 */
+		Object annotation(final String typ, final Object wert) throws ReflectiveOperationException {
+			return Ereignistyp.rufeAuf(this.annotation, Class.forName("jdk.jfr." + typ), wert);
+		}
+		
+		/**
+		 * Erzeugt die Beschreibung (ValueDescriptor) eines Ereignisfeldes.
+		 * 
+		 * @param typ
+		 * 		Der Typ des Feldes
+		 * @param name
+		 * 		Der Name des Feldes
+		 * @param label
+		 * 		Die Bezeichnung des Feldes
+		 * @param beschreibung
+		 * 		Die Beschreibung des Feldes, bzw. null
+		 */
+		Object feld(final Class<?> typ, final String name, final String label, final String beschreibung)
+				throws ReflectiveOperationException {
+			List<Object> annotationen = new ArrayList<Object>();
+			annotationen.add(this.annotation("Label", label));
+			if (beschreibung != null)
+				annotationen.add(this.annotation("Description", beschreibung));
+			return Ereignistyp.rufeAuf(this.feld, typ, name, annotationen);
+		}
+		
+		/**
+		 * Erzeugt einen Ereignistyp in der Kategorie Nonogramm/Solver.
+		 * 
+		 * @param name
+		 * 		Der Name des Ereignistyps
+		 * @param label
+		 * 		Die Bezeichnung des Ereignistyps
+		 * @param beschreibung
+		 * 		Die Beschreibung des Ereignistyps
+		 * @param schwelle
+		 * 		Die Standardschwelle, z.B. "10 ms"
+		 * @param mitStapel
+		 * 		Gibt an, ob mit dem Ereignis der Aufrufstapel aufgezeichnet wird
+		 * @param felder
+		 * 		Die Felder aus this.feld(); die Reihenfolge bestimmt den Index fr Event.set()
+		 * 
+		 * @return die EventFactory des Ereignistyps
+		 */
+		Object erzeuge(final String name, final String label, final String beschreibung,
+				final String schwelle, final boolean mitStapel, final Object... felder)
+				throws ReflectiveOperationException {
+			List<Object> annotationen = new ArrayList<Object>();
+			annotationen.add(this.annotation("Name", name));
+			annotationen.add(this.annotation("Label", label));
+			annotationen.add(this.annotation("Description", beschreibung));
+			annotationen.add(this.annotation("Category", new String[] {"Nonogramm", "Solver"}));
+			annotationen.add(this.annotation("Threshold", schwelle));
+			annotationen.add(this.annotation("StackTrace", mitStapel));
+			return Ereignistyp.rufeAuf(this.fabrik, annotationen, Arrays.asList(felder));
+		}
+		
+		/**
+		 * Gibt ein MethodHandle ()Object zurck, das ein neues Ereignis eines Typs erzeugt.
+		 * 
+		 * @param fabrik
+		 * 		Die EventFactory aus this.erzeuge()
+		 */
+		MethodHandle neuesEreignis(final Object fabrik) {
+			return this.neuesEreignis.bindTo(fabrik).asType(MethodType.methodType(Object.class));
+		}
+		
+		/**
+		 * Gibt ein MethodHandle ()boolean zurck, das angibt, ob ein Typ aufgezeichnet wird. Die
+		 * Abfrage erfolgt auf dem EventType, so dass ohne Aufzeichnung kein Ereignis erzeugt wird.
+		 * 
+		 * @param fabrik
+		 * 		Die EventFactory aus this.erzeuge()
+		 */
+		MethodHandle istAktiv(final Object fabrik) throws ReflectiveOperationException {
+			return this.istAktiv.bindTo(Ereignistyp.rufeAuf(this.ereignistyp, fabrik));
+		}
+		
+		/**
+		 * Ruft ein MethodHandle auf und reicht dabei nur Laufzeitfehler unverndert durch.
+		 * 
+		 * @param methode
+		 * 		Das MethodHandle
+		 * @param argumente
+		 * 		Die Argumente
+		 * 
+		 * @return das Ergebnis des Aufrufs
+		 */
+		private static Object rufeAuf(final MethodHandle methode, final Object... argumente)
+				throws ReflectiveOperationException {
+			try {
+				return methode.invokeWithArguments(argumente);
+			} catch (RuntimeException | Error | ReflectiveOperationException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Erzeugt ein Ereignis und beginnt die Zeitmessung, sofern der Ereignistyp aufgezeichnet wird.
+	 * 
+	 * @param aktiv
+	 * 		Das MethodHandle, das angibt, ob der Ereignistyp aufgezeichnet wird
+	 * @param ereignistyp
+	 * 		Das MethodHandle, das ein Ereignis des gewnschten Typs erzeugt
+	 * 
+	 * @return das Ereignis, bzw. null
+	 */
+	private static Object beginne(final MethodHandle aktiv, final MethodHandle ereignistyp) {
+		try {
+			if (!(boolean) aktiv.invokeExact())
+				return null;
+			Object ereignis = (Object) ereignistyp.invokeExact();
+			BEGINNE.invokeExact(ereignis);
+			return ereignis;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Beendet die Zeitmessung eines Ereignisses.
+	 * 
+	 * @param ereignis
+	 * 		Das Ereignis aus this.beginne()
+	 * 
+	 * @return true, wenn das Ereignis die Schwelle berschritten hat und aufgezeichnet werden soll
+	 */
+	private static boolean beende(final Object ereignis) {
+		try {
+			BEENDE.invokeExact(ereignis);
+			return (boolean) IST_AUFZUZEICHNEN.invokeExact(ereignis);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Setzt die Felder eines Ereignisses und zeichnet es auf.
+	 * 
+	 * @param ereignis
+	 * 		Das Ereignis aus this.beginne()
+	 * @param werte
+	 * 		Die Werte der Felder in der Reihenfolge ihrer Definition
+	 */
+	private static void zeichneAuf(final Object ereignis, final Object... werte) {
+		try {
+			for (int index = 0; index < werte.length; index++) {
+				SETZE.invokeExact(ereignis, index, werte[index]);
+			}
+			ZEICHNE_AUF.invokeExact(ereignis);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@Override
+	public Object beginnePropagation() {
+		return JfrFlugschreiber.beginne(PROPAGATION_AKTIV, PROPAGATIONSEREIGNIS);
+	}
+	
+	@Override
+	public void beendePropagation(final Object ereignis, final long anzahlReihen, final int anzahlFelder,
+			final boolean widerspruch) {
+		if (JfrFlugschreiber.beende(ereignis))
+			JfrFlugschreiber.zeichneAuf(ereignis, anzahlReihen, anzahlFelder, widerspruch);
+	}
+	
+	@Override
+	public Object beginneReihe() {
+		return JfrFlugschreiber.beginne(REIHEN_AKTIV, REIHENEREIGNIS);
+	}
+	
+	@Override
+	public void beendeReihe(final Object ereignis, final boolean zeile, final int index, final int laenge,
+			final int anzahlBloecke, final int anzahlFelder, final boolean loesbar, final String verfahren) {
+		if (JfrFlugschreiber.beende(ereignis))
+			JfrFlugschreiber.zeichneAuf(ereignis, zeile, index, laenge, anzahlBloecke, anzahlFelder, loesbar,
+					verfahren);
+	}
+	
+	@Override
+	public Object beginneVersuch() {
+		return JfrFlugschreiber.beginne(VERSUCHE_AKTIV, VERSUCHSEREIGNIS);
+	}
+	
+	@Override
+	public void beendeVersuch(final Object ereignis, final int zeile, final int spalte, final String ergebnis,
+			final int anzahlFelder) {
+		if (JfrFlugschreiber.beende(ereignis))
+			JfrFlugschreiber.zeichneAuf(ereignis, zeile, spalte, ergebnis, anzahlFelder);
+	}
+}
\ No newline at end of file
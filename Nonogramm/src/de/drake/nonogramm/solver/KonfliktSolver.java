@@ -0,0 +1,1000 @@
+package de.drake.nonogramm.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Durchsucht ein Nonogramm per konfliktgesteuertem Klausellernen (CDCL) nach Lsungen.
+ * Jedes Feld ist eine boolsche Variable (wahr = schwarz). Ein Literal ist 2 * Feld fr "schwarz"
+ * bzw. 2 * Feld + 1 fr "wei", wobei Feld = zeile * Breite + spalte.
+ * Geschlossen wird auf zwei Arten:
+ * - ber die Zeilen und Spalten per dynamischer Programmierung. Die Begrndung eines so gefolgerten
+ *   Feldes wird erst bei Bedarf in der Konfliktanalyse ermittelt: Ausgehend von allen zuvor bekannten
+ *   Feldern der Reihe werden so lange Felder weggelassen, wie das Gegenteil des gefolgerten Status
+ *   die Reihe weiterhin unlsbar macht.
+ * - ber gelernte Klauseln, die mit jeweils zwei beobachteten Literalen berwacht werden.
+ * Jeder Widerspruch wird bis zum ersten eindeutigen Implikationspunkt (1-UIP) analysiert; die daraus
+ * gelernte Klausel bestimmt, bis zu welcher Entscheidungsebene zurckgesprungen wird.
+ * Entschieden wird jeweils das Feld mit der hchsten Aktivitt (VSIDS) mit seinem zuletzt
+ * zugewiesenen Status; neu gestartet wird nach einer Luby-Folge von Konflikten.
+ */
+class KonfliktSolver {
+	
+	/**
+	 * Kennzeichnet ein Feld, dem noch kein Status zugewiesen wurde.
+	 */
+	private static final int UNBEKANNT = -1;
+	
+	/**
+	 * Die Anzahl an Konflikten, mit der die Luby-Folge der Neustarts multipliziert wird.
+	 */
+	private static final int NEUSTARTEINHEIT = 64;
+	
+	/**
+	 * Der Faktor, mit dem die Aktivitten der Felder nach jedem Konflikt abklingen.
+	 */
+	private static final double ZERFALL = 0.95;
+	
+	/**
+	 * Klausel, d.h. eine Disjunktion von Literalen. Bei Begrndungen steht das begrndete Literal
+	 * an erster Stelle, bei berwachten Klauseln sind die ersten beiden Literale die beobachteten.
+	 * Fr Folgerungen aus einer Reihe wird je Reihe eine Klausel ohne Literale verwendet, deren
+	 * Literale erst bei Bedarf fr das jeweilige Feld ermittelt werden.
+	 */
+	private static final class Klausel {
+		
+		/**
+		 * Die Literale der Klausel, bzw. null bei Folgerungen aus einer Reihe
+		 */
+		private final int[] literale;
+		
+		/**
+		 * Die Reihe, aus der gefolgert wurde, bzw. -1
+		 */
+		private final int reihe;
+		
+		/**
+		 * Gibt an, ob die Klausel gelernt wurde und beim Aufrumen gelscht werden darf.
+		 */
+		private final boolean loeschbar;
+		
+		/**
+		 * Gibt an, ob die Klausel gelscht wurde. Gelschte Klauseln werden beim nchsten Besuch
+		 * aus den Beobachterlisten entfernt.
+		 */
+		private boolean geloescht = false;
+		
+		/**
+		 * Erzeugt eine Klausel aus Literalen.
+		 * 
+		 * @param literale
+		 * 		Die Literale der Klausel
+		 * @param loeschbar
+		 * 		true fr gelernte Klauseln, die beim Aufrumen gelscht werden drfen
+		 */
+		private Klausel(final int[] literale, final boolean loeschbar) {
+			this.literale = literale;
+			this.loeschbar = loeschbar;
+			this.reihe = -1;
+		}
+		
+		/**
+		 * Erzeugt die Begrndungsklausel fr Folgerungen aus einer Reihe.
+		 * 
+		 * @param reihe
+		 * 		Die Reihe (Zeilen 0..Hhe-1, Spalten Hhe..Hhe+Breite-1)
+		 */
+		private Klausel(final int reihe) {
+			this.literale = null;
+			this.loeschbar = false;
+			this.reihe = reihe;
+		}
+	}
+	
+	/**
+	 * Das Nonogramm, das durchsucht wird. Es wird erst nach Abschluss der Suche verndert.
+	 */
+	private final Nonogramm nonogramm;
+	
+	/**
+	 * Die Anzahl der Zeilen des Nonogramms
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Anzahl der Spalten des Nonogramms
+	 */
+	private final int breite;
+	
+	/**
+	 * Der Status jedes Feldes: UNBEKANNT, 1 fr schwarz oder 0 fr wei
+	 */
+	private final int[] wert;
+	
+	/**
+	 * Die Entscheidungsebene, auf der jedem Feld sein Status zugewiesen wurde
+	 */
+	private final int[] ebene;
+	
+	/**
+	 * Die Begrndung fr den Status jedes Feldes, bzw. null bei Entscheidungen und Ausgangswerten
+	 */
+	private final Klausel[] grund;
+	
+	/**
+	 * Die Position der Zuweisung jedes Feldes in this.pfad
+	 */
+	private final int[] pfadindex;
+	
+	/**
+	 * Die bereits ermittelten Begrndungen der aus Reihen gefolgerten Felder, bzw. null
+	 */
+	private final int[][] erklaerungen;
+	
+	/**
+	 * Die Begrndungsklauseln fr Folgerungen aus jeder Reihe
+	 */
+	private final Klausel[] reihenbegruendungen;
+	
+	/**
+	 * Der zuletzt zugewiesene Status jedes Feldes (true = schwarz), mit dem bei Entscheidungen
+	 * begonnen wird.
+	 */
+	private final boolean[] phase;
+	
+	/**
+	 * Alle zugewiesenen Literale in der Reihenfolge ihrer Zuweisung
+	 */
+	private final int[] pfad;
+	
+	/**
+	 * Die Anzahl der Literale in this.pfad
+	 */
+	private int pfadlaenge = 0;
+	
+	/**
+	 * Die Position in this.pfad, bis zu der die Literale bereits weitergegeben wurden
+	 */
+	private int weitergegeben = 0;
+	
+	/**
+	 * Die Position in this.pfad, an der jede Entscheidungsebene beginnt
+	 */
+	private final int[] ebenenanfang;
+	
+	/**
+	 * Die aktuelle Entscheidungsebene; 0 fr Ausgangswerte und deren Folgerungen
+	 */
+	private int aktuelleEbene = 0;
+	
+	/**
+	 * Fr jedes Literal die Klauseln, die es beobachten
+	 */
+	private final ArrayList<ArrayList<Klausel>> beobachter;
+	
+	/**
+	 * Alle gelernten Klauseln, die gelscht werden drfen
+	 */
+	private final ArrayList<Klausel> gelernteKlauseln = new ArrayList<Klausel>();
+	
+	/**
+	 * Die Anzahl an gelernten Klauseln, ab der aufgerumt wird
+	 */
+	private int klauselgrenze;
+	
+	/**
+	 * Die Aktivitt jedes Feldes
+	 */
+	private final double[] aktivitaet;
+	
+	/**
+	 * Der Betrag, um den die Aktivitt eines Feldes erhht wird, das an einem Konflikt beteiligt ist
+	 */
+	private double aktivitaetsschritt = 1;
+	
+	/**
+	 * Heap der unbekannten Felder nach Aktivitt
+	 */
+	private final int[] heap;
+	
+	/**
+	 * Die Position jedes Feldes in this.heap, bzw. -1
+	 */
+	private final int[] heapposition;
+	
+	/**
+	 * Die Anzahl der Felder in this.heap
+	 */
+	private int heapgroesse = 0;
+	
+	/**
+	 * Warteschlange der Reihen (Zeilen 0..Hhe-1, Spalten Hhe..Hhe+Breite-1), die seit ihrer
+	 * letzten Bearbeitung gendert wurden
+	 */
+	private final int[] reihenwarteschlange;
+	
+	/**
+	 * Die Position der ersten Reihe in this.reihenwarteschlange
+	 */
+	private int warteschlangenanfang = 0;
+	
+	/**
+	 * Die Anzahl der Reihen in this.reihenwarteschlange
+	 */
+	private int warteschlangengroesse = 0;
+	
+	/**
+	 * Gibt fr jede Reihe an, ob sie in der Warteschlange steht.
+	 */
+	private final boolean[] reiheVorgemerkt;
+	
+	/**
+	 * Markierungen der Felder whrend der Konfliktanalyse
+	 */
+	private final boolean[] gesehen;
+	
+	/**
+	 * Der ReihenSolver, mit dem Folgerungen aus Reihen gezogen und begrndet werden
+	 */
+	private final DynamischerReihenSolver reihensolver = new DynamischerReihenSolver();
+	
+	/**
+	 * Puffer fr den Status der Felder einer Zeile
+	 */
+	private final Feldstatus[] zeilenpuffer;
+	
+	/**
+	 * Puffer fr den Status der Felder einer Spalte
+	 */
+	private final Feldstatus[] spaltenpuffer;
+	
+	/**
+	 * Puffer fr die Felder, deren Status in einer Reihe feststeht
+	 */
+	private final Feldstatus[] sichereFelder;
+	
+	/**
+	 * Die gefundenen Lsungen
+	 */
+	private final List<Nonogramm> loesungen = new ArrayList<Nonogramm>();
+	
+	/**
+	 * Die Anzahl der Entscheidungen
+	 */
+	private long anzahlEntscheidungen = 0;
+	
+	/**
+	 * Die Anzahl der Konflikte
+	 */
+	private long anzahlKonflikte = 0;
+	
+	/**
+	 * Die Anzahl der Neustarts
+	 */
+	private long anzahlNeustarts = 0;
+	
+	/**
+	 * Die Anzahl der Zeilen- bzw. Spaltenbearbeitungen
+	 */
+	private long anzahlReihenbearbeitungen = 0;
+	
+	/**
+	 * Wird gesetzt, wenn die Suche abgebrochen werden soll (siehe Solver.abbrechen()).
+	 */
+	private final AtomicBoolean abbruch;
+	
+	/**
+	 * Erzeugt einen KonfliktSolver. Die bereits bekannten Felder des Nonogramms werden bernommen.
+	 * 
+	 * @param nonogramm
+	 * 		Das zu durchsuchende Nonogramm
+	 * @param abbruch
+	 * 		Wird gesetzt, wenn die Suche abgebrochen werden soll
+	 */
+	KonfliktSolver(final Nonogramm nonogramm, final AtomicBoolean abbruch) {
+		this.nonogramm = nonogramm;
+		this.abbruch = abbruch;
+		this.hoehe = nonogramm.getHoehe();
+		this.breite = nonogramm.getBreite();
+		int anzahlFelder = this.hoehe * this.breite;
+		this.wert = new int[anzahlFelder];
+		this.ebene = new int[anzahlFelder];
+		this.grund = new Klausel[anzahlFelder];
+		this.phase = new boolean[anzahlFelder];
+		this.pfadindex = new int[anzahlFelder];
+		this.erklaerungen = new int[anzahlFelder][];
+		this.pfad = new int[anzahlFelder];
+		this.ebenenanfang = new int[anzahlFelder + 1];
+		this.aktivitaet = new double[anzahlFelder];
+		this.heap = new int[anzahlFelder];
+		this.heapposition = new int[anzahlFelder];
+		this.gesehen = new boolean[anzahlFelder];
+		this.beobachter = new ArrayList<ArrayList<Klausel>>(2 * anzahlFelder);
+		for (int literal = 0; literal < 2 * anzahlFelder; literal++) {
+			this.beobachter.add(new ArrayList<Klausel>());
+		}
+		this.klauselgrenze = Math.max(1000, anzahlFelder);
+		this.reihenwarteschlange = new int[this.hoehe + this.breite];
+		this.reiheVorgemerkt = new boolean[this.hoehe + this.breite];
+		this.reihenbegruendungen = new Klausel[this.hoehe + this.breite];
+		for (int reihe = 0; reihe < this.reihenbegruendungen.length; reihe++) {
+			this.reihenbegruendungen[reihe] = new Klausel(reihe);
+		}
+		this.zeilenpuffer = new Feldstatus[this.breite];
+		this.spaltenpuffer = new Feldstatus[this.hoehe];
+		this.sichereFelder = new Feldstatus[Math.max(this.hoehe, this.breite)];
+		
+		for (int feld = 0; feld < anzahlFelder; feld++) {
+			this.wert[feld] = UNBEKANNT;
+			this.heapposition[feld] = -1;
+			this.phase[feld] = true;
+		}
+		for (int feld = 0; feld < anzahlFelder; feld++) {
+			Feldstatus status = nonogramm.getStatus(feld / this.breite, feld % this.breite);
+			if (status == Feldstatus.unknown) {
+				this.heapEinfuegen(feld);
+			} else {
+				this.weiseZu(2 * feld + (status == Feldstatus.black ? 0 : 1), null);
+			}
+		}
+		for (int reihe = 0; reihe < this.hoehe + this.breite; reihe++) {
+			this.merkeReiheVor(reihe);
+		}
+	}
+	
+	/**
+	 * Sucht Lsungen des Nonogramms.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Suche beendet wird
+	 * 
+	 * @return die Anzahl der gefundenen Lsungen. Bei einem Abbruch sind dies die bis dahin
+	 * gefundenen Lsungen.
+	 */
+	int suche(final int maxLoesungen) {
+		int neustartnummer = 0;
+		long konfliktgrenze = NEUSTARTEINHEIT;
+		long konflikteSeitNeustart = 0;
+		while (true) {
+			if (this.abbruch.get())
+				return this.loesungen.size();
+			Klausel konflikt = this.propagiere();
+			if (konflikt != null) {
+				this.anzahlKonflikte++;
+				konflikteSeitNeustart++;
+				if (this.aktuelleEbene == 0)
+					return this.loesungen.size();
+				this.lerne(this.analysiere(konflikt));
+				this.aktivitaetsschritt /= ZERFALL;
+				continue;
+			}
+			if (konflikteSeitNeustart >= konfliktgrenze) {
+				this.anzahlNeustarts++;
+				neustartnummer++;
+				konfliktgrenze = (long) (NEUSTARTEINHEIT * KonfliktSolver.luby(neustartnummer));
+				konflikteSeitNeustart = 0;
+				this.kehreZurueck(0);
+				continue;
+			}
+			if (this.gelernteKlauseln.size() >= this.klauselgrenze)
+				this.raeumeAuf();
+			int feld = this.waehleFeld();
+			if (feld == -1) {
+				// Alle Felder sind widerspruchsfrei belegt.
+				this.loesungen.add(this.erzeugeLoesung());
+				if (this.loesungen.size() >= maxLoesungen || this.aktuelleEbene == 0)
+					return this.loesungen.size();
+				this.schliesseLoesungAus();
+				continue;
+			}
+			this.anzahlEntscheidungen++;
+			this.aktuelleEbene++;
+			this.ebenenanfang[this.aktuelleEbene] = this.pfadlaenge;
+			this.weiseZu(2 * feld + (this.phase[feld] ? 0 : 1), null);
+		}
+	}
+	
+	/**
+	 * Gibt alle Literale weiter, die seit dem letzten Aufruf zugewiesen wurden, und bearbeitet alle
+	 * genderten Reihen, bis nichts mehr gefolgert werden kann.
+	 * 
+	 * @return die Klausel, deren Literale alle falsch sind, bzw. null, wenn kein Widerspruch auftrat
+	 */
+	private Klausel propagiere() {
+		while (true) {
+			while (this.weitergegeben < this.pfadlaenge) {
+				Klausel konflikt = this.propagiereKlauseln(this.pfad[this.weitergegeben++]);
+				if (konflikt != null)
+					return konflikt;
+			}
+			if (this.warteschlangengroesse == 0)
+				return null;
+			int reihe = this.reihenwarteschlange[this.warteschlangenanfang];
+			this.warteschlangenanfang = (this.warteschlangenanfang + 1) % this.reihenwarteschlange.length;
+			this.warteschlangengroesse--;
+			this.reiheVorgemerkt[reihe] = false;
+			Klausel konflikt = this.bearbeiteReihe(reihe);
+			if (konflikt != null)
+				return konflikt;
+		}
+	}
+	
+	/**
+	 * Besucht alle Klauseln, die das Gegenteil eines soeben wahr gewordenen Literals beobachten.
+	 * 
+	 * @return die Klausel, deren Literale alle falsch sind, bzw. null
+	 */
+	private Klausel propagiereKlauseln(final int wahresLiteral) {
+		int falschesLiteral = wahresLiteral ^ 1;
+		ArrayList<Klausel> liste = this.beobachter.get(falschesLiteral);
+		int groesse = liste.size();
+		int lesen = 0;
+		int schreiben = 0;
+		Klausel konflikt = null;
+		while (lesen < groesse) {
+			Klausel klausel = liste.get(lesen++);
+			if (klausel.geloescht)
+				continue;
+			int[] literale = klausel.literale;
+			if (literale[0] == falschesLiteral) {
+				literale[0] = literale[1];
+				literale[1] = falschesLiteral;
+			}
+			if (this.istWahr(literale[0])) {
+				liste.set(schreiben++, klausel);
+				continue;
+			}
+			boolean neuerBeobachter = false;
+			for (int index = 2; index < literale.length; index++) {
+				if (!this.istFalsch(literale[index])) {
+					literale[1] = literale[index];
+					literale[index] = falschesLiteral;
+					this.beobachter.get(literale[1]).add(klausel);
+					neuerBeobachter = true;
+					break;
+				}
+			}
+			if (neuerBeobachter)
+				continue;
+			liste.set(schreiben++, klausel);
+			if (this.istFalsch(literale[0])) {
+				konflikt = klausel;
+				while (lesen < groesse) {
+					liste.set(schreiben++, liste.get(lesen++));
+				}
+				break;
+			}
+			this.weiseZu(literale[0], klausel);
+		}
+		liste.subList(schreiben, groesse).clear();
+		return konflikt;
+	}
+	
+	/**
+	 * Bearbeitet eine Reihe per dynamischer Programmierung und weist alle sicheren Felder zu.
+	 * 
+	 * @return die Klausel, die die Unlsbarkeit der Reihe beschreibt, bzw. null
+	 */
+	private Klausel bearbeiteReihe(final int reihe) {
+		this.anzahlReihenbearbeitungen++;
+		boolean istZeile = reihe < this.hoehe;
+		int index = istZeile ? reihe : reihe - this.hoehe;
+		Feldstatus[] puffer = this.fuellePuffer(reihe, this.pfadlaenge);
+		Bedingungen bedingungen = istZeile
+				? this.nonogramm.getLinkeBedingungen() : this.nonogramm.getObereBedingungen();
+		if (!this.reihensolver.set(puffer, bedingungen, index)) {
+			return new Klausel(this.erklaere(reihe, -1), false);
+		}
+		this.reihensolver.ermittleSichereFelder(this.sichereFelder);
+		for (int position = 0; position < puffer.length; position++) {
+			if (puffer[position] != Feldstatus.unknown || this.sichereFelder[position] == Feldstatus.unknown)
+				continue;
+			int feld = this.getFeld(istZeile, index, position);
+			int literal = 2 * feld + (this.sichereFelder[position] == Feldstatus.black ? 0 : 1);
+			this.weiseZu(literal, this.reihenbegruendungen[reihe]);
+		}
+		return null;
+	}
+	
+	/**
+	 * Fllt den Puffer einer Reihe mit den Stati aller Felder, die vor der bergebenen Position im
+	 * Pfad zugewiesen wurden.
+	 * 
+	 * @return den gefllten Puffer
+	 */
+	private Feldstatus[] fuellePuffer(final int reihe, final int pfadposition) {
+		boolean istZeile = reihe < this.hoehe;
+		int index = istZeile ? reihe : reihe - this.hoehe;
+		Feldstatus[] puffer = istZeile ? this.zeilenpuffer : this.spaltenpuffer;
+		for (int position = 0; position < puffer.length; position++) {
+			int feld = this.getFeld(istZeile, index, position);
+			if (this.wert[feld] == UNBEKANNT || this.pfadindex[feld] >= pfadposition) {
+				puffer[position] = Feldstatus.unknown;
+			} else {
+				puffer[position] = this.wert[feld] == 1 ? Feldstatus.black : Feldstatus.white;
+			}
+		}
+		return puffer;
+	}
+	
+	/**
+	 * Ermittelt die Begrndung einer Folgerung bzw. eines Widerspruchs aus einer Reihe. Ausgangspunkt
+	 * sind alle Felder der Reihe, die vor dem gefolgerten Feld bekannt waren (bzw. bei einem Widerspruch
+	 * alle bekannten Felder). Beginnend mit den zuletzt zugewiesenen wird jedes dieser Felder
+	 * weggelassen, sofern die Reihe auch ohne es unlsbar bleibt, wenn das gefolgerte Feld den
+	 * entgegengesetzten Status erhlt. Felder der Ebene 0 werden nie aufgenommen.
+	 * 
+	 * @param reihe
+	 * 		Die Reihe, aus der gefolgert wurde
+	 * @param feld
+	 * 		Das gefolgerte Feld, bzw. -1 bei einem Widerspruch
+	 * 
+	 * @return die Literale der Begrndung; bei einer Folgerung steht das gefolgerte Literal vorn.
+	 */
+	private int[] erklaere(final int reihe, final int feld) {
+		boolean istZeile = reihe < this.hoehe;
+		int index = istZeile ? reihe : reihe - this.hoehe;
+		Feldstatus[] puffer = this.fuellePuffer(reihe, feld == -1 ? this.pfadlaenge : this.pfadindex[feld]);
+		Bedingungen bedingungen = istZeile
+				? this.nonogramm.getLinkeBedingungen() : this.nonogramm.getObereBedingungen();
+		if (feld != -1) {
+			int position = istZeile ? feld % this.breite : feld / this.breite;
+			puffer[position] = this.wert[feld] == 1 ? Feldstatus.white : Feldstatus.black;
+		}
+		// Die bekannten Felder der Reihe, nach Zuweisungszeitpunkt absteigend sortiert
+		int[] kandidaten = new int[puffer.length];
+		int anzahlKandidaten = 0;
+		for (int position = 0; position < puffer.length; position++) {
+			int kandidat = this.getFeld(istZeile, index, position);
+			if (kandidat == feld || puffer[position] == Feldstatus.unknown || this.ebene[kandidat] == 0)
+				continue;
+			int einfuegen = anzahlKandidaten++;
+			while (einfuegen > 0 && this.pfadindex[kandidaten[einfuegen - 1]] < this.pfadindex[kandidat]) {
+				kandidaten[einfuegen] = kandidaten[einfuegen - 1];
+				einfuegen--;
+			}
+			kandidaten[einfuegen] = kandidat;
+		}
+		int anzahlBenoetigte = 0;
+		for (int nummer = 0; nummer < anzahlKandidaten; nummer++) {
+			int kandidat = kandidaten[nummer];
+			int position = istZeile ? kandidat % this.breite : kandidat / this.breite;
+			Feldstatus status = puffer[position];
+			puffer[position] = Feldstatus.unknown;
+			this.anzahlReihenbearbeitungen++;
+			if (this.reihensolver.set(puffer, bedingungen, index)) {
+				puffer[position] = status;
+				kandidaten[anzahlBenoetigte++] = kandidat;
+			}
+		}
+		int versatz = feld == -1 ? 0 : 1;
+		int[] literale = new int[anzahlBenoetigte + versatz];
+		if (feld != -1)
+			literale[0] = 2 * feld + (1 - this.wert[feld]);
+		for (int nummer = 0; nummer < anzahlBenoetigte; nummer++) {
+			int kandidat = kandidaten[nummer];
+			literale[nummer + versatz] = 2 * kandidat + this.wert[kandidat];
+		}
+		return literale;
+	}
+	
+	/**
+	 * Gibt die Literale der Begrndung eines Feldes zurck.
+	 */
+	private int[] getBegruendung(final Klausel klausel, final int feld) {
+		if (klausel.literale != null)
+			return klausel.literale;
+		if (this.erklaerungen[feld] == null)
+			this.erklaerungen[feld] = this.erklaere(klausel.reihe, feld);
+		return this.erklaerungen[feld];
+	}
+	
+	/**
+	 * Analysiert einen Konflikt bis zum ersten eindeutigen Implikationspunkt.
+	 * 
+	 * @return die gelernte Klausel; das erste Literal ist das nach dem Rcksprung geltende, das
+	 * zweite (sofern vorhanden) das mit der hchsten Entscheidungsebene unter den brigen.
+	 */
+	private int[] analysiere(final Klausel konflikt) {
+		ArrayList<Integer> gelernt = new ArrayList<Integer>();
+		gelernt.add(0);
+		int offeneLiterale = 0;
+		int literal = -1;
+		int index = this.pfadlaenge - 1;
+		Klausel klausel = konflikt;
+		do {
+			int[] literale = literal == -1 ? klausel.literale : this.getBegruendung(klausel, literal >> 1);
+			for (int position = literal == -1 ? 0 : 1; position < literale.length; position++) {
+				int feld = literale[position] >> 1;
+				if (this.gesehen[feld] || this.ebene[feld] == 0)
+					continue;
+				this.gesehen[feld] = true;
+				this.erhoeheAktivitaet(feld);
+				if (this.ebene[feld] == this.aktuelleEbene) {
+					offeneLiterale++;
+				} else {
+					gelernt.add(literale[position]);
+				}
+			}
+			while (!this.gesehen[this.pfad[index] >> 1]) {
+				index--;
+			}
+			literal = this.pfad[index--];
+			klausel = this.grund[literal >> 1];
+			this.gesehen[literal >> 1] = false;
+			offeneLiterale--;
+		} while (offeneLiterale > 0);
+		
+		int[] ergebnis = new int[gelernt.size()];
+		ergebnis[0] = literal ^ 1;
+		int hoechste = 1;
+		for (int position = 1; position < ergebnis.length; position++) {
+			ergebnis[position] = gelernt.get(position);
+			this.gesehen[ergebnis[position] >> 1] = false;
+			if (this.ebene[ergebnis[position] >> 1] > this.ebene[ergebnis[hoechste] >> 1])
+				hoechste = position;
+		}
+		if (ergebnis.length > 1) {
+			int tausch = ergebnis[1];
+			ergebnis[1] = ergebnis[hoechste];
+			ergebnis[hoechste] = tausch;
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * bernimmt eine gelernte Klausel, springt auf die Ebene ihres zweithchsten Literals zurck und
+	 * weist das erste Literal zu.
+	 */
+	private void lerne(final int[] literale) {
+		if (literale.length == 1) {
+			this.kehreZurueck(0);
+			this.weiseZu(literale[0], new Klausel(literale, false));
+			return;
+		}
+		Klausel klausel = new Klausel(literale, true);
+		this.gelernteKlauseln.add(klausel);
+		this.beobachte(klausel);
+		this.kehreZurueck(this.ebene[literale[1] >> 1]);
+		this.weiseZu(literale[0], klausel);
+	}
+	
+	/**
+	 * Schliet die soeben gefundene Lsung von der weiteren Suche aus. Da sich die Lsung aus den
+	 * Entscheidungen ergibt, gengt es, deren Kombination auszuschlieen.
+	 */
+	private void schliesseLoesungAus() {
+		int[] literale = new int[this.aktuelleEbene];
+		for (int ebene = this.aktuelleEbene; ebene >= 1; ebene--) {
+			literale[this.aktuelleEbene - ebene] = this.pfad[this.ebenenanfang[ebene]] ^ 1;
+		}
+		if (literale.length == 1) {
+			this.kehreZurueck(0);
+			this.weiseZu(literale[0], new Klausel(literale, false));
+			return;
+		}
+		Klausel klausel = new Klausel(literale, false);
+		this.beobachte(klausel);
+		this.kehreZurueck(this.aktuelleEbene - 1);
+		this.weiseZu(literale[0], klausel);
+	}
+	
+	/**
+	 * Lsst die ersten beiden Literale einer Klausel beobachten.
+	 */
+	private void beobachte(final Klausel klausel) {
+		this.beobachter.get(klausel.literale[0]).add(klausel);
+		this.beobachter.get(klausel.literale[1]).add(klausel);
+	}
+	
+	/**
+	 * Lscht die lngere Hlfte der gelernten Klauseln, sofern sie nicht gerade als Begrndung dienen.
+	 */
+	private void raeumeAuf() {
+		Collections.sort(this.gelernteKlauseln, new Comparator<Klausel>() {
+			@Override
+			public int compare(final Klausel a, final Klausel b) {
+				return Integer.compare(a.literale.length, b.literale.length);
+			}
+		});
+		ArrayList<Klausel> behalten = new ArrayList<Klausel>();
+		for (int index = 0; index < this.gelernteKlauseln.size(); index++) {
+			Klausel klausel = this.gelernteKlauseln.get(index);
+			int feld = klausel.literale[0] >> 1;
+			boolean begruendet = this.grund[feld] == klausel;
+			if (index < this.gelernteKlauseln.size() / 2 || begruendet || klausel.literale.length <= 2) {
+				behalten.add(klausel);
+			} else {
+				klausel.geloescht = true;
+			}
+		}
+		this.gelernteKlauseln.clear();
+		this.gelernteKlauseln.addAll(behalten);
+		this.klauselgrenze += this.klauselgrenze / 10;
+	}
+	
+	/**
+	 * Weist einem Literal den Wert "wahr" zu und merkt die betroffenen Reihen vor.
+	 */
+	private void weiseZu(final int literal, final Klausel begruendung) {
+		int feld = literal >> 1;
+		this.wert[feld] = (literal & 1) == 0 ? 1 : 0;
+		this.ebene[feld] = this.aktuelleEbene;
+		this.grund[feld] = begruendung;
+		this.pfadindex[feld] = this.pfadlaenge;
+		this.pfad[this.pfadlaenge++] = literal;
+		this.merkeReiheVor(feld / this.breite);
+		this.merkeReiheVor(this.hoehe + feld % this.breite);
+	}
+	
+	/**
+	 * Nimmt alle Zuweisungen oberhalb der bergebenen Entscheidungsebene zurck.
+	 */
+	private void kehreZurueck(final int zielebene) {
+		if (this.aktuelleEbene <= zielebene)
+			return;
+		for (int index = this.pfadlaenge - 1; index >= this.ebenenanfang[zielebene + 1]; index--) {
+			int feld = this.pfad[index] >> 1;
+			this.phase[feld] = this.wert[feld] == 1;
+			this.wert[feld] = UNBEKANNT;
+			this.grund[feld] = null;
+			this.erklaerungen[feld] = null;
+			this.heapEinfuegen(feld);
+		}
+		this.pfadlaenge = this.ebenenanfang[zielebene + 1];
+		this.weitergegeben = this.pfadlaenge;
+		this.aktuelleEbene = zielebene;
+		// Auf der Zielebene waren alle Reihen bereits vollstndig bearbeitet.
+		while (this.warteschlangengroesse > 0) {
+			this.reiheVorgemerkt[this.reihenwarteschlange[this.warteschlangenanfang]] = false;
+			this.warteschlangenanfang = (this.warteschlangenanfang + 1) % this.reihenwarteschlange.length;
+			this.warteschlangengroesse--;
+		}
+	}
+	
+	/**
+	 * Whlt das unbekannte Feld mit der hchsten Aktivitt.
+	 * 
+	 * @return das Feld, bzw. -1, wenn alle Felder bekannt sind
+	 */
+	private int waehleFeld() {
+		while (this.heapgroesse > 0) {
+			int feld = this.heapEntnehmen();
+			if (this.wert[feld] == UNBEKANNT)
+				return feld;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Erzeugt eine Kopie des Nonogramms, in die die aktuelle (vollstndige) Belegung eingetragen ist.
+	 */
+	private Nonogramm erzeugeLoesung() {
+		Nonogramm loesung = new Nonogramm(this.nonogramm);
+		for (int feld = 0; feld < this.wert.length; feld++) {
+			loesung.setStatus(feld / this.breite, feld % this.breite,
+					this.wert[feld] == 1 ? Feldstatus.black : Feldstatus.white);
+		}
+		return loesung;
+	}
+	
+	/**
+	 * Stellt eine Reihe in die Warteschlange, sofern sie dort noch nicht steht.
+	 * 
+	 * @param reihe
+	 * 		Die Reihe (Zeilen 0..Hhe-1, Spalten Hhe..Hhe+Breite-1)
+	 */
+	private void merkeReiheVor(final int reihe) {
+		if (this.reiheVorgemerkt[reihe])
+			return;
+		this.reiheVorgemerkt[reihe] = true;
+		int ende = (this.warteschlangenanfang + this.warteschlangengroesse) % this.reihenwarteschlange.length;
+		this.reihenwarteschlange[ende] = reihe;
+		this.warteschlangengroesse++;
+	}
+	
+	/**
+	 * Gibt die Nummer eines Feldes zurck.
+	 * 
+	 * @param istZeile
+	 * 		true fr eine Zeile, false fr eine Spalte
+	 * @param index
+	 * 		Der Index der Zeile bzw. Spalte
+	 * @param position
+	 * 		Die Position des Feldes in der Reihe
+	 */
+	private int getFeld(final boolean istZeile, final int index, final int position) {
+		return istZeile ? index * this.breite + position : position * this.breite + index;
+	}
+	
+	/**
+	 * Gibt an, ob ein Literal durch die aktuelle Belegung erfllt ist.
+	 * 
+	 * @param literal
+	 * 		Das Literal: 2*Feld fr schwarz, 2*Feld+1 fr wei
+	 */
+	private boolean istWahr(final int literal) {
+		int wert = this.wert[literal >> 1];
+		return wert != UNBEKANNT && wert == ((literal & 1) == 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Gibt an, ob ein Literal durch die aktuelle Belegung widerlegt ist.
+	 * 
+	 * @param literal
+	 * 		Das Literal: 2*Feld fr schwarz, 2*Feld+1 fr wei
+	 */
+	private boolean istFalsch(final int literal) {
+		int wert = this.wert[literal >> 1];
+		return wert != UNBEKANNT && wert != ((literal & 1) == 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Erhht die Aktivitt eines Feldes, das an einem Konflikt beteiligt ist. Droht ein berlauf,
+	 * werden alle Aktivitten herunterskaliert.
+	 * 
+	 * @param feld
+	 * 		Das Feld
+	 */
+	private void erhoeheAktivitaet(final int feld) {
+		this.aktivitaet[feld] += this.aktivitaetsschritt;
+		if (this.aktivitaet[feld] > 1e100) {
+			for (int index = 0; index < this.aktivitaet.length; index++) {
+				this.aktivitaet[index] *= 1e-100;
+			}
+			this.aktivitaetsschritt *= 1e-100;
+		}
+		if (this.heapposition[feld] != -1)
+			this.heapSteigen(this.heapposition[feld]);
+	}
+	
+	/**
+	 * Fgt ein Feld in den Heap ein, sofern es dort noch nicht enthalten ist.
+	 * 
+	 * @param feld
+	 * 		Das Feld
+	 */
+	private void heapEinfuegen(final int feld) {
+		if (this.heapposition[feld] != -1)
+			return;
+		this.heap[this.heapgroesse] = feld;
+		this.heapposition[feld] = this.heapgroesse;
+		this.heapgroesse++;
+		this.heapSteigen(this.heapgroesse - 1);
+	}
+	
+	/**
+	 * Entnimmt das Feld mit der hchsten Aktivitt aus dem Heap.
+	 * 
+	 * @return das Feld
+	 */
+	private int heapEntnehmen() {
+		int feld = this.heap[0];
+		this.heapposition[feld] = -1;
+		this.heapgroesse--;
+		if (this.heapgroesse > 0) {
+			this.heap[0] = this.heap[this.heapgroesse];
+			this.heapposition[this.heap[0]] = 0;
+			this.heapSinken(0);
+		}
+		return feld;
+	}
+	
+	/**
+	 * Gibt an, ob ein Feld im Heap vor einem anderen steht, d.h. eine hhere Aktivitt besitzt bzw.
+	 * bei gleicher Aktivitt die kleinere Nummer.
+	 * 
+	 * @param a
+	 * 		Das erste Feld
+	 * @param b
+	 * 		Das zweite Feld
+	 */
+	private boolean vor(final int a, final int b) {
+		if (this.aktivitaet[a] != this.aktivitaet[b])
+			return this.aktivitaet[a] > this.aktivitaet[b];
+		return a < b;
+	}
+	
+	/**
+	 * Lsst ein Feld im Heap aufsteigen, bis die Heap-Eigenschaft wiederhergestellt ist.
+	 * 
+	 * @param index
+	 * 		Die Position des Feldes in this.heap
+	 */
+	private void heapSteigen(int index) {
+		int feld = this.heap[index];
+		while (index > 0) {
+			int elternindex = (index - 1) / 2;
+			if (!this.vor(feld, this.heap[elternindex]))
+				break;
+			this.heap[index] = this.heap[elternindex];
+			this.heapposition[this.heap[index]] = index;
+			index = elternindex;
+		}
+		this.heap[index] = feld;
+		this.heapposition[feld] = index;
+	}
+	
+	/**
+	 * Lsst ein Feld im Heap absinken, bis die Heap-Eigenschaft wiederhergestellt ist.
+	 * 
+	 * @param index
+	 * 		Die Position des Feldes in this.heap
+	 */
+	private void heapSinken(int index) {
+		int feld = this.heap[index];
+		while (2 * index + 1 < this.heapgroesse) {
+			int kindindex = 2 * index + 1;
+			if (kindindex + 1 < this.heapgroesse && this.vor(this.heap[kindindex + 1], this.heap[kindindex]))
+				kindindex++;
+			if (!this.vor(this.heap[kindindex], feld))
+				break;
+			this.heap[index] = this.heap[kindindex];
+			this.heapposition[this.heap[index]] = index;
+			index = kindindex;
+		}
+		this.heap[index] = feld;
+		this.heapposition[feld] = index;
+	}
+	
+	/**
+	 * Gibt das x-te Element (ab 1) der Luby-Folge 1, 1, 2, 1, 1, 2, 4, 1, ... zurck.
+	 */
+	private static double luby(final int x) {
+		int groesse = 1;
+		int folge = 0;
+		int rest = x - 1;
+		while (groesse < rest + 1) {
+			folge++;
+			groesse = 2 * groesse + 1;
+		}
+		while (groesse - 1 != rest) {
+			groesse = (groesse - 1) >> 1;
+			folge--;
+			rest = rest % groesse;
+		}
+		return Math.pow(2, folge);
+	}
+	
+	/**
+	 * Gibt die gefundenen Lsungen zurck.
+	 */
+	List<Nonogramm> getLoesungen() {
+		return this.loesungen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Entscheidungen zurck.
+	 */
+	long getAnzahlEntscheidungen() {
+		return this.anzahlEntscheidungen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Konflikte zurck.
+	 */
+	long getAnzahlKonflikte() {
+		return this.anzahlKonflikte;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Neustarts zurck.
+	 */
+	long getAnzahlNeustarts() {
+		return this.anzahlNeustarts;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Zeilen- bzw. Spaltenbearbeitungen zurck.
+	 */
+	long getAnzahlReihenbearbeitungen() {
+		return this.anzahlReihenbearbeitungen;
+	}
+}
\ No newline at end of file
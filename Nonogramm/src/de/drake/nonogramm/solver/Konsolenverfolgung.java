@@ -0,0 +1,43 @@
+package de.drake.nonogramm.solver;
+
+import java.io.PrintStream;
+
+/**
+ * Gibt die Arbeitsschritte des Solvers zeilenweise auf einem PrintStream aus, standardmig auf
+ * der Konsole.
+ */
+public class Konsolenverfolgung extends Textverfolgung {
+	
+	/**
+	 * Das Ziel der Ausgabe
+	 */
+	private final PrintStream ausgabe;
+	
+	/**
+	 * Erzeugt eine Ablaufverfolgung, die auf System.out schreibt.
+	 * 
+	 * @param stufe
+	 * 		Die Detailstufe der gewnschten Ereignisse
+	 */
+	public Konsolenverfolgung(final Verfolgungsstufe stufe) {
+		this(stufe, System.out);
+	}
+	
+	/**
+	 * Erzeugt eine Ablaufverfolgung, die auf den bergebenen PrintStream schreibt.
+	 * 
+	 * @param stufe
+	 * 		Die Detailstufe der gewnschten Ereignisse
+	 * @param ausgabe
+	 * 		Das Ziel der Ausgabe
+	 */
+	public Konsolenverfolgung(final Verfolgungsstufe stufe, final PrintStream ausgabe) {
+		super(stufe);
+		this.ausgabe = ausgabe;
+	}
+	
+	@Override
+	protected void schreibe(final Verfolgungsstufe stufe, final String text) {
+		this.ausgabe.println(text);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package de.drake.nonogramm.solver;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Threadsicheres Histogramm ber Zeitdauern in Nanosekunden. Jede Zweierpotenz wird in
+ * UNTERTEILUNG gleich breite Klassen aufgeteilt, so dass die Klassengrenzen hchstens 12,5 %
+ * vom tatschlichen Wert abweichen. Das Erfassen kostet im Regelfall lediglich zwei
+ * LongAdder-Additionen und ist daher auch bei vielen gleichzeitig erfassenden Threads gnstig.
+ */
+class Latenzhistogramm {
+	
+	/**
+	 * Die Anzahl der Klassen je Zweierpotenz, als Exponent zur Basis 2
+	 */
+	private static final int BITS_UNTERTEILUNG = 3;
+	
+	/**
+	 * Die Anzahl der Klassen je Zweierpotenz
+	 */
+	static final int UNTERTEILUNG = 1 << BITS_UNTERTEILUNG;
+	
+	/**
+	 * Die Anzahl der Klassen, ausreichend fr alle nicht negativen long-Werte
+	 */
+	static final int ANZAHL_KLASSEN = (64 - BITS_UNTERTEILUNG) * UNTERTEILUNG;
+	
+	/**
+	 * Die Hufigkeit jeder Klasse
+	 */
+	private final LongAdder[] haeufigkeiten = new LongAdder[ANZAHL_KLASSEN];
+	
+	/**
+	 * Die Summe aller erfassten Dauern
+	 */
+	private final LongAdder summe = new LongAdder();
+	
+	/**
+	 * Die grte erfasste Dauer
+	 */
+	private final AtomicLong maximum = new AtomicLong(0);
+	
+	/**
+	 * Erzeugt ein leeres Histogramm.
+	 */
+	Latenzhistogramm() {
+		for (int klasse = 0; klasse < ANZAHL_KLASSEN; klasse++) {
+			this.haeufigkeiten[klasse] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Erfasst eine Dauer.
+	 * 
+	 * @param nanosekunden
+	 * 		Die Dauer; negative Werte (z.B. durch Sprnge der Uhr) werden als 0 erfasst
+	 */
+	void erfasse(final long nanosekunden) {
+		long dauer = Math.max(nanosekunden, 0);
+		this.haeufigkeiten[klasse(dauer)].increment();
+		this.summe.add(dauer);
+		long maximum = this.maximum.get();
+		while (dauer > maximum && !this.maximum.compareAndSet(maximum, dauer)) {
+			maximum = this.maximum.get();
+		}
+	}
+	
+	/**
+	 * Gibt einen Stand des Histogramms zurck. Erfassungen, die gleichzeitig stattfinden, sind
+	 * ggf. nur teilweise enthalten.
+	 */
+	Latenzverteilung getVerteilung() {
+		long[] haeufigkeiten = new long[ANZAHL_KLASSEN];
+		for (int klasse = 0; klasse < ANZAHL_KLASSEN; klasse++) {
+			haeufigkeiten[klasse] = this.haeufigkeiten[klasse].sum();
+		}
+		return new Latenzverteilung(haeufigkeiten, this.summe.sum(), this.maximum.get());
+	}
+	
+	/**
+	 * Setzt das Histogramm zurck.
+	 */
+	void leere() {
+		for (LongAdder haeufigkeit : this.haeufigkeiten) {
+			haeufigkeit.reset();
+		}
+		this.summe.reset();
+		this.maximum.set(0);
+	}
+	
+	/**
+	 * Gibt die Klasse einer Dauer zurck.
+	 * 
+	 * @param dauer
+	 * 		Die nicht negative Dauer
+	 */
+	static int klasse(final long dauer) {
+		if (dauer < UNTERTEILUNG)
+			return (int) dauer;
+		int exponent = 63 - Long.numberOfLeadingZeros(dauer);
+		int unterklasse = (int) (dauer >>> (exponent - BITS_UNTERTEILUNG)) & (UNTERTEILUNG - 1);
+		return (exponent - BITS_UNTERTEILUNG + 1) * UNTERTEILUNG + unterklasse;
+	}
+	
+	/**
+	 * Gibt die kleinste Dauer einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		Die Klasse
+	 */
+	static long untergrenze(final int klasse) {
+		if (klasse < UNTERTEILUNG)
+			return klasse;
+		int exponent = klasse / UNTERTEILUNG + BITS_UNTERTEILUNG - 1;
+		return (long) (UNTERTEILUNG + klasse % UNTERTEILUNG) << (exponent - BITS_UNTERTEILUNG);
+	}
+	
+	/**
+	 * Gibt die grte Dauer einer Klasse zurck.
+	 * 
+	 * @param klasse
+	 * 		Die Klasse
+	 */
+	static long obergrenze(final int klasse) {
+		return klasse == ANZAHL_KLASSEN - 1 ? Long.MAX_VALUE : untergrenze(klasse + 1) - 1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Unvernderlicher Stand eines Histogramms ber Zeitdauern, z.B. der Dauer der Reihenbearbeitungen.
+ * Quantile werden als Obergrenze der Histogrammklasse angegeben, in die sie fallen, und sind daher
+ * um hchstens 12,5 % zu hoch.
+ */
+public class Latenzverteilung {
+	
+	/**
+	 * Die Hufigkeit jeder Klasse (siehe Latenzhistogramm)
+	 */
+	private final long[] haeufigkeiten;
+	
+	/**
+	 * Die Anzahl der erfassten Dauern
+	 */
+	private final long anzahl;
+	
+	/**
+	 * Die Summe der erfassten Dauern in Nanosekunden
+	 */
+	private final long summe;
+	
+	/**
+	 * Die grte erfasste Dauer in Nanosekunden
+	 */
+	private final long maximum;
+	
+	/**
+	 * Erzeugt eine Verteilung.
+	 * 
+	 * @param haeufigkeiten
+	 * 		Die Hufigkeit jeder Klasse, wird bernommen
+	 * @param summe
+	 * 		Die Summe der erfassten Dauern in Nanosekunden
+	 * @param maximum
+	 * 		Die grte erfasste Dauer in Nanosekunden
+	 */
+	Latenzverteilung(final long[] haeufigkeiten, final long summe, final long maximum) {
+		this.haeufigkeiten = haeufigkeiten;
+		long anzahl = 0;
+		for (long haeufigkeit : haeufigkeiten) {
+			anzahl += haeufigkeit;
+		}
+		this.anzahl = anzahl;
+		this.summe = summe;
+		this.maximum = maximum;
+	}
+	
+	/**
+	 * Gibt die Anzahl der erfassten Dauern zurck.
+	 */
+	public long getAnzahl() {
+		return this.anzahl;
+	}
+	
+	/**
+	 * Gibt die Summe der erfassten Dauern in Nanosekunden zurck.
+	 */
+	public long getSumme() {
+		return this.summe;
+	}
+	
+	/**
+	 * Gibt die mittlere Dauer in Nanosekunden zurck, bzw. 0, wenn nichts erfasst wurde.
+	 */
+	public long getMittelwert() {
+		return this.anzahl == 0 ? 0 : this.summe / this.anzahl;
+	}
+	
+	/**
+	 * Gibt die grte erfasste Dauer in Nanosekunden zurck.
+	 */
+	public long getMaximum() {
+		return this.maximum;
+	}
+	
+	/**
+	 * Gibt ein Quantil der Dauern in Nanosekunden zurck, z.B. mit getQuantil(0.99) das 99. Perzentil.
+	 * 
+	 * @param anteil
+	 * 		Der Anteil der Dauern, die hchstens so lang sind wie das Ergebnis, zwischen 0 und 1
+	 * 
+	 * @return die Obergrenze der Klasse, in die das Quantil fllt, hchstens jedoch das Maximum,
+	 * bzw. 0, wenn nichts erfasst wurde
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn der Anteil nicht zwischen 0 und 1 liegt
+	 */
+	public long getQuantil(final double anteil) throws IllegalArgumentException {
+		if (!(anteil >= 0 && anteil <= 1))
+			throw new IllegalArgumentException("Der Anteil muss zwischen 0 und 1 liegen!");
+		if (this.anzahl == 0)
+			return 0;
+		long rang = Math.max(1, (long) Math.ceil(anteil * this.anzahl));
+		long kumuliert = 0;
+		for (int klasse = 0; klasse < this.haeufigkeiten.length; klasse++) {
+			kumuliert += this.haeufigkeiten[klasse];
+			if (kumuliert >= rang)
+				return Math.min(Latenzhistogramm.obergrenze(klasse), this.maximum);
+		}
+		return this.maximum;
+	}
+	
+	/**
+	 * Gibt die Differenz zu einem frheren Stand desselben Histogramms zurck, also die
+	 * Verteilung der seitdem erfassten Dauern. Das Maximum wird dabei aus der hchsten belegten
+	 * Klasse abgeschtzt.
+	 * 
+	 * @param frueher
+	 * 		Der frhere Stand
+	 */
+	public Latenzverteilung minus(final Latenzverteilung frueher) {
+		long[] haeufigkeiten = new long[this.haeufigkeiten.length];
+		long maximum = 0;
+		for (int klasse = 0; klasse < haeufigkeiten.length; klasse++) {
+			haeufigkeiten[klasse] = this.haeufigkeiten[klasse] - frueher.haeufigkeiten[klasse];
+			if (haeufigkeiten[klasse] > 0)
+				maximum = Math.min(Latenzhistogramm.obergrenze(klasse), this.maximum);
+		}
+		return new Latenzverteilung(haeufigkeiten, this.summe - frueher.summe, maximum);
+	}
+	
+	/**
+	 * Gibt die Verteilung in der Form "anzahl=..., mittel=..., p50=..., p99=..., max=..." mit
+	 * Dauern in Mikrosekunden aus.
+	 */
+	@Override
+	public String toString() {
+		return "anzahl=" + this.anzahl + ", mittel=" + mikrosekunden(this.getMittelwert())
+				+ ", p50=" + mikrosekunden(this.getQuantil(0.5)) + ", p99="
+				+ mikrosekunden(this.getQuantil(0.99)) + ", max=" + mikrosekunden(this.maximum);
+	}
+	
+	/**
+	 * Formatiert eine Dauer in Mikrosekunden mit einer Nachkommastelle.
+	 * 
+	 * @param nanosekunden
+	 * 		Die Dauer in Nanosekunden
+	 */
+	private static String mikrosekunden(final long nanosekunden) {
+		return String.format("%.1f s", nanosekunden / 1000.0);
+	}
+}
\ No newline at end of file
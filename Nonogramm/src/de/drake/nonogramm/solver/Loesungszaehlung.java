@@ -0,0 +1,117 @@
+package de.drake.nonogramm.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Das Ergebnis einer Lsungszhlung (siehe Solver.zaehleLoesungen). Gibt an, ob ein Nonogramm
+ * keine, genau eine oder mehr als eine Lsung besitzt, und enthlt die dabei gefundenen Lsungen
+ * als Belege.
+ */
+public class Loesungszaehlung {
+	
+	/**
+	 * Die Anzahl der Lsungen, nach der die Zhlung beendet wurde
+	 */
+	private final int maxLoesungen;
+	
+	/**
+	 * Die gefundenen Lsungen
+	 */
+	private final List<Nonogramm> loesungen;
+	
+	/**
+	 * Gibt an, ob die Zhlung per Solver.abbrechen() abgebrochen wurde
+	 */
+	private final boolean abgebrochen;
+	
+	/**
+	 * Erzeugt das Ergebnis einer Lsungszhlung.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Zhlung beendet wurde
+	 * @param loesungen
+	 * 		Die gefundenen Lsungen
+	 * @param abgebrochen
+	 * 		Gibt an, ob die Zhlung abgebrochen wurde
+	 */
+	Loesungszaehlung(final int maxLoesungen, final List<Nonogramm> loesungen, final boolean abgebrochen) {
+		this.maxLoesungen = maxLoesungen;
+		this.loesungen = Collections.unmodifiableList(loesungen);
+		this.abgebrochen = abgebrochen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der gefundenen Lsungen zurck. Ist diese gleich this.getMaxLoesungen(),
+	 * so besitzt das Nonogramm mglicherweise noch weitere Lsungen.
+	 */
+	public int getAnzahl() {
+		return this.loesungen.size();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Lsungen zurck, nach der die Zhlung beendet wurde.
+	 */
+	public int getMaxLoesungen() {
+		return this.maxLoesungen;
+	}
+	
+	/**
+	 * Gibt die gefundenen Lsungen zurck.
+	 */
+	public List<Nonogramm> getLoesungen() {
+		return this.loesungen;
+	}
+	
+	/**
+	 * Gibt an, ob das Nonogramm keine Lsung besitzt.
+	 */
+	public boolean istUnloesbar() {
+		return this.loesungen.isEmpty() && !this.abgebrochen;
+	}
+	
+	/**
+	 * Gibt an, ob das Nonogramm genau eine Lsung besitzt.
+	 */
+	public boolean istEindeutig() {
+		return this.loesungen.size() == 1 && !this.abgebrochen;
+	}
+	
+	/**
+	 * Gibt an, ob das Nonogramm mehr als eine Lsung besitzt.
+	 */
+	public boolean istMehrdeutig() {
+		return this.loesungen.size() > 1;
+	}
+	
+	/**
+	 * Gibt an, ob alle Lsungen des Nonogramms gezhlt wurden, d.h. die Zhlung nicht vorzeitig
+	 * beim Erreichen von this.getMaxLoesungen() oder durch einen Abbruch beendet wurde.
+	 */
+	public boolean istVollstaendig() {
+		return this.loesungen.size() < this.maxLoesungen && !this.abgebrochen;
+	}
+	
+	/**
+	 * Gibt an, ob die Zhlung per Solver.abbrechen() abgebrochen wurde. In diesem Fall ist nur
+	 * bekannt, dass das Nonogramm mindestens this.getAnzahl() Lsungen besitzt.
+	 */
+	public boolean istAbgebrochen() {
+		return this.abgebrochen;
+	}
+	
+	@Override
+	public String toString() {
+		if (this.abgebrochen && !this.istMehrdeutig())
+			return "abgebrochen nach " + this.getAnzahl() + " Lsungen";
+		if (this.istUnloesbar())
+			return "keine Lsung";
+		if (this.istEindeutig())
+			return "eindeutige Lsung";
+		if (this.istVollstaendig())
+			return this.getAnzahl() + " Lsungen";
+		return "mindestens " + this.getAnzahl() + " Lsungen";
+	}
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Unvernderlicher Stand der Solvermetriken. ber minus() lsst sich ermitteln, was zwischen zwei
+ * Stnden angefallen ist, z.B. fr ein einzelnes Rtsel oder einen Benchmark-Durchlauf.
+ */
+public class Metrikstand {
+	
+	/**
+	 * Die Anzahl der Anwendungen je Reihenstrategie
+	 */
+	private final long[] anwendungen;
+	
+	/**
+	 * Die Anzahl der gesetzten Felder je Reihenstrategie
+	 */
+	private final long[] gesetzteFelder;
+	
+	/**
+	 * Die Anzahl der Versuche des Trial-And-Error-Verfahrens
+	 */
+	private final long anzahlVersuche;
+	
+	/**
+	 * Die Anzahl der schlssigen Versuche
+	 */
+	private final long anzahlSchluessigerVersuche;
+	
+	/**
+	 * Die Anzahl der Propagationsrunden
+	 */
+	private final long anzahlPropagationen;
+	
+	/**
+	 * Die Anzahl der Konflikte der Suche per Klausellernen
+	 */
+	private final long anzahlKonflikte;
+	
+	/**
+	 * Die Anzahl der Neustarts der Suche per Klausellernen
+	 */
+	private final long anzahlNeustarts;
+	
+	/**
+	 * Die Verteilung der Dauer der Reihenbearbeitungen
+	 */
+	private final Latenzverteilung reihenlatenz;
+	
+	/**
+	 * Die Verteilung der Dauer von Solver.loese()
+	 */
+	private final Latenzverteilung loesungslatenz;
+	
+	/**
+	 * Erzeugt einen Stand.
+	 * 
+	 * @param anwendungen
+	 * 		Die Anzahl der Anwendungen je Reihenstrategie, wird bernommen
+	 * @param gesetzteFelder
+	 * 		Die Anzahl der gesetzten Felder je Reihenstrategie, wird bernommen
+	 * @param anzahlVersuche
+	 * 		Die Anzahl der Versuche des Trial-And-Error-Verfahrens
+	 * @param anzahlSchluessigerVersuche
+	 * 		Die Anzahl der schlssigen Versuche
+	 * @param anzahlPropagationen
+	 * 		Die Anzahl der Propagationsrunden
+	 * @param anzahlKonflikte
+	 * 		Die Anzahl der Konflikte der Suche per Klausellernen
+	 * @param anzahlNeustarts
+	 * 		Die Anzahl der Neustarts der Suche per Klausellernen
+	 * @param reihenlatenz
+	 * 		Die Verteilung der Dauer der Reihenbearbeitungen
+	 * @param loesungslatenz
+	 * 		Die Verteilung der Dauer von Solver.loese()
+	 */
+	Metrikstand(final long[] anwendungen, final long[] gesetzteFelder, final long anzahlVersuche,
+			final long anzahlSchluessigerVersuche, final long anzahlPropagationen,
+			final long anzahlKonflikte, final long anzahlNeustarts, final Latenzverteilung reihenlatenz, final Latenzverteilung loesungslatenz) {
+		this.anwendungen = anwendungen;
+		this.gesetzteFelder = gesetzteFelder;
+		this.anzahlVersuche = anzahlVersuche;
+		this.anzahlSchluessigerVersuche = anzahlSchluessigerVersuche;
+		this.anzahlPropagationen = anzahlPropagationen;
+		this.anzahlKonflikte = anzahlKonflikte;
+		this.anzahlNeustarts = anzahlNeustarts;
+		this.reihenlatenz = reihenlatenz;
+		this.loesungslatenz = loesungslatenz;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Anwendungen einer Reihenstrategie zurck.
+	 * 
+	 * @param strategie
+	 * 		Die Reihenstrategie
+	 */
+	public long getAnwendungen(final Reihenstrategie strategie) {
+		return this.anwendungen[strategie.ordinal()];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder zurck, die eine Reihenstrategie gesetzt hat.
+	 * 
+	 * @param strategie
+	 * 		Die Reihenstrategie
+	 */
+	public long getGesetzteFelder(final Reihenstrategie strategie) {
+		return this.gesetzteFelder[strategie.ordinal()];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Zeilen- bzw. Spaltenbearbeitungen zurck.
+	 */
+	public long getAnzahlReihenbearbeitungen() {
+		return this.reihenlatenz.getAnzahl();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Versuche des Trial-And-Error-Verfahrens zurck.
+	 */
+	public long getAnzahlVersuche() {
+		return this.anzahlVersuche;
+	}
+	
+	/**
+	 * Gibt die Anzahl der schlssigen Versuche zurck, d.h. der Versuche, die zu einem Widerspruch
+	 * oder einer vollstndigen Lsung gefhrt haben.
+	 */
+	public long getAnzahlSchluessigerVersuche() {
+		return this.anzahlSchluessigerVersuche;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Propagationsrunden zurck, d.h. der Aufrufe von Solver.loeseEinfach().
+	 */
+	public long getAnzahlPropagationen() {
+		return this.anzahlPropagationen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Konflikte der Suche per Klausellernen zurck.
+	 */
+	public long getAnzahlKonflikte() {
+		return this.anzahlKonflikte;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Neustarts der Suche per Klausellernen zurck.
+	 */
+	public long getAnzahlNeustarts() {
+		return this.anzahlNeustarts;
+	}
+	
+	/**
+	 * Gibt die Anzahl der abgeschlossenen Aufrufe von Solver.loese() zurck.
+	 */
+	public long getAnzahlLoesungen() {
+		return this.loesungslatenz.getAnzahl();
+	}
+	
+	/**
+	 * Gibt die Verteilung der Dauer der Reihenbearbeitungen zurck.
+	 */
+	public Latenzverteilung getReihenlatenz() {
+		return this.reihenlatenz;
+	}
+	
+	/**
+	 * Gibt die Verteilung der Dauer von Solver.loese() zurck.
+	 */
+	public Latenzverteilung getLoesungslatenz() {
+		return this.loesungslatenz;
+	}
+	
+	/**
+	 * Gibt die Differenz zu einem frheren Stand derselben Solvermetriken zurck.
+	 * 
+	 * @param frueher
+	 * 		Der frhere Stand
+	 */
+	public Metrikstand minus(final Metrikstand frueher) {
+		long[] anwendungen = new long[this.anwendungen.length];
+		long[] gesetzteFelder = new long[this.gesetzteFelder.length];
+		for (int strategie = 0; strategie < anwendungen.length; strategie++) {
+			anwendungen[strategie] = this.anwendungen[strategie] - frueher.anwendungen[strategie];
+			gesetzteFelder[strategie] = this.gesetzteFelder[strategie] - frueher.gesetzteFelder[strategie];
+		}
+		return new Metrikstand(anwendungen, gesetzteFelder, this.anzahlVersuche - frueher.anzahlVersuche,
+				this.anzahlSchluessigerVersuche - frueher.anzahlSchluessigerVersuche,
+				this.anzahlPropagationen - frueher.anzahlPropagationen,
+				this.anzahlKonflikte - frueher.anzahlKonflikte, this.anzahlNeustarts - frueher.anzahlNeustarts,
+				this.reihenlatenz.minus(frueher.reihenlatenz), this.loesungslatenz.minus(frueher.loesungslatenz));
+	}
+	
+	/**
+	 * Gibt den Stand mehrzeilig aus, je Reihenstrategie eine Zeile.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		text.append("Lsungen: ").append(this.loesungslatenz).append('\n');
+		text.append("Reihenbearbeitungen: ").append(this.reihenlatenz).append('\n');
+		for (Reihenstrategie strategie : Reihenstrategie.values()) {
+			text.append("  ").append(strategie).append(": ").append(this.getAnwendungen(strategie))
+					.append(" Anwendungen, ").append(this.getGesetzteFelder(strategie)).append(" Felder\n");
+		}
+		text.append("Versuche: ").append(this.anzahlVersuche).append(", davon schlssig: ")
+				.append(this.anzahlSchluessigerVersuche).append('\n');
+		text.append("Propagationen: ").append(this.anzahlPropagationen).append('\n');
+		text.append("Konflikte: ").append(this.anzahlKonflikte).append(", Neustarts: ")
+				.append(this.anzahlNeustarts).append('\n');
+		return text.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der die Reihenfolge abbildet, in der die Arbeitsliste genderte Reihen zur
+ * Bearbeitung herausgibt.
+ */
+public enum Prioritaet {
+	/**
+	 * Die Reihen werden in der Reihenfolge bearbeitet, in der sie in die Arbeitsliste
+	 * aufgenommen wurden.
+	 */
+	reihenfolge,
+	
+	/**
+	 * Reihen mit dem geringsten Spielraum (Reihenlnge abzglich des Mindestplatzbedarfs der
+	 * Bedingungen) werden zuerst bearbeitet.
+	 */
+	geringsterSpielraum,
+	
+	/**
+	 * Reihen mit den meisten neu eingetragenen Feldern seit ihrer letzten Bearbeitung werden
+	 * zuerst bearbeitet.
+	 */
+	meisteAenderungen;
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package de.drake.nonogramm.solver;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Verteilt die Versuche des Trial-And-Error-Verfahrens auf mehrere Threads.
+ * Die Kandidaten (d.h. die unbekannten Felder) werden in fester Reihenfolge durchnummeriert und von
+ * den Arbeitern in aufsteigender Reihenfolge abgeholt. Jeder Arbeiter kopiert das Nonogramm einmalig
+ * und fhrt seine Versuche darin nacheinander durch. Liefert ein Versuch einen Widerspruch oder eine
+ * vollstndige Lsung, so werden alle Versuche mit hherer Nummer abgebrochen bzw. nicht mehr
+ * begonnen. Alle Versuche mit niedrigerer Nummer werden dagegen zu Ende gefhrt, so dass am Ende
+ * stets der erste schlssige Kandidat feststeht - genau wie beim Versuch der Felder nacheinander.
+ */
+class Probenlauf extends RecursiveAction {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Kennzeichnet, dass noch kein schlssiger Kandidat gefunden wurde.
+	 */
+	static final int KEIN_KANDIDAT = -1;
+	
+	/**
+	 * Der Solver, dessen Nonogramm untersucht wird
+	 */
+	private final Solver solver;
+	
+	/**
+	 * Die Zeilenindizes der Kandidaten
+	 */
+	private final int[] zeilen;
+	
+	/**
+	 * Die Spaltenindizes der Kandidaten
+	 */
+	private final int[] spalten;
+	
+	/**
+	 * Die Anzahl der Arbeiter, die gleichzeitig Kandidaten untersuchen
+	 */
+	private final int anzahlArbeiter;
+	
+	/**
+	 * Die Nummer des nchsten Kandidaten, der noch nicht untersucht wird
+	 */
+	private final AtomicInteger naechsterKandidat = new AtomicInteger(0);
+	
+	/**
+	 * Die niedrigste Nummer eines schlssigen Kandidaten, bzw. Integer.MAX_VALUE
+	 */
+	private final AtomicInteger besterKandidat = new AtomicInteger(Integer.MAX_VALUE);
+	
+	/**
+	 * Die vollstndigen Lsungen, zu denen schlssige Versuche gefhrt haben, nach Kandidatennummer.
+	 * Bei Versuchen, die zu einem Widerspruch gefhrt haben, bleibt der Eintrag null.
+	 */
+	private final Nonogramm[] loesungen;
+	
+	/**
+	 * Die Anzahl der in allen Versuchen durchgefhrten Zeilen- bzw. Spaltenbearbeitungen
+	 */
+	private final AtomicLong anzahlReihenbearbeitungen = new AtomicLong(0);
+	
+	/**
+	 * Die Anzahl der von allen Arbeitern durchgefhrten Versuche
+	 */
+	private final AtomicLong anzahlVersuche = new AtomicLong(0);
+	
+	/**
+	 * Erzeugt einen Probenlauf.
+	 * 
+	 * @param solver
+	 * 		Der Solver, dessen Nonogramm untersucht wird
+	 * @param zeilen
+	 * 		Die Zeilenindizes der Kandidaten
+	 * @param spalten
+	 * 		Die Spaltenindizes der Kandidaten
+	 * @param anzahlArbeiter
+	 * 		Die Anzahl der Arbeiter, die gleichzeitig Kandidaten untersuchen
+	 */
+	Probenlauf(final Solver solver, final int[] zeilen, final int[] spalten, final int anzahlArbeiter) {
+		this.solver = solver;
+		this.zeilen = zeilen;
+		this.spalten = spalten;
+		this.anzahlArbeiter = anzahlArbeiter;
+		this.loesungen = new Nonogramm[zeilen.length];
+	}
+	
+	@Override
+	protected void compute() {
+		ArrayList<RecursiveAction> arbeiter = new ArrayList<RecursiveAction>(this.anzahlArbeiter);
+		for (int nummer = 0; nummer < this.anzahlArbeiter; nummer++) {
+			arbeiter.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected void compute() {
+					Probenlauf.this.arbeite();
+				}
+			});
+		}
+		invokeAll(arbeiter);
+	}
+	
+	/**
+	 * Holt so lange Kandidaten ab und untersucht sie, bis alle Kandidaten vergeben sind oder ein
+	 * schlssiger Kandidat mit niedrigerer Nummer gefunden wurde.
+	 */
+	private void arbeite() {
+		Solver probensolver = this.solver.erzeugeProbensolver();
+		while (true) {
+			int kandidat = this.naechsterKandidat.getAndIncrement();
+			if (kandidat >= this.zeilen.length || this.istUeberholt(kandidat))
+				break;
+			if (!probensolver.probiere(this.zeilen[kandidat], this.spalten[kandidat], this, kandidat))
+				continue;
+			if (probensolver.getNonogramm().istVollstaendig())
+				this.loesungen[kandidat] = probensolver.getNonogramm();
+			int bester = this.besterKandidat.get();
+			while (kandidat < bester && !this.besterKandidat.compareAndSet(bester, kandidat)) {
+				bester = this.besterKandidat.get();
+			}
+			// Alle weiteren Kandidaten dieses Arbeiters htten eine hhere Nummer.
+			break;
+		}
+		this.anzahlReihenbearbeitungen.addAndGet(probensolver.getAnzahlReihenbearbeitungen());
+		this.anzahlVersuche.addAndGet(probensolver.getAnzahlVersuche());
+	}
+	
+	/**
+	 * Gibt an, ob bereits ein schlssiger Kandidat mit niedrigerer Nummer gefunden wurde, so dass
+	 * der Versuch des bergebenen Kandidaten abgebrochen werden kann.
+	 */
+	boolean istUeberholt(final int kandidat) {
+		return this.besterKandidat.get() < kandidat;
+	}
+	
+	/**
+	 * Gibt nach Abschluss des Laufs die Nummer des ersten schlssigen Kandidaten zurck,
+	 * bzw. KEIN_KANDIDAT, wenn keiner der Versuche schlssig war.
+	 */
+	int getBesterKandidat() {
+		int bester = this.besterKandidat.get();
+		return bester == Integer.MAX_VALUE ? KEIN_KANDIDAT : bester;
+	}
+	
+	/**
+	 * Gibt die vollstndige Lsung zurck, zu der der Versuch eines schlssigen Kandidaten gefhrt hat,
+	 * bzw. null, wenn der Versuch zu einem Widerspruch gefhrt hat.
+	 */
+	Nonogramm getLoesung(final int kandidat) {
+		return this.loesungen[kandidat];
+	}
+	
+	/**
+	 * Gibt die Anzahl der in allen Versuchen durchgefhrten Zeilen- bzw. Spaltenbearbeitungen zurck.
+	 */
+	long getAnzahlReihenbearbeitungen() {
+		return this.anzahlReihenbearbeitungen.get();
+	}
+	
+	/**
+	 * Gibt die Anzahl der von allen Arbeitern durchgefhrten Versuche zurck.
+	 */
+	long getAnzahlVersuche() {
+		return this.anzahlVersuche.get();
+	}
+}
\ No newline at end of file
@@ -1,10 +1,6 @@
 package de.drake.nonogramm.solver;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-
-import de.drake.nonogramm.model.Feld;
+import de.drake.nonogramm.model.Bedingungen;
 import de.drake.nonogramm.model.Feldstatus;
 
 /**
@@ -13,26 +9,61 @@ import de.drake.nonogramm.model.Feldstatus;
  * der Reihe) oder der "richtigen" Lsung der Reihe, bei der auch die restlichen Nebenbedingungen
  * des Nonogramms erfllt werden.
  * Der ReihenSolver erlaubt es daher, Gemeinsamkeiten aller Lsungen der Reihe zu ermitteln und diese
- * im Nonogramm einzutragen.
+ * in die Reihe einzutragen. Die Positionen der genderten Felder werden vermerkt, damit der Solver
+ * sie anschlieend in das Nonogramm bernehmen kann.
  */
 class ReihenSolver {
 	
 	/**
-	 * Die Reihe, die aktuell bearbeitet werden soll
+	 * Kennzeichnet in den Blockzuordnungen ein Feld, das keinem Block zugeordnet ist.
+	 */
+	private static final int KEIN_BLOCK = -1;
+	
+	/**
+	 * Die Feldstati der Reihe, die aktuell bearbeitet werden soll
 	 */
-	private ArrayList<Feld> reihe;
+	private Feldstatus[] reihe;
 	
 	/**
 	 * Eine mgliche Lsung der Reihe. Wird durch die Methode this.reiheLoesbarRekursion gefllt.
-	 * Um Seiteneffekte zu vermeiden, wird die Lsung nicht mit Nonogrammfeldern, sondern lediglich
-	 * mit Feldstati gefllt.
 	 */
-	private ArrayList<Feldstatus> loesung = null;
+	private Feldstatus[] loesung = null;
+	
+	/**
+	 * Die Positionen der Felder, die seit dem letzten Aufruf von this.set gendert wurden.
+	 */
+	private int[] aenderungen = new int[0];
+	
+	/**
+	 * Die Anzahl der gltigen Eintrge in this.aenderungen.
+	 */
+	private int anzahlAenderungen;
+	
+	/**
+	 * Die Reihenstrategie, die das Feld der jeweiligen nderung in this.aenderungen gesetzt hat
+	 */
+	private Reihenstrategie[] strategien = new Reihenstrategie[0];
+	
+	/**
+	 * Die Nebenbedingungen, zu denen die aktuelle Reihe gehrt
+	 */
+	private Bedingungen bedingungen;
+	
+	/**
+	 * Der Index der aktuellen Reihe innerhalb von this.bedingungen
+	 */
+	private int bedingungsreihe;
 	
 	/**
-	 * Die Nebenbedingungen der aktuellen Reihe
+	 * Die Anzahl der Blcke in den Nebenbedingungen der aktuellen Reihe
 	 */
-	private ArrayList<Integer> bedingungen;
+	private int anzahlBloecke;
+	
+	/**
+	 * Gibt an, ob die Reihe und ihre Bedingungen gerade gespiegelt betrachtet werden.
+	 * Wird vom Rekursionsverfahren zur Suche der Rechtslsung verwendet.
+	 */
+	private boolean gespiegelt = false;
 	
 	/**
 	 * Der Solver, der das Nonogramm lsen soll
@@ -49,11 +80,32 @@ class ReihenSolver {
 	 */
 	private int laengeLaengsterBlockBedingungen;
 	
+	/**
+	 * Modul zur Lsung der Reihe per dynamischer Programmierung.
+	 */
+	private DynamischerReihenSolver dynamischerSolver = new DynamischerReihenSolver();
+	
+	/**
+	 * Der Schlssel, mit dem die aktuelle Reihe im Zwischenspeicher des Solvers nachgeschlagen wird
+	 */
+	private final Reihencache.Schluessel schluessel = new Reihencache.Schluessel();
+	
+	/**
+	 * Die Metriken, in die die aktuelle Bearbeitung erfasst wird, bzw. null
+	 */
+	private Solvermetriken metriken;
+	
+	/**
+	 * Die Beschreibung des Verfahrens, mit dem die aktuelle Reihe bearbeitet wurde (fr den
+	 * Flugschreiber)
+	 */
+	private String verfahren;
+	
 	/**
 	 * Erzeugt einen neuen ReihenSolver.
 	 * 
 	 * @param solver
-	 * 		Der Solver, der ber die durchgefhrten nderungen informiert werden muss
+	 * 		Der Solver, dessen Optionen fr die Bearbeitung gelten
 	 */
 	ReihenSolver(final Solver solver) {
 		this.solver = solver;
@@ -63,103 +115,206 @@ class ReihenSolver {
 	 * Initialisiert den Reihensolver mit der bergebenen Reihe.
 	 * 
 	 * @param reihe
-	 * 		Die zu bearbeitende Reihe
+	 * 		Die Feldstati der zu bearbeitenden Reihe. Das Array wird bei der Bearbeitung verndert.
 	 * @param bedingungen
-	 * 		Die Nebenbedingungen der zu bearbeitenden Reihe
+	 * 		Die Nebenbedingungen, zu denen die zu bearbeitende Reihe gehrt
+	 * @param bedingungsreihe
+	 * 		Der Index der zu bearbeitenden Reihe innerhalb der Nebenbedingungen
 	 */
-	void set(final ArrayList<Feld> reihe, final ArrayList<Integer> bedingungen) {
+	void set(final Feldstatus[] reihe, final Bedingungen bedingungen, final int bedingungsreihe) {
 		this.reihe = reihe;
 		this.bedingungen = bedingungen;
+		this.bedingungsreihe = bedingungsreihe;
+		this.anzahlBloecke = bedingungen.getAnzahlBloecke(bedingungsreihe);
 		this.loesung = null;
-		this.anzahlSchwarzerFelderBedingungen = 0;
-		this.laengeLaengsterBlockBedingungen = 0;
-		for (int block : this.bedingungen) {
-			if (block > this.laengeLaengsterBlockBedingungen)
-				this.laengeLaengsterBlockBedingungen = block;
-			this.anzahlSchwarzerFelderBedingungen += block;
-		}
+		if (this.aenderungen.length < reihe.length)
+			this.aenderungen = new int[reihe.length];
+		if (this.strategien.length < reihe.length)
+			this.strategien = new Reihenstrategie[reihe.length];
+		this.anzahlAenderungen = 0;
+		this.anzahlSchwarzerFelderBedingungen = bedingungen.getSumme(bedingungsreihe);
+		this.laengeLaengsterBlockBedingungen = bedingungen.getMaximum(bedingungsreihe);
 	}
 	
 	/**
 	 * Bearbeitet die Reihe dahingehend, dass "sichere" Ergebnisse eingetragen werden.
+	 * Liegt das Ergebnis bereits im Zwischenspeicher des Solvers vor, werden die gespeicherten
+	 * nderungen bernommen, ohne die Reihe erneut zu lsen.
+	 * 
+	 * Die Dauer der Bearbeitung und die angewendeten Reihenstrategien werden in den Metriken des
+	 * Solvers erfasst und die Bearbeitung ggf. an den Flugschreiber gemeldet.
+	 * 
+	 * @return false, wenn die Reihe unlsbar ist. In diesem Fall wird die Reihe nicht verndert.
 	 */
-	void bearbeiteReihe() {
-		System.out.println("Erzeuge HashMaps...");
-		HashMap<Feld, Integer> feld2blockLinksloesung = new HashMap<Feld, Integer>();
-		HashMap<Feld, Integer> feld2blockRechtsloesung = new HashMap<Feld, Integer>();
-		if (this.erzeugeLoesungsHashMaps(feld2blockLinksloesung, feld2blockRechtsloesung) == false) {
-			return;
+	boolean bearbeiteReihe() {
+		this.metriken = this.solver.getMetriken();
+		Object ereignis = Flugschreiber.INSTANZ == null ? null : Flugschreiber.INSTANZ.beginneReihe();
+		if (this.metriken == null && ereignis == null)
+			return this.bearbeiteReiheMitZwischenspeicher();
+		long start = System.nanoTime();
+		boolean loesbar = this.bearbeiteReiheMitZwischenspeicher();
+		if (this.metriken != null)
+			this.metriken.vermerkeReihenbearbeitung(System.nanoTime() - start);
+		if (ereignis != null) {
+			Flugschreiber.INSTANZ.beendeReihe(ereignis,
+					this.bedingungen == this.solver.getNonogramm().getLinkeBedingungen(), this.bedingungsreihe,
+					this.reihe.length, this.anzahlBloecke, this.anzahlAenderungen, loesbar, this.verfahren);
+		}
+		return loesbar;
+	}
+	
+	/**
+	 * Bearbeitet die Reihe wie this.bearbeiteReihe(), aber ohne Erfassung der Dauer.
+	 * 
+	 * @return false, wenn die Reihe unlsbar ist. In diesem Fall wird die Reihe nicht verndert.
+	 */
+	private boolean bearbeiteReiheMitZwischenspeicher() {
+		Reihencache reihencache = this.solver.getReihencache();
+		if (reihencache == null)
+			return this.loeseReihe();
+		int verfahren = 0;
+		if (this.solver.getOptionRekursion())
+			verfahren = 1 + this.solver.getReihenverfahren().ordinal();
+		this.schluessel.setze(this.bedingungen, this.bedingungsreihe, verfahren, this.reihe);
+		int[] ergebnis = reihencache.gib(this.schluessel);
+		if (ergebnis != null)
+			this.verfahren = "Zwischenspeicher";
+		if (ergebnis == Reihencache.UNLOESBAR) {
+			this.vermerke(Reihenstrategie.zwischenspeicher, 0);
+			return false;
+		}
+		if (ergebnis != null) {
+			for (int kodierteAenderung : ergebnis) {
+				this.setze(kodierteAenderung >> 1,
+						(kodierteAenderung & 1) == 1 ? Feldstatus.black : Feldstatus.white);
+			}
+			this.vermerke(Reihenstrategie.zwischenspeicher, 0);
+			return true;
+		}
+		if (!this.loeseReihe()) {
+			reihencache.speichere(this.schluessel.kopiere(), Reihencache.UNLOESBAR);
+			return false;
+		}
+		// Die nderungen werden in ihrer ursprnglichen Reihenfolge abgelegt, damit ein Treffer
+		// die betroffenen Reihen in derselben Reihenfolge zur Bearbeitung vormerkt.
+		ergebnis = new int[this.anzahlAenderungen];
+		for (int index = 0; index < this.anzahlAenderungen; index++) {
+			int position = this.aenderungen[index];
+			ergebnis[index] = position << 1 | (this.reihe[position] == Feldstatus.black ? 1 : 0);
+		}
+		reihencache.speichere(this.schluessel.kopiere(), ergebnis);
+		return true;
+	}
+	
+	/**
+	 * Lst die Reihe mit den durch den Solver festgelegten Verfahren.
+	 * 
+	 * @return false, wenn die Reihe unlsbar ist. In diesem Fall wird die Reihe nicht verndert.
+	 */
+	private boolean loeseReihe() {
+		if (this.solver.getOptionRekursion()
+				&& this.solver.getReihenverfahren() == Reihenverfahren.dynamischeProgrammierung) {
+			// Die dynamische Programmierung findet alle Ergebnisse des Lsungsverfahrens A mit.
+			this.verfahren = "Lsungsverfahren B (dynamische Programmierung)";
+			boolean loesbar = this.loesePerDynamischerProgrammierung();
+			this.vermerke(Reihenstrategie.dynamischeProgrammierung, 0);
+			return loesbar;
+		}
+		this.verfahren = this.solver.getOptionRekursion() ? "Lsungsverfahren A und B (Rekursion)"
+				: "Lsungsverfahren A";
+		int[] feld2blockLinksloesung = new int[this.reihe.length];
+		int[] feld2blockRechtsloesung = new int[this.reihe.length];
+		if (this.erzeugeBlockzuordnungen(feld2blockLinksloesung, feld2blockRechtsloesung) == false) {
+			return false;
 		}
-		System.out.println("Lsungsverfahren A");
+		int vorher = this.anzahlAenderungen;
 		this.fuelleUeberlappendeSchwarzeFelderAus(feld2blockLinksloesung, feld2blockRechtsloesung);
+		vorher = this.vermerke(Reihenstrategie.ueberlappung, vorher);
 		this.schliesseFertigeBloeckeMitWeissenFeldernAb(feld2blockLinksloesung, feld2blockRechtsloesung);
+		vorher = this.vermerke(Reihenstrategie.blockabschluss, vorher);
 		this.fuelleWeisseFelderAusDieInLinksUndRechtsloesungAnDerGleichenStelleStehen(
 				feld2blockLinksloesung, feld2blockRechtsloesung);
+		vorher = this.vermerke(Reihenstrategie.weisseFelder, vorher);
 		this.fuelleLueckenZwischenWeissenFeldern(feld2blockLinksloesung, feld2blockRechtsloesung);
+		vorher = this.vermerke(Reihenstrategie.lueckenfuellung, vorher);
 		
 		if (this.solver.getOptionRekursion()) {
-			System.out.println("Lsungsverfahren B");
 			this.loesePerRekursion();
+			this.vermerke(Reihenstrategie.rekursion, vorher);
 		}
+		return true;
 	}
 	
 	/**
 	 * 	Zunchst werden eine Links-Lsung und eine Rechtslsung ermittelt (d.h. Lsungen,
 	 *  in der alle schwarzen Felder so weit wie mglich links bzw. rechts liegen).
-	 *  Auf Basis der beiden Lsungen werden die bergebenen HashMaps befllt.
-	 *  Die HashMaps geben dann an, im wievielten Bedingungsblock ein Feld in der jeweiligen Lsung
-	 *  liegt.
-	 *  Fr schwarze Felder sind die HashMap immer gefllt und geben die niedrigste (-> Rechtslsung)
-	 *  oder hchste (->Linkslsung) Bedingung fr das Feld an.
-	 *  Fr weie Felder ist die HashMap nie gefllt.
-	 *  Fr unknown-Felder ist die HashMap nur gefllt, wenn die Felder in der Links- bzw.
+	 *  Auf Basis der beiden Lsungen werden die bergebenen Blockzuordnungen befllt.
+	 *  Die Blockzuordnungen geben dann an, im wievielten Bedingungsblock ein Feld in der
+	 *  jeweiligen Lsung liegt.
+	 *  Fr schwarze Felder sind die Blockzuordnungen immer gefllt und geben die niedrigste
+	 *  (-> Rechtslsung) oder hchste (->Linkslsung) Bedingung fr das Feld an.
+	 *  Fr weie Felder enthalten die Blockzuordnungen immer KEIN_BLOCK.
+	 *  Fr unknown-Felder sind die Blockzuordnungen nur gefllt, wenn die Felder in der Links- bzw.
 	 *  Rechtslsung schwarz sind.
 	 *  
 	 *  @param feld2blockLinksloesung
-	 *  		Die HashMap, in die die geforderte Zuordnung fr die Linkslsung eingetragen wird
+	 *  		Das Array, in das die geforderte Zuordnung fr die Linkslsung eingetragen wird
 	 *  @param feld2blockRechtsloesung
-	 *  		Die HashMap, in die die geforderte Zuordnung fr die Rechtslsung eingetragen wird
+	 *  		Das Array, in das die geforderte Zuordnung fr die Rechtslsung eingetragen wird
 	 *  @return
 	 *  		false, wenn die Reihe unlsbar ist und daher keine Links- bzw. Rechtslsung existiert.
 	 */
-	private boolean erzeugeLoesungsHashMaps(final HashMap<Feld, Integer> feld2blockLinksloesung,
-			final HashMap<Feld, Integer> feld2blockRechtsloesung) {
-		if (!this.reiheLoesbarRekursion(true)) {
-			return false;
+	private boolean erzeugeBlockzuordnungen(final int[] feld2blockLinksloesung,
+			final int[] feld2blockRechtsloesung) {
+		Feldstatus[] linksloesung;
+		Feldstatus[] rechtsloesung;
+		if (this.solver.getReihenverfahren() == Reihenverfahren.dynamischeProgrammierung) {
+			// Links- und Rechtslsung lassen sich direkt aus den Erreichbarkeitstabellen ablesen.
+			if (!this.dynamischerSolver.set(this.reihe, this.bedingungen, this.bedingungsreihe)) {
+				return false;
+			}
+			linksloesung = new Feldstatus[this.reihe.length];
+			this.dynamischerSolver.erzeugeLinksloesung(linksloesung);
+			rechtsloesung = new Feldstatus[this.reihe.length];
+			this.dynamischerSolver.erzeugeRechtsloesung(rechtsloesung);
+		} else {
+			if (!this.reiheLoesbarRekursion(true)) {
+				return false;
+			}
+			linksloesung = this.loesung;
+			
+			//Versuche, eine Rechts-Lsung zu finden.
+			ReihenSolver.spiegele(this.reihe);
+			this.gespiegelt = true;
+			this.reiheLoesbarRekursion(true);
+			ReihenSolver.spiegele(this.reihe);
+			this.gespiegelt = false;
+			ReihenSolver.spiegele(this.loesung);
+			rechtsloesung = this.loesung;
 		}
-		ArrayList<Feldstatus> linksloesung = this.loesung;
-		
-		//Versuche, eine Rechts-Lsung zu finden.
-		Collections.reverse(this.reihe);
-		Collections.reverse(this.bedingungen);
-		this.reiheLoesbarRekursion(true);
-		Collections.reverse(this.reihe);
-		Collections.reverse(this.bedingungen);
-		Collections.reverse(this.loesung);
-		ArrayList<Feldstatus> rechtsloesung = this.loesung;
 
 		int aktuellerBlockLinksloesung = -1;
 		boolean aktuellerBlockLinksloesungBegonnen = false;
 		int aktuellerBlockRechtsloesung = -1;
 		boolean aktuellerBlockRechtsloesungBegonnen = false;
-		Feld aktuellesFeld;
-		for (int position = 0; position < this.reihe.size(); position++) {
-			aktuellesFeld = this.reihe.get(position);
-			if (linksloesung.get(position) == Feldstatus.black) {
+		for (int position = 0; position < this.reihe.length; position++) {
+			feld2blockLinksloesung[position] = KEIN_BLOCK;
+			if (linksloesung[position] == Feldstatus.black) {
 				if (!aktuellerBlockLinksloesungBegonnen) {
 					aktuellerBlockLinksloesung++;
 					aktuellerBlockLinksloesungBegonnen = true;
 				}
-				feld2blockLinksloesung.put(aktuellesFeld, aktuellerBlockLinksloesung);
+				feld2blockLinksloesung[position] = aktuellerBlockLinksloesung;
 			} else {
 				aktuellerBlockLinksloesungBegonnen = false;
 			}
-			if (rechtsloesung.get(position) == Feldstatus.black) {
+			feld2blockRechtsloesung[position] = KEIN_BLOCK;
+			if (rechtsloesung[position] == Feldstatus.black) {
 				if (!aktuellerBlockRechtsloesungBegonnen) {
 					aktuellerBlockRechtsloesung++;
 					aktuellerBlockRechtsloesungBegonnen = true;
 				}
-				feld2blockRechtsloesung.put(aktuellesFeld, aktuellerBlockRechtsloesung);
+				feld2blockRechtsloesung[position] = aktuellerBlockRechtsloesung;
 			} else {
 				aktuellerBlockRechtsloesungBegonnen = false;
 			}
@@ -167,24 +322,43 @@ class ReihenSolver {
 		return true;
 	}
 	
+	/**
+	 * Ordnet die seit der vorherigen Anwendung eingetragenen nderungen einer Reihenstrategie zu und
+	 * erfasst deren Anwendung in den Metriken des Solvers, sofern vorhanden.
+	 * 
+	 * @param strategie
+	 * 		Die angewendete Reihenstrategie
+	 * @param vorher
+	 * 		Die Anzahl der nderungen vor der Anwendung
+	 * 
+	 * @return die Anzahl der nderungen nach der Anwendung
+	 */
+	private int vermerke(final Reihenstrategie strategie, final int vorher) {
+		for (int index = vorher; index < this.anzahlAenderungen; index++) {
+			this.strategien[index] = strategie;
+		}
+		if (this.metriken != null)
+			this.metriken.vermerkeStrategie(strategie, this.anzahlAenderungen - vorher);
+		return this.anzahlAenderungen;
+	}
+	
 	/**
 	 * Wenn ein Feld sowohl in der Rechtslsung als auch in der Linkslsung zum gleichen Block gehrt,
 	 * muss es schwarz sein. Dementsprechende Ergebnisse werden in die Reihe eingetragen.
 	 * @param feld2blockLinksloesung
-	 *  		Die HashMap, die die Zuordnung fr die Linkslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Linkslsung enthlt
 	 * @param feld2blockRechtsloesung
-	 *  		Die HashMap, die die Zuordnung fr die Rechtslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Rechtslsung enthlt
 	 */
 	private void fuelleUeberlappendeSchwarzeFelderAus(
-			final HashMap<Feld, Integer> feld2blockLinksloesung,
-			final HashMap<Feld, Integer> feld2blockRechtsloesung) {
-		for (Feld feld : this.reihe) {
-			if (!feld.hasStatus(Feldstatus.unknown))
+			final int[] feld2blockLinksloesung,
+			final int[] feld2blockRechtsloesung) {
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (this.reihe[position] != Feldstatus.unknown)
 				continue;
-			if (feld2blockLinksloesung.containsKey(feld) && feld2blockRechtsloesung.containsKey(feld)
-					&& feld2blockLinksloesung.get(feld) == feld2blockRechtsloesung.get(feld)) {
-				feld.setStatus(Feldstatus.black);
-				this.solver.vermeldeAenderung(feld);
+			if (feld2blockLinksloesung[position] != KEIN_BLOCK
+					&& feld2blockLinksloesung[position] == feld2blockRechtsloesung[position]) {
+				this.setze(position, Feldstatus.black);
 			}
 		}
 	}
@@ -195,58 +369,50 @@ class ReihenSolver {
 	 * kleiner oder gleich der Lnge des Blocks, so wird der Block durch weie Felder an
 	 * beiden Seiten "abgeschlossen".
 	 * @param feld2blockLinksloesung
-	 *  		Die HashMap, die die Zuordnung fr die Linkslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Linkslsung enthlt
 	 * @param feld2blockRechtsloesung
-	 *  		Die HashMap, die die Zuordnung fr die Rechtslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Rechtslsung enthlt
 	 */
 	private void schliesseFertigeBloeckeMitWeissenFeldernAb(
-			final HashMap<Feld, Integer> feld2blockLinksloesung,
-			final HashMap<Feld, Integer> feld2blockRechtsloesung) {
-		// Zunchst werden die Blcke der aktuellen Reihe ermittelt:
-		ArrayList<ArrayList<Integer>> bloecke = new ArrayList<ArrayList<Integer>> ();
-		{
-			ArrayList<Integer> aktuellerBlockPositions = new ArrayList<Integer> (this.reihe.size());
-			for (int reihenindex = 0; reihenindex < this.reihe.size(); reihenindex++) {
-				if (this.reihe.get(reihenindex).hasStatus(Feldstatus.black)) {
-					aktuellerBlockPositions.add(reihenindex);
-				} else if (!aktuellerBlockPositions.isEmpty()) {
-					bloecke.add(aktuellerBlockPositions);
-					aktuellerBlockPositions = new ArrayList<Integer> (this.reihe.size());
-				}
+			final int[] feld2blockLinksloesung,
+			final int[] feld2blockRechtsloesung) {
+		// Die Blcke der aktuellen Reihe werden von links nach rechts durchlaufen. Die eingetragenen
+		// weien Felder grenzen nur an Blcke an und verndern daher die Blcke selbst nicht.
+		int blockanfang = -1;
+		for (int position = 0; position <= this.reihe.length; position++) {
+			if (position < this.reihe.length && this.reihe[position] == Feldstatus.black) {
+				if (blockanfang == -1)
+					blockanfang = position;
+				continue;
 			}
-			if (aktuellerBlockPositions.size() != 0)
-			bloecke.add(aktuellerBlockPositions);
-		}
-
-		// Fr alle Blcke werden die in Frage kommenden Bedingungen und hieraus die maximal mgliche
-		// Lnge ermittelt
-		int ersterMoeglicherBlock, letzterMoeglicherBlock, maximallaengeBlock;
-		for (ArrayList<Integer> aktuellerBlockPositions : bloecke) {
-			ersterMoeglicherBlock = 
-					feld2blockRechtsloesung.get(this.reihe.get(aktuellerBlockPositions.get(0)));
-			letzterMoeglicherBlock = 
-					feld2blockLinksloesung.get(this.reihe.get(aktuellerBlockPositions.get(0)));
-			maximallaengeBlock = this.bedingungen.get(ersterMoeglicherBlock);
+			if (blockanfang == -1)
+				continue;
+			int blockende = position;
+			
+			// Fr den Block werden die in Frage kommenden Bedingungen und hieraus die maximal
+			// mgliche Lnge ermittelt
+			int ersterMoeglicherBlock = feld2blockRechtsloesung[blockanfang];
+			int letzterMoeglicherBlock = feld2blockLinksloesung[blockanfang];
+			int maximallaengeBlock = this.block(ersterMoeglicherBlock);
 			for (int bedingungsindex = ersterMoeglicherBlock + 1; bedingungsindex <= letzterMoeglicherBlock;
 					bedingungsindex++) {
-				if (this.bedingungen.get(bedingungsindex) > maximallaengeBlock)
-					maximallaengeBlock = this.bedingungen.get(bedingungsindex);
+				if (this.block(bedingungsindex) > maximallaengeBlock)
+					maximallaengeBlock = this.block(bedingungsindex);
 			}
 			
 			// Ist die Lnge des aktuellen Block == maximallaengeBlock, so muss der Block
 			// links und rechts mit weien Feldern abschlieen:
-			if (aktuellerBlockPositions.size() == maximallaengeBlock) {
-				if (aktuellerBlockPositions.get(0) > 0
-						&& this.reihe.get(aktuellerBlockPositions.get(0) - 1).hasStatus(Feldstatus.unknown)) {
-					this.reihe.get(aktuellerBlockPositions.get(0) - 1).setStatus(Feldstatus.white);
-					this.solver.vermeldeAenderung(this.reihe.get(aktuellerBlockPositions.get(0) - 1));
+			if (blockende - blockanfang == maximallaengeBlock) {
+				int davor = blockanfang - 1;
+				if (davor >= 0 && this.reihe[davor] == Feldstatus.unknown) {
+					this.setze(davor, Feldstatus.white);
 				}
-				if (aktuellerBlockPositions.get(aktuellerBlockPositions.size() - 1) + 1 < this.reihe.size()
-						&& this.reihe.get(aktuellerBlockPositions.get(aktuellerBlockPositions.size() - 1) + 1).hasStatus(Feldstatus.unknown)) {
-					this.reihe.get(aktuellerBlockPositions.get(aktuellerBlockPositions.size() - 1) + 1).setStatus(Feldstatus.white);
-					this.solver.vermeldeAenderung(this.reihe.get(aktuellerBlockPositions.get(aktuellerBlockPositions.size() - 1) + 1));
+				int dahinter = blockende;
+				if (dahinter < this.reihe.length && this.reihe[dahinter] == Feldstatus.unknown) {
+					this.setze(dahinter, Feldstatus.white);
 				}
 			}
+			blockanfang = -1;
 		}
 	}
 	
@@ -255,25 +421,25 @@ class ReihenSolver {
 	 *  in beiden Fllen zwischen den selben Bedingungsblcken liegt, muss es wei sein!
 	 *  Dementsprechende Ergebnisse werden in die Reihe eingetragen.
 	 * @param feld2blockLinksloesung
-	 *  		Die HashMap, die die Zuordnung fr die Linkslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Linkslsung enthlt
 	 * @param feld2blockRechtsloesung
-	 *  		Die HashMap, die die Zuordnung fr die Rechtslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Rechtslsung enthlt
 	 */
 	private void fuelleWeisseFelderAusDieInLinksUndRechtsloesungAnDerGleichenStelleStehen(
-			final HashMap<Feld, Integer> feld2blockLinksloesung,
-			final HashMap<Feld, Integer> feld2blockRechtsloesung) {
+			final int[] feld2blockLinksloesung,
+			final int[] feld2blockRechtsloesung) {
 		int aktuellerBlockLinksloesung = -1;
 		int aktuellerBlockRechtsloesung = -1;
-		for (Feld feld : this.reihe) {
-			if (feld2blockLinksloesung.containsKey(feld))
-				aktuellerBlockLinksloesung = feld2blockLinksloesung.get(feld);
-			if (feld2blockRechtsloesung.containsKey(feld))
-				aktuellerBlockRechtsloesung = feld2blockRechtsloesung.get(feld);
-			if (feld.hasStatus(Feldstatus.unknown) && !feld2blockLinksloesung.containsKey(feld)
-					&& !feld2blockRechtsloesung.containsKey(feld)
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (feld2blockLinksloesung[position] != KEIN_BLOCK)
+				aktuellerBlockLinksloesung = feld2blockLinksloesung[position];
+			if (feld2blockRechtsloesung[position] != KEIN_BLOCK)
+				aktuellerBlockRechtsloesung = feld2blockRechtsloesung[position];
+			if (this.reihe[position] == Feldstatus.unknown
+					&& feld2blockLinksloesung[position] == KEIN_BLOCK
+					&& feld2blockRechtsloesung[position] == KEIN_BLOCK
 					&& aktuellerBlockLinksloesung == aktuellerBlockRechtsloesung) {
-				feld.setStatus(Feldstatus.white);
-				this.solver.vermeldeAenderung(feld);
+				this.setze(position, Feldstatus.white);
 			}
 		}
 	}
@@ -283,50 +449,53 @@ class ReihenSolver {
 	 *  nur Blcke in Frage, die allesamt lnger als die Lcke sind, wird die Lcke
 	 *  mit weien Feldern aufgefllt.
 	 * @param feld2blockLinksloesung
-	 *  		Die HashMap, die die Zuordnung fr die Linkslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Linkslsung enthlt
 	 * @param feld2blockRechtsloesung
-	 *  		Die HashMap, die die Zuordnung fr die Rechtslsung enthlt
+	 *  		Das Array, das die Zuordnung fr die Rechtslsung enthlt
 	 */
 	private void fuelleLueckenZwischenWeissenFeldern(
-			final HashMap<Feld, Integer> feld2blockLinksloesung,
-			final HashMap<Feld, Integer> feld2blockRechtsloesung) {
+			final int[] feld2blockLinksloesung,
+			final int[] feld2blockRechtsloesung) {
 		int aktuellerBlockLinksloesung = -1;
 		int aktuellerBlockRechtsloesung = -1;
 		boolean schwarzesFeldGefunden = false;
-		ArrayList<Feld> luecke = new ArrayList<Feld>(this.reihe.size());
-		for (Feld feld : this.reihe) {
-			if (feld2blockLinksloesung.containsKey(feld)) {
-				aktuellerBlockLinksloesung = feld2blockLinksloesung.get(feld);
+		int lueckenanfang = 0;
+		int lueckengroesse = 0;
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (feld2blockLinksloesung[position] != KEIN_BLOCK) {
+				aktuellerBlockLinksloesung = feld2blockLinksloesung[position];
 				schwarzesFeldGefunden = true;
 			}
-			if (feld2blockRechtsloesung.containsKey(feld)) {
-				aktuellerBlockRechtsloesung = feld2blockRechtsloesung.get(feld);
+			if (feld2blockRechtsloesung[position] != KEIN_BLOCK) {
+				aktuellerBlockRechtsloesung = feld2blockRechtsloesung[position];
 				schwarzesFeldGefunden = true;
 			}
-			if (feld.hasStatus(Feldstatus.black)) {
+			if (this.reihe[position] == Feldstatus.black) {
 				schwarzesFeldGefunden = true;
 				continue;
 			}
-			if (feld.hasStatus(Feldstatus.unknown)) {
-				luecke.add(feld);
+			if (this.reihe[position] == Feldstatus.unknown) {
+				if (lueckengroesse == 0)
+					lueckenanfang = position;
+				lueckengroesse++;
 				continue;
 			}
-			if (feld.hasStatus(Feldstatus.white)) {
-				if (schwarzesFeldGefunden == false && !luecke.isEmpty()) {
+			if (this.reihe[position] == Feldstatus.white) {
+				if (schwarzesFeldGefunden == false && lueckengroesse > 0) {
 					// Maximale Lnge aller in Frage kommender Blcke ermitteln
 					int minimaleBlocklaenge = Integer.MAX_VALUE;
 					for (int bedingungsindex = aktuellerBlockRechtsloesung + 1;
 							bedingungsindex < aktuellerBlockLinksloesung + 1; bedingungsindex++) {
-						minimaleBlocklaenge = Math.min(minimaleBlocklaenge, this.bedingungen.get(bedingungsindex));
+						minimaleBlocklaenge = Math.min(minimaleBlocklaenge, this.block(bedingungsindex));
 					}
-					if (minimaleBlocklaenge > luecke.size()) {
-						for (Feld lueckenfeld : luecke) {
-							lueckenfeld.setStatus(Feldstatus.white);
-							this.solver.vermeldeAenderung(lueckenfeld);
+					if (minimaleBlocklaenge > lueckengroesse) {
+						for (int lueckenfeld = lueckenanfang; lueckenfeld < lueckenanfang + lueckengroesse;
+								lueckenfeld++) {
+							this.setze(lueckenfeld, Feldstatus.white);
 						}
 					}
 				}
-				luecke.clear();
+				lueckengroesse = 0;
 				schwarzesFeldGefunden = false;
 			}
 		}
@@ -340,38 +509,46 @@ class ReihenSolver {
 	 *  katastrophal.
 	 */
 	private void loesePerRekursion() {
-		for (Feld feld : this.reihe) {
-			if (!feld.hasStatus(Feldstatus.unknown)) {
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (this.reihe[position] != Feldstatus.unknown) {
 				continue;
 			}
 			
 			//Fr Seiteneffektfreiheit mssen alle nderungen im Anschluss revidiert werden!
-			feld.setStatus(Feldstatus.black);
+			this.reihe[position] = Feldstatus.black;
 			if (!this.reiheLoesbarRekursion(false)) {
-				feld.setStatus(Feldstatus.white);
-				this.solver.vermeldeAenderung(feld);
+				this.setze(position, Feldstatus.white);
 				continue;
 			}
-			feld.setStatus(Feldstatus.white);
+			this.reihe[position] = Feldstatus.white;
 			if (!this.reiheLoesbarRekursion(false)) {
-				feld.setStatus(Feldstatus.black);
-				solver.vermeldeAenderung(feld);
+				this.setze(position, Feldstatus.black);
 				continue;
 			}
-			feld.setStatus(Feldstatus.unknown); //Fr Seiteneffektfreiheit
+			this.reihe[position] = Feldstatus.unknown; //Fr Seiteneffektfreiheit
 		}
 	}
 	
 	/**
-	 * Prft, ob die Zeile lsbar sein knnte. Das Verfahren hngt vom Parameter
-	 * "Rekursionsverfahren zulssig" ab. Kann die Methode de Lsbarkeit nicht genau bestimmen,
-	 * wird im Zweifel true zurckgegeben.
+	 * Ermittelt per dynamischer Programmierung alle Felder, die in jeder Lsung der Reihe den
+	 * gleichen Status besitzen, und trgt sie in die Reihe ein. Das Ergebnis entspricht dem des
+	 * Rekursionsverfahrens, die Laufzeit ist aber nur O(Reihenlnge * Anzahl der Bedingungen).
+	 * 
+	 * @return false, wenn die Reihe unlsbar ist.
 	 */
-	boolean reiheLoesbar() {
-		if (this.solver.getOptionRekursion()) {
-			return this.reiheLoesbarRekursion(false);
+	private boolean loesePerDynamischerProgrammierung() {
+		Feldstatus[] sichereFelder = new Feldstatus[this.reihe.length];
+		if (!this.dynamischerSolver.set(this.reihe, this.bedingungen, this.bedingungsreihe)
+				|| !this.dynamischerSolver.ermittleSichereFelder(sichereFelder)) {
+			return false;
 		}
-		return this.reihePlausibel();
+		for (int position = 0; position < sichereFelder.length; position++) {
+			if (sichereFelder[position] != Feldstatus.unknown
+					&& this.reihe[position] == Feldstatus.unknown) {
+				this.setze(position, sichereFelder[position]);
+			}
+		}
+		return true;
 	}
 	
 	/**
@@ -390,36 +567,33 @@ class ReihenSolver {
 			return false;
 		
 		// Ermittle erstes "unknown"-Feld
-		Feld unknownFeld = null;
-		for (Feld feld : this.reihe) {
-			if (feld.hasStatus(Feldstatus.unknown)) {
-				unknownFeld = feld;
+		int unknownPosition = -1;
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (this.reihe[position] == Feldstatus.unknown) {
+				unknownPosition = position;
 				break;
 			}
 		}
 		
 		// Wenn Reihe komplett ausgefllt und zulssig
-		if (unknownFeld == null) {
+		if (unknownPosition == -1) {
 			if (loesungAblegen) {
-				this.loesung = new ArrayList<Feldstatus>(this.reihe.size());
-				for (Feld feld : this.reihe) {
-					this.loesung.add(feld.getStatus());
-				}
+				this.loesung = this.reihe.clone();
 			}
 			return true;
 		}
 		
-		unknownFeld.setStatus(Feldstatus.black);
+		this.reihe[unknownPosition] = Feldstatus.black;
 		if (this.reiheLoesbarRekursion(loesungAblegen)) {
-			unknownFeld.setStatus(Feldstatus.unknown);		// Fr Seiteneffektfreiheit
+			this.reihe[unknownPosition] = Feldstatus.unknown;		// Fr Seiteneffektfreiheit
 			return true;
 		}
-		unknownFeld.setStatus(Feldstatus.white);
+		this.reihe[unknownPosition] = Feldstatus.white;
 		if (this.reiheLoesbarRekursion(loesungAblegen)) {
-			unknownFeld.setStatus(Feldstatus.unknown);		// Fr Seiteneffektfreiheit
+			this.reihe[unknownPosition] = Feldstatus.unknown;		// Fr Seiteneffektfreiheit
 			return true;
 		}
-		unknownFeld.setStatus(Feldstatus.unknown);			// Fr Seiteneffektfreiheit
+		this.reihe[unknownPosition] = Feldstatus.unknown;			// Fr Seiteneffektfreiheit
 		return false;
 	}
 	
@@ -436,63 +610,127 @@ class ReihenSolver {
 			return false; // Wenn bereits ein zu langer Block eingetragen ist
 		
 		// Wir analysieren nun den Teil links des ersten "unknown"-Feldes (ersteUnknownPosition)
-		// und ermitteln dort die Blcke (bloecke) und ihre Anzahl (anzahlDerBloecke).
-		int ersteUnknownPosition = this.reihe.size();
-		ArrayList<Integer> bloecke = new ArrayList<Integer>(this.reihe.size()/2 + 1);
+		// und vergleichen die dort gefundenen Blcke direkt mit den Bedingungen.
+		// anzahlDerBloecke zhlt die bereits abgeschlossenen Blcke.
+		int ersteUnknownPosition = this.reihe.length;
+		int anzahlDerBloecke = 0;
 		int groesseDesAktuellenBlocks = 0;
 		
-		for (int position = 0; position < this.reihe.size(); position++) {
-			if (this.reihe.get(position).hasStatus(Feldstatus.unknown)) {
+		for (int position = 0; position < this.reihe.length; position++) {
+			if (this.reihe[position] == Feldstatus.unknown) {
 				ersteUnknownPosition = position;
 				break;
 			}
-			if (this.reihe.get(position).hasStatus(Feldstatus.black)) {
+			if (this.reihe[position] == Feldstatus.black) {
 				groesseDesAktuellenBlocks++;
-				if (position == this.reihe.size()-1) {
-					bloecke.add(groesseDesAktuellenBlocks);
-					groesseDesAktuellenBlocks = 0;
+				if (position != this.reihe.length-1) {
+					continue;
 				}
-				continue;
 			}
-			// Nun ist zeile.get(position).hasStatus(Feld.white)
+			// Nun ist das Feld wei oder der Block endet am Ende der Reihe
 			if (groesseDesAktuellenBlocks != 0) {
-				bloecke.add(groesseDesAktuellenBlocks);
+				if (anzahlDerBloecke == this.anzahlBloecke)
+					return false;	// Wenn mehr Blcke gefunden wurden als erlaubt
+				if (groesseDesAktuellenBlocks != this.block(anzahlDerBloecke))
+					return false;	// Wenn einer der gefundenen Blcke die falsche Gre hat
+				anzahlDerBloecke++;
 				groesseDesAktuellenBlocks = 0;
 			}
 		}
 		// groesseDesAktuellenBlocks speichert jetzt die Gre des letzten, angefangenen Blocks
 		// vor dem ersten "unknown"-Feld.
 		
-		if (bloecke.size() > this.bedingungen.size())
+		if (anzahlDerBloecke == this.anzahlBloecke && groesseDesAktuellenBlocks != 0)
 			return false;	// Wenn mehr Blcke gefunden wurden als erlaubt
-		if (bloecke.size() == this.bedingungen.size() && groesseDesAktuellenBlocks != 0)
-			return false;	// Wenn mehr Blcke gefunden wurden als erlaubt
-		if (bloecke.size() < this.bedingungen.size()
-				&& groesseDesAktuellenBlocks > this.bedingungen.get(bloecke.size()))
+		if (anzahlDerBloecke < this.anzahlBloecke
+				&& groesseDesAktuellenBlocks > this.block(anzahlDerBloecke))
 			return false;	// Wenn der letzte angefangene Block grer ist als der, der als nchstes kommen muss
-		for (int position = 0; position < bloecke.size(); position++) {
-			if (bloecke.get(position) != this.bedingungen.get(position))
-				return false;	// Wenn einer der gefundenen Blcke die falsche Gre hat
-		}
-		if (bloecke.size() < this.bedingungen.size()) {
+		if (anzahlDerBloecke < this.anzahlBloecke) {
 			int benoetigterPlatzFuerRestbloecke = 0;
-			for (int position = bloecke.size(); position < this.bedingungen.size(); position++) {
-				benoetigterPlatzFuerRestbloecke += this.bedingungen.get(position) + 1;
+			for (int position = anzahlDerBloecke; position < this.anzahlBloecke; position++) {
+				benoetigterPlatzFuerRestbloecke += this.block(position) + 1;
 			}
 			benoetigterPlatzFuerRestbloecke += -groesseDesAktuellenBlocks - 1;
-			if (this.reihe.size() - ersteUnknownPosition <  benoetigterPlatzFuerRestbloecke)
+			if (this.reihe.length - ersteUnknownPosition <  benoetigterPlatzFuerRestbloecke)
 				return false;	// Wenn fr die noch fehlenden Blcke der Platz nicht mehr reicht
 		}
 		return true;	// Wenn keine offensichtlichen Fehler gefunden wurden
 	}
 	
+	/**
+	 * Trgt einen Status in die Reihe ein und vermerkt die Position als gendert.
+	 * 
+	 * @param position
+	 * 		Die Position des Feldes innerhalb der Reihe
+	 * @param feldstatus
+	 * 		Der neue Status des Feldes
+	 */
+	private void setze(final int position, final Feldstatus feldstatus) {
+		this.reihe[position] = feldstatus;
+		this.aenderungen[this.anzahlAenderungen++] = position;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder zurck, die seit dem letzten Aufruf von this.set gendert wurden.
+	 */
+	int getAnzahlAenderungen() {
+		return this.anzahlAenderungen;
+	}
+	
+	/**
+	 * Gibt die Position eines genderten Feldes innerhalb der Reihe zurck.
+	 * 
+	 * @param index
+	 * 		Der Index der nderung, beginnend bei 0
+	 */
+	int getAenderung(final int index) {
+		return this.aenderungen[index];
+	}
+	
+	/**
+	 * Gibt die Reihenstrategie zurck, die das Feld einer nderung gesetzt hat.
+	 * 
+	 * @param index
+	 * 		Der Index der nderung, beginnend bei 0
+	 */
+	Reihenstrategie getStrategie(final int index) {
+		return this.strategien[index];
+	}
+	
+	/**
+	 * Kehrt die Reihenfolge der Eintrge eines Arrays um.
+	 * 
+	 * @param array
+	 * 		Das umzukehrende Array
+	 */
+	private static void spiegele(final Feldstatus[] array) {
+		for (int links = 0, rechts = array.length - 1; links < rechts; links++, rechts--) {
+			Feldstatus tausch = array[links];
+			array[links] = array[rechts];
+			array[rechts] = tausch;
+		}
+	}
+	
+	/**
+	 * Gibt die Lnge eines Blocks aus den Nebenbedingungen der aktuellen Reihe zurck.
+	 * Bei gespiegelter Betrachtung werden die Blcke von rechts gezhlt.
+	 * 
+	 * @param index
+	 * 		Der Index des Blocks, beginnend bei 0
+	 */
+	private int block(final int index) {
+		if (this.gespiegelt)
+			return this.bedingungen.getBlock(this.bedingungsreihe, this.anzahlBloecke - 1 - index);
+		return this.bedingungen.getBlock(this.bedingungsreihe, index);
+	}
+	
 	/**
 	 * Gibt die aktuelle Anzahl schwarzer Felder innerhalb der Reihe zurck.
 	 */
 	private int getAnzahlSchwarzerFelderReihe() {
 		int result = 0;
-		for (Feld feld : this.reihe) {
-			if (feld.hasStatus(Feldstatus.black))
+		for (Feldstatus feldstatus : this.reihe) {
+			if (feldstatus == Feldstatus.black)
 				result++;
 		}
 		return result;
@@ -504,8 +742,8 @@ class ReihenSolver {
 	private int getLaengeLaengsterBlockReihe() {
 		int result = 0;
 		int aktuelleLaenge = 0;
-		for (Feld feld : this.reihe) {
-			if (feld.hasStatus(Feldstatus.black)) {
+		for (Feldstatus feldstatus : this.reihe) {
+			if (feldstatus == Feldstatus.black) {
 				aktuelleLaenge++;
 				continue;
 			}
@@ -0,0 +1,126 @@
+package de.drake.nonogramm.solver;
+
+import java.util.concurrent.RecursiveAction;
+
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Aufgabe zur parallelen Bearbeitung mehrerer Zeilen bzw. mehrerer Spalten eines Nonogramms.
+ * Da sich Zeilen untereinander (bzw. Spalten untereinander) keine Felder teilen, knnen sie
+ * unabhngig voneinander bearbeitet werden. Das Nonogramm wird hierbei nur gelesen; die Ergebnisse
+ * werden in den bergebenen Arrays abgelegt und anschlieend vom Solver bernommen.
+ * Jede Teilaufgabe verwendet einen eigenen ReihenSolver.
+ */
+class Reihenaufgabe extends RecursiveAction {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Die Anzahl an Reihen, ab der eine Aufgabe weiter aufgeteilt wird.
+	 */
+	private static final int SCHWELLE = 4;
+	
+	/**
+	 * Der Solver, dessen Optionen fr die Bearbeitung gelten
+	 */
+	private final Solver solver;
+	
+	/**
+	 * Das Nonogramm, dessen Reihen bearbeitet werden
+	 */
+	private final Nonogramm nonogramm;
+	
+	/**
+	 * Gibt an, ob Zeilen (true) oder Spalten (false) bearbeitet werden.
+	 */
+	private final boolean zeilen;
+	
+	/**
+	 * Die Indizes der zu bearbeitenden Reihen
+	 */
+	private final int[] reihen;
+	
+	/**
+	 * Der erste Eintrag aus this.reihen, den diese Aufgabe bearbeitet
+	 */
+	private final int von;
+	
+	/**
+	 * Der erste Eintrag aus this.reihen, den diese Aufgabe nicht mehr bearbeitet
+	 */
+	private final int bis;
+	
+	/**
+	 * Die bearbeiteten Reihen, in derselben Reihenfolge wie this.reihen
+	 */
+	private final Feldstatus[][] ergebnisse;
+	
+	/**
+	 * Die Positionen der genderten Felder jeder bearbeiteten Reihe; null bei unlsbaren Reihen.
+	 */
+	private final int[][] aenderungen;
+	
+	/**
+	 * Die Reihenstrategien zu den Eintrgen von this.aenderungen, bzw. null, wenn sie nicht bentigt
+	 * werden
+	 */
+	private final Reihenstrategie[][] strategien;
+	
+	/**
+	 * Erzeugt eine Aufgabe zur Bearbeitung der Reihen this.reihen[von] bis this.reihen[bis-1].
+	 */
+	Reihenaufgabe(final Solver solver, final Nonogramm nonogramm, final boolean zeilen,
+			final int[] reihen, final int von, final int bis, final Feldstatus[][] ergebnisse,
+			final int[][] aenderungen, final Reihenstrategie[][] strategien) {
+		this.solver = solver;
+		this.nonogramm = nonogramm;
+		this.zeilen = zeilen;
+		this.reihen = reihen;
+		this.von = von;
+		this.bis = bis;
+		this.ergebnisse = ergebnisse;
+		this.aenderungen = aenderungen;
+		this.strategien = strategien;
+	}
+	
+	@Override
+	protected void compute() {
+		if (this.bis - this.von > SCHWELLE) {
+			int mitte = (this.von + this.bis) >>> 1;
+			invokeAll(new Reihenaufgabe(this.solver, this.nonogramm, this.zeilen, this.reihen,
+					this.von, mitte, this.ergebnisse, this.aenderungen, this.strategien),
+					new Reihenaufgabe(this.solver, this.nonogramm, this.zeilen, this.reihen,
+					mitte, this.bis, this.ergebnisse, this.aenderungen, this.strategien));
+			return;
+		}
+		ReihenSolver reihensolver = new ReihenSolver(this.solver);
+		for (int index = this.von; index < this.bis; index++) {
+			int reihenindex = this.reihen[index];
+			Feldstatus[] reihe;
+			if (this.zeilen) {
+				reihe = new Feldstatus[this.nonogramm.getBreite()];
+				this.nonogramm.getZeile(reihenindex, reihe);
+				reihensolver.set(reihe, this.nonogramm.getLinkeBedingungen(), reihenindex);
+			} else {
+				reihe = new Feldstatus[this.nonogramm.getHoehe()];
+				this.nonogramm.getSpalte(reihenindex, reihe);
+				reihensolver.set(reihe, this.nonogramm.getObereBedingungen(), reihenindex);
+			}
+			this.ergebnisse[index] = reihe;
+			if (!reihensolver.bearbeiteReihe())
+				continue;
+			int[] geaendert = new int[reihensolver.getAnzahlAenderungen()];
+			for (int aenderung = 0; aenderung < geaendert.length; aenderung++) {
+				geaendert[aenderung] = reihensolver.getAenderung(aenderung);
+			}
+			this.aenderungen[index] = geaendert;
+			if (this.strategien == null)
+				continue;
+			this.strategien[index] = new Reihenstrategie[geaendert.length];
+			for (int aenderung = 0; aenderung < geaendert.length; aenderung++) {
+				this.strategien[index][aenderung] = reihensolver.getStrategie(aenderung);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,317 @@
+package de.drake.nonogramm.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+
+/**
+ * Begrenzter Zwischenspeicher fr die Ergebnisse des ReihenSolvers. Dieselbe Kombination aus
+ * Bedingungen und teilweise gefllter Reihe wird beim Lsen vielfach bearbeitet, insbesondere bei
+ * den Versuchen des Trial-And-Error-Verfahrens, die stets vom gleichen Stand des Nonogramms ausgehen.
+ * Der Zwischenspeicher ist threadsicher und kann daher von allen Solvern eines Probenlaufs gemeinsam
+ * verwendet werden. Er ist in Segmente aufgeteilt, die jeweils fr sich gesperrt werden und bei
+ * berschreiten ihrer Kapazitt den am lngsten nicht verwendeten Eintrag verdrngen.
+ */
+public class Reihencache {
+	
+	/**
+	 * Die Kapazitt, mit der jeder Solver standardmig seinen Zwischenspeicher anlegt.
+	 */
+	public static final int STANDARDKAPAZITAET = 1 << 16;
+	
+	/**
+	 * Die Anzahl der Segmente
+	 */
+	private static final int ANZAHL_SEGMENTE = 16;
+	
+	/**
+	 * Ergebnis fr Reihen, die unlsbar sind. Wird nur ber die Identitt verglichen.
+	 */
+	static final int[] UNLOESBAR = new int[0];
+	
+	/**
+	 * Die Segmente des Zwischenspeichers
+	 */
+	private final Segment[] segmente = new Segment[ANZAHL_SEGMENTE];
+	
+	/**
+	 * Die Anzahl der Abfragen, zu denen ein Ergebnis vorlag
+	 */
+	private final AtomicLong treffer = new AtomicLong();
+	
+	/**
+	 * Die Anzahl der Abfragen, zu denen kein Ergebnis vorlag
+	 */
+	private final AtomicLong fehlschlaege = new AtomicLong();
+	
+	/**
+	 * Erzeugt einen leeren Zwischenspeicher.
+	 * 
+	 * @param kapazitaet
+	 * 		Die Anzahl der Ergebnisse, die hchstens gespeichert werden
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Kapazitt kleiner als 1 ist
+	 */
+	public Reihencache(final int kapazitaet) throws IllegalArgumentException {
+		if (kapazitaet < 1)
+			throw new IllegalArgumentException("Die Kapazitt muss mindestens 1 betragen!");
+		int segmentkapazitaet = Math.max(1, kapazitaet / ANZAHL_SEGMENTE);
+		for (int segment = 0; segment < ANZAHL_SEGMENTE; segment++) {
+			this.segmente[segment] = new Segment(segmentkapazitaet);
+		}
+	}
+	
+	/**
+	 * Gibt das gespeicherte Ergebnis zu einem Schlssel zurck.
+	 * 
+	 * @param schluessel
+	 * 		Der Schlssel der Reihe
+	 * 
+	 * @return die nderungen an der Reihe (siehe ReihenSolver), Reihencache.UNLOESBAR fr eine
+	 * unlsbare Reihe oder null, wenn kein Ergebnis gespeichert ist
+	 */
+	int[] gib(final Schluessel schluessel) {
+		Segment segment = this.getSegment(schluessel);
+		int[] ergebnis;
+		synchronized (segment) {
+			ergebnis = segment.get(schluessel);
+		}
+		if (ergebnis == null) {
+			this.fehlschlaege.incrementAndGet();
+		} else {
+			this.treffer.incrementAndGet();
+		}
+		return ergebnis;
+	}
+	
+	/**
+	 * Speichert das Ergebnis zu einem Schlssel.
+	 * 
+	 * @param schluessel
+	 * 		Der Schlssel der Reihe. Darf danach nicht mehr verndert werden.
+	 * @param ergebnis
+	 * 		Die nderungen an der Reihe bzw. Reihencache.UNLOESBAR
+	 */
+	void speichere(final Schluessel schluessel, final int[] ergebnis) {
+		Segment segment = this.getSegment(schluessel);
+		synchronized (segment) {
+			segment.put(schluessel, ergebnis);
+		}
+	}
+	
+	/**
+	 * Entfernt alle gespeicherten Ergebnisse und setzt die Statistik zurck.
+	 */
+	public void leere() {
+		for (Segment segment : this.segmente) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		this.treffer.set(0);
+		this.fehlschlaege.set(0);
+	}
+	
+	/**
+	 * Gibt die Anzahl der gespeicherten Ergebnisse zurck.
+	 */
+	public int getGroesse() {
+		int groesse = 0;
+		for (Segment segment : this.segmente) {
+			synchronized (segment) {
+				groesse += segment.size();
+			}
+		}
+		return groesse;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Abfragen zurck, zu denen ein Ergebnis vorlag.
+	 */
+	public long getAnzahlTreffer() {
+		return this.treffer.get();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Abfragen zurck, zu denen kein Ergebnis vorlag.
+	 */
+	public long getAnzahlFehlschlaege() {
+		return this.fehlschlaege.get();
+	}
+	
+	/**
+	 * Gibt den Anteil der Abfragen zurck, zu denen ein Ergebnis vorlag (0 bei noch keiner Abfrage).
+	 */
+	public double getTrefferquote() {
+		long treffer = this.treffer.get();
+		long abfragen = treffer + this.fehlschlaege.get();
+		return abfragen == 0 ? 0 : (double) treffer / abfragen;
+	}
+	
+	@Override
+	public String toString() {
+		return this.getGroesse() + " Eintrge, " + this.getAnzahlTreffer() + " Treffer, "
+				+ this.getAnzahlFehlschlaege() + " Fehlschlge";
+	}
+	
+	/**
+	 * Gibt das Segment zurck, in dem der Schlssel abgelegt wird.
+	 */
+	private Segment getSegment(final Schluessel schluessel) {
+		int hash = schluessel.hashCode();
+		return this.segmente[(hash ^ (hash >>> 16)) & (ANZAHL_SEGMENTE - 1)];
+	}
+	
+	/**
+	 * Ein Segment des Zwischenspeichers: eine nach Zugriffsreihenfolge sortierte Map, die bei
+	 * berschreiten ihrer Kapazitt den am lngsten nicht verwendeten Eintrag entfernt.
+	 */
+	private static class Segment extends LinkedHashMap<Schluessel, int[]> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Die Anzahl der Eintrge, die das Segment hchstens enthlt
+		 */
+		private final int kapazitaet;
+		
+		/**
+		 * Erzeugt ein leeres Segment.
+		 * 
+		 * @param kapazitaet
+		 * 		Die Anzahl der Eintrge, die das Segment hchstens enthlt
+		 */
+		Segment(final int kapazitaet) {
+			super(16, 0.75f, true);
+			this.kapazitaet = kapazitaet;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Schluessel, int[]> eldest) {
+			return this.size() > this.kapazitaet;
+		}
+	}
+	
+	/**
+	 * Der Schlssel einer Reihe: die Bedingungen (ber ihre Identitt) und der Index der Reihe
+	 * darin, das Lsungsverfahren sowie die Feldstati der Reihe mit je zwei Bit pro Feld.
+	 * Ein ReihenSolver verwendet fr Abfragen stets dasselbe Schlsselobjekt und speichert eine Kopie.
+	 */
+	static final class Schluessel {
+		
+		/**
+		 * Die Anzahl der Felder, die in einem long kodiert werden
+		 */
+		private static final int FELDER_PRO_WORT = 32;
+		
+		/**
+		 * Die Bedingungen, zu denen die Reihe gehrt
+		 */
+		private Bedingungen bedingungen;
+		
+		/**
+		 * Der Index der Reihe innerhalb von this.bedingungen
+		 */
+		private int bedingungsreihe;
+		
+		/**
+		 * Kennzahl des Lsungsverfahrens, da die Verfahren unterschiedlich viele Felder ermitteln
+		 */
+		private int verfahren;
+		
+		/**
+		 * Die Lnge der Reihe
+		 */
+		private int laenge;
+		
+		/**
+		 * Die Feldstati der Reihe: 0 fr unbekannt, 1 fr schwarz und 2 fr wei
+		 */
+		private long[] kodierung = new long[1];
+		
+		/**
+		 * Der vorab berechnete Hashwert
+		 */
+		private int hash;
+		
+		/**
+		 * Belegt den Schlssel mit einer Reihe.
+		 * 
+		 * @param bedingungen
+		 * 		Die Bedingungen, zu denen die Reihe gehrt
+		 * @param bedingungsreihe
+		 * 		Der Index der Reihe innerhalb der Bedingungen
+		 * @param verfahren
+		 * 		Kennzahl des Lsungsverfahrens
+		 * @param reihe
+		 * 		Die Feldstati der Reihe
+		 */
+		void setze(final Bedingungen bedingungen, final int bedingungsreihe, final int verfahren,
+				final Feldstatus[] reihe) {
+			this.bedingungen = bedingungen;
+			this.bedingungsreihe = bedingungsreihe;
+			this.verfahren = verfahren;
+			this.laenge = reihe.length;
+			int anzahlWoerter = (reihe.length + FELDER_PRO_WORT - 1) / FELDER_PRO_WORT;
+			if (this.kodierung.length != anzahlWoerter)
+				this.kodierung = new long[anzahlWoerter];
+			int hash = System.identityHashCode(bedingungen) * 31 + bedingungsreihe;
+			hash = hash * 31 + verfahren;
+			for (int wort = 0; wort < anzahlWoerter; wort++) {
+				long bits = 0;
+				int ende = Math.min(reihe.length, (wort + 1) * FELDER_PRO_WORT);
+				for (int position = wort * FELDER_PRO_WORT; position < ende; position++) {
+					if (reihe[position] == Feldstatus.black) {
+						bits |= 1L << (2 * (position % FELDER_PRO_WORT));
+					} else if (reihe[position] == Feldstatus.white) {
+						bits |= 2L << (2 * (position % FELDER_PRO_WORT));
+					}
+				}
+				this.kodierung[wort] = bits;
+				hash = hash * 31 + (int) (bits ^ (bits >>> 32));
+			}
+			this.hash = hash;
+		}
+		
+		/**
+		 * Gibt eine unabhngige Kopie des Schlssels zurck.
+		 */
+		Schluessel kopiere() {
+			Schluessel kopie = new Schluessel();
+			kopie.bedingungen = this.bedingungen;
+			kopie.bedingungsreihe = this.bedingungsreihe;
+			kopie.verfahren = this.verfahren;
+			kopie.laenge = this.laenge;
+			kopie.kodierung = this.kodierung.clone();
+			kopie.hash = this.hash;
+			return kopie;
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+		@Override
+		public boolean equals(final Object objekt) {
+			if (this == objekt)
+				return true;
+			if (!(objekt instanceof Schluessel))
+				return false;
+			Schluessel schluessel = (Schluessel) objekt;
+			if (this.hash != schluessel.hash || this.bedingungen != schluessel.bedingungen
+					|| this.bedingungsreihe != schluessel.bedingungsreihe
+					|| this.verfahren != schluessel.verfahren || this.laenge != schluessel.laenge)
+				return false;
+			for (int wort = 0; wort < this.kodierung.length; wort++) {
+				if (this.kodierung[wort] != schluessel.kodierung[wort])
+					return false;
+			}
+			return true;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der die Teilverfahren des ReihenSolvers abbildet, fr die Solvermetriken die
+ * Anzahl der Anwendungen und der dabei gesetzten Felder erfassen.
+ */
+public enum Reihenstrategie {
+	/**
+	 * Felder, die in Links- und Rechtslsung zum gleichen Block gehren, werden schwarz.
+	 */
+	ueberlappung,
+	
+	/**
+	 * Blcke, die ihre grtmgliche Lnge erreicht haben, werden mit weien Feldern abgeschlossen.
+	 */
+	blockabschluss,
+	
+	/**
+	 * Felder, die in Links- und Rechtslsung an der gleichen Stelle wei sind, werden wei.
+	 */
+	weisseFelder,
+	
+	/**
+	 * Lcken zwischen weien Feldern, in die kein Block passt, werden wei aufgefllt.
+	 */
+	lueckenfuellung,
+	
+	/**
+	 * Sukzessives Ausprobieren aller unbekannten Felder (Lsungsverfahren B per Rekursion)
+	 */
+	rekursion,
+	
+	/**
+	 * Ermittlung aller sicheren Felder per dynamischer Programmierung (Lsungsverfahren B)
+	 */
+	dynamischeProgrammierung,
+	
+	/**
+	 * bernahme eines Ergebnisses aus dem Zwischenspeicher des Solvers
+	 */
+	zwischenspeicher ;
+}
\ No newline at end of file
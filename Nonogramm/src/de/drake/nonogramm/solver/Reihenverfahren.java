@@ -0,0 +1,19 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der das Verfahren abbildet, mit dem der ReihenSolver bei gesetzter Option
+ * "Rekursionsverfahren zulssig" alle sicheren Felder einer Reihe ermittelt.
+ */
+public enum Reihenverfahren {
+	/**
+	 * Sukzessives Ausprobieren aller unbekannten Felder. Die Laufzeit wchst im schlechtesten Fall
+	 * exponentiell mit der Reihenlnge.
+	 */
+	rekursion,
+	
+	/**
+	 * Dynamische Programmierung ber Prfix- und Suffix-Erreichbarkeitstabellen. Die Laufzeit
+	 * betrgt O(Reihenlnge * Anzahl der Bedingungen).
+	 */
+	dynamischeProgrammierung;
+}
\ No newline at end of file
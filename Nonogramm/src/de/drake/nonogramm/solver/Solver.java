@@ -1,11 +1,15 @@
 package de.drake.nonogramm.solver;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import de.drake.nonogramm.model.Feld;
 import de.drake.nonogramm.model.Feldstatus;
 import de.drake.nonogramm.model.Nonogramm;
-import de.drake.nonogramm.tools.Tools;
 
 /**
  * Bereitstellung von Lsungsverfahren zu Nonogrammen
@@ -18,25 +22,148 @@ public class Solver {
 	private Nonogramm nonogramm;
 
 	/**
-	 * Gibt an, in welchen Zeilen seit der letzten Bearbeitung nderungen stattgefunden haben.
+	 * Die Zeilen und Spalten, in denen seit ihrer letzten Bearbeitung nderungen stattgefunden haben.
 	 */
-	private ArrayList<Boolean> zeileIstInteressant;
+	private Arbeitsliste arbeitsliste;
 	
 	/**
-	 * Gibt an, in welchen Spalten seit der letzten Bearbeitung nderungen stattgefunden haben.
+	 * Gibt an, ob bei der Bearbeitung eine unlsbare Zeile oder Spalte gefunden wurde.
 	 */
-	private ArrayList<Boolean> spalteIstInteressant;
+	private boolean widerspruch = false;
+	
+	/**
+	 * Die Anzahl der bisher durchgefhrten Zeilen- bzw. Spaltenbearbeitungen (inklusive der
+	 * Bearbeitungen im Rahmen des Trial-And-Error-Verfahrens).
+	 */
+	private long anzahlReihenbearbeitungen = 0;
 	
 	/**
 	 * Option, ob die Verwendung des Rekursionsverfahrens zur Lsung von Zeilen/Spalten zulssig ist.
 	 */
 	private boolean optionRekursion;
 	
+	/**
+	 * Das Verfahren, mit dem bei gesetzter Option "Rekursionsverfahren zulssig" die sicheren
+	 * Felder einer Reihe ermittelt werden.
+	 */
+	private Reihenverfahren reihenverfahren = Reihenverfahren.dynamischeProgrammierung;
+	
 	/**
 	 * Modul zur Lsung von Reihen (d.h. Nonogrammzeilen oder -spalten).
 	 */
 	private ReihenSolver reihensolver = new ReihenSolver(this);
 	
+	/**
+	 * Das Verfahren, mit dem Nonogramme durchsucht werden, die sich nicht allein durch
+	 * Schlussfolgerungen lsen lassen.
+	 */
+	private Suchverfahren suchverfahren = Suchverfahren.tiefensuche;
+	
+	/**
+	 * Der Thread-Pool fr die parallele Bearbeitung von Zeilen und Spalten, bzw. null, wenn
+	 * Zeilen und Spalten nacheinander bearbeitet werden.
+	 */
+	private ForkJoinPool pool = null;
+	
+	/**
+	 * Der Zwischenspeicher fr die Ergebnisse der Reihenbearbeitung, bzw. null, wenn jede Reihe
+	 * neu gelst wird. Wird mit allen Solvern geteilt, die Versuche fr diesen Solver durchfhren.
+	 */
+	private Reihencache reihencache = new Reihencache(Reihencache.STANDARDKAPAZITAET);
+	
+	/**
+	 * Das Protokoll aller Felder, die seit Beginn ber this.vermeldeAenderung als gendert gemeldet
+	 * wurden, jeweils als zeile * Breite + spalte. Erlaubt es, Versuche des Trial-And-Error-Verfahrens
+	 * direkt im Nonogramm durchzufhren und anschlieend wieder rckgngig zu machen.
+	 */
+	private int[] protokoll = new int[64];
+	
+	/**
+	 * Die Anzahl der gltigen Eintrge in this.protokoll
+	 */
+	private int protokolllaenge = 0;
+	
+	/**
+	 * Die Arbeitsliste, die whrend eines Versuchs anstelle von this.arbeitsliste verwendet wird.
+	 * Wird erst beim ersten Versuch erzeugt.
+	 */
+	private Arbeitsliste versuchsliste = null;
+	
+	/**
+	 * Die bei der letzten Tiefensuche gefundenen Lsungen
+	 */
+	private List<Nonogramm> loesungen = new ArrayList<Nonogramm>();
+	
+	/**
+	 * Die Anzahl der bisher in Tiefensuchen getroffenen Entscheidungen
+	 */
+	private long anzahlEntscheidungen = 0;
+	
+	/**
+	 * Die Anzahl der bisher durchgefhrten Versuche des Trial-And-Error-Verfahrens
+	 */
+	private long anzahlVersuche = 0;
+	
+	/**
+	 * Wird gesetzt, wenn die Lsung abgebrochen werden soll. Wird mit allen Solvern geteilt, die
+	 * Versuche fr diesen Solver durchfhren.
+	 */
+	private AtomicBoolean abbruch = new AtomicBoolean(false);
+	
+	/**
+	 * Der Probenlauf, fr den dieser Solver einen Versuch bearbeitet, bzw. null
+	 */
+	private Probenlauf probenlauf = null;
+	
+	/**
+	 * Die Nummer des Feldes, dessen Versuch dieser Solver innerhalb von this.probenlauf bearbeitet
+	 */
+	private int kandidat;
+	
+	/**
+	 * Puffer, in den die aktuell bearbeitete Zeile aus dem Nonogramm gelesen wird.
+	 */
+	private Feldstatus[] zeilenpuffer;
+	
+	/**
+	 * Puffer, in den die aktuell bearbeitete Spalte aus dem Nonogramm gelesen wird.
+	 */
+	private Feldstatus[] spaltenpuffer;
+	
+	/**
+	 * Die Ablaufverfolgung, bzw. null, wenn die Arbeitsschritte nicht gemeldet werden sollen
+	 */
+	private Ablaufverfolgung ablaufverfolgung = null;
+	
+	/**
+	 * Die Ordinalzahl der Stufe von this.ablaufverfolgung, bzw. -1 ohne Ablaufverfolgung. Wird
+	 * zwischengespeichert, damit eine abgeschaltete Verfolgung nur einen Vergleich kostet.
+	 */
+	private int verfolgungsstufe = -1;
+	
+	/**
+	 * Die Metriken, in die der Solver seine Arbeit erfasst. Standardmig Solvermetriken.STANDARD;
+	 * null, wenn die Erfassung per setMetriken(null) abgeschaltet wurde.
+	 */
+	private Solvermetriken metriken = Solvermetriken.STANDARD;
+	
+	/**
+	 * Der Feldbeobachter, an den die nderungen des Nonogramms gemeldet werden, bzw. null
+	 */
+	private Feldbeobachter feldbeobachter = null;
+	
+	/**
+	 * Die noch nicht an this.feldbeobachter gemeldeten nderungen. Die letzten Eintrge gehren
+	 * jeweils zu den Eintrgen des Protokolls ab this.gemeldeteProtokolllaenge, so dass sie bei der
+	 * Rcknahme eines Versuchs ebenfalls verworfen werden knnen.
+	 */
+	private List<Feldaenderung> feldaenderungen = new ArrayList<Feldaenderung>();
+	
+	/**
+	 * Die Lnge des Protokolls zum Zeitpunkt der letzten Meldung an this.feldbeobachter
+	 */
+	private int gemeldeteProtokolllaenge = 0;
+	
 	/**
 	 * Erzeugt und initialisiert einen Solver zur Lsung eines Nonogramms.
 	 * 
@@ -46,88 +173,505 @@ public class Solver {
 	 * 		Gibt an, ob die Option "Rekursionsverfahren zulssig" gesetzt werden soll.
 	 */
 	public Solver(final Nonogramm nonogramm, final boolean optionRekursion) {
-		this.nonogramm = nonogramm;
-		this.zeileIstInteressant = new ArrayList<Boolean>(this.nonogramm.getHoehe());
-		for (int position = 0; position < this.nonogramm.getHoehe(); position++) {
-			this.zeileIstInteressant.add(true);
-		}
-		this.spalteIstInteressant = new ArrayList<Boolean>(this.nonogramm.getBreite());
-		for (int position = 0; position < this.nonogramm.getBreite(); position++) {
-			this.spalteIstInteressant.add(true);
-		}
+		this(nonogramm, Prioritaet.reihenfolge);
+		this.arbeitsliste.vermerkeAlle();
 		this.optionRekursion = optionRekursion;
 	}
 	
 	/**
-	 * Erzeugt und initialisiert einen Solver zur Lsung eines Nonogramms.
+	 * Erzeugt und initialisiert einen Solver mit leerer Arbeitsliste.
 	 * 
 	 * @param nonogramm
 	 * 		Das Nonogramm, das vom Solver gelst werden soll
-	 * @param zeileIstInteressant
-	 * 		Eine Liste, welche der Zeilen derzeit interessant sind
-	 * @param spalteIstInteressant
-	 * 		Eine Liste, welche der Spalten derzeit interessant sind
+	 * @param prioritaet
+	 * 		Die Reihenfolge, in der genderte Zeilen und Spalten bearbeitet werden
 	 */
-	private Solver(final Nonogramm nonogramm, final ArrayList<Boolean> zeileIstInteressant,
-			final ArrayList<Boolean> spalteIstInteressant) {
+	private Solver(final Nonogramm nonogramm, final Prioritaet prioritaet) {
 		this.nonogramm = nonogramm;
-		this.zeileIstInteressant = zeileIstInteressant;
-		this.spalteIstInteressant = spalteIstInteressant;
+		this.arbeitsliste = new Arbeitsliste(nonogramm, prioritaet);
+		this.zeilenpuffer = new Feldstatus[this.nonogramm.getBreite()];
+		this.spaltenpuffer = new Feldstatus[this.nonogramm.getHoehe()];
 	}
 	
 	/**
 	 * Lst das Nonogramm soweit wie mglich ohne Verwendung des Trial-And-Error-Verfahrens.
+	 * Es werden so lange genderte Zeilen und Spalten bearbeitet, bis keine nderungen mehr
+	 * anstehen oder ein Widerspruch gefunden wurde.
 	 */
 	public void loeseEinfach() {
-		while (!this.nonogramm.istVollstaendig() && !(Tools.keine(this.zeileIstInteressant)
-				&& Tools.keine(this.spalteIstInteressant)) && this.alleZeilenUndSpaltenPlausibel()) {
-			this.bearbeiteZeilen();
-			this.bearbeiteSpalten();
+		if (this.metriken != null)
+			this.metriken.vermerkePropagation();
+		Object ereignis = Flugschreiber.INSTANZ == null ? null : Flugschreiber.INSTANZ.beginnePropagation();
+		if (ereignis == null) {
+			this.propagiere();
+			this.liefereAenderungen();
+			return;
 		}
+		long reihenVorher = this.anzahlReihenbearbeitungen;
+		int felderVorher = this.protokolllaenge;
+		this.propagiere();
+		Flugschreiber.INSTANZ.beendePropagation(ereignis, this.anzahlReihenbearbeitungen - reihenVorher,
+				this.protokolllaenge - felderVorher, this.widerspruch);
+		this.liefereAenderungen();
 	}
 	
 	/**
-	 * Lst das Nonogramm so weit wie mglich mit Bercksichtigung des Trial-And-Error-Verfahrens.
+	 * Bearbeitet genderte Zeilen und Spalten wie this.loeseEinfach(), aber ohne Erfassung in den
+	 * Metriken und im Flugschreiber.
+	 */
+	private void propagiere() {
+		if (this.pool != null) {
+			// Abwechselnd alle genderten Zeilen und alle genderten Spalten parallel bearbeiten
+			while (!this.widerspruch && !this.arbeitsliste.istLeer() && !this.istAbgebrochen()) {
+				this.bearbeiteZeilen();
+				if (!this.widerspruch)
+					this.bearbeiteSpalten();
+			}
+			return;
+		}
+		while (!this.widerspruch && !this.arbeitsliste.istLeer() && !this.istAbgebrochen()) {
+			int reihe = this.arbeitsliste.entnehme();
+			int anzahlZeilen = this.arbeitsliste.getAnzahlZeilen();
+			if (reihe < anzahlZeilen) {
+				this.bearbeiteZeile(reihe);
+			} else {
+				this.bearbeiteSpalte(reihe - anzahlZeilen);
+			}
+		}
+	}
+	
+	/**
+	 * Lst das Nonogramm mit Bercksichtigung des Trial-And-Error-Verfahrens. Fhrt das
+	 * Trial-And-Error-Verfahren zu keinem weiteren Ergebnis, wird die Lsung per this.suche(1)
+	 * ermittelt. Nach Abschluss ist das Nonogramm daher entweder vollstndig gelst, oder es
+	 * besitzt keine Lsung (siehe this.hatWiderspruch()) - es sei denn, die Lsung wurde per
+	 * this.abbrechen() abgebrochen.
 	 */
 	public void loese() {
+		long start = System.nanoTime();
+		this.loeseMitTrialAndError();
+		if (this.metriken != null)
+			this.metriken.vermerkeLoesung(System.nanoTime() - start);
+	}
+	
+	/**
+	 * Lst das Nonogramm wie this.loese(), aber ohne Erfassung der Dauer.
+	 */
+	private void loeseMitTrialAndError() {
 		while (!this.nonogramm.istVollstaendig()) {
-			this.bearbeiteZeilen();
-			this.bearbeiteSpalten();
-			if (Tools.keine(this.zeileIstInteressant) && Tools.keine(this.spalteIstInteressant)
-					&& !this.nonogramm.istVollstaendig()) {
-				if (this.trialAndError() == false)
+			this.loeseEinfach();
+			if (this.widerspruch || this.istAbgebrochen())
+				return;
+			if (!this.nonogramm.istVollstaendig()) {
+				// Beim Klausellernen bernimmt die Suche selbst die Rolle des Trial-And-Error-Verfahrens.
+				if (this.suchverfahren == Suchverfahren.klausellernen || this.trialAndError() == false) {
+					if (!this.istAbgebrochen())
+						this.suche(1);
 					return;
+				}
 			}
 		}
 	}
 	
+	/**
+	 * Durchsucht alle Belegungen der unbekannten Felder nach Lsungen des Nonogramms. Das Verfahren
+	 * richtet sich nach this.suchverfahren.
+	 * Die gefundenen Lsungen knnen ber this.getLoesungen() abgefragt werden. Die erste gefundene
+	 * Lsung wird in das Nonogramm bernommen; wurde keine Lsung gefunden, wird ein Widerspruch
+	 * vermerkt. Wird die Suche per this.abbrechen() abgebrochen, bleiben die bis dahin gefundenen
+	 * Lsungen erhalten, es wird aber kein Widerspruch vermerkt.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Suche beendet wird. Bei 1 endet die Suche mit
+	 * 		der ersten Lsung, bei Integer.MAX_VALUE werden alle Lsungen gesucht.
+	 * 
+	 * @return die Anzahl der gefundenen Lsungen
+	 */
+	public int suche(final int maxLoesungen) {
+		if (maxLoesungen < 1)
+			throw new IllegalArgumentException("Es muss mindestens eine Lsung gesucht werden!");
+		int anzahlLoesungen;
+		if (this.suchverfahren == Suchverfahren.klausellernen) {
+			anzahlLoesungen = this.sucheMitKlausellernen(maxLoesungen);
+		} else {
+			anzahlLoesungen = this.sucheInDerTiefe(maxLoesungen);
+		}
+		this.liefereAenderungen();
+		return anzahlLoesungen;
+	}
+	
+	/**
+	 * Zhlt die Lsungen des Nonogramms bis zur angegebenen Hchstzahl, z.B. um mit
+	 * zaehleLoesungen(2) zu prfen, ob ein Nonogramm eindeutig lsbar ist.
+	 * Die Zhlung erfolgt per this.suche() mit den Optionen dieses Solvers, aber auf einer Kopie des
+	 * Nonogramms, so dass das Nonogramm selbst unverndert bleibt.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Zhlung beendet wird. Muss mindestens 2 sein, da
+	 * 		sich sonst eine eindeutige nicht von einer mehrdeutigen Lsung unterscheiden lsst.
+	 * 
+	 * @return das Ergebnis der Zhlung inklusive der gefundenen Lsungen
+	 */
+	public Loesungszaehlung zaehleLoesungen(final int maxLoesungen) {
+		if (maxLoesungen < 2)
+			throw new IllegalArgumentException("Es mssen mindestens zwei Lsungen gezhlt werden!");
+		Solver zaehler = this.erzeugeProbensolver();
+		zaehler.arbeitsliste.vermerkeAlle();
+		zaehler.widerspruch = this.widerspruch;
+		zaehler.optionRekursion = this.optionRekursion;
+		zaehler.reihenverfahren = this.reihenverfahren;
+		zaehler.suchverfahren = this.suchverfahren;
+		zaehler.pool = this.pool;
+		if (!zaehler.widerspruch)
+			zaehler.suche(maxLoesungen);
+		this.anzahlEntscheidungen += zaehler.anzahlEntscheidungen;
+		this.anzahlReihenbearbeitungen += zaehler.anzahlReihenbearbeitungen;
+		this.anzahlVersuche += zaehler.anzahlVersuche;
+		return new Loesungszaehlung(maxLoesungen, zaehler.getLoesungen(), this.istAbgebrochen());
+	}
+	
+	/**
+	 * Durchsucht die unbekannten Felder per konfliktgesteuertem Klausellernen (siehe KonfliktSolver).
+	 * Zuvor wird das Nonogramm mit this.loeseEinfach() so weit wie mglich gelst.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Suche beendet wird
+	 * 
+	 * @return die Anzahl der gefundenen Lsungen
+	 */
+	private int sucheMitKlausellernen(final int maxLoesungen) {
+		this.loesungen = new ArrayList<Nonogramm>();
+		this.loeseEinfach();
+		if (this.widerspruch)
+			return 0;
+		if (this.istAbgebrochen())
+			return 0;
+		if (this.verfolgt(Verfolgungsstufe.phase))
+			this.ablaufverfolgung.meldePhase("Suche per Klausellernen");
+		KonfliktSolver konfliktSolver = new KonfliktSolver(this.nonogramm, this.abbruch);
+		konfliktSolver.suche(maxLoesungen);
+		this.anzahlEntscheidungen += konfliktSolver.getAnzahlEntscheidungen();
+		this.anzahlReihenbearbeitungen += konfliktSolver.getAnzahlReihenbearbeitungen();
+		if (this.verfolgt(Verfolgungsstufe.phase))
+			this.ablaufverfolgung.meldePhase("Klausellernen: " + konfliktSolver.getAnzahlKonflikte()
+					+ " Konflikte, " + konfliktSolver.getAnzahlNeustarts() + " Neustarts");
+		if (this.metriken != null)
+			this.metriken.vermerkeKlausellernen(konfliktSolver.getAnzahlKonflikte(),
+					konfliktSolver.getAnzahlNeustarts());
+		this.loesungen = konfliktSolver.getLoesungen();
+		if (this.loesungen.isEmpty()) {
+			if (!this.istAbgebrochen())
+				this.widerspruch = true;
+		} else {
+			this.uebernehmeLoesung(this.loesungen.get(0));
+		}
+		return this.loesungen.size();
+	}
+	
+	/**
+	 * Durchsucht alle Belegungen der unbekannten Felder per Tiefensuche nach Lsungen des Nonogramms.
+	 * Nach jeder Entscheidung wird das Nonogramm mit this.loeseEinfach() und
+	 * this.folgereAusVersuchen() so weit wie mglich gelst; fhrt dies zu einem Widerspruch,
+	 * werden die nderungen seit der Entscheidung anhand des Protokolls zurckgenommen und die
+	 * Alternative versucht.
+	 * Entschieden wird jeweils das erste unbekannte Feld der Zeile bzw. Spalte mit den wenigsten
+	 * unbekannten Feldern, wobei zuerst schwarz und dann wei versucht wird.
+	 * 
+	 * @param maxLoesungen
+	 * 		Die Anzahl der Lsungen, nach der die Suche beendet wird
+	 * 
+	 * @return die Anzahl der gefundenen Lsungen
+	 */
+	private int sucheInDerTiefe(final int maxLoesungen) {
+		this.loesungen = new ArrayList<Nonogramm>();
+		this.loeseEinfach();
+		if (this.verfolgt(Verfolgungsstufe.phase))
+			this.ablaufverfolgung.meldePhase("Suche in der Tiefe");
+		int anzahlFelder = this.nonogramm.getHoehe() * this.nonogramm.getBreite();
+		int[] marken = new int[anzahlFelder];
+		int[] felder = new int[anzahlFelder];
+		boolean[] alternativeVersucht = new boolean[anzahlFelder];
+		int tiefe = 0;
+		
+		while (true) {
+			if (this.istAbgebrochen()) {
+				// Alle Entscheidungen zurcknehmen, so dass nur gesicherte Felder eingetragen bleiben
+				if (tiefe > 0) {
+					this.nimmZurueck(marken[0]);
+					this.widerspruch = false;
+					this.arbeitsliste.leere();
+				}
+				if (!this.loesungen.isEmpty())
+					this.uebernehmeLoesung(this.loesungen.get(0));
+				return this.loesungen.size();
+			}
+			if (!this.widerspruch)
+				this.folgereAusVersuchen();
+			if (!this.widerspruch) {
+				int feld = this.waehleEntscheidungsfeld();
+				if (feld != -1) {
+					// Neue Entscheidung treffen: zunchst schwarz versuchen
+					this.anzahlEntscheidungen++;
+					marken[tiefe] = this.protokolllaenge;
+					felder[tiefe] = feld;
+					alternativeVersucht[tiefe] = false;
+					tiefe++;
+					this.entscheide(feld, Feldstatus.black);
+					continue;
+				}
+				// Nach einem Abbruch sind womglich nicht alle Reihen geprft.
+				if (this.istAbgebrochen())
+					continue;
+				// Das Nonogramm ist vollstndig und ohne Widerspruch gelst.
+				this.loesungen.add(new Nonogramm(this.nonogramm));
+				if (this.loesungen.size() >= maxLoesungen)
+					return this.loesungen.size();
+			}
+			// Letzte noch offene Entscheidung suchen und deren Alternative versuchen
+			while (tiefe > 0 && alternativeVersucht[tiefe - 1]) {
+				tiefe--;
+				this.nimmZurueck(marken[tiefe]);
+			}
+			this.widerspruch = false;
+			this.arbeitsliste.leere();
+			if (tiefe == 0)
+				break;
+			this.nimmZurueck(marken[tiefe - 1]);
+			alternativeVersucht[tiefe - 1] = true;
+			this.entscheide(felder[tiefe - 1], Feldstatus.white);
+		}
+		
+		// Suchraum erschpft: Das Nonogramm befindet sich wieder im Ausgangszustand.
+		if (this.loesungen.isEmpty()) {
+			this.widerspruch = true;
+		} else {
+			this.uebernehmeLoesung(this.loesungen.get(0));
+		}
+		return this.loesungen.size();
+	}
+	
+	/**
+	 * Versucht fr alle unbekannten Felder, ob das Schwarzfrben zu einem Widerspruch fhrt, und
+	 * frbt solche Felder wei. Wird dabei etwas eingetragen, wird das Nonogramm so weit wie mglich
+	 * gelst und der Durchlauf wiederholt. Anders als bei this.trialAndError() werden vollstndige
+	 * Lsungen, die sich bei einem Versuch ergeben, wieder verworfen, da die Tiefensuche sonst
+	 * Lsungen bergehen knnte.
+	 */
+	private void folgereAusVersuchen() {
+		boolean geaendert = true;
+		while (geaendert && !this.widerspruch) {
+			geaendert = false;
+			for (Feld feld : this.nonogramm) {
+				if (this.istAbgebrochen())
+					return;
+				if (!feld.hasStatus(Feldstatus.unknown))
+					continue;
+				int marke = this.protokolllaenge;
+				if (!this.probiere(feld.getZeile(), feld.getSpalte(), null, 0))
+					continue;
+				if (this.nonogramm.istVollstaendig()) {
+					this.nimmZurueck(marke);
+					continue;
+				}
+				feld.setStatus(Feldstatus.white);
+				this.vermeldeAenderung(feld.getZeile(), feld.getSpalte(), Aenderungsursache.trialAndError,
+						null);
+				this.loeseEinfach();
+				if (this.widerspruch)
+					return;
+				geaendert = true;
+			}
+		}
+	}
+	
+	/**
+	 * Trgt eine Entscheidung der Tiefensuche ein und lst das Nonogramm so weit wie mglich.
+	 * 
+	 * @param feld
+	 * 		Das zu entscheidende Feld als zeile * Breite + spalte
+	 * @param status
+	 * 		Der zu versuchende Status
+	 */
+	private void entscheide(final int feld, final Feldstatus status) {
+		int breite = this.nonogramm.getBreite();
+		if (this.verfolgt(Verfolgungsstufe.versuch))
+			this.ablaufverfolgung.meldeEntscheidung(feld / breite, feld % breite, status);
+		this.nonogramm.setStatus(feld / breite, feld % breite, status);
+		this.vermeldeAenderung(feld / breite, feld % breite, Aenderungsursache.entscheidung, null);
+		this.loeseEinfach();
+	}
+	
+	/**
+	 * Whlt das nchste Feld fr eine Entscheidung der Tiefensuche aus: das erste unbekannte Feld
+	 * derjenigen Zeile bzw. Spalte, die die wenigsten (aber mindestens ein) unbekannte Felder enthlt.
+	 * 
+	 * @return das Feld als zeile * Breite + spalte, bzw. -1, wenn kein Feld mehr unbekannt ist
+	 */
+	private int waehleEntscheidungsfeld() {
+		int hoehe = this.nonogramm.getHoehe();
+		int breite = this.nonogramm.getBreite();
+		int[] unbekannteInSpalte = new int[breite];
+		int[] ersteUnbekannteInSpalte = new int[breite];
+		int bestesFeld = -1;
+		int wenigsteUnbekannte = Integer.MAX_VALUE;
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			this.nonogramm.getZeile(zeile, this.zeilenpuffer);
+			int unbekannte = 0;
+			int ersteUnbekannte = -1;
+			for (int spalte = 0; spalte < breite; spalte++) {
+				if (this.zeilenpuffer[spalte] != Feldstatus.unknown)
+					continue;
+				if (unbekannte++ == 0)
+					ersteUnbekannte = spalte;
+				if (unbekannteInSpalte[spalte]++ == 0)
+					ersteUnbekannteInSpalte[spalte] = zeile;
+			}
+			if (unbekannte > 0 && unbekannte < wenigsteUnbekannte) {
+				wenigsteUnbekannte = unbekannte;
+				bestesFeld = zeile * breite + ersteUnbekannte;
+			}
+		}
+		for (int spalte = 0; spalte < breite; spalte++) {
+			if (unbekannteInSpalte[spalte] > 0 && unbekannteInSpalte[spalte] < wenigsteUnbekannte) {
+				wenigsteUnbekannte = unbekannteInSpalte[spalte];
+				bestesFeld = ersteUnbekannteInSpalte[spalte] * breite + spalte;
+			}
+		}
+		return bestesFeld;
+	}
+	
 	/**
 	 * Fllt alle Zeilen so weit wie mglich aus.
 	 */
 	public void bearbeiteZeilen() {
-		for (int zeilenindex = 0; zeilenindex < this.nonogramm.getHoehe(); zeilenindex++) {
-			if (!this.zeileIstInteressant.get(zeilenindex))
-				continue;
-			System.out.println("Bearbeite Zeile " + zeilenindex);
-			this.reihensolver.set(this.nonogramm.getZeile(zeilenindex),
-					this.nonogramm.getLinkeBedingungen(zeilenindex));
-			this.reihensolver.bearbeiteReihe();
-			this.zeileIstInteressant.set(zeilenindex, false);
+		if (this.pool != null) {
+			this.bearbeiteParallel(true);
+		} else {
+			for (int zeilenindex = 0; zeilenindex < this.nonogramm.getHoehe(); zeilenindex++) {
+				if (this.arbeitsliste.entferneZeile(zeilenindex))
+					this.bearbeiteZeile(zeilenindex);
+			}
 		}
+		this.liefereAenderungen();
 	}
 	
 	/**
 	 * Fllt alle Spalten so weit wie mglich aus.
 	 */
 	public void bearbeiteSpalten() {
-		for (int spaltenindex = 0; spaltenindex < this.nonogramm.getBreite(); spaltenindex++) {
-			if (!this.spalteIstInteressant.get(spaltenindex))
-					continue;
-			System.out.println("Bearbeite Spalte " + spaltenindex);
-			this.reihensolver.set(this.nonogramm.getSpalte(spaltenindex),
-					this.nonogramm.getObereBedingungen(spaltenindex));
-			this.reihensolver.bearbeiteReihe();
-			this.spalteIstInteressant.set(spaltenindex, false);
+		if (this.pool != null) {
+			this.bearbeiteParallel(false);
+		} else {
+			for (int spaltenindex = 0; spaltenindex < this.nonogramm.getBreite(); spaltenindex++) {
+				if (this.arbeitsliste.entferneSpalte(spaltenindex))
+					this.bearbeiteSpalte(spaltenindex);
+			}
+		}
+		this.liefereAenderungen();
+	}
+	
+	/**
+	 * Fllt eine Zeile so weit wie mglich aus. Die dabei genderten Felder werden gemeldet, so dass
+	 * die betroffenen Spalten in die Arbeitsliste aufgenommen werden.
+	 * 
+	 * @param zeilenindex
+	 * 		Der Index der zu bearbeitenden Zeile
+	 */
+	private void bearbeiteZeile(final int zeilenindex) {
+		if (this.verfolgt(Verfolgungsstufe.reihe))
+			this.ablaufverfolgung.meldeReihe(true, zeilenindex, false);
+		this.anzahlReihenbearbeitungen++;
+		this.nonogramm.getZeile(zeilenindex, this.zeilenpuffer);
+		this.reihensolver.set(this.zeilenpuffer, this.nonogramm.getLinkeBedingungen(), zeilenindex);
+		if (!this.reihensolver.bearbeiteReihe()) {
+			this.widerspruch = true;
+			return;
+		}
+		for (int index = 0; index < this.reihensolver.getAnzahlAenderungen(); index++) {
+			int spaltenindex = this.reihensolver.getAenderung(index);
+			this.nonogramm.setStatus(zeilenindex, spaltenindex, this.zeilenpuffer[spaltenindex]);
+			this.vermeldeAenderung(zeilenindex, spaltenindex, Aenderungsursache.reihe,
+					this.reihensolver.getStrategie(index));
+		}
+		// Die soeben bearbeitete Zeile muss nicht erneut bearbeitet werden.
+		this.arbeitsliste.entferneZeile(zeilenindex);
+	}
+	
+	/**
+	 * Fllt eine Spalte so weit wie mglich aus. Die dabei genderten Felder werden gemeldet, so dass
+	 * die betroffenen Zeilen in die Arbeitsliste aufgenommen werden.
+	 * 
+	 * @param spaltenindex
+	 * 		Der Index der zu bearbeitenden Spalte
+	 */
+	private void bearbeiteSpalte(final int spaltenindex) {
+		if (this.verfolgt(Verfolgungsstufe.reihe))
+			this.ablaufverfolgung.meldeReihe(false, spaltenindex, false);
+		this.anzahlReihenbearbeitungen++;
+		this.nonogramm.getSpalte(spaltenindex, this.spaltenpuffer);
+		this.reihensolver.set(this.spaltenpuffer, this.nonogramm.getObereBedingungen(), spaltenindex);
+		if (!this.reihensolver.bearbeiteReihe()) {
+			this.widerspruch = true;
+			return;
+		}
+		for (int index = 0; index < this.reihensolver.getAnzahlAenderungen(); index++) {
+			int zeilenindex = this.reihensolver.getAenderung(index);
+			this.nonogramm.setStatus(zeilenindex, spaltenindex, this.spaltenpuffer[zeilenindex]);
+			this.vermeldeAenderung(zeilenindex, spaltenindex, Aenderungsursache.reihe,
+					this.reihensolver.getStrategie(index));
+		}
+		// Die soeben bearbeitete Spalte muss nicht erneut bearbeitet werden.
+		this.arbeitsliste.entferneSpalte(spaltenindex);
+	}
+	
+	/**
+	 * Bearbeitet alle genderten Zeilen bzw. alle genderten Spalten parallel auf dem Thread-Pool
+	 * und bernimmt die Ergebnisse anschlieend in der Reihenfolge der Indizes in das Nonogramm.
+	 * 
+	 * @param zeilen
+	 * 		Gibt an, ob Zeilen (true) oder Spalten (false) bearbeitet werden.
+	 */
+	private void bearbeiteParallel(final boolean zeilen) {
+		int anzahl = zeilen ? this.nonogramm.getHoehe() : this.nonogramm.getBreite();
+		int[] reihen = new int[anzahl];
+		int anzahlReihen = 0;
+		for (int index = 0; index < anzahl; index++) {
+			if (zeilen ? this.arbeitsliste.entferneZeile(index) : this.arbeitsliste.entferneSpalte(index))
+				reihen[anzahlReihen++] = index;
+		}
+		if (anzahlReihen == 0)
+			return;
+		if (this.verfolgt(Verfolgungsstufe.reihe))
+			this.ablaufverfolgung.meldeReihe(zeilen, anzahlReihen, true);
+		Feldstatus[][] ergebnisse = new Feldstatus[anzahlReihen][];
+		int[][] aenderungen = new int[anzahlReihen][];
+		Reihenstrategie[][] strategien = this.feldbeobachter == null ? null
+				: new Reihenstrategie[anzahlReihen][];
+		this.pool.invoke(new Reihenaufgabe(this, this.nonogramm, zeilen, reihen, 0, anzahlReihen,
+				ergebnisse, aenderungen, strategien));
+		this.anzahlReihenbearbeitungen += anzahlReihen;
+		for (int index = 0; index < anzahlReihen; index++) {
+			if (aenderungen[index] == null) {
+				this.widerspruch = true;
+				return;
+			}
+			for (int aenderung = 0; aenderung < aenderungen[index].length; aenderung++) {
+				int position = aenderungen[index][aenderung];
+				Reihenstrategie strategie = strategien == null ? null : strategien[index][aenderung];
+				if (zeilen) {
+					this.nonogramm.setStatus(reihen[index], position, ergebnisse[index][position]);
+					this.vermeldeAenderung(reihen[index], position, Aenderungsursache.reihe, strategie);
+				} else {
+					this.nonogramm.setStatus(position, reihen[index], ergebnisse[index][position]);
+					this.vermeldeAenderung(position, reihen[index], Aenderungsursache.reihe, strategie);
+				}
+			}
+			// Die soeben bearbeitete Reihe muss nicht erneut bearbeitet werden.
+			if (zeilen) {
+				this.arbeitsliste.entferneZeile(reihen[index]);
+			} else {
+				this.arbeitsliste.entferneSpalte(reihen[index]);
+			}
 		}
 	}
 	
@@ -138,66 +682,379 @@ public class Solver {
 	 * (z.B. weil Nonogramm nicht eindeutig lsbar war oder Fehler enthielt).
 	 */
 	public boolean trialAndError() {
+		if (this.verfolgt(Verfolgungsstufe.phase))
+			this.ablaufverfolgung.meldePhase("Trial-And-Error-Verfahren");
+		if (this.pool != null)
+			return this.trialAndErrorParallel();
 		for (Feld feld : this.nonogramm) {
+			if (this.istAbgebrochen())
+				return false;
 			if (!feld.hasStatus(Feldstatus.unknown))
 				continue;
-			System.out.println("Versuche Feld " + feld.getZeile() + ", " + feld.getSpalte());
-			Nonogramm trialnonogramm = new Nonogramm(this.nonogramm);
-			trialnonogramm.setStatus(feld.getZeile(), feld.getSpalte(), Feldstatus.black);
-			ArrayList<Boolean> trialZeileIstInteressant =
-					Tools.newBooleanArrayList(this.nonogramm.getHoehe(), false);
-			trialZeileIstInteressant.set(feld.getZeile(), true);
-			ArrayList<Boolean> trialSpalteIstInteressant =
-					Tools.newBooleanArrayList(this.nonogramm.getBreite(), false);
-			trialSpalteIstInteressant.set(feld.getSpalte(), true);
-			Solver trialSolver =
-					new Solver(trialnonogramm, trialZeileIstInteressant, trialSpalteIstInteressant);
-			trialSolver.loeseEinfach();
-			// Wenn Lsung Fehler beinhaltet...
-			if (!trialSolver.alleZeilenUndSpaltenPlausibel()) {
+			if (!this.probiere(feld.getZeile(), feld.getSpalte(), null, 0))
+				continue;
+			// Wenn Lsung Fehler beinhaltete (ansonsten ist die Lsung bereits eingetragen)...
+			if (!this.nonogramm.istVollstaendig()) {
 				feld.setStatus(Feldstatus.white);
-				this.vermeldeAenderung(feld);
-				return true;
-			}
-			// Wenn Lsung vollstndig und ohne Fehler ist...
-			if (trialnonogramm.istVollstaendig()) {
-				this.nonogramm.uebernehme(trialnonogramm);
-				return true;
+				this.vermeldeAenderung(feld.getZeile(), feld.getSpalte(), Aenderungsursache.trialAndError,
+						null);
 			}
+			this.liefereAenderungen();
+			return true;
 		}
 		return false;
 	}
 	
 	/**
-	 * Prft, ob smtliche Zeilen und Spalten des Nonogramms plausibel sind. 
+	 * Verteilt die Versuche des Trial-And-Error-Verfahrens auf den Thread-Pool. bernommen wird
+	 * das Ergebnis des ersten Feldes (in der Reihenfolge der Iteration ber das Nonogramm), dessen
+	 * Versuch schlssig ist; das Ergebnis entspricht damit dem der sequentiellen Bearbeitung.
+	 * 
+	 * @return Liefert false, wenn eine Erweiterung der Teillsung nicht mglich war.
 	 */
-	private boolean alleZeilenUndSpaltenPlausibel() {
-		for (int zeilenindex = 0; zeilenindex < this.nonogramm.getHoehe(); zeilenindex++) {
-			this.reihensolver.set(this.nonogramm.getZeile(zeilenindex),
-					this.nonogramm.getLinkeBedingungen(zeilenindex));
-			if (!this.reihensolver.reiheLoesbar()) {
-				return false;
+	private boolean trialAndErrorParallel() {
+		int anzahlKandidaten = 0;
+		for (Feld feld : this.nonogramm) {
+			if (feld.hasStatus(Feldstatus.unknown))
+				anzahlKandidaten++;
+		}
+		int[] zeilen = new int[anzahlKandidaten];
+		int[] spalten = new int[anzahlKandidaten];
+		int kandidat = 0;
+		for (Feld feld : this.nonogramm) {
+			if (!feld.hasStatus(Feldstatus.unknown))
+				continue;
+			zeilen[kandidat] = feld.getZeile();
+			spalten[kandidat] = feld.getSpalte();
+			kandidat++;
+		}
+		Probenlauf lauf = new Probenlauf(this, zeilen, spalten, this.pool.getParallelism());
+		this.pool.invoke(lauf);
+		this.anzahlReihenbearbeitungen += lauf.getAnzahlReihenbearbeitungen();
+		this.anzahlVersuche += lauf.getAnzahlVersuche();
+		kandidat = lauf.getBesterKandidat();
+		if (kandidat == Probenlauf.KEIN_KANDIDAT || this.istAbgebrochen())
+			return false;
+		Nonogramm loesung = lauf.getLoesung(kandidat);
+		if (loesung != null) {
+			// Wenn Lsung vollstndig und ohne Fehler ist...
+			this.uebernehmeLoesung(loesung);
+		} else {
+			// Wenn Lsung Fehler beinhaltet...
+			this.nonogramm.setStatus(zeilen[kandidat], spalten[kandidat], Feldstatus.white);
+			this.vermeldeAenderung(zeilen[kandidat], spalten[kandidat], Aenderungsursache.trialAndError,
+					null);
+			this.liefereAenderungen();
+		}
+		return true;
+	}
+	
+	/**
+	 * Erzeugt einen Solver fr einen Arbeiter eines Probenlaufs. Der Solver arbeitet auf einer
+	 * eigenen Kopie des Nonogramms, in der er nacheinander beliebig viele Versuche durchfhren kann,
+	 * teilt sich aber den Zwischenspeicher fr Reihenergebnisse mit diesem Solver.
+	 */
+	Solver erzeugeProbensolver() {
+		Solver probensolver = new Solver(new Nonogramm(this.nonogramm), this.arbeitsliste.getPrioritaet());
+		probensolver.reihencache = this.reihencache;
+		probensolver.abbruch = this.abbruch;
+		probensolver.ablaufverfolgung = this.ablaufverfolgung;
+		probensolver.verfolgungsstufe = this.verfolgungsstufe;
+		probensolver.metriken = this.metriken;
+		return probensolver;
+	}
+	
+	/**
+	 * Versucht, ob das Schwarzfrben eines unbekannten Feldes zu einem Widerspruch oder einer
+	 * vollstndigen Lsung fhrt. Der Versuch wird direkt im Nonogramm durchgefhrt; anschlieend
+	 * werden alle nderungen anhand des Protokolls wieder zurckgenommen - es sei denn, der Versuch
+	 * hat zu einer vollstndigen Lsung gefhrt. In diesem Fall bleibt die Lsung eingetragen.
+	 * Wie bisher werden die Versuche ohne das Rekursionsverfahren durchgefhrt. Ein abgebrochener
+	 * Versuch gilt als nicht schlssig, da nicht alle Reihen geprft wurden.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des Feldes
+	 * @param probenlauf
+	 * 		Der Probenlauf, zu dem der Versuch gehrt, bzw. null
+	 * @param kandidat
+	 * 		Die Nummer des Feldes innerhalb des Probenlaufs
+	 * 
+	 * @return true, wenn der Versuch schlssig war, d.h. zu einem Widerspruch oder einer
+	 * vollstndigen Lsung gefhrt hat.
+	 */
+	boolean probiere(final int zeile, final int spalte, final Probenlauf probenlauf, final int kandidat) {
+		if (this.verfolgt(Verfolgungsstufe.versuch))
+			this.ablaufverfolgung.meldeVersuch(zeile, spalte);
+		this.anzahlVersuche++;
+		Object ereignis = Flugschreiber.INSTANZ == null ? null : Flugschreiber.INSTANZ.beginneVersuch();
+		if (this.versuchsliste == null)
+			this.versuchsliste = new Arbeitsliste(this.nonogramm, this.arbeitsliste.getPrioritaet());
+		Arbeitsliste arbeitsliste = this.arbeitsliste;
+		boolean widerspruch = this.widerspruch;
+		boolean optionRekursion = this.optionRekursion;
+		ForkJoinPool pool = this.pool;
+		int marke = this.protokolllaenge;
+		this.arbeitsliste = this.versuchsliste;
+		this.widerspruch = false;
+		this.optionRekursion = false;
+		// Versuche ndern meist nur wenige Reihen und werden daher im aufrufenden Thread bearbeitet.
+		this.pool = null;
+		this.probenlauf = probenlauf;
+		this.kandidat = kandidat;
+		
+		this.nonogramm.setStatus(zeile, spalte, Feldstatus.black);
+		this.vermeldeAenderung(zeile, spalte, Aenderungsursache.versuch, null);
+		this.loeseEinfach();
+		boolean abgebrochen = this.istAbgebrochen();
+		boolean loesung = !abgebrochen && !this.widerspruch && this.nonogramm.istVollstaendig();
+		boolean schluessig = !abgebrochen && (this.widerspruch || loesung);
+		if (ereignis != null) {
+			Flugschreiber.INSTANZ.beendeVersuch(ereignis, zeile, spalte, abgebrochen ? "abgebrochen"
+					: this.widerspruch ? "widerspruch" : loesung ? "loesung" : "offen",
+					this.protokolllaenge - marke);
+		}
+		if (!loesung) {
+			this.nimmZurueck(marke);
+		}
+		
+		this.versuchsliste.leere();
+		this.arbeitsliste = arbeitsliste;
+		this.widerspruch = widerspruch;
+		this.optionRekursion = optionRekursion;
+		this.pool = pool;
+		this.probenlauf = null;
+		if (this.metriken != null)
+			this.metriken.vermerkeVersuch(schluessig);
+		return schluessig;
+	}
+	
+	/**
+	 * Setzt alle Felder, die seit der bergebenen Protokollmarke gendert wurden, wieder auf unknown.
+	 * Noch nicht gemeldete nderungen werden verworfen; fr bereits gemeldete nderungen wird eine
+	 * Rcknahme gemeldet.
+	 * 
+	 * @param marke
+	 * 		Die Lnge des Protokolls zu dem Zeitpunkt, auf den zurckgesetzt werden soll
+	 */
+	private void nimmZurueck(final int marke) {
+		if (this.feldbeobachter != null) {
+			int verworfen = this.protokolllaenge - Math.max(marke, this.gemeldeteProtokolllaenge);
+			if (verworfen > 0) {
+				int anzahl = this.feldaenderungen.size();
+				this.feldaenderungen.subList(anzahl - verworfen, anzahl).clear();
 			}
 		}
-		for (int spaltenindex = 0; spaltenindex < this.nonogramm.getBreite(); spaltenindex++) {
-			this.reihensolver.set(this.nonogramm.getSpalte(spaltenindex),
-					this.nonogramm.getObereBedingungen(spaltenindex));
-			if (!this.reihensolver.reiheLoesbar()) {
-				return false;
+		int breite = this.nonogramm.getBreite();
+		while (this.protokolllaenge > marke) {
+			int feld = this.protokoll[--this.protokolllaenge];
+			this.nonogramm.setStatus(feld / breite, feld % breite, Feldstatus.unknown);
+			if (this.verfolgt(Verfolgungsstufe.feld))
+				this.ablaufverfolgung.meldeFeld(feld / breite, feld % breite, Feldstatus.unknown);
+			if (this.feldbeobachter != null && this.protokolllaenge < this.gemeldeteProtokolllaenge) {
+				this.feldaenderungen.add(new Feldaenderung(feld / breite, feld % breite, Feldstatus.unknown,
+						Aenderungsursache.ruecknahme, null));
 			}
 		}
-		return true;
+		if (this.gemeldeteProtokolllaenge > marke)
+			this.gemeldeteProtokolllaenge = marke;
+	}
+	
+	/**
+	 * bernimmt eine vollstndige Lsung in das Nonogramm und meldet die dabei genderten Felder.
+	 * 
+	 * @param loesung
+	 * 		Die zu bernehmende Lsung
+	 */
+	private void uebernehmeLoesung(final Nonogramm loesung) {
+		if (this.feldbeobachter != null) {
+			this.liefereAenderungen();
+			for (int zeile = 0; zeile < this.nonogramm.getHoehe(); zeile++) {
+				for (int spalte = 0; spalte < this.nonogramm.getBreite(); spalte++) {
+					Feldstatus status = loesung.getStatus(zeile, spalte);
+					if (!this.nonogramm.hasStatus(zeile, spalte, status)) {
+						this.feldaenderungen.add(new Feldaenderung(zeile, spalte, status,
+								Aenderungsursache.loesung, null));
+					}
+				}
+			}
+		}
+		this.nonogramm.uebernehme(loesung);
+		this.liefereAenderungen();
+	}
+	
+	/**
+	 * Meldet die gesammelten nderungen an den Feldbeobachter, sofern vorhanden. Whrend eines
+	 * Versuchs des Trial-And-Error-Verfahrens wird nichts gemeldet, da der Versuch meist wieder
+	 * zurckgenommen wird.
+	 */
+	private void liefereAenderungen() {
+		if (this.feldbeobachter == null || this.arbeitsliste == this.versuchsliste)
+			return;
+		this.gemeldeteProtokolllaenge = this.protokolllaenge;
+		if (this.feldaenderungen.isEmpty())
+			return;
+		List<Feldaenderung> aenderungen = this.feldaenderungen;
+		this.feldaenderungen = new ArrayList<Feldaenderung>();
+		this.feldbeobachter.meldeAenderungen(Collections.unmodifiableList(aenderungen));
+	}
+	
+	/**
+	 * Gibt an, ob die Lsung abgebrochen wurde oder der Solver einen Versuch eines Probenlaufs
+	 * bearbeitet, der nicht mehr bentigt wird.
+	 */
+	private boolean istAbgebrochen() {
+		return this.abbruch.get()
+				|| this.probenlauf != null && this.probenlauf.istUeberholt(this.kandidat);
+	}
+	
+	/**
+	 * Informiert den Solver, dass ein bislang unbekanntes Feld einen Status erhalten hat und die
+	 * betroffene Zeile bzw. Spalte neu geprft werden kann. Die nderung wird protokolliert und ggf.
+	 * fr den Feldbeobachter vorgemerkt.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des genderten Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des genderten Feldes
+	 * @param ursache
+	 * 		Der Grund der nderung
+	 * @param strategie
+	 * 		Die Reihenstrategie, die das Feld gesetzt hat, bzw. null
+	 */
+	void vermeldeAenderung(final int zeile, final int spalte, final Aenderungsursache ursache,
+			final Reihenstrategie strategie) {
+		if (this.protokolllaenge == this.protokoll.length)
+			this.protokoll = Arrays.copyOf(this.protokoll, 2 * this.protokoll.length);
+		this.protokoll[this.protokolllaenge++] = zeile * this.nonogramm.getBreite() + spalte;
+		if (this.verfolgt(Verfolgungsstufe.feld))
+			this.ablaufverfolgung.meldeFeld(zeile, spalte, this.nonogramm.getStatus(zeile, spalte));
+		if (this.feldbeobachter != null) {
+			this.feldaenderungen.add(new Feldaenderung(zeile, spalte, this.nonogramm.getStatus(zeile, spalte),
+					ursache, strategie));
+		}
+		this.arbeitsliste.vermerkeZeile(zeile);
+		this.arbeitsliste.vermerkeSpalte(spalte);
+	}
+	
+	/**
+	 * Gibt an, ob Ereignisse der bergebenen Stufe an die Ablaufverfolgung gemeldet werden.
+	 * 
+	 * @param stufe
+	 * 		Die Stufe des Ereignisses
+	 */
+	private boolean verfolgt(final Verfolgungsstufe stufe) {
+		return stufe.ordinal() <= this.verfolgungsstufe;
+	}
+	
+	/**
+	 * Gibt das Nonogramm zurck, welches durch den Solver gelst werden soll.
+	 */
+	Nonogramm getNonogramm() {
+		return this.nonogramm;
+	}
+	
+	/**
+	 * Gibt an, ob bei der Bearbeitung eine unlsbare Zeile oder Spalte gefunden wurde, d.h. ob das
+	 * Nonogramm in seinem aktuellen Zustand keine Lsung besitzt.
+	 */
+	public boolean hatWiderspruch() {
+		return this.widerspruch;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher durchgefhrten Zeilen- bzw. Spaltenbearbeitungen zurck.
+	 */
+	public long getAnzahlReihenbearbeitungen() {
+		return this.anzahlReihenbearbeitungen;
+	}
+	
+	/**
+	 * Gibt die bei der letzten Tiefensuche gefundenen Lsungen zurck.
+	 */
+	public List<Nonogramm> getLoesungen() {
+		return this.loesungen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher in Tiefensuchen getroffenen Entscheidungen zurck.
+	 */
+	public long getAnzahlEntscheidungen() {
+		return this.anzahlEntscheidungen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der bisher durchgefhrten Versuche des Trial-And-Error-Verfahrens zurck
+	 * (inklusive der Versuche im Rahmen der Tiefensuche).
+	 */
+	public long getAnzahlVersuche() {
+		return this.anzahlVersuche;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Zeilen und Spalten zurck, die zur Bearbeitung vorgemerkt sind. Kann
+	 * whrend einer laufenden Lsung aus einem anderen Thread aufgerufen werden, z.B. fr eine
+	 * Fortschrittsanzeige, und liefert dann nur einen ungefhren Wert.
+	 */
+	public int getAnzahlOffenerReihen() {
+		return this.arbeitsliste.getGroesse();
+	}
+	
+	/**
+	 * Bricht eine laufende Lsung ab, z.B. bei berschreiten einer Zeitgrenze. Kann aus einem
+	 * beliebigen Thread aufgerufen werden. Die Lsungsverfahren kehren dann baldmglichst zurck;
+	 * eingetragen bleiben nur gesicherte Felder, ein Widerspruch wird nicht vermerkt.
+	 * Der Abbruch gilt dauerhaft, d.h. auch alle spteren Lsungsversuche dieses Solvers kehren
+	 * sofort zurck.
+	 */
+	public void abbrechen() {
+		this.abbruch.set(true);
+	}
+	
+	/**
+	 * Gibt an, ob die Lsung per this.abbrechen() abgebrochen wurde.
+	 */
+	public boolean wurdeAbgebrochen() {
+		return this.abbruch.get();
 	}
 	
 	/**
-	 * Informiert den Solver, dass an einem Feld eine nderung stattgefunden hat und die betroffene
-	 * Zeile bzw. Spalte neu geprft werden kann.
+	 * ndert die Reihenfolge, in der genderte Zeilen und Spalten bearbeitet werden.
+	 * 
+	 * @param prioritaet
+	 * 		Die zu verwendende Prioritt
 	 */
-	void vermeldeAenderung(final Feld feld) {
-		this.zeileIstInteressant.set(feld.getZeile(), true);
-		this.spalteIstInteressant.set(feld.getSpalte(), true);
+	public void setPrioritaet(final Prioritaet prioritaet) {
+		this.arbeitsliste.setPrioritaet(prioritaet);
+		if (this.versuchsliste != null)
+			this.versuchsliste.setPrioritaet(prioritaet);
 	}
 
+	/**
+	 * Legt fest, mit wie vielen Threads Zeilen und Spalten bearbeitet werden. Bei mehr als einem
+	 * Thread werden jeweils alle genderten Zeilen und danach alle genderten Spalten gleichzeitig
+	 * bearbeitet; die Prioritt der Arbeitsliste spielt dann keine Rolle. Auch die Versuche des
+	 * Trial-And-Error-Verfahrens werden auf die Threads verteilt.
+	 * 
+	 * @param parallelitaet
+	 * 		Die Anzahl der Threads; 1 fr die Bearbeitung im aufrufenden Thread
+	 */
+	public void setParallelitaet(final int parallelitaet) {
+		if (parallelitaet < 1)
+			throw new IllegalArgumentException("Die Parallelitt muss mindestens 1 betragen!");
+		if (this.pool != null)
+			this.pool.shutdown();
+		this.pool = parallelitaet == 1 ? null : new ForkJoinPool(parallelitaet);
+	}
+	
+	/**
+	 * Gibt an, mit wie vielen Threads Zeilen und Spalten bearbeitet werden.
+	 */
+	public int getParallelitaet() {
+		return this.pool == null ? 1 : this.pool.getParallelism();
+	}
+	
 	/**
 	 * ndert die Option "Rekursionsverfahren zulssig".
 	 * 
@@ -207,9 +1064,7 @@ public class Solver {
 	public void setOptionRekursion(boolean isAllowed) {
 		this.optionRekursion = isAllowed;
 		if (isAllowed) {
-			for (Feld feld : this.nonogramm) {
-				this.vermeldeAenderung(feld);
-			}
+			this.arbeitsliste.vermerkeAlle();
 		}
 	}
 	
@@ -219,4 +1074,110 @@ public class Solver {
 	boolean getOptionRekursion() {
 		return this.optionRekursion;
 	}
+	
+	/**
+	 * ndert das Verfahren, mit dem bei gesetzter Option "Rekursionsverfahren zulssig" die
+	 * sicheren Felder einer Reihe ermittelt werden.
+	 * 
+	 * @param reihenverfahren
+	 * 		Das zu verwendende Verfahren
+	 */
+	public void setReihenverfahren(final Reihenverfahren reihenverfahren) {
+		this.reihenverfahren = reihenverfahren;
+	}
+	
+	/**
+	 * ndert das Verfahren, mit dem Nonogramme durchsucht werden, die sich nicht allein durch
+	 * Schlussfolgerungen lsen lassen.
+	 * 
+	 * @param suchverfahren
+	 * 		Das zu verwendende Verfahren
+	 */
+	public void setSuchverfahren(final Suchverfahren suchverfahren) {
+		this.suchverfahren = suchverfahren;
+	}
+	
+	/**
+	 * Gibt das Verfahren zurck, mit dem die sicheren Felder einer Reihe ermittelt werden.
+	 */
+	Reihenverfahren getReihenverfahren() {
+		return this.reihenverfahren;
+	}
+	
+	/**
+	 * Legt den Zwischenspeicher fr die Ergebnisse der Reihenbearbeitung fest. Ein Zwischenspeicher
+	 * kann auch von mehreren Solvern gleichzeitig verwendet werden.
+	 * 
+	 * @param reihencache
+	 * 		Der zu verwendende Zwischenspeicher, bzw. null, um jede Reihe neu zu lsen
+	 */
+	public void setReihencache(final Reihencache reihencache) {
+		this.reihencache = reihencache;
+	}
+	
+	/**
+	 * Gibt den Zwischenspeicher fr die Ergebnisse der Reihenbearbeitung zurck (ggf. null).
+	 */
+	public Reihencache getReihencache() {
+		return this.reihencache;
+	}
+	
+	/**
+	 * Legt die Ablaufverfolgung fest, an die der Solver seine Arbeitsschritte meldet. Die Stufe
+	 * der Ablaufverfolgung wird dabei einmalig abgefragt. Ohne Ablaufverfolgung (Standard) werden
+	 * keine Meldungen erzeugt.
+	 * 
+	 * @param ablaufverfolgung
+	 * 		Die Ablaufverfolgung, bzw. null, um die Verfolgung abzuschalten
+	 */
+	public void setAblaufverfolgung(final Ablaufverfolgung ablaufverfolgung) {
+		this.ablaufverfolgung = ablaufverfolgung;
+		this.verfolgungsstufe = ablaufverfolgung == null ? -1 : ablaufverfolgung.getStufe().ordinal();
+	}
+	
+	/**
+	 * Gibt die Ablaufverfolgung zurck (ggf. null).
+	 */
+	public Ablaufverfolgung getAblaufverfolgung() {
+		return this.ablaufverfolgung;
+	}
+	
+	/**
+	 * Legt die Metriken fest, in die der Solver seine Arbeit erfasst. Standardmig sind dies
+	 * Solvermetriken.STANDARD.
+	 * 
+	 * @param metriken
+	 * 		Die zu verwendenden Metriken, bzw. null, um die Erfassung abzuschalten
+	 */
+	public void setMetriken(final Solvermetriken metriken) {
+		this.metriken = metriken;
+	}
+	
+	/**
+	 * Gibt die Metriken zurck, in die der Solver seine Arbeit erfasst (ggf. null).
+	 */
+	public Solvermetriken getMetriken() {
+		return this.metriken;
+	}
+	
+	/**
+	 * Legt den Feldbeobachter fest, an den der Solver die nderungen des Nonogramms meldet. Gemeldet
+	 * werden nur nderungen ab diesem Zeitpunkt; der Feldbeobachter sollte daher vor Beginn der
+	 * Lsung gesetzt werden. Ohne Feldbeobachter (Standard) werden keine nderungen gesammelt.
+	 * 
+	 * @param feldbeobachter
+	 * 		Der Feldbeobachter, bzw. null, um die Meldungen abzuschalten
+	 */
+	public void setFeldbeobachter(final Feldbeobachter feldbeobachter) {
+		this.feldbeobachter = feldbeobachter;
+		this.feldaenderungen = new ArrayList<Feldaenderung>();
+		this.gemeldeteProtokolllaenge = this.protokolllaenge;
+	}
+	
+	/**
+	 * Gibt den Feldbeobachter zurck (ggf. null).
+	 */
+	public Feldbeobachter getFeldbeobachter() {
+		return this.feldbeobachter;
+	}
 }
\ No newline at end of file
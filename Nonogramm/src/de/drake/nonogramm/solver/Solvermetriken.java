@@ -0,0 +1,308 @@
+package de.drake.nonogramm.solver;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Sammelt Kennzahlen ber die Arbeit der Solver: Anwendungen und gesetzte Felder je
+ * Reihenstrategie, Versuche des Trial-And-Error-Verfahrens, Propagationsrunden, Konflikte und
+ * Neustarts der Suche per Klausellernen sowie Histogramme
+ * ber die Dauer der Reihenbearbeitungen und der Aufrufe von Solver.loese().
+ * Alle Solver erfassen standardmig in Solvermetriken.STANDARD; die Erfassung ist threadsicher
+ * und kostet je Reihenbearbeitung nur wenige LongAdder-Additionen und zwei Aufrufe von
+ * System.nanoTime(), so dass sie auch im Produktivbetrieb eingeschaltet bleiben kann. Mit
+ * Solver.setMetriken(null) lsst sie sich fr einzelne Solver abschalten.
+ * Die Kennzahlen knnen per getStand() abgefragt oder per registriere() ber JMX verffentlicht
+ * werden.
+ */
+public class Solvermetriken implements SolvermetrikenMXBean {
+	
+	/**
+	 * Die Solvermetriken, in die alle Solver standardmig erfassen
+	 */
+	public static final Solvermetriken STANDARD = new Solvermetriken();
+	
+	/**
+	 * Die Domne der JMX-Namen
+	 */
+	private static final String DOMAENE = "de.drake.nonogramm";
+	
+	/**
+	 * Die Anzahl der Anwendungen je Reihenstrategie
+	 */
+	private final LongAdder[] anwendungen = new LongAdder[Reihenstrategie.values().length];
+	
+	/**
+	 * Die Anzahl der gesetzten Felder je Reihenstrategie
+	 */
+	private final LongAdder[] gesetzteFelder = new LongAdder[Reihenstrategie.values().length];
+	
+	/**
+	 * Die Anzahl der Versuche des Trial-And-Error-Verfahrens
+	 */
+	private final LongAdder anzahlVersuche = new LongAdder();
+	
+	/**
+	 * Die Anzahl der schlssigen Versuche
+	 */
+	private final LongAdder anzahlSchluessigerVersuche = new LongAdder();
+	
+	/**
+	 * Die Anzahl der Propagationsrunden
+	 */
+	private final LongAdder anzahlPropagationen = new LongAdder();
+	
+	/**
+	 * Die Anzahl der Konflikte der Suche per Klausellernen
+	 */
+	private final LongAdder anzahlKonflikte = new LongAdder();
+	
+	/**
+	 * Die Anzahl der Neustarts der Suche per Klausellernen
+	 */
+	private final LongAdder anzahlNeustarts = new LongAdder();
+	
+	/**
+	 * Die Dauer der Reihenbearbeitungen
+	 */
+	private final Latenzhistogramm reihenlatenz = new Latenzhistogramm();
+	
+	/**
+	 * Die Dauer der Aufrufe von Solver.loese()
+	 */
+	private final Latenzhistogramm loesungslatenz = new Latenzhistogramm();
+	
+	/**
+	 * Erzeugt leere Solvermetriken, z.B. um die Kennzahlen einzelner Solver getrennt zu erfassen.
+	 */
+	public Solvermetriken() {
+		for (int strategie = 0; strategie < this.anwendungen.length; strategie++) {
+			this.anwendungen[strategie] = new LongAdder();
+			this.gesetzteFelder[strategie] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Erfasst die Anwendung einer Reihenstrategie.
+	 * 
+	 * @param strategie
+	 * 		Die Reihenstrategie
+	 * @param anzahlFelder
+	 * 		Die Anzahl der dabei gesetzten Felder
+	 */
+	void vermerkeStrategie(final Reihenstrategie strategie, final int anzahlFelder) {
+		this.anwendungen[strategie.ordinal()].increment();
+		if (anzahlFelder > 0)
+			this.gesetzteFelder[strategie.ordinal()].add(anzahlFelder);
+	}
+	
+	/**
+	 * Erfasst eine Reihenbearbeitung.
+	 * 
+	 * @param nanosekunden
+	 * 		Die Dauer der Bearbeitung
+	 */
+	void vermerkeReihenbearbeitung(final long nanosekunden) {
+		this.reihenlatenz.erfasse(nanosekunden);
+	}
+	
+	/**
+	 * Erfasst einen Versuch des Trial-And-Error-Verfahrens.
+	 * 
+	 * @param schluessig
+	 * 		true, wenn der Versuch schlssig war
+	 */
+	void vermerkeVersuch(final boolean schluessig) {
+		this.anzahlVersuche.increment();
+		if (schluessig)
+			this.anzahlSchluessigerVersuche.increment();
+	}
+	
+	/**
+	 * Erfasst eine Propagationsrunde.
+	 */
+	void vermerkePropagation() {
+		this.anzahlPropagationen.increment();
+	}
+	
+	/**
+	 * Erfasst eine Suche per Klausellernen.
+	 * 
+	 * @param konflikte
+	 * 		Die Anzahl der Konflikte der Suche
+	 * @param neustarts
+	 * 		Die Anzahl der Neustarts der Suche
+	 */
+	void vermerkeKlausellernen(final long konflikte, final long neustarts) {
+		this.anzahlKonflikte.add(konflikte);
+		this.anzahlNeustarts.add(neustarts);
+	}
+	
+	/**
+	 * Erfasst einen Aufruf von Solver.loese().
+	 * 
+	 * @param nanosekunden
+	 * 		Die Dauer des Aufrufs
+	 */
+	void vermerkeLoesung(final long nanosekunden) {
+		this.loesungslatenz.erfasse(nanosekunden);
+	}
+	
+	/**
+	 * Gibt den aktuellen Stand zurck. Erfassungen, die gleichzeitig stattfinden, sind ggf. nur
+	 * teilweise enthalten.
+	 */
+	public Metrikstand getStand() {
+		long[] anwendungen = new long[this.anwendungen.length];
+		long[] gesetzteFelder = new long[this.gesetzteFelder.length];
+		for (int strategie = 0; strategie < anwendungen.length; strategie++) {
+			anwendungen[strategie] = this.anwendungen[strategie].sum();
+			gesetzteFelder[strategie] = this.gesetzteFelder[strategie].sum();
+		}
+		return new Metrikstand(anwendungen, gesetzteFelder, this.anzahlVersuche.sum(),
+				this.anzahlSchluessigerVersuche.sum(), this.anzahlPropagationen.sum(),
+				this.anzahlKonflikte.sum(), this.anzahlNeustarts.sum(), this.reihenlatenz.getVerteilung(), this.loesungslatenz.getVerteilung());
+	}
+	
+	/**
+	 * Verffentlicht die Solvermetriken ber den MBeanServer der Plattform unter dem Namen
+	 * de.drake.nonogramm:type=Solvermetriken,name=&lt;name&gt;.
+	 * 
+	 * @param name
+	 * 		Der Name, unter dem die Solvermetriken erscheinen, z.B. "standard"
+	 * 
+	 * @return der vollstndige JMX-Name
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn der Name ungltig oder bereits vergeben ist
+	 */
+	public ObjectName registriere(final String name) throws IllegalArgumentException {
+		try {
+			ObjectName objektname = new ObjectName(DOMAENE + ":type=Solvermetriken,name=" + name);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objektname);
+			return objektname;
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Die Solvermetriken knnen nicht als " + name
+					+ " registriert werden: " + e.getMessage(), e);
+		}
+	}
+	
+	@Override
+	public void leere() {
+		for (int strategie = 0; strategie < this.anwendungen.length; strategie++) {
+			this.anwendungen[strategie].reset();
+			this.gesetzteFelder[strategie].reset();
+		}
+		this.anzahlVersuche.reset();
+		this.anzahlSchluessigerVersuche.reset();
+		this.anzahlPropagationen.reset();
+		this.anzahlKonflikte.reset();
+		this.anzahlNeustarts.reset();
+		this.reihenlatenz.leere();
+		this.loesungslatenz.leere();
+	}
+	
+	@Override
+	public long getAnzahlReihenbearbeitungen() {
+		return this.reihenlatenz.getVerteilung().getAnzahl();
+	}
+	
+	@Override
+	public Map<String, Long> getAnwendungenJeStrategie() {
+		return jeStrategie(this.anwendungen);
+	}
+	
+	@Override
+	public Map<String, Long> getGesetzteFelderJeStrategie() {
+		return jeStrategie(this.gesetzteFelder);
+	}
+	
+	@Override
+	public long getAnzahlVersuche() {
+		return this.anzahlVersuche.sum();
+	}
+	
+	@Override
+	public long getAnzahlSchluessigerVersuche() {
+		return this.anzahlSchluessigerVersuche.sum();
+	}
+	
+	@Override
+	public long getAnzahlPropagationen() {
+		return this.anzahlPropagationen.sum();
+	}
+	
+	@Override
+	public long getAnzahlKonflikte() {
+		return this.anzahlKonflikte.sum();
+	}
+	
+	@Override
+	public long getAnzahlNeustarts() {
+		return this.anzahlNeustarts.sum();
+	}
+	
+	@Override
+	public long getAnzahlLoesungen() {
+		return this.loesungslatenz.getVerteilung().getAnzahl();
+	}
+	
+	@Override
+	public long getReihenlatenzMittelwert() {
+		return this.reihenlatenz.getVerteilung().getMittelwert();
+	}
+	
+	@Override
+	public long getReihenlatenzP50() {
+		return this.reihenlatenz.getVerteilung().getQuantil(0.5);
+	}
+	
+	@Override
+	public long getReihenlatenzP99() {
+		return this.reihenlatenz.getVerteilung().getQuantil(0.99);
+	}
+	
+	@Override
+	public long getReihenlatenzMaximum() {
+		return this.reihenlatenz.getVerteilung().getMaximum();
+	}
+	
+	@Override
+	public long getLoesungslatenzMittelwert() {
+		return this.loesungslatenz.getVerteilung().getMittelwert();
+	}
+	
+	@Override
+	public long getLoesungslatenzP50() {
+		return this.loesungslatenz.getVerteilung().getQuantil(0.5);
+	}
+	
+	@Override
+	public long getLoesungslatenzP99() {
+		return this.loesungslatenz.getVerteilung().getQuantil(0.99);
+	}
+	
+	@Override
+	public long getLoesungslatenzMaximum() {
+		return this.loesungslatenz.getVerteilung().getMaximum();
+	}
+	
+	/**
+	 * Ordnet die Zhler den Namen der Reihenstrategien zu.
+	 * 
+	 * @param zaehler
+	 * 		Ein Zhler je Reihenstrategie
+	 */
+	private static Map<String, Long> jeStrategie(final LongAdder[] zaehler) {
+		Map<String, Long> ergebnis = new LinkedHashMap<String, Long>();
+		for (Reihenstrategie strategie : Reihenstrategie.values()) {
+			ergebnis.put(strategie.name(), zaehler[strategie.ordinal()].sum());
+		}
+		return ergebnis;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package de.drake.nonogramm.solver;
+
+import java.util.Map;
+
+/**
+ * Verwaltungsschnittstelle der Solvermetriken fr JMX, z.B. zur Anzeige in JConsole oder
+ * VisualVM. Jede Abfrage ermittelt einen neuen Stand; Dauern werden in Nanosekunden angegeben.
+ */
+public interface SolvermetrikenMXBean {
+	
+	/**
+	 * Gibt die Anzahl der Zeilen- bzw. Spaltenbearbeitungen zurck.
+	 */
+	long getAnzahlReihenbearbeitungen();
+	
+	/**
+	 * Gibt je Reihenstrategie die Anzahl ihrer Anwendungen zurck.
+	 */
+	Map<String, Long> getAnwendungenJeStrategie();
+	
+	/**
+	 * Gibt je Reihenstrategie die Anzahl der von ihr gesetzten Felder zurck.
+	 */
+	Map<String, Long> getGesetzteFelderJeStrategie();
+	
+	/**
+	 * Gibt die Anzahl der Versuche des Trial-And-Error-Verfahrens zurck.
+	 */
+	long getAnzahlVersuche();
+	
+	/**
+	 * Gibt die Anzahl der schlssigen Versuche zurck, d.h. der Versuche, die zu einem Widerspruch
+	 * oder einer vollstndigen Lsung gefhrt haben.
+	 */
+	long getAnzahlSchluessigerVersuche();
+	
+	/**
+	 * Gibt die Anzahl der Propagationsrunden zurck.
+	 */
+	long getAnzahlPropagationen();
+	
+	/**
+	 * Gibt die Anzahl der Konflikte der Suche per Klausellernen zurck.
+	 */
+	long getAnzahlKonflikte();
+	
+	/**
+	 * Gibt die Anzahl der Neustarts der Suche per Klausellernen zurck.
+	 */
+	long getAnzahlNeustarts();
+	
+	/**
+	 * Gibt die Anzahl der abgeschlossenen Aufrufe von Solver.loese() zurck.
+	 */
+	long getAnzahlLoesungen();
+	
+	/**
+	 * Gibt die mittlere Dauer einer Reihenbearbeitung zurck.
+	 */
+	long getReihenlatenzMittelwert();
+	
+	/**
+	 * Gibt den Median der Dauer einer Reihenbearbeitung zurck.
+	 */
+	long getReihenlatenzP50();
+	
+	/**
+	 * Gibt das 99. Perzentil der Dauer einer Reihenbearbeitung zurck.
+	 */
+	long getReihenlatenzP99();
+	
+	/**
+	 * Gibt die grte Dauer einer Reihenbearbeitung zurck.
+	 */
+	long getReihenlatenzMaximum();
+	
+	/**
+	 * Gibt die mittlere Dauer von Solver.loese() zurck.
+	 */
+	long getLoesungslatenzMittelwert();
+	
+	/**
+	 * Gibt den Median der Dauer von Solver.loese() zurck.
+	 */
+	long getLoesungslatenzP50();
+	
+	/**
+	 * Gibt das 99. Perzentil der Dauer von Solver.loese() zurck.
+	 */
+	long getLoesungslatenzP99();
+	
+	/**
+	 * Gibt die grte Dauer von Solver.loese() zurck.
+	 */
+	long getLoesungslatenzMaximum();
+	
+	/**
+	 * Setzt alle Zhler und Histogramme zurck.
+	 */
+	void leere();
+}
\ No newline at end of file
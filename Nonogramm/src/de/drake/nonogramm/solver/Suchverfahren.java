@@ -0,0 +1,20 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der das Verfahren abbildet, mit dem der Solver Nonogramme durchsucht, die sich
+ * nicht allein durch Schlussfolgerungen lsen lassen.
+ */
+public enum Suchverfahren {
+	/**
+	 * Tiefensuche mit chronologischem Backtracking. Nach jeder Entscheidung wird das Nonogramm
+	 * mit den Reihenverfahren und dem Trial-And-Error-Verfahren so weit wie mglich gelst.
+	 */
+	tiefensuche,
+	
+	/**
+	 * Konfliktgesteuertes Klausellernen: Widersprche werden auf ihre Ursachen zurckgefhrt,
+	 * die als neue Bedingungen gelernt werden; die Suche springt direkt zur verursachenden
+	 * Entscheidung zurck.
+	 */
+	klausellernen ;
+}
\ No newline at end of file
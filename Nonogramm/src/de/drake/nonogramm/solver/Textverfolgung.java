@@ -0,0 +1,69 @@
+package de.drake.nonogramm.solver;
+
+import de.drake.nonogramm.model.Feldstatus;
+
+/**
+ * Basisklasse fr Ablaufverfolgungen, die jedes Ereignis als Textzeile ausgeben.
+ */
+public abstract class Textverfolgung implements Ablaufverfolgung {
+	
+	/**
+	 * Die Detailstufe der gewnschten Ereignisse
+	 */
+	private final Verfolgungsstufe stufe;
+	
+	/**
+	 * Erzeugt eine Ablaufverfolgung.
+	 * 
+	 * @param stufe
+	 * 		Die Detailstufe der gewnschten Ereignisse
+	 */
+	protected Textverfolgung(final Verfolgungsstufe stufe) {
+		this.stufe = stufe;
+	}
+	
+	/**
+	 * Gibt eine Textzeile aus.
+	 * 
+	 * @param stufe
+	 * 		Die Stufe des Ereignisses
+	 * @param text
+	 * 		Die Beschreibung des Ereignisses
+	 */
+	protected abstract void schreibe(Verfolgungsstufe stufe, String text);
+	
+	@Override
+	public Verfolgungsstufe getStufe() {
+		return this.stufe;
+	}
+	
+	@Override
+	public void meldePhase(final String beschreibung) {
+		this.schreibe(Verfolgungsstufe.phase, beschreibung);
+	}
+	
+	@Override
+	public void meldeReihe(final boolean zeile, final int index, final boolean parallel) {
+		if (parallel) {
+			this.schreibe(Verfolgungsstufe.reihe, "Bearbeite " + index + (zeile ? " Zeilen" : " Spalten")
+					+ " parallel");
+		} else {
+			this.schreibe(Verfolgungsstufe.reihe, (zeile ? "Bearbeite Zeile " : "Bearbeite Spalte ") + index);
+		}
+	}
+	
+	@Override
+	public void meldeVersuch(final int zeile, final int spalte) {
+		this.schreibe(Verfolgungsstufe.versuch, "Versuche Feld " + zeile + ", " + spalte);
+	}
+	
+	@Override
+	public void meldeEntscheidung(final int zeile, final int spalte, final Feldstatus status) {
+		this.schreibe(Verfolgungsstufe.versuch, "Entscheide Feld " + zeile + ", " + spalte + ": " + status);
+	}
+	
+	@Override
+	public void meldeFeld(final int zeile, final int spalte, final Feldstatus status) {
+		this.schreibe(Verfolgungsstufe.feld, "Setze Feld " + zeile + ", " + spalte + ": " + status);
+	}
+}
\ No newline at end of file
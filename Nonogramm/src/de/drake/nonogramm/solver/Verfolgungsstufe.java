@@ -0,0 +1,27 @@
+package de.drake.nonogramm.solver;
+
+/**
+ * Enumerator, der die Detailstufe einer Ablaufverfolgung abbildet. Jede Stufe schliet die
+ * Ereignisse aller vorherigen Stufen ein.
+ */
+public enum Verfolgungsstufe {
+	/**
+	 * Beginn der Lsungsphasen, z.B. Trial-And-Error-Verfahren oder Tiefensuche
+	 */
+	phase,
+	
+	/**
+	 * Zustzlich jede Bearbeitung einer Zeile oder Spalte
+	 */
+	reihe,
+	
+	/**
+	 * Zustzlich jeder Versuch des Trial-And-Error-Verfahrens und jede Entscheidung der Tiefensuche
+	 */
+	versuch,
+	
+	/**
+	 * Zustzlich jede nderung eines Feldes, inklusive der Rcknahme von Versuchen
+	 */
+	feld ;
+}
\ No newline at end of file
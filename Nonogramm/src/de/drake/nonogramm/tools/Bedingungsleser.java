@@ -0,0 +1,363 @@
+package de.drake.nonogramm.tools;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Liest Bedingungen in einem Durchlauf direkt in flache int-Arrays ein. Akzeptiert werden die
+ * Formate [[1,2],[3],[]], {{1,2},{3},{}} und 1,2/3/; Whitespaces werden ignoriert. Die Blcke
+ * aller Reihen liegen anschlieend hintereinander in getBloecke(), getAnfang() enthlt den Index
+ * des ersten Blocks jeder Reihe sowie als letzten Eintrag die Gesamtzahl der Blcke.
+ * 
+ * Ein Leser kann beliebig oft wiederverwendet werden; die Arrays werden nur vergrert, wenn die
+ * Eingabe mehr Reihen oder Blcke als bisher enthlt. Das Einlesen erzeugt somit keine Objekte,
+ * sofern kein Fehler auftritt. Ein Leser darf nicht von mehreren Threads gleichzeitig verwendet
+ * werden.
+ */
+public class Bedingungsleser {
+	
+	/**
+	 * Die Blocklngen aller Reihen hintereinander, gltig sind die ersten this.anzahlBloecke
+	 */
+	private int[] bloecke = new int[64];
+	
+	/**
+	 * Der Index in this.bloecke, an dem die Blcke einer Reihe beginnen, gltig sind die ersten
+	 * this.anzahlReihen + 1
+	 */
+	private int[] anfang = new int[17];
+	
+	/**
+	 * Die Anzahl der zuletzt gelesenen Reihen
+	 */
+	private int anzahlReihen;
+	
+	/**
+	 * Die Anzahl der zuletzt gelesenen Blcke
+	 */
+	private int anzahlBloecke;
+	
+	/**
+	 * Stellt char-Arrays und Byte-Puffer als CharSequence dar, damit sie ohne Kopie gelesen
+	 * werden knnen
+	 */
+	private final Puffer puffer = new Puffer();
+	
+	/**
+	 * Liest Bedingungen aus einer Zeichenkette.
+	 * 
+	 * @param text
+	 * 		Die Zeichenkette
+	 * 
+	 * @return die Anzahl der gelesenen Reihen
+	 * 
+	 * @throws Syntaxfehler
+	 * 		wird geworfen, wenn die Eingabe nicht als Bedingungen interpretiert werden kann
+	 */
+	public int lies(final CharSequence text) throws Syntaxfehler {
+		return this.lies(text, 0, text.length());
+	}
+	
+	/**
+	 * Liest Bedingungen aus einem Abschnitt einer Zeichenkette. Die Positionen in Syntaxfehlern
+	 * beziehen sich auf die gesamte Zeichenkette.
+	 * 
+	 * @param text
+	 * 		Die Zeichenkette
+	 * @param von
+	 * 		Der Index des ersten Zeichens
+	 * @param bis
+	 * 		Der Index hinter dem letzten Zeichen
+	 * 
+	 * @return die Anzahl der gelesenen Reihen
+	 * 
+	 * @throws Syntaxfehler
+	 * 		wird geworfen, wenn die Eingabe nicht als Bedingungen interpretiert werden kann
+	 */
+	public int lies(final CharSequence text, final int von, final int bis) throws Syntaxfehler {
+		this.anzahlReihen = 0;
+		this.anzahlBloecke = 0;
+		int anfang = naechstesZeichen(text, von, bis);
+		if (anfang == bis)
+			return 0;
+		int ende = letztesZeichen(text, von, bis) + 1;
+		
+		// Wenn das Format {{1,2},{3},{}} oder [[1,2],[3],[]] ist...
+		char oeffnend = text.charAt(anfang);
+		int zweites = naechstesZeichen(text, anfang + 1, ende);
+		if ((oeffnend == '{' || oeffnend == '[') && zweites < ende && text.charAt(zweites) == oeffnend) {
+			char schliessend = oeffnend == '{' ? '}' : ']';
+			int vorletztes = letztesZeichen(text, zweites + 1, ende - 1);
+			if (text.charAt(ende - 1) != schliessend || vorletztes <= zweites
+					|| text.charAt(vorletztes) != schliessend)
+				throw new Syntaxfehler("Erwartet wird " + schliessend + schliessend + " am Ende", ende - 1);
+			this.liesReihen(text, zweites + 1, vorletztes, oeffnend, schliessend);
+		} else {
+			this.liesReihen(text, anfang, ende, (char) 0, (char) 0);
+		}
+		return this.anzahlReihen;
+	}
+	
+	/**
+	 * Liest Bedingungen aus einem Abschnitt eines char-Arrays.
+	 * 
+	 * @param zeichen
+	 * 		Das char-Array
+	 * @param von
+	 * 		Der Index des ersten Zeichens
+	 * @param bis
+	 * 		Der Index hinter dem letzten Zeichen
+	 * 
+	 * @return die Anzahl der gelesenen Reihen
+	 * 
+	 * @throws Syntaxfehler
+	 * 		wird geworfen, wenn die Eingabe nicht als Bedingungen interpretiert werden kann
+	 */
+	public int lies(final char[] zeichen, final int von, final int bis) throws Syntaxfehler {
+		this.puffer.zeichen = zeichen;
+		this.puffer.laenge = zeichen.length;
+		try {
+			return this.lies(this.puffer, von, bis);
+		} finally {
+			this.puffer.zeichen = null;
+		}
+	}
+	
+	/**
+	 * Liest Bedingungen aus den Bytes zwischen position() und limit() eines Puffers, z.B. aus
+	 * einer per FileChannel.map eingeblendeten Datei. Jedes Byte wird als ein Zeichen gelesen, wie
+	 * es fr ASCII, ISO-8859-1 und UTF-8 zutrifft. Die Position des Puffers wird nicht verndert.
+	 * 
+	 * @param bytes
+	 * 		Der Puffer
+	 * 
+	 * @return die Anzahl der gelesenen Reihen
+	 * 
+	 * @throws Syntaxfehler
+	 * 		wird geworfen, wenn die Eingabe nicht als Bedingungen interpretiert werden kann
+	 */
+	public int lies(final ByteBuffer bytes) throws Syntaxfehler {
+		this.puffer.bytes = bytes;
+		this.puffer.laenge = bytes.limit();
+		try {
+			return this.lies(this.puffer, bytes.position(), bytes.limit());
+		} finally {
+			this.puffer.bytes = null;
+		}
+	}
+	
+	/**
+	 * Liest die durch / bzw. durch },{ getrennten Reihen.
+	 * 
+	 * @param text
+	 * 		Die Zeichenkette
+	 * @param von
+	 * 		Der Index des ersten Zeichens
+	 * @param bis
+	 * 		Der Index hinter dem letzten Zeichen
+	 * @param oeffnend
+	 * 		Die ffnende Klammer der Reihen, bzw. 0 im Format 1,2/3/
+	 * @param schliessend
+	 * 		Die schlieende Klammer der Reihen, bzw. 0 im Format 1,2/3/
+	 */
+	private void liesReihen(final CharSequence text, final int von, final int bis, final char oeffnend,
+			final char schliessend) throws Syntaxfehler {
+		if (naechstesZeichen(text, von, bis) == bis)
+			return;
+		this.anfang[0] = 0;
+		
+		// Der Wert der gerade gelesenen Zahl; vorzeichen ist 0, solange keine Zahl begonnen wurde
+		int wert = 0;
+		int vorzeichen = 0;
+		boolean ziffern = false;
+		for (int index = von; index < bis; index++) {
+			char zeichen = text.charAt(index);
+			if (zeichen >= '0' && zeichen <= '9') {
+				int ziffer = zeichen - '0';
+				if (wert > (Integer.MAX_VALUE - ziffer) / 10)
+					throw new Syntaxfehler("Zahl zu gro", index);
+				wert = 10 * wert + ziffer;
+				if (vorzeichen == 0)
+					vorzeichen = 1;
+				ziffern = true;
+			} else if (Character.isWhitespace(zeichen)) {
+				continue;
+			} else if ((zeichen == '+' || zeichen == '-') && vorzeichen == 0) {
+				vorzeichen = zeichen == '+' ? 1 : -1;
+			} else if (zeichen == ',' || zeichen == '/' || (zeichen == schliessend && oeffnend != 0)) {
+				if (vorzeichen != 0) {
+					if (!ziffern)
+						throw new Syntaxfehler("Zahl erwartet", index);
+					this.fuegeBlockHinzu(vorzeichen * wert);
+					wert = 0;
+					vorzeichen = 0;
+					ziffern = false;
+				}
+				if (zeichen == schliessend) {
+					// Auf die schlieende Klammer mssen ein Komma und die ffnende Klammer folgen
+					int komma = naechstesZeichen(text, index + 1, bis);
+					int klammer = naechstesZeichen(text, komma + 1, bis);
+					if (komma == bis || text.charAt(komma) != ',')
+						throw new Syntaxfehler("Erwartet wird " + schliessend + "," + oeffnend, index);
+					if (klammer == bis || text.charAt(klammer) != oeffnend)
+						throw new Syntaxfehler("Erwartet wird " + oeffnend, komma);
+					index = klammer;
+				}
+				if (zeichen != ',')
+					this.beendeReihe();
+			} else {
+				throw new Syntaxfehler("Unerwartetes Zeichen '" + zeichen + "'", index);
+			}
+		}
+		if (vorzeichen != 0) {
+			if (!ziffern)
+				throw new Syntaxfehler("Zahl erwartet", bis);
+			this.fuegeBlockHinzu(vorzeichen * wert);
+		}
+		this.beendeReihe();
+	}
+	
+	/**
+	 * Hngt einen Block an die aktuelle Reihe an.
+	 * 
+	 * @param block
+	 * 		Die Lnge des Blocks
+	 */
+	private void fuegeBlockHinzu(final int block) {
+		if (this.anzahlBloecke == this.bloecke.length)
+			this.bloecke = Arrays.copyOf(this.bloecke, 2 * this.bloecke.length);
+		this.bloecke[this.anzahlBloecke++] = block;
+	}
+	
+	/**
+	 * Schliet die aktuelle Reihe ab.
+	 */
+	private void beendeReihe() {
+		if (this.anzahlReihen + 2 > this.anfang.length)
+			this.anfang = Arrays.copyOf(this.anfang, 2 * this.anfang.length);
+		this.anfang[++this.anzahlReihen] = this.anzahlBloecke;
+	}
+	
+	/**
+	 * Gibt den Index des ersten Zeichens ab von zurck, das kein Whitespace ist.
+	 * 
+	 * @return der Index, bzw. bis, wenn es kein solches Zeichen gibt
+	 */
+	private static int naechstesZeichen(final CharSequence text, int von, final int bis) {
+		while (von < bis && Character.isWhitespace(text.charAt(von))) {
+			von++;
+		}
+		return von;
+	}
+	
+	/**
+	 * Gibt den Index des letzten Zeichens vor bis zurck, das kein Whitespace ist.
+	 * 
+	 * @return der Index, bzw. von - 1, wenn es kein solches Zeichen gibt
+	 */
+	private static int letztesZeichen(final CharSequence text, final int von, int bis) {
+		while (bis > von && Character.isWhitespace(text.charAt(bis - 1))) {
+			bis--;
+		}
+		return bis - 1;
+	}
+	
+	/**
+	 * Gibt die Anzahl der zuletzt gelesenen Reihen zurck.
+	 */
+	public int getAnzahlReihen() {
+		return this.anzahlReihen;
+	}
+	
+	/**
+	 * Gibt die Anzahl der zuletzt gelesenen Blcke aller Reihen zurck.
+	 */
+	public int getAnzahlBloecke() {
+		return this.anzahlBloecke;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Blcke einer Reihe zurck.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 */
+	public int getAnzahlBloecke(final int reihe) {
+		return this.anfang[reihe + 1] - this.anfang[reihe];
+	}
+	
+	/**
+	 * Gibt die Lnge eines Blocks zurck. Blcke der Lnge 0 sind wie in der Eingabe enthalten.
+	 * 
+	 * @param reihe
+	 * 		Der Index der Reihe
+	 * @param block
+	 * 		Der Index des Blocks innerhalb der Reihe, beginnend bei 0
+	 */
+	public int getBlock(final int reihe, final int block) {
+		return this.bloecke[this.anfang[reihe] + block];
+	}
+	
+	/**
+	 * Gibt die Blcke aller Reihen hintereinander zurck. Gltig sind die ersten
+	 * getAnzahlBloecke() Eintrge. Seiteneffekte beachten, das Array wird beim nchsten Lesen
+	 * berschrieben!
+	 */
+	public int[] getBloecke() {
+		return this.bloecke;
+	}
+	
+	/**
+	 * Gibt den Index des ersten Blocks jeder Reihe in getBloecke() zurck; der Eintrag hinter der
+	 * letzten Reihe enthlt die Gesamtzahl der Blcke. Gltig sind die ersten getAnzahlReihen() + 1
+	 * Eintrge. Seiteneffekte beachten, das Array wird beim nchsten Lesen berschrieben!
+	 */
+	public int[] getAnfang() {
+		return this.anfang;
+	}
+	
+	/**
+	 * Stellt ein char-Array oder einen Byte-Puffer als CharSequence dar.
+	 */
+	private static class Puffer implements CharSequence {
+		
+		/**
+		 * Das char-Array, bzw. null
+		 */
+		char[] zeichen;
+		
+		/**
+		 * Der Byte-Puffer, bzw. null
+		 */
+		ByteBuffer bytes;
+		
+		/**
+		 * Die Anzahl der Zeichen
+		 */
+		int laenge;
+		
+		@Override
+		public char charAt(final int index) {
+			return this.zeichen != null ? this.zeichen[index] : (char) (this.bytes.get(index) & 0xFF);
+		}
+		
+		@Override
+		public int length() {
+			return this.laenge;
+		}
+		
+		@Override
+		public CharSequence subSequence(final int von, final int bis) {
+			StringBuilder result = new StringBuilder(bis - von);
+			for (int index = von; index < bis; index++) {
+				result.append(this.charAt(index));
+			}
+			return result;
+		}
+		
+		@Override
+		public String toString() {
+			return this.subSequence(0, this.laenge).toString();
+		}
+	}
+}
\ No newline at end of file
@@ -1,7 +1,6 @@
 package de.drake.nonogramm.tools;
 
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
  * Reprsentation von verallgemeinerten Matrizen. Hierbei knnen die Zeilen der Matrix auch
@@ -253,68 +252,27 @@ public class Matrix<ContentClass> implements Iterable<ContentClass> {
 	/**
 	 * Erstellt eine Integer-Matrix aus einem String. Hierbei werden als Eingabeformate sowohl
 	 * [[1,2],[3],[]], {{1,2},{3},{}} als auch 1,2/3/ akzeptiert und Whitespaces ignoriert.
+	 * Das Einlesen bernimmt der Bedingungsleser.
 	 * 
 	 * @param string
 	 * 		der String, der die Matrix enthlt
 	 * 
-	 * @throws IllegalArgumentException
+	 * @throws Syntaxfehler
 	 * 		wird geworfen, wenn die Matrix im String nicht erkannt werden kann
 	 * 
 	 * @return die erzeugte Integer-Matrix
 	 */
-	public static Matrix<Integer> toIntMatrix(final String string) throws IllegalArgumentException {
-		
-		// Whitespaces entfernen
-		String arrayString = "";
-		Scanner scanner = new Scanner(string);
-		while (scanner.hasNext()) {
-			arrayString += scanner.next();
-		}
-		scanner.close();
-		
-		// Wenn das Format {{1,2},{3},{}} ist...
-		if (arrayString.startsWith("{{") && arrayString.endsWith("}}")) {
-			// Konvertiere zur 1,2/3/-Darstellung
-			arrayString = arrayString.substring(2, arrayString.length()-2);
-			arrayString = arrayString.replace("},{", "/");
-		}
-		
-		// Wenn das Format [[12,2],[3],[]] ist...
-		else if (arrayString.startsWith("[[") && arrayString.endsWith("]]")) {
-			// Konvertiere zur 1,2/3/-Darstellung
-			arrayString = arrayString.substring(2, arrayString.length()-2);
-			arrayString = arrayString.replace("],[", "/");
-		}
-			
-		// Nun ist das Format 12,2/3/.
-		// Damit leere Zeilen nicht bersehen werden, fgen wir einige Kommas hinzu...
-		arrayString = arrayString.replace("/", ",/,");
-		// ...und lschen doppelte wieder weg
-		arrayString = arrayString.replace(",,", ",");
-		
-		ArrayList<ArrayList<Integer>> array = new ArrayList<ArrayList<Integer>>();
-		Scanner hauptscanner = new Scanner(arrayString);
-		hauptscanner.useDelimiter("/");
-		int aktuelleZeile = 0;
-		while (hauptscanner.hasNext()) {
-			array.add(new ArrayList<Integer>());
-			String zeile = hauptscanner.next();
-			Scanner zeilenscanner = new Scanner(zeile);
-			zeilenscanner.useDelimiter(",");
-			while (zeilenscanner.hasNext()) {
-				Scanner intScanner = new Scanner(zeilenscanner.next());
-				if (!intScanner.hasNextInt()) {
-					intScanner.close();
-					throw new IllegalArgumentException("Die Eingabe lsst sich nicht als"
-							+ " Matrix interpretieren");
-				}
-				array.get(aktuelleZeile).add(intScanner.nextInt());
-				intScanner.close();
+	public static Matrix<Integer> toIntMatrix(final String string) throws Syntaxfehler {
+		Bedingungsleser leser = new Bedingungsleser();
+		leser.lies(string);
+		ArrayList<ArrayList<Integer>> array = new ArrayList<ArrayList<Integer>>(leser.getAnzahlReihen());
+		for (int reihe = 0; reihe < leser.getAnzahlReihen(); reihe++) {
+			ArrayList<Integer> zeile = new ArrayList<Integer>(leser.getAnzahlBloecke(reihe));
+			for (int block = 0; block < leser.getAnzahlBloecke(reihe); block++) {
+				zeile.add(leser.getBlock(reihe, block));
 			}
-			zeilenscanner.close();
-			aktuelleZeile++;
+			array.add(zeile);
 		}
-		hauptscanner.close();
 		return new Matrix<Integer>(array);
 	}
 
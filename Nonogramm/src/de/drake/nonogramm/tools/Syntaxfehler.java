@@ -0,0 +1,37 @@
+package de.drake.nonogramm.tools;
+
+/**
+ * Wird geworfen, wenn eine Eingabe nicht den erwarteten Aufbau hat. Die Position des fehlerhaften
+ * Zeichens kann abgefragt werden, z.B. um es in einem Textfeld zu markieren.
+ */
+public class Syntaxfehler extends IllegalArgumentException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Die Position des fehlerhaften Zeichens in der Eingabe
+	 */
+	private final int position;
+	
+	/**
+	 * Erzeugt einen Syntaxfehler.
+	 * 
+	 * @param meldung
+	 * 		Die Beschreibung des Fehlers
+	 * @param position
+	 * 		Die Position des fehlerhaften Zeichens in der Eingabe
+	 */
+	public Syntaxfehler(final String meldung, final int position) {
+		super(meldung + " an Position " + position);
+		this.position = position;
+	}
+	
+	/**
+	 * get-Methode fr die Position des fehlerhaften Zeichens
+	 * 
+	 * @return die Position in der Eingabe, beginnend bei 0
+	 */
+	public int getPosition() {
+		return this.position;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package de.drake.nonogramm.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Zeichnet die Mausaktionen eines Eingabeplans auf, statt sie auszufhren. Damit kann ein Plan
+ * ohne Bildschirm geprft und gemessen werden, z.B. die Anzahl der Aktionen und der Weg der Maus.
+ */
+class AufzeichnendeMausausgabe implements Mausausgabe {
+	
+	/**
+	 * Die Arten von Mausaktionen
+	 */
+	enum Art {
+		/**
+		 * Die Maus wurde bewegt.
+		 */
+		bewegen,
+		
+		/**
+		 * Maustasten wurden gedrckt.
+		 */
+		druecken,
+		
+		/**
+		 * Maustasten wurden losgelassen.
+		 */
+		loesen;
+	}
+	
+	/**
+	 * Eine aufgezeichnete Mausaktion
+	 */
+	static final class Aktion {
+		
+		/**
+		 * Die Art der Aktion
+		 */
+		final Art art;
+		
+		/**
+		 * Die x-Koordinate der Maus nach der Aktion in Pixeln
+		 */
+		final int x;
+		
+		/**
+		 * Die y-Koordinate der Maus nach der Aktion in Pixeln
+		 */
+		final int y;
+		
+		/**
+		 * Die gedrckten bzw. losgelassenen Tasten als Maske aus InputEvent, beim Bewegen die
+		 * gedrckt gehaltenen Tasten
+		 */
+		final int tasten;
+		
+		/**
+		 * Erzeugt eine Aktion.
+		 */
+		Aktion(final Art art, final int x, final int y, final int tasten) {
+			this.art = art;
+			this.x = x;
+			this.y = y;
+			this.tasten = tasten;
+		}
+		
+		@Override
+		public String toString() {
+			return this.art + " (" + this.x + ", " + this.y + ") " + this.tasten;
+		}
+	}
+	
+	/**
+	 * Die aufgezeichneten Aktionen
+	 */
+	private final List<Aktion> aktionen = new ArrayList<Aktion>();
+	
+	/**
+	 * Die aktuelle x-Koordinate der Maus in Pixeln
+	 */
+	private int x;
+	
+	/**
+	 * Die aktuelle y-Koordinate der Maus in Pixeln
+	 */
+	private int y;
+	
+	/**
+	 * Die gedrckt gehaltenen Tasten als Maske aus InputEvent
+	 */
+	private int gedrueckt;
+	
+	/**
+	 * Der bisher zurckgelegte Weg der Maus in Pixeln
+	 */
+	private double weg;
+	
+	@Override
+	public void bewege(final int x, final int y) {
+		if (!this.aktionen.isEmpty())
+			this.weg += Math.hypot(x - this.x, y - this.y);
+		this.x = x;
+		this.y = y;
+		this.aktionen.add(new Aktion(Art.bewegen, x, y, this.gedrueckt));
+	}
+	
+	@Override
+	public void druecke(final int tasten) {
+		this.gedrueckt |= tasten;
+		this.aktionen.add(new Aktion(Art.druecken, this.x, this.y, tasten));
+	}
+	
+	@Override
+	public void loese(final int tasten) {
+		this.gedrueckt &= ~tasten;
+		this.aktionen.add(new Aktion(Art.loesen, this.x, this.y, tasten));
+	}
+	
+	/**
+	 * Gibt die aufgezeichneten Aktionen in der Reihenfolge ihres Aufrufs zurck.
+	 */
+	List<Aktion> getAktionen() {
+		return Collections.unmodifiableList(this.aktionen);
+	}
+	
+	/**
+	 * Gibt den Weg zurck, den die Maus seit ihrer ersten Bewegung zurckgelegt hat, in Pixeln.
+	 */
+	double getWeg() {
+		return this.weg;
+	}
+	
+	/**
+	 * Gibt die Tasten zurck, die derzeit gedrckt gehalten werden, als Maske aus InputEvent.
+	 */
+	int getGedrueckteTasten() {
+		return this.gedrueckt;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package de.drake.nonogramm.view;
+
+/**
+ * Die Lage eines Nonogramms auf dem Bildschirm, gegeben durch die Mittelpunkte des linken oberen
+ * und des rechten unteren Feldes. Die Mittelpunkte der brigen Felder werden dazwischen gleichmig
+ * verteilt.
+ */
+class Bildschirmgitter {
+	
+	/**
+	 * Die x-Koordinate des linken oberen Feldes
+	 */
+	private final int linksObenX;
+	
+	/**
+	 * Die y-Koordinate des linken oberen Feldes
+	 */
+	private final int linksObenY;
+	
+	/**
+	 * Die x-Koordinate des rechten unteren Feldes
+	 */
+	private final int rechtsUntenX;
+	
+	/**
+	 * Die y-Koordinate des rechten unteren Feldes
+	 */
+	private final int rechtsUntenY;
+	
+	/**
+	 * Die Anzahl der Zeilen
+	 */
+	private final int hoehe;
+	
+	/**
+	 * Die Anzahl der Spalten
+	 */
+	private final int breite;
+	
+	/**
+	 * Erzeugt ein Bildschirmgitter.
+	 * 
+	 * @param linksObenX
+	 * 		Die x-Koordinate des linken oberen Feldes
+	 * @param linksObenY
+	 * 		Die y-Koordinate des linken oberen Feldes
+	 * @param rechtsUntenX
+	 * 		Die x-Koordinate des rechten unteren Feldes
+	 * @param rechtsUntenY
+	 * 		Die y-Koordinate des rechten unteren Feldes
+	 * @param hoehe
+	 * 		Die Anzahl der Zeilen
+	 * @param breite
+	 * 		Die Anzahl der Spalten
+	 */
+	Bildschirmgitter(final int linksObenX, final int linksObenY, final int rechtsUntenX,
+			final int rechtsUntenY, final int hoehe, final int breite) {
+		this.linksObenX = linksObenX;
+		this.linksObenY = linksObenY;
+		this.rechtsUntenX = rechtsUntenX;
+		this.rechtsUntenY = rechtsUntenY;
+		this.hoehe = hoehe;
+		this.breite = breite;
+	}
+	
+	/**
+	 * Gibt die x-Koordinate der Mitte einer Spalte zurck.
+	 * 
+	 * @param spalte
+	 * 		Der Spaltenindex
+	 */
+	int getX(final int spalte) {
+		if (this.breite < 2)
+			return this.linksObenX;
+		return this.linksObenX + (this.rechtsUntenX - this.linksObenX) * spalte / (this.breite - 1);
+	}
+	
+	/**
+	 * Gibt die y-Koordinate der Mitte einer Zeile zurck.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex
+	 */
+	int getY(final int zeile) {
+		if (this.hoehe < 2)
+			return this.linksObenY;
+		return this.linksObenY + (this.rechtsUntenY - this.linksObenY) * zeile / (this.hoehe - 1);
+	}
+	
+	/**
+	 * Gibt die Anzahl der Zeilen zurck.
+	 */
+	int getHoehe() {
+		return this.hoehe;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Spalten zurck.
+	 */
+	int getBreite() {
+		return this.breite;
+	}
+}
\ No newline at end of file
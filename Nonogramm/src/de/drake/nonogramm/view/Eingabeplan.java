@@ -0,0 +1,305 @@
+package de.drake.nonogramm.view;
+
+import java.awt.event.InputEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+
+/**
+ * Plant die Eingabe eines (teilweise) gelsten Nonogramms per Maus in eine andere Anwendung, z.B.
+ * auf www.rozov.de. Statt jedes Feld einzeln anzuklicken, werden benachbarte Felder gleichen Status
+ * zu waagerechten bzw. senkrechten Strichen zusammengefasst, die mit gedrckter Taste berfahren
+ * werden: schwarze Felder mit der linken, weie mit der rechten Maustaste.
+ * Jedes Feld wird von genau einem Strich berfahren, und Striche berfahren keine anderen Felder,
+ * da ein erneutes Anklicken das Feld in vielen Anwendungen wieder zurcksetzt. Jedes Feld wird
+ * dazu dem Strich in der Richtung zugeordnet, in der es zum lngeren Abschnitt gehrt.
+ * Die Striche werden so angeordnet, dass die Maus jeweils zum nchstgelegenen Ende eines noch
+ * offenen Strichs springt.
+ */
+class Eingabeplan {
+	
+	/**
+	 * Ein Strich ber benachbarte Felder einer Zeile bzw. Spalte, die denselben Status erhalten
+	 */
+	static final class Strich {
+		
+		/**
+		 * Der Zeilenindex des ersten Feldes
+		 */
+		final int startZeile;
+		
+		/**
+		 * Der Spaltenindex des ersten Feldes
+		 */
+		final int startSpalte;
+		
+		/**
+		 * Der Zeilenindex des letzten Feldes
+		 */
+		final int endZeile;
+		
+		/**
+		 * Der Spaltenindex des letzten Feldes
+		 */
+		final int endSpalte;
+		
+		/**
+		 * Der Status, den die Felder erhalten
+		 */
+		final Feldstatus status;
+		
+		/**
+		 * Erzeugt einen Strich. Erstes und letztes Feld mssen in derselben Zeile oder Spalte liegen.
+		 */
+		Strich(final int startZeile, final int startSpalte, final int endZeile, final int endSpalte,
+				final Feldstatus status) {
+			this.startZeile = startZeile;
+			this.startSpalte = startSpalte;
+			this.endZeile = endZeile;
+			this.endSpalte = endSpalte;
+			this.status = status;
+		}
+		
+		/**
+		 * Gibt die Anzahl der berfahrenen Felder zurck.
+		 */
+		int getLaenge() {
+			return Math.abs(this.endZeile - this.startZeile) + Math.abs(this.endSpalte - this.startSpalte) + 1;
+		}
+		
+		/**
+		 * Gibt denselben Strich in umgekehrter Richtung zurck.
+		 */
+		Strich umgekehrt() {
+			return new Strich(this.endZeile, this.endSpalte, this.startZeile, this.startSpalte, this.status);
+		}
+		
+		@Override
+		public String toString() {
+			return this.status + " (" + this.startZeile + "," + this.startSpalte + ")-(" + this.endZeile + ","
+					+ this.endSpalte + ")";
+		}
+	}
+	
+	/**
+	 * Die Striche in der Reihenfolge des Abspielens
+	 */
+	private final List<Strich> striche;
+	
+	/**
+	 * Erzeugt einen Plan aus bereits angeordneten Strichen.
+	 * 
+	 * @param striche
+	 * 		Die Striche in der Reihenfolge des Abspielens
+	 */
+	private Eingabeplan(final List<Strich> striche) {
+		this.striche = Collections.unmodifiableList(striche);
+	}
+	
+	/**
+	 * Erstellt den Plan fr die Eingabe eines Nonogramms.
+	 * 
+	 * @param ziel
+	 * 		Das einzugebende Nonogramm; unbekannte Felder werden nicht eingegeben.
+	 * @param angezeigt
+	 * 		Der Stand, den die Zielanwendung bereits anzeigt, bzw. null. Felder, die dort schon den
+	 * 		gewnschten Status haben, werden bersprungen.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		wird geworfen, wenn die Gre des angezeigten Standes nicht zum Ziel passt
+	 */
+	static Eingabeplan erstelle(final Nonogramm ziel, final Nonogramm angezeigt)
+			throws IllegalArgumentException {
+		int hoehe = ziel.getHoehe();
+		int breite = ziel.getBreite();
+		if (angezeigt != null && (angezeigt.getHoehe() != hoehe || angezeigt.getBreite() != breite))
+			throw new IllegalArgumentException("Der angezeigte Stand passt nicht zum Nonogramm!");
+		
+		// Die einzugebenden Felder, zeilenweise; null fr Felder, die nicht eingegeben werden
+		Feldstatus[] soll = new Feldstatus[hoehe * breite];
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			for (int spalte = 0; spalte < breite; spalte++) {
+				Feldstatus status = ziel.getStatus(zeile, spalte);
+				if (status == Feldstatus.unknown || angezeigt != null && angezeigt.hasStatus(zeile, spalte, status))
+					continue;
+				soll[zeile * breite + spalte] = status;
+			}
+		}
+		
+		// Lnge des waagerechten und des senkrechten Abschnitts, zu dem jedes Feld gehrt
+		int[] waagerecht = new int[hoehe * breite];
+		int[] senkrecht = new int[hoehe * breite];
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			bestimmeAbschnitte(soll, waagerecht, zeile * breite, 1, breite);
+		}
+		for (int spalte = 0; spalte < breite; spalte++) {
+			bestimmeAbschnitte(soll, senkrecht, spalte, breite, hoehe);
+		}
+		
+		List<Strich> striche = new ArrayList<Strich>();
+		for (int zeile = 0; zeile < hoehe; zeile++) {
+			int anfang = -1;
+			for (int spalte = 0; spalte <= breite; spalte++) {
+				int feld = zeile * breite + spalte;
+				boolean dazu = spalte < breite && soll[feld] != null && waagerecht[feld] >= senkrecht[feld];
+				if (anfang >= 0 && (!dazu || soll[feld] != soll[feld - 1])) {
+					striche.add(new Strich(zeile, anfang, zeile, spalte - 1, soll[feld - 1]));
+					anfang = -1;
+				}
+				if (dazu && anfang < 0)
+					anfang = spalte;
+			}
+		}
+		for (int spalte = 0; spalte < breite; spalte++) {
+			int anfang = -1;
+			for (int zeile = 0; zeile <= hoehe; zeile++) {
+				int feld = zeile * breite + spalte;
+				boolean dazu = zeile < hoehe && soll[feld] != null && waagerecht[feld] < senkrecht[feld];
+				if (anfang >= 0 && (!dazu || soll[feld] != soll[feld - breite])) {
+					striche.add(new Strich(anfang, spalte, zeile - 1, spalte, soll[feld - breite]));
+					anfang = -1;
+				}
+				if (dazu && anfang < 0)
+					anfang = zeile;
+			}
+		}
+		return new Eingabeplan(ordne(striche));
+	}
+	
+	/**
+	 * Trgt fr jedes Feld einer Reihe die Lnge des Abschnitts ein, zu dem es gehrt, d.h. die
+	 * Anzahl der benachbarten Felder, die denselben Status erhalten.
+	 * 
+	 * @param soll
+	 * 		Die einzugebenden Felder
+	 * @param laengen
+	 * 		Das Array, in das die Lngen eingetragen werden
+	 * @param anfang
+	 * 		Der Index des ersten Feldes der Reihe
+	 * @param schritt
+	 * 		Der Abstand zweier benachbarter Felder der Reihe
+	 * @param anzahl
+	 * 		Die Anzahl der Felder der Reihe
+	 */
+	private static void bestimmeAbschnitte(final Feldstatus[] soll, final int[] laengen, final int anfang,
+			final int schritt, final int anzahl) {
+		int abschnitt = 0;
+		for (int position = 0; position <= anzahl; position++) {
+			int feld = anfang + position * schritt;
+			if (position < anzahl && abschnitt > 0 && soll[feld] == soll[feld - schritt]) {
+				abschnitt++;
+				continue;
+			}
+			for (int vorher = position - abschnitt; vorher < position; vorher++) {
+				laengen[anfang + vorher * schritt] = abschnitt;
+			}
+			abschnitt = position < anzahl && soll[feld] != null ? 1 : 0;
+		}
+	}
+	
+	/**
+	 * Ordnet die Striche, beginnend beim linken oberen Feld, so an, dass jeweils der Strich folgt,
+	 * dessen nheres Ende der aktuellen Mausposition am nchsten liegt. Der Strich wird dann von
+	 * diesem Ende aus gezogen.
+	 * 
+	 * @param striche
+	 * 		Die Striche in beliebiger Reihenfolge, wird geleert
+	 * 
+	 * @return die angeordneten Striche
+	 */
+	private static List<Strich> ordne(final List<Strich> striche) {
+		List<Strich> geordnet = new ArrayList<Strich>(striche.size());
+		int zeile = 0;
+		int spalte = 0;
+		while (!striche.isEmpty()) {
+			int bester = 0;
+			boolean umkehren = false;
+			int kuerzesterWeg = Integer.MAX_VALUE;
+			for (int index = 0; index < striche.size(); index++) {
+				Strich strich = striche.get(index);
+				int wegZumAnfang = abstand(zeile, spalte, strich.startZeile, strich.startSpalte);
+				int wegZumEnde = abstand(zeile, spalte, strich.endZeile, strich.endSpalte);
+				if (wegZumAnfang < kuerzesterWeg) {
+					kuerzesterWeg = wegZumAnfang;
+					bester = index;
+					umkehren = false;
+				}
+				if (wegZumEnde < kuerzesterWeg) {
+					kuerzesterWeg = wegZumEnde;
+					bester = index;
+					umkehren = true;
+				}
+			}
+			// Den gewhlten Strich durch den letzten ersetzen, statt die Liste zu verschieben
+			Strich strich = striche.get(bester);
+			striche.set(bester, striche.get(striche.size() - 1));
+			striche.remove(striche.size() - 1);
+			if (umkehren)
+				strich = strich.umgekehrt();
+			geordnet.add(strich);
+			zeile = strich.endZeile;
+			spalte = strich.endSpalte;
+		}
+		return geordnet;
+	}
+	
+	/**
+	 * Gibt das Quadrat des Abstands zweier Felder zurck.
+	 */
+	private static int abstand(final int zeile1, final int spalte1, final int zeile2, final int spalte2) {
+		return (zeile1 - zeile2) * (zeile1 - zeile2) + (spalte1 - spalte2) * (spalte1 - spalte2);
+	}
+	
+	/**
+	 * Spielt den Plan ab: Fr jeden Strich wird die Maus auf das erste Feld bewegt, die Taste
+	 * gedrckt, die Maus Feld fr Feld bis zum letzten Feld bewegt und die Taste losgelassen.
+	 * 
+	 * @param ausgabe
+	 * 		Die Mausausgabe, die die Aktionen ausfhrt
+	 * @param gitter
+	 * 		Die Lage des Nonogramms auf dem Bildschirm
+	 */
+	void spieleAb(final Mausausgabe ausgabe, final Bildschirmgitter gitter) {
+		for (Strich strich : this.striche) {
+			int taste = strich.status == Feldstatus.black ? InputEvent.BUTTON1_MASK : InputEvent.BUTTON3_MASK;
+			int schrittZeile = Integer.signum(strich.endZeile - strich.startZeile);
+			int schrittSpalte = Integer.signum(strich.endSpalte - strich.startSpalte);
+			ausgabe.bewege(gitter.getX(strich.startSpalte), gitter.getY(strich.startZeile));
+			ausgabe.druecke(taste);
+			for (int feld = 1; feld < strich.getLaenge(); feld++) {
+				ausgabe.bewege(gitter.getX(strich.startSpalte + feld * schrittSpalte),
+						gitter.getY(strich.startZeile + feld * schrittZeile));
+			}
+			ausgabe.loese(taste);
+		}
+	}
+	
+	/**
+	 * Gibt die Striche in der Reihenfolge des Abspielens zurck.
+	 */
+	List<Strich> getStriche() {
+		return this.striche;
+	}
+	
+	/**
+	 * Gibt die Anzahl der einzugebenden Felder zurck.
+	 */
+	int getAnzahlFelder() {
+		int anzahl = 0;
+		for (Strich strich : this.striche) {
+			anzahl += strich.getLaenge();
+		}
+		return anzahl;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Mausaktionen beim Abspielen zurck: je Strich ein Drcken, ein Loslassen
+	 * und eine Bewegung je Feld.
+	 */
+	int getAnzahlAktionen() {
+		return this.getAnzahlFelder() + 2 * this.striche.size();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,372 @@
+package de.drake.nonogramm.view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.swing.JComponent;
+
+import de.drake.nonogramm.model.Bedingungen;
+import de.drake.nonogramm.model.Feldstatus;
+import de.drake.nonogramm.model.Nonogramm;
+import de.drake.nonogramm.solver.Feldaenderung;
+import de.drake.nonogramm.solver.Feldbeobachter;
+
+/**
+ * Zeichnet ein Nonogramm als Gitter mit den Bedingungen am linken und oberen Rand.
+ * Die Anzeige merkt sich den zuletzt gezeichneten Status jedes Feldes. Whrend eines
+ * Lsungsvorgangs meldet der Solver seine nderungen an this.getFeldbeobachter(); this.aktualisiere()
+ * bernimmt nur diese nderungen und fordert nur fr die betroffenen Felder ein Neuzeichnen an.
+ * this.gleicheAb() vergleicht dagegen das gesamte Nonogramm, z.B. nach dem Ende eines
+ * Lsungsvorgangs.
+ * Beim Zeichnen werden nur die Felder und Bedingungen innerhalb des Clip-Bereichs bearbeitet, so
+ * dass auch groe Nonogramme whrend eines Lsungsvorgangs flssig angezeigt werden.
+ * Alle Methoden mssen auf dem Event-Dispatch-Thread aufgerufen werden; das Nonogramm darf dabei
+ * von einem anderen Thread verndert werden.
+ */
+class Gitteranzeige extends JComponent {
+	
+	/**
+	 * Die serialVersionUID fr Gitteranzeige
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Die grte Kantenlnge eines Feldes in Pixeln
+	 */
+	private static final int MAX_FELDGROESSE = 20;
+	
+	/**
+	 * Die kleinste Kantenlnge eines Feldes in Pixeln
+	 */
+	private static final int MIN_FELDGROESSE = 6;
+	
+	/**
+	 * Die Kantenlnge, die das gesamte Gitter ohne Rand hchstens einnehmen soll, in Pixeln
+	 */
+	private static final int ZIELGROESSE = 600;
+	
+	/**
+	 * Der Abstand zwischen den Bedingungen und dem Rand der Komponente in Pixeln
+	 */
+	private static final int RAND = 4;
+	
+	/**
+	 * Die Farbe der unbekannten Felder
+	 */
+	private static final Color FARBE_UNBEKANNT = new Color(0xDDDDDD);
+	
+	/**
+	 * Die Farbe der Gitterlinien
+	 */
+	private static final Color FARBE_LINIE = new Color(0x999999);
+	
+	/**
+	 * Das angezeigte Nonogramm, bzw. null
+	 */
+	private Nonogramm nonogramm;
+	
+	/**
+	 * Der zuletzt gezeichnete Status jedes Feldes, zeilenweise
+	 */
+	private Feldstatus[] angezeigt = new Feldstatus[0];
+	
+	/**
+	 * Der Feldbeobachter fr das angezeigte Nonogramm, bzw. null
+	 */
+	private volatile Beobachter beobachter;
+	
+	/**
+	 * Die Kantenlnge eines Feldes in Pixeln
+	 */
+	private int feldgroesse = MAX_FELDGROESSE;
+	
+	/**
+	 * Die Schrift der Bedingungen
+	 */
+	private Font schrift = this.getSchrift(MAX_FELDGROESSE);
+	
+	/**
+	 * Die Breite des linken Randes mit den Bedingungen der Zeilen in Pixeln
+	 */
+	private int linkerRand;
+	
+	/**
+	 * Die Hhe des oberen Randes mit den Bedingungen der Spalten in Pixeln
+	 */
+	private int obererRand;
+	
+	/**
+	 * Die Breite einer Bedingung im linken Rand in Pixeln
+	 */
+	private int bedingungsbreite;
+	
+	/**
+	 * Sammelt die nderungen, die ein Solver an einem Nonogramm meldet, bis sie auf dem
+	 * Event-Dispatch-Thread bernommen werden. Je angezeigtem Nonogramm wird ein eigener Beobachter
+	 * verwendet, so dass versptete Meldungen eines abgebrochenen Solvers ins Leere gehen.
+	 */
+	private static final class Beobachter implements Feldbeobachter {
+		
+		/**
+		 * Die gemeldeten, noch nicht bernommenen nderungen
+		 */
+		private final ConcurrentLinkedQueue<List<Feldaenderung>> aenderungen
+				= new ConcurrentLinkedQueue<List<Feldaenderung>>();
+		
+		@Override
+		public void meldeAenderungen(final List<Feldaenderung> aenderungen) {
+			this.aenderungen.add(aenderungen);
+		}
+	}
+	
+	/**
+	 * Zeigt ein Nonogramm an, bzw. leert die Anzeige.
+	 * 
+	 * @param nonogramm
+	 * 		Das Nonogramm, bzw. null
+	 */
+	void setNonogramm(final Nonogramm nonogramm) {
+		this.nonogramm = nonogramm;
+		this.beobachter = nonogramm == null ? null : new Beobachter();
+		if (nonogramm != null) {
+			int hoehe = nonogramm.getHoehe();
+			int breite = nonogramm.getBreite();
+			this.angezeigt = new Feldstatus[hoehe * breite];
+			for (int zeile = 0; zeile < hoehe; zeile++) {
+				for (int spalte = 0; spalte < breite; spalte++) {
+					this.angezeigt[zeile * breite + spalte] = nonogramm.getStatus(zeile, spalte);
+				}
+			}
+			this.feldgroesse = Math.max(MIN_FELDGROESSE,
+					Math.min(MAX_FELDGROESSE, ZIELGROESSE / Math.max(hoehe, breite)));
+			this.schrift = this.getSchrift(this.feldgroesse);
+			FontMetrics metriken = this.getFontMetrics(this.schrift);
+			Bedingungen linkeBedingungen = nonogramm.getLinkeBedingungen();
+			Bedingungen obereBedingungen = nonogramm.getObereBedingungen();
+			this.bedingungsbreite = metriken.stringWidth(String.valueOf(Math.max(maxBlock(linkeBedingungen),
+					maxBlock(obereBedingungen)))) + 2;
+			// Die Bedingungen der Spalten stehen bereinander und mssen in die Feldbreite passen.
+			this.feldgroesse = Math.max(this.feldgroesse,
+					metriken.stringWidth(String.valueOf(maxBlock(obereBedingungen))) + 2);
+			this.linkerRand = RAND + this.bedingungsbreite * maxAnzahlBloecke(nonogramm.getLinkeBedingungen());
+			this.obererRand = RAND + metriken.getHeight() * maxAnzahlBloecke(nonogramm.getObereBedingungen());
+		} else {
+			this.angezeigt = new Feldstatus[0];
+		}
+		this.revalidate();
+		this.repaint();
+	}
+	
+	/**
+	 * Gibt den Feldbeobachter zurck, den ein Solver des angezeigten Nonogramms erhalten muss, damit
+	 * this.aktualisiere() seine nderungen anzeigt, bzw. null, wenn kein Nonogramm angezeigt wird.
+	 */
+	Feldbeobachter getFeldbeobachter() {
+		return this.beobachter;
+	}
+	
+	/**
+	 * bernimmt die seit dem letzten Aufruf gemeldeten nderungen und fordert fr jedes genderte
+	 * Feld ein Neuzeichnen an. Ohne Meldungen kostet der Aufruf nahezu nichts.
+	 */
+	void aktualisiere() {
+		Beobachter beobachter = this.beobachter;
+		if (beobachter == null)
+			return;
+		int breite = this.nonogramm.getBreite();
+		List<Feldaenderung> aenderungen;
+		while ((aenderungen = beobachter.aenderungen.poll()) != null) {
+			for (Feldaenderung aenderung : aenderungen) {
+				this.zeigeAn(aenderung.getZeile(), aenderung.getSpalte(), breite, aenderung.getStatus());
+			}
+		}
+	}
+	
+	/**
+	 * Vergleicht das gesamte Nonogramm mit dem zuletzt gezeichneten Stand und fordert fr jedes
+	 * genderte Feld ein Neuzeichnen an. Bereits gemeldete nderungen werden dabei verworfen.
+	 */
+	void gleicheAb() {
+		if (this.nonogramm == null)
+			return;
+		this.beobachter.aenderungen.clear();
+		int breite = this.nonogramm.getBreite();
+		for (int zeile = 0; zeile < this.nonogramm.getHoehe(); zeile++) {
+			for (int spalte = 0; spalte < breite; spalte++) {
+				this.zeigeAn(zeile, spalte, breite, this.nonogramm.getStatus(zeile, spalte));
+			}
+		}
+	}
+	
+	/**
+	 * Merkt sich den Status eines Feldes und fordert, falls er sich gendert hat, ein Neuzeichnen an.
+	 * 
+	 * @param zeile
+	 * 		Der Zeilenindex des Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des Feldes
+	 * @param breite
+	 * 		Die Breite des Nonogramms
+	 * @param status
+	 * 		Der neue Status des Feldes
+	 */
+	private void zeigeAn(final int zeile, final int spalte, final int breite, final Feldstatus status) {
+		if (status == this.angezeigt[zeile * breite + spalte])
+			return;
+		this.angezeigt[zeile * breite + spalte] = status;
+		this.repaint(this.linkerRand + spalte * this.feldgroesse, this.obererRand + zeile * this.feldgroesse,
+				this.feldgroesse + 1, this.feldgroesse + 1);
+	}
+	
+	@Override
+	public Dimension getPreferredSize() {
+		if (this.nonogramm == null)
+			return new Dimension(0, 0);
+		return new Dimension(this.linkerRand + this.nonogramm.getBreite() * this.feldgroesse + RAND,
+				this.obererRand + this.nonogramm.getHoehe() * this.feldgroesse + RAND);
+	}
+	
+	@Override
+	protected void paintComponent(final Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, this.getWidth(), this.getHeight());
+		g.setColor(Color.WHITE);
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		if (this.nonogramm == null)
+			return;
+		int hoehe = this.nonogramm.getHoehe();
+		int breite = this.nonogramm.getBreite();
+		int ersteZeile = Math.max(0, (clip.y - this.obererRand) / this.feldgroesse);
+		int letzteZeile = Math.min(hoehe - 1, (clip.y + clip.height - this.obererRand) / this.feldgroesse);
+		int ersteSpalte = Math.max(0, (clip.x - this.linkerRand) / this.feldgroesse);
+		int letzteSpalte = Math.min(breite - 1, (clip.x + clip.width - this.linkerRand) / this.feldgroesse);
+		
+		g.setFont(this.schrift);
+		FontMetrics metriken = g.getFontMetrics();
+		g.setColor(Color.BLACK);
+		if (clip.x < this.linkerRand) {
+			Bedingungen bedingungen = this.nonogramm.getLinkeBedingungen();
+			for (int zeile = ersteZeile; zeile <= letzteZeile; zeile++) {
+				int anzahlBloecke = bedingungen.getAnzahlBloecke(zeile);
+				int y = this.obererRand + zeile * this.feldgroesse
+						+ (this.feldgroesse + metriken.getAscent() - metriken.getDescent()) / 2;
+				for (int block = 0; block < anzahlBloecke; block++) {
+					String text = String.valueOf(bedingungen.getBlock(zeile, block));
+					int x = this.linkerRand - (anzahlBloecke - block) * this.bedingungsbreite;
+					g.drawString(text, x + this.bedingungsbreite - 2 - metriken.stringWidth(text), y);
+				}
+			}
+		}
+		if (clip.y < this.obererRand) {
+			Bedingungen bedingungen = this.nonogramm.getObereBedingungen();
+			for (int spalte = ersteSpalte; spalte <= letzteSpalte; spalte++) {
+				int anzahlBloecke = bedingungen.getAnzahlBloecke(spalte);
+				for (int block = 0; block < anzahlBloecke; block++) {
+					String text = String.valueOf(bedingungen.getBlock(spalte, block));
+					int x = this.linkerRand + spalte * this.feldgroesse
+							+ (this.feldgroesse - metriken.stringWidth(text)) / 2;
+					int y = this.obererRand - (anzahlBloecke - block) * metriken.getHeight() + metriken.getAscent();
+					g.drawString(text, x, y);
+				}
+			}
+		}
+		
+		for (int zeile = ersteZeile; zeile <= letzteZeile; zeile++) {
+			for (int spalte = ersteSpalte; spalte <= letzteSpalte; spalte++) {
+				this.zeichneFeld(g, zeile, spalte, this.angezeigt[zeile * breite + spalte]);
+			}
+		}
+		
+		// Gitterlinien, jede fnfte Linie in Schwarz
+		for (int zeile = ersteZeile; zeile <= Math.min(hoehe, letzteZeile + 1); zeile++) {
+			int y = this.obererRand + zeile * this.feldgroesse;
+			g.setColor(zeile % 5 == 0 || zeile == hoehe ? Color.BLACK : FARBE_LINIE);
+			g.drawLine(this.linkerRand + ersteSpalte * this.feldgroesse, y,
+					this.linkerRand + Math.min(breite, letzteSpalte + 1) * this.feldgroesse, y);
+		}
+		for (int spalte = ersteSpalte; spalte <= Math.min(breite, letzteSpalte + 1); spalte++) {
+			int x = this.linkerRand + spalte * this.feldgroesse;
+			g.setColor(spalte % 5 == 0 || spalte == breite ? Color.BLACK : FARBE_LINIE);
+			g.drawLine(x, this.obererRand + ersteZeile * this.feldgroesse,
+					x, this.obererRand + Math.min(hoehe, letzteZeile + 1) * this.feldgroesse);
+		}
+	}
+	
+	/**
+	 * Zeichnet ein Feld ohne Gitterlinien.
+	 * 
+	 * @param g
+	 * 		Der Grafikkontext
+	 * @param zeile
+	 * 		Der Zeilenindex des Feldes
+	 * @param spalte
+	 * 		Der Spaltenindex des Feldes
+	 * @param status
+	 * 		Der Status des Feldes
+	 */
+	private void zeichneFeld(final Graphics g, final int zeile, final int spalte, final Feldstatus status) {
+		int x = this.linkerRand + spalte * this.feldgroesse;
+		int y = this.obererRand + zeile * this.feldgroesse;
+		switch (status) {
+		case black:
+			g.setColor(Color.BLACK);
+			g.fillRect(x, y, this.feldgroesse, this.feldgroesse);
+			break;
+		case white:
+			g.setColor(Color.WHITE);
+			g.fillRect(x, y, this.feldgroesse, this.feldgroesse);
+			g.setColor(Color.GRAY);
+			int mitte = this.feldgroesse / 2;
+			g.fillRect(x + mitte - 1, y + mitte - 1, 2, 2);
+			break;
+		default:
+			g.setColor(FARBE_UNBEKANNT);
+			g.fillRect(x, y, this.feldgroesse, this.feldgroesse);
+		}
+	}
+	
+	/**
+	 * Gibt die Schrift der Bedingungen zurck, passend zur Feldgre.
+	 * 
+	 * @param feldgroesse
+	 * 		Die Kantenlnge eines Feldes in Pixeln
+	 */
+	private Font getSchrift(final int feldgroesse) {
+		return new Font(Font.SANS_SERIF, Font.PLAIN, Math.max(8, feldgroesse * 3 / 4));
+	}
+	
+	/**
+	 * Gibt die grte Anzahl von Blcken in einer Reihe zurck.
+	 * 
+	 * @param bedingungen
+	 * 		Die Bedingungen aller Zeilen bzw. Spalten
+	 */
+	private static int maxAnzahlBloecke(final Bedingungen bedingungen) {
+		int maximum = 1;
+		for (int reihe = 0; reihe < bedingungen.getAnzahlReihen(); reihe++) {
+			maximum = Math.max(maximum, bedingungen.getAnzahlBloecke(reihe));
+		}
+		return maximum;
+	}
+	
+	/**
+	 * Gibt die grte Blocklnge aller Reihen zurck (siehe Bedingungen.getMaximum).
+	 * 
+	 * @param bedingungen
+	 * 		Die Bedingungen aller Zeilen bzw. Spalten
+	 */
+	private static int maxBlock(final Bedingungen bedingungen) {
+		int maximum = 0;
+		for (int reihe = 0; reihe < bedingungen.getAnzahlReihen(); reihe++) {
+			maximum = Math.max(maximum, bedingungen.getMaximum(reihe));
+		}
+		return maximum;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package de.drake.nonogramm.view;
+
+/**
+ * Nimmt die Mausaktionen beim Abspielen eines Eingabeplans entgegen. Im Betrieb werden sie per
+ * java.awt.Robot ausgefhrt (RobotMausausgabe); zum Prfen und Messen eines Plans ohne Bildschirm
+ * knnen sie stattdessen aufgezeichnet werden (AufzeichnendeMausausgabe).
+ */
+interface Mausausgabe {
+	
+	/**
+	 * Bewegt die Maus an eine Bildschirmposition.
+	 * 
+	 * @param x
+	 * 		Die x-Koordinate in Pixeln
+	 * @param y
+	 * 		Die y-Koordinate in Pixeln
+	 */
+	void bewege(int x, int y);
+	
+	/**
+	 * Drckt Maustasten.
+	 * 
+	 * @param tasten
+	 * 		Die Tasten als Maske aus InputEvent, z.B. InputEvent.BUTTON1_MASK
+	 */
+	void druecke(int tasten);
+	
+	/**
+	 * Lsst Maustasten los.
+	 * 
+	 * @param tasten
+	 * 		Die Tasten als Maske aus InputEvent, z.B. InputEvent.BUTTON1_MASK
+	 */
+	void loese(int tasten);
+}
\ No newline at end of file
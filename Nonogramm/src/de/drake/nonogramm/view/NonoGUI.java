@@ -2,16 +2,22 @@ package de.drake.nonogramm.view;
 
 import java.awt.*;
 import java.awt.event.*;
-import java.io.IOException;
-import java.net.URL;
-import java.util.Scanner;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
 
 import javax.swing.JCheckBox;
 import javax.swing.JFrame;
+import javax.swing.JScrollPane;
+import javax.swing.Timer;
 
 import de.drake.nonogramm.model.*;
+import de.drake.nonogramm.rozov.Rozovlader;
+import de.drake.nonogramm.rozov.Rozovraetsel;
 import de.drake.nonogramm.solver.Solver;
-import de.drake.nonogramm.tools.Matrix;
 
 /**
  * Stellt eine GUI fr die Lsung von Nonogrammen zur Verfgung.
@@ -46,10 +52,15 @@ class NonoGUI extends JFrame {
 	TextArea obereBedingungenTextArea;
 	
 	/**
-	 * Die TextArea, in die das aktuelle Nonogramm sowie vereinzelte Textmeldungen ausgegeben werden knnen
+	 * Die TextArea, in die Textmeldungen ausgegeben werden knnen
 	 */
 	TextArea ausgabeTextArea;
 	
+	/**
+	 * Die Komponente, in der das aktuelle Nonogramm als Gitter angezeigt wird
+	 */
+	Gitteranzeige gitteranzeige;
+	
 	/**
 	 * Das Textfield, in dem die Nummer des aktuellen www.rozov.de-Nonogrammes steht
 	 */
@@ -60,6 +71,58 @@ class NonoGUI extends JFrame {
 	 */
 	JCheckBox optionRekursion;
 	
+	/**
+	 * Das Label, in dem der Fortschritt bzw. das Ergebnis des letzten Lsungsvorgangs steht
+	 */
+	Label fortschrittLabel;
+	
+	/**
+	 * Der Button, mit dem ein laufender Lsungsvorgang abgebrochen wird
+	 */
+	Button abbrechenButton;
+	
+	/**
+	 * Die Buttons, die whrend eines laufenden Lsungsvorgangs gesperrt sind
+	 */
+	Button[] solverButtons;
+	
+	/**
+	 * Der Solver, der gerade im Hintergrund arbeitet, bzw. null
+	 */
+	Solver laufenderSolver;
+	
+	/**
+	 * Der Thread, auf dem die Lsungsvorgnge laufen, damit die GUI whrenddessen bedienbar bleibt
+	 */
+	private final ExecutorService hintergrund = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(final Runnable aufgabe) {
+			Thread thread = new Thread(aufgabe, "Nonogramm-Solver");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**
+	 * Ldt die Nonogramme von www.rozov.de im Hintergrund
+	 */
+	private final Rozovlader rozovlader = Rozovlader.erzeugeStandard();
+	
+	/**
+	 * Die Nummer des zuletzt angeforderten www.rozov.de-Nonogrammes. Ergebnisse frherer
+	 * Anforderungen, die erst danach eintreffen, werden verworfen.
+	 */
+	private int angeforderteRozovNummer;
+	
+	/**
+	 * Aktualisiert whrend eines Lsungsvorgangs regelmig die Anzeige des Nonogramms
+	 */
+	private final Timer anzeigeTimer;
+	
+	/**
+	 * Der Abstand zwischen zwei Aktualisierungen der Anzeige in Millisekunden
+	 */
+	private static final int ANZEIGEINTERVALL = 100;
+	
 	// Main-Methode
 	
 	/**
@@ -172,10 +235,26 @@ class NonoGUI extends JFrame {
 			Button rozovRobot = new Button("rozov-Eintrag");
 			south.add(rozovRobot);
 			
-		this.ausgabeTextArea = new TextArea();
-		this.add(this.ausgabeTextArea, BorderLayout.CENTER);
-		this.ausgabeTextArea.setFont(new Font("Courier", Font.PLAIN, 14));
-		this.ausgabeTextArea.setEditable(false);
+			this.abbrechenButton = new Button("Abbrechen");
+			this.abbrechenButton.setEnabled(false);
+			south.add(this.abbrechenButton);
+			
+		this.solverButtons = new Button[] {bearbeiteZeilen, bearbeiteSpalten, trialAndError, loeseEinfach,
+				loese, rozovRobot};
+		
+		this.fortschrittLabel = new Label();
+		this.add(this.fortschrittLabel, BorderLayout.NORTH);
+		
+		Panel center = new Panel();
+		center.setLayout(new BorderLayout());
+		this.add(center, BorderLayout.CENTER);
+			this.gitteranzeige = new Gitteranzeige();
+			center.add(new JScrollPane(this.gitteranzeige), BorderLayout.CENTER);
+			
+			this.ausgabeTextArea = new TextArea("", 4, 40, TextArea.SCROLLBARS_VERTICAL_ONLY);
+			center.add(this.ausgabeTextArea, BorderLayout.SOUTH);
+			this.ausgabeTextArea.setFont(new Font("Courier", Font.PLAIN, 14));
+			this.ausgabeTextArea.setEditable(false);
 		
 		this.enableEvents(AWTEvent.WINDOW_EVENT_MASK);
 		generateFromArray.addActionListener(new GenerateEvent(this));
@@ -190,6 +269,186 @@ class NonoGUI extends JFrame {
 		loeseEinfach.addActionListener(new LoeseEinfachEvent(this));
 		loese.addActionListener(new LoeseEvent(this));
 		rozovRobot.addActionListener(new RozovRobotEvent(this));
+		this.abbrechenButton.addActionListener(new AbbrechenEvent(this));
+		this.anzeigeTimer = new Timer(ANZEIGEINTERVALL, new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				NonoGUI.this.aktualisiereAnzeige();
+			}
+		});
+	}
+	
+	// Methoden
+	
+	/**
+	 * Startet einen Lsungsvorgang auf dem Hintergrund-Thread. Bis zu seinem Ende sind die brigen
+	 * Solver-Buttons gesperrt, der Button "Abbrechen" ist freigegeben und die Anzeige des
+	 * Nonogramms wird regelmig aktualisiert. Muss auf dem Event-Dispatch-Thread aufgerufen werden.
+	 * 
+	 * @param event
+	 * 		Das Event, dessen Lsungsschritt ausgefhrt werden soll
+	 */
+	void starteLauf(final SolverEvent event) {
+		final Solver solver = this.solver;
+		solver.setFeldbeobachter(this.gitteranzeige.getFeldbeobachter());
+		this.laufenderSolver = solver;
+		this.setzeLaufend(true);
+		this.ausgabeTextArea.setText("Bitte warten...");
+		this.aktualisiereFortschritt(solver);
+		this.anzeigeTimer.start();
+		this.hintergrund.execute(new Runnable() {
+			public void run() {
+				try {
+					event.fuehreAus(solver);
+				} finally {
+					EventQueue.invokeLater(new Runnable() {
+						public void run() {
+							NonoGUI.this.beendeLauf(solver);
+						}
+					});
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Schliet einen Lsungsvorgang ab und zeigt das Ergebnis an. Wurde der Solver abgebrochen,
+	 * wird fr weitere Lsungsschritte ein neuer Solver auf dem erreichten Stand erzeugt, da der
+	 * Abbruch dauerhaft gilt.
+	 * 
+	 * @param solver
+	 * 		Der Solver des beendeten Lsungsvorgangs
+	 */
+	void beendeLauf(final Solver solver) {
+		if (solver != this.laufenderSolver)
+			return;
+		this.laufenderSolver = null;
+		this.anzeigeTimer.stop();
+		this.setzeLaufend(false);
+		if (solver != this.solver) {
+			// Das Nonogramm wurde whrend des Lsungsvorgangs ersetzt.
+			return;
+		}
+		this.aktualisiereFortschritt(solver);
+		if (solver.wurdeAbgebrochen()) {
+			this.fortschrittLabel.setText("Abgebrochen. " + this.fortschrittLabel.getText());
+			this.solver = new Solver(this.nonogramm, this.optionRekursion.isSelected());
+		} else if (solver.hatWiderspruch()) {
+			this.fortschrittLabel.setText("Widerspruch gefunden. " + this.fortschrittLabel.getText());
+		}
+		this.gitteranzeige.gleicheAb();
+		this.ausgabeTextArea.setText("");
+	}
+	
+	/**
+	 * Bricht den laufenden Lsungsvorgang ab, falls vorhanden. Der Hintergrund-Thread kehrt
+	 * daraufhin baldmglichst zurck.
+	 */
+	void brecheLaufAb() {
+		if (this.laufenderSolver != null)
+			this.laufenderSolver.abbrechen();
+	}
+	
+	/**
+	 * Bricht den laufenden Lsungsvorgang ab und verwirft das aktuelle Nonogramm, z.B. wenn ein
+	 * neues Nonogramm nicht erstellt werden konnte.
+	 */
+	void verwerfeNonogramm() {
+		this.brecheLaufAb();
+		this.nonogramm = null;
+		this.solver = null;
+		this.gitteranzeige.setNonogramm(null);
+	}
+	
+	/**
+	 * Zeigt whrend eines Lsungsvorgangs die vom Solver gemeldeten nderungen des Nonogramms und
+	 * den Fortschritt an. Der Fortschritt wird ohne Synchronisation gelesen und kann daher einzelne
+	 * Felder eines gerade laufenden Schritts bzw. Versuchs enthalten.
+	 */
+	void aktualisiereAnzeige() {
+		Solver solver = this.laufenderSolver;
+		if (solver == null || solver != this.solver)
+			return;
+		this.gitteranzeige.aktualisiere();
+		this.aktualisiereFortschritt(solver);
+	}
+	
+	/**
+	 * Fordert ein Nonogramm von www.rozov.de an. Liegt es bereits vor, wird es sofort bernommen;
+	 * andernfalls wird es im Hintergrund geladen und nach dem Eintreffen bernommen, sofern bis
+	 * dahin kein anderes Nonogramm angefordert wurde.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms auf www.rozov.de
+	 */
+	void ladeRozov(final int nummer) {
+		this.angeforderteRozovNummer = nummer;
+		CompletableFuture<Rozovraetsel> ladevorgang = this.rozovlader.lade(nummer);
+		if (!ladevorgang.isDone())
+			this.ausgabeTextArea.setText("Lade Nonogramm " + nummer + " von www.rozov.de...");
+		ladevorgang.whenComplete(new BiConsumer<Rozovraetsel, Throwable>() {
+			public void accept(final Rozovraetsel raetsel, final Throwable fehler) {
+				EventQueue.invokeLater(new Runnable() {
+					public void run() {
+						NonoGUI.this.uebernehmeRozov(nummer, raetsel, fehler);
+					}
+				});
+			}
+		});
+	}
+	
+	/**
+	 * bernimmt die Bedingungen eines geladenen Nonogramms und erstellt es.
+	 * 
+	 * @param nummer
+	 * 		Die Nummer des Nonogramms auf www.rozov.de
+	 * @param raetsel
+	 * 		Das geladene Rtsel, bzw. null bei einem Fehler
+	 * @param fehler
+	 * 		Der Fehler beim Laden, bzw. null
+	 */
+	private void uebernehmeRozov(final int nummer, final Rozovraetsel raetsel, final Throwable fehler) {
+		if (nummer != this.angeforderteRozovNummer)
+			return;
+		this.brecheLaufAb();
+		if (fehler != null) {
+			this.ausgabeTextArea.setText("Fehler beim Laden von Nonogramm " + nummer + ":\n"
+					+ fehler.getMessage());
+			this.verwerfeNonogramm();
+			return;
+		}
+		this.obereBedingungenTextArea.setText(raetsel.getObereBedingungen());
+		this.linkeBedingungenTextArea.setText(raetsel.getLinkeBedingungen());
+		new GenerateEvent(this).actionPerformed(null);
+	}
+	
+	/**
+	 * Zeigt die Anzahl der bekannten Felder, der offenen Reihen und der Versuche eines Solvers an.
+	 * 
+	 * @param solver
+	 * 		Der Solver
+	 */
+	private void aktualisiereFortschritt(final Solver solver) {
+		if (solver != this.solver)
+			return;
+		this.fortschrittLabel.setText("Bekannte Felder: " + this.nonogramm.getAnzahlBekannterFelder()
+				+ " von " + this.nonogramm.getHoehe() * this.nonogramm.getBreite() + ", offene Reihen: "
+				+ solver.getAnzahlOffenerReihen() + ", Versuche: " + solver.getAnzahlVersuche());
+	}
+	
+	/**
+	 * Sperrt bzw. entsperrt die Solver-Buttons, die Option "Rekursionsverfahren" und den Button
+	 * "Abbrechen". Die Option wird gesperrt, da sie nicht auf einen laufenden Solver angewendet
+	 * werden darf.
+	 * 
+	 * @param laufend
+	 * 		true, wenn ein Lsungsvorgang luft
+	 */
+	private void setzeLaufend(final boolean laufend) {
+		for (Button button : this.solverButtons) {
+			button.setEnabled(!laufend);
+		}
+		this.optionRekursion.setEnabled(!laufend);
+		this.abbrechenButton.setEnabled(laufend);
 	}
 }
 
@@ -204,23 +463,25 @@ class GenerateEvent implements ActionListener {
 	}
 	
 	public void actionPerformed(ActionEvent e) {
+		nonoGUI.brecheLaufAb();
+		nonoGUI.fortschrittLabel.setText("");
 		String linkeBedingungenString = nonoGUI.linkeBedingungenTextArea.getText();
 		String obereBedingungenString = nonoGUI.obereBedingungenTextArea.getText();
-		Matrix<Integer> linkeBedingungen, obereBedingungen;
+		Bedingungen linkeBedingungen, obereBedingungen;
 		try {
-			linkeBedingungen = Matrix.toIntMatrix(linkeBedingungenString);
+			linkeBedingungen = Bedingungen.lies(linkeBedingungenString);
 		} catch (IllegalArgumentException exception) {
-			nonoGUI.ausgabeTextArea.setText("Erstellung fehlgeschlagen.\nBitte Eingabeformat der linken Nebenbedingungen berprfen!");
-			nonoGUI.nonogramm = null;
-			nonoGUI.solver = null;
+			nonoGUI.ausgabeTextArea.setText("Erstellung fehlgeschlagen.\nBitte Eingabeformat der linken Nebenbedingungen berprfen!\n"
+					+ exception.getMessage());
+			nonoGUI.verwerfeNonogramm();
 			return;
 		}
 		try {
-			obereBedingungen = Matrix.toIntMatrix(obereBedingungenString);
+			obereBedingungen = Bedingungen.lies(obereBedingungenString);
 		} catch (IllegalArgumentException exception) {
-			nonoGUI.ausgabeTextArea.setText("Erstellung fehlgeschlagen.\nBitte Eingabeformat der oberen Nebenbedingungen berprfen!");
-			nonoGUI.nonogramm = null;
-			nonoGUI.solver = null;
+			nonoGUI.ausgabeTextArea.setText("Erstellung fehlgeschlagen.\nBitte Eingabeformat der oberen Nebenbedingungen berprfen!\n"
+					+ exception.getMessage());
+			nonoGUI.verwerfeNonogramm();
 			return;
 		}
 		try {
@@ -229,11 +490,11 @@ class GenerateEvent implements ActionListener {
 		} catch (IllegalArgumentException error) {
 			nonoGUI.ausgabeTextArea.setText("Erstellung fehlgeschlagen.\nDie Nebenbedingungen passen nicht zueinander!\n"
 					+ error.getMessage());
-			nonoGUI.nonogramm = null;
-			nonoGUI.solver = null;
+			nonoGUI.verwerfeNonogramm();
 			return;
 		}
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+		nonoGUI.gitteranzeige.setNonogramm(nonoGUI.nonogramm);
+		nonoGUI.ausgabeTextArea.setText("");
 	}
 }
 
@@ -252,39 +513,24 @@ class LoadEvent implements ActionListener {
 		char[] rozovNummerChar = rozovNummerString.toCharArray();
 		if (rozovNummerString.equals("")) {
 			nonoGUI.ausgabeTextArea.setText("Bitte die Nummer des Nonogramms auf www.rozov.de eingeben.");
-			nonoGUI.nonogramm = null;
-			nonoGUI.solver = null;
+			nonoGUI.verwerfeNonogramm();
 			return;
 		}
 		int rozovNummer = 0;
 		for (char character : rozovNummerChar) {
 			if (character < '0' || character > '9') {
 				nonoGUI.ausgabeTextArea.setText("Ungltige Nummer.");
-				nonoGUI.nonogramm = null;
-				nonoGUI.solver = null;
+				nonoGUI.verwerfeNonogramm();
 				return;
 			}
 			rozovNummer = 10*rozovNummer + character - '0';
 		}
-		Scanner scanner;
-
-		try {
-			scanner = new Scanner(new URL("http://rozov.de/nonogram/spiel.php?num=" + rozovNummer).openStream());
-		} catch (IOException error){
-			nonoGUI.ausgabeTextArea.setText("Fehler beim Zugriff auf http://rozov.de/nonogram/spiel.php?num=" + rozovNummer);
-			nonoGUI.nonogramm = null;
-			nonoGUI.solver = null;
+		if (rozovNummer < 1) {
+			nonoGUI.ausgabeTextArea.setText("Ungltige Nummer.");
+			nonoGUI.verwerfeNonogramm();
 			return;
 		}
-		scanner.useDelimiter("\"");
-		scanner.findWithinHorizon("n = new MainNonoPanel",1000000);
-		scanner.next();
-		nonoGUI.obereBedingungenTextArea.setText(scanner.next());
-		scanner.next();
-		nonoGUI.linkeBedingungenTextArea.setText(scanner.next());
-        scanner.close();
-        GenerateEvent generate = new GenerateEvent(nonoGUI);
-        generate.actionPerformed(e);
+		nonoGUI.ladeRozov(rozovNummer);
 	}
 }
 
@@ -320,107 +566,118 @@ class rozovNummerPlusMinusEvent implements ActionListener {
 }
 
 /**
- * Event, welches die Zeilen des Nonogramms bearbeitet
+ * Basisklasse der Events, die einen Lsungsschritt auf dem Nonogramm ausfhren. Der Schritt luft
+ * auf dem Hintergrund-Thread der GUI und kann ber den Button "Abbrechen" abgebrochen werden.
  */
-class BearbeiteZeilenEvent implements ActionListener {
+abstract class SolverEvent implements ActionListener {
 	NonoGUI nonoGUI;
 	
-	BearbeiteZeilenEvent(final NonoGUI nonoGUI) {
+	SolverEvent(final NonoGUI nonoGUI) {
 		this.nonoGUI = nonoGUI;
 	}
+	
+	/**
+	 * Fhrt den Lsungsschritt aus. Wird auf dem Hintergrund-Thread aufgerufen und darf daher nicht
+	 * auf die Komponenten der GUI zugreifen.
+	 * 
+	 * @param solver
+	 * 		Der Solver des Nonogramms
+	 */
+	abstract void fuehreAus(Solver solver);
 
 	public void actionPerformed(ActionEvent e) {
 		if (nonoGUI.nonogramm == null) {
 			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
 			return;
 		}
-		nonoGUI.ausgabeTextArea.setText("Bitte warten...");
-		nonoGUI.solver.bearbeiteZeilen();
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+		if (nonoGUI.laufenderSolver != null)
+			return;
+		nonoGUI.starteLauf(this);
 	}
 }
 
 /**
- * Event, welches die Spalten des Nonogramms bearbeitet
+ * Event, welches den laufenden Lsungsvorgang abbricht
  */
-class BearbeiteSpaltenEvent implements ActionListener {
+class AbbrechenEvent implements ActionListener {
 	NonoGUI nonoGUI;
 	
-	BearbeiteSpaltenEvent(final NonoGUI nonoGUI) {
+	AbbrechenEvent(final NonoGUI nonoGUI) {
 		this.nonoGUI = nonoGUI;
 	}
 
 	public void actionPerformed(ActionEvent e) {
-		if (nonoGUI.nonogramm == null) {
-			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
-			return;
-		}
-		nonoGUI.ausgabeTextArea.setText("Bitte warten...");
-		nonoGUI.solver.bearbeiteSpalten();
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+		nonoGUI.brecheLaufAb();
+	}
+}
+
+/**
+ * Event, welches die Zeilen des Nonogramms bearbeitet
+ */
+class BearbeiteZeilenEvent extends SolverEvent {
+	
+	BearbeiteZeilenEvent(final NonoGUI nonoGUI) {
+		super(nonoGUI);
+	}
+
+	void fuehreAus(final Solver solver) {
+		solver.bearbeiteZeilen();
+	}
+}
+
+/**
+ * Event, welches die Spalten des Nonogramms bearbeitet
+ */
+class BearbeiteSpaltenEvent extends SolverEvent {
+	
+	BearbeiteSpaltenEvent(final NonoGUI nonoGUI) {
+		super(nonoGUI);
+	}
+
+	void fuehreAus(final Solver solver) {
+		solver.bearbeiteSpalten();
 	}
 }
 
 /**
  * Event, welches das Trial-And-Error-Verfahren auf das Nonogramm anwendet
  */
-class TrialAndErrorEvent implements ActionListener {
-	NonoGUI nonoGUI;
+class TrialAndErrorEvent extends SolverEvent {
 	
 	TrialAndErrorEvent(final NonoGUI nonoGUI) {
-		this.nonoGUI = nonoGUI;
+		super(nonoGUI);
 	}
 
-	public void actionPerformed(ActionEvent e) {
-		if (nonoGUI.nonogramm == null) {
-			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
-			return;
-		}
-		nonoGUI.ausgabeTextArea.setText("Bitte warten...");
-		nonoGUI.solver.trialAndError();
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+	void fuehreAus(final Solver solver) {
+		solver.trialAndError();
 	}
 }
 
 /**
  * Event, welches versucht, das Nonogramm ohne Hilfe des Trial-And-Error-Verfahrens zu lsen
  */
-class LoeseEinfachEvent implements ActionListener {
-	NonoGUI nonoGUI;
+class LoeseEinfachEvent extends SolverEvent {
 	
 	LoeseEinfachEvent(final NonoGUI nonoGUI) {
-		this.nonoGUI = nonoGUI;
+		super(nonoGUI);
 	}
 
-	public void actionPerformed(ActionEvent e) {
-		if (nonoGUI.nonogramm == null) {
-			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
-			return;
-		}
-		nonoGUI.ausgabeTextArea.setText("Bitte warten...");
-		nonoGUI.solver.loeseEinfach();
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+	void fuehreAus(final Solver solver) {
+		solver.loeseEinfach();
 	}
 }
 
 /**
  * Event, welches das Nonogramm lst
  */
-class LoeseEvent implements ActionListener {
-	NonoGUI nonoGUI;
+class LoeseEvent extends SolverEvent {
 	
 	LoeseEvent(final NonoGUI nonoGUI) {
-		this.nonoGUI = nonoGUI;
+		super(nonoGUI);
 	}
 
-	public void actionPerformed(ActionEvent e) {
-		if (nonoGUI.nonogramm == null) {
-			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
-			return;
-		}
-		nonoGUI.ausgabeTextArea.setText("Bitte warten...");
-		nonoGUI.solver.loese();
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+	void fuehreAus(final Solver solver) {
+		solver.loese();
 	}
 }
 
@@ -428,6 +685,12 @@ class LoeseEvent implements ActionListener {
  * Event, welches das Ergebnis eines Nonogramms auf www.rozov.de eintrgt
  */
 class RozovRobotEvent implements ActionListener {
+	
+	/**
+	 * Die Helligkeit (0 bis 255), unterhalb derer ein Feld der Zielanwendung als schwarz gilt
+	 */
+	private static final int DUNKEL = 96;
+	
 	NonoGUI nonoGUI;
 	Robot robot;
 	int positionLinksObenX;
@@ -446,6 +709,8 @@ class RozovRobotEvent implements ActionListener {
 			nonoGUI.ausgabeTextArea.setText("Bitte erst ein Nonogramm generieren!");
 			return;
 		}
+		if (nonoGUI.laufenderSolver != null)
+			return;
 		try {
 			this.robot = new Robot();
 		} catch (AWTException e1) {
@@ -474,26 +739,42 @@ class RozovRobotEvent implements ActionListener {
 				+ ", " + this.positionLinksObenY + "\n"
 				+ "Rechts unten: " + this.positionRechtsUntenX
 				+ ", " + this.positionRechtsUntenY);
-		this.robot.setAutoDelay(1);
-		int neuePositionX, neuePositionY, button;
-		for (int x = 0; x < nonoGUI.nonogramm.getHoehe(); x++)
-			for (int y = 0; y < nonoGUI.nonogramm.getBreite(); y++) {
-				if (this.nonoGUI.nonogramm.hasStatus(x, y, Feldstatus.unknown))
-						continue;
-				if (this.nonoGUI.nonogramm.hasStatus(x, y, Feldstatus.white)) {
-					button = InputEvent.BUTTON3_MASK;
-				} else {
-					button = InputEvent.BUTTON1_MASK;
-				}
-				neuePositionX = this.positionLinksObenX
-						+ (int) ((positionRechtsUntenX-this.positionLinksObenX) * y / (nonoGUI.nonogramm.getBreite()-1));
-				neuePositionY = this.positionLinksObenY
-				+ (int) ((positionRechtsUntenY-this.positionLinksObenY) * x / (nonoGUI.nonogramm.getHoehe()-1));
-				this.robot.mouseMove(neuePositionX, neuePositionY);
-				this.robot.mousePress(button);
-				this.robot.mouseRelease(button);
+		Bildschirmgitter gitter = new Bildschirmgitter(this.positionLinksObenX, this.positionLinksObenY,
+				this.positionRechtsUntenX, this.positionRechtsUntenY, nonoGUI.nonogramm.getHoehe(),
+				nonoGUI.nonogramm.getBreite());
+		Eingabeplan plan = Eingabeplan.erstelle(nonoGUI.nonogramm, this.ermittleAngezeigt(gitter));
+		plan.spieleAb(new RobotMausausgabe(this.robot), gitter);
+		nonoGUI.ausgabeTextArea.setText("");
+	}
+	
+	/**
+	 * Ermittelt anhand eines Bildschirmfotos, welche Felder die Zielanwendung bereits schwarz
+	 * anzeigt. Ein Feld gilt als schwarz, wenn der Pixel in seiner Mitte dunkel ist.
+	 * 
+	 * @param gitter
+	 * 		Die Lage des Nonogramms auf dem Bildschirm
+	 * 
+	 * @return der angezeigte Stand: schwarze Felder sind black, alle brigen unknown
+	 */
+	private Nonogramm ermittleAngezeigt(final Bildschirmgitter gitter) {
+		Nonogramm angezeigt = new Nonogramm(nonoGUI.nonogramm.getLinkeBedingungen(),
+				nonoGUI.nonogramm.getObereBedingungen());
+		Rectangle bereich = new Rectangle(Math.min(this.positionLinksObenX, this.positionRechtsUntenX),
+				Math.min(this.positionLinksObenY, this.positionRechtsUntenY),
+				Math.abs(this.positionRechtsUntenX - this.positionLinksObenX) + 1,
+				Math.abs(this.positionRechtsUntenY - this.positionLinksObenY) + 1);
+		BufferedImage bild = this.robot.createScreenCapture(bereich);
+		for (int zeile = 0; zeile < gitter.getHoehe(); zeile++) {
+			for (int spalte = 0; spalte < gitter.getBreite(); spalte++) {
+				int x = Math.min(bild.getWidth() - 1, Math.max(0, gitter.getX(spalte) - bereich.x));
+				int y = Math.min(bild.getHeight() - 1, Math.max(0, gitter.getY(zeile) - bereich.y));
+				int farbe = bild.getRGB(x, y);
+				int helligkeit = ((farbe >> 16 & 0xFF) + (farbe >> 8 & 0xFF) + (farbe & 0xFF)) / 3;
+				if (helligkeit < DUNKEL)
+					angezeigt.setStatus(zeile, spalte, Feldstatus.black);
 			}
-		nonoGUI.ausgabeTextArea.setText(nonoGUI.nonogramm.toString());
+		}
+		return angezeigt;
 	}
 }
 	
@@ -526,10 +807,12 @@ class optionRekursionListener implements ItemListener {
 	}
 
 	/**
-	 * Wird ausgelst, wenn die Option aktiviert oder deaktiviert wird.
+	 * Wird ausgelst, wenn die Option aktiviert oder deaktiviert wird. Whrend eines
+	 * Lsungsvorgangs ist die Option gesperrt; nach einem Abbruch erhlt der neue Solver den
+	 * Stand der Checkbox.
 	 */
 	public void itemStateChanged(ItemEvent arg0) {
-		if (this.nonoGUI.solver != null)
+		if (this.nonoGUI.solver != null && this.nonoGUI.laufenderSolver == null)
 			this.nonoGUI.solver.setOptionRekursion(this.jCheckBox.isSelected());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package de.drake.nonogramm.view;
+
+import java.awt.Robot;
+
+/**
+ * Fhrt die Mausaktionen eines Eingabeplans per java.awt.Robot aus. Nach jeder Aktion wartet der
+ * Robot eine Millisekunde, damit die Zielanwendung jede Bewegung als eigenes Ereignis erhlt.
+ */
+class RobotMausausgabe implements Mausausgabe {
+	
+	/**
+	 * Die Wartezeit nach jeder Aktion in Millisekunden
+	 */
+	private static final int VERZOEGERUNG = 1;
+	
+	/**
+	 * Der Robot, der die Aktionen ausfhrt
+	 */
+	private final Robot robot;
+	
+	/**
+	 * Erzeugt eine Mausausgabe.
+	 * 
+	 * @param robot
+	 * 		Der Robot, der die Aktionen ausfhrt; seine automatische Wartezeit wird neu gesetzt.
+	 */
+	RobotMausausgabe(final Robot robot) {
+		this.robot = robot;
+		this.robot.setAutoDelay(VERZOEGERUNG);
+	}
+	
+	@Override
+	public void bewege(final int x, final int y) {
+		this.robot.mouseMove(x, y);
+	}
+	
+	@Override
+	public void druecke(final int tasten) {
+		this.robot.mousePress(tasten);
+	}
+	
+	@Override
+	public void loese(final int tasten) {
+		this.robot.mouseRelease(tasten);
+	}
+}
\ No newline at end of file